@@ -149,6 +149,12 @@ class BufferedInputStream extends FilterInputStream {
      */
     protected int marklimit;
 
+    /**
+     * True if this stream is owned by a single thread, so that reading and
+     * skipping do not synchronize on it.
+     */
+    private final boolean singleOwner;
+
     /**
      * Check to make sure that underlying input stream has not been
      * nulled out due to close; if not return it;
@@ -196,17 +202,42 @@ class BufferedInputStream extends FilterInputStream {
      * @exception IllegalArgumentException if {@code size <= 0}.
      */
     public BufferedInputStream(InputStream in, int size) {
+        this(in, size, false);
+    }
+
+    /**
+     * Creates a <code>BufferedInputStream</code>
+     * with the specified buffer size that is optionally
+     * owned by a single thread.
+     * <p>
+     * If <code>singleOwner</code> is <code>true</code>, the
+     * <code>read</code>, <code>readNBytes</code> and <code>skip</code>
+     * methods do not synchronize on the stream, saving the cost
+     * of acquiring its monitor on every call.  Such a stream must
+     * not be read by more than one thread at a time without external
+     * synchronization; it may still be closed asynchronously.
+     *
+     * @param   in            the underlying input stream.
+     * @param   size          the buffer size.
+     * @param   singleOwner   if <code>true</code>, reads do not synchronize
+     *                        on the stream.
+     * @exception IllegalArgumentException if {@code size <= 0}.
+     * @since   1.8
+     */
+    public BufferedInputStream(InputStream in, int size, boolean singleOwner) {
         super(in);
         if (size <= 0) {
             throw new IllegalArgumentException("Buffer size <= 0");
         }
         buf = new byte[size];
+        this.singleOwner = singleOwner;
     }
 
     /**
      * Fills the buffer with more data, taking into account
      * shuffling and other tricks for dealing with marks.
-     * Assumes that it is being called by a synchronized method.
+     * Assumes that it is being called by a synchronized method, or by the
+     * owner of a single-owner stream.
      * This method also assumes that all data has already been read in,
      * hence pos > count.
      */
@@ -260,7 +291,16 @@ class BufferedInputStream extends FilterInputStream {
      *                          or an I/O error occurs.
      * @see        java.io.FilterInputStream#in
      */
-    public synchronized int read() throws IOException {
+    public int read() throws IOException {
+        if (singleOwner) {
+            return implRead();
+        }
+        synchronized (this) {
+            return implRead();
+        }
+    }
+
+    private int implRead() throws IOException {
         if (pos >= count) {
             fill();
             if (pos >= count)
@@ -330,9 +370,16 @@ class BufferedInputStream extends FilterInputStream {
      *                          invoking its {@link #close()} method,
      *                          or an I/O error occurs.
      */
-    public synchronized int read(byte b[], int off, int len)
-        throws IOException
-    {
+    public int read(byte b[], int off, int len) throws IOException {
+        if (singleOwner) {
+            return implRead(b, off, len);
+        }
+        synchronized (this) {
+            return implRead(b, off, len);
+        }
+    }
+
+    private int implRead(byte b[], int off, int len) throws IOException {
         getBufIfOpen(); // Check for closed stream
         if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
             throw new IndexOutOfBoundsException();
@@ -355,6 +402,109 @@ class BufferedInputStream extends FilterInputStream {
         }
     }
 
+    /**
+     * Reads the requested number of bytes into the specified byte array,
+     * blocking until they have been read or the end of the stream is
+     * reached.
+     *
+     * <p> This method implements the general contract of the corresponding
+     * <code>{@link InputStream#readNBytes(byte[], int, int) readNBytes}</code>
+     * method of the <code>{@link InputStream}</code> class.  Buffered bytes
+     * are copied first; if no mark is set, the rest of a request at least as
+     * large as the buffer is then read directly from the underlying stream
+     * into <code>b</code>, without passing through the buffer.  A subclass
+     * of <code>BufferedInputStream</code> reads through its
+     * <code>read(byte[], int, int)</code> method instead, in case it
+     * overrides it.
+     *
+     * @param      b     destination buffer.
+     * @param      off   offset at which to start storing bytes.
+     * @param      len   number of bytes to read.
+     * @return     the number of bytes read, less than <code>len</code> only
+     *             if the end of the stream has been reached.
+     * @exception  IOException  if this input stream has been closed by
+     *                          invoking its {@link #close()} method,
+     *                          or an I/O error occurs.
+     * @since      1.8
+     */
+    public int readNBytes(byte b[], int off, int len) throws IOException {
+        if (singleOwner) {
+            return implReadNBytes(b, off, len);
+        }
+        synchronized (this) {
+            return implReadNBytes(b, off, len);
+        }
+    }
+
+    private int implReadNBytes(byte b[], int off, int len)
+        throws IOException
+    {
+        getBufIfOpen(); // Check for closed stream
+        if (getClass() != BufferedInputStream.class) {
+            return super.readNBytes(b, off, len);
+        }
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int n = 0;
+        while (n < len) {
+            int nread = read1(b, off + n, len - n);
+            if (nread < 0)
+                break;
+            n += nread;
+        }
+        return n;
+    }
+
+    /**
+     * Reads all bytes from this input stream and writes them to the given
+     * output stream, as specified by the
+     * <code>{@link InputStream#transferTo(OutputStream) transferTo}</code>
+     * method of <code>InputStream</code>.
+     *
+     * <p> If no mark is set, the buffered bytes are written first and the
+     * rest of the transfer is delegated to the <code>transferTo</code>
+     * method of the underlying input stream, so that it does not pass
+     * through the buffer; for example, a <code>FileInputStream</code> may
+     * transfer to a <code>FileOutputStream</code> without copying the bytes
+     * through user space.  A subclass of <code>BufferedInputStream</code>
+     * copies through the buffer, in case it overrides the methods that read.
+     *
+     * @param      out the output stream, non-null
+     * @return     the number of bytes transferred
+     * @exception  IOException  if this input stream has been closed by
+     *                          invoking its {@link #close()} method,
+     *                          or an I/O error occurs.
+     * @exception  NullPointerException if <code>out</code> is
+     *             <code>null</code>
+     * @since      1.8
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        if (singleOwner) {
+            return implTransferTo(out);
+        }
+        synchronized (this) {
+            return implTransferTo(out);
+        }
+    }
+
+    private long implTransferTo(OutputStream out) throws IOException {
+        byte[] buffer = getBufIfOpen();
+        if (getClass() != BufferedInputStream.class || markpos >= 0) {
+            return super.transferTo(out);
+        }
+        int avail = count - pos;
+        if (avail > 0) {
+            out.write(buffer, pos, avail);
+            pos = count;
+        }
+        return avail + getInIfOpen().transferTo(out);
+    }
+
     /**
      * See the general contract of the <code>skip</code>
      * method of <code>InputStream</code>.
@@ -364,7 +514,16 @@ class BufferedInputStream extends FilterInputStream {
      *                          invoking its {@link #close()} method, or an
      *                          I/O error occurs.
      */
-    public synchronized long skip(long n) throws IOException {
+    public long skip(long n) throws IOException {
+        if (singleOwner) {
+            return implSkip(n);
+        }
+        synchronized (this) {
+            return implSkip(n);
+        }
+    }
+
+    private long implSkip(long n) throws IOException {
         getBufIfOpen(); // Check for closed stream
         if (n <= 0) {
             return 0;
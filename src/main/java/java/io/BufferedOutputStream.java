@@ -49,6 +49,12 @@ class BufferedOutputStream extends FilterOutputStream {
      */
     protected int count;
 
+    /**
+     * True if this stream is owned by a single thread, so that writing and
+     * flushing do not synchronize on it.
+     */
+    private final boolean singleOwner;
+
     /**
      * Creates a new buffered output stream to write data to the
      * specified underlying output stream.
@@ -69,11 +75,35 @@ class BufferedOutputStream extends FilterOutputStream {
      * @exception IllegalArgumentException if size &lt;= 0.
      */
     public BufferedOutputStream(OutputStream out, int size) {
+        this(out, size, false);
+    }
+
+    /**
+     * Creates a new buffered output stream to write data to the
+     * specified underlying output stream with the specified buffer
+     * size, optionally owned by a single thread.
+     * <p>
+     * If <tt>singleOwner</tt> is <tt>true</tt>, the <tt>write</tt> and
+     * <tt>flush</tt> methods do not synchronize on the stream, saving the
+     * cost of acquiring its monitor on every call.  Such a stream must not
+     * be written by more than one thread at a time without external
+     * synchronization.
+     *
+     * @param   out           the underlying output stream.
+     * @param   size          the buffer size.
+     * @param   singleOwner   if <tt>true</tt>, writes do not synchronize on
+     *                        the stream.
+     * @exception IllegalArgumentException if size &lt;= 0.
+     * @since   1.8
+     */
+    public BufferedOutputStream(OutputStream out, int size,
+                                boolean singleOwner) {
         super(out);
         if (size <= 0) {
             throw new IllegalArgumentException("Buffer size <= 0");
         }
         buf = new byte[size];
+        this.singleOwner = singleOwner;
     }
 
     /** Flush the internal buffer */
@@ -90,7 +120,17 @@ class BufferedOutputStream extends FilterOutputStream {
      * @param      b   the byte to be written.
      * @exception  IOException  if an I/O error occurs.
      */
-    public synchronized void write(int b) throws IOException {
+    public void write(int b) throws IOException {
+        if (singleOwner) {
+            implWrite(b);
+        } else {
+            synchronized (this) {
+                implWrite(b);
+            }
+        }
+    }
+
+    private void implWrite(int b) throws IOException {
         if (count >= buf.length) {
             flushBuffer();
         }
@@ -113,7 +153,17 @@ class BufferedOutputStream extends FilterOutputStream {
      * @param      len   the number of bytes to write.
      * @exception  IOException  if an I/O error occurs.
      */
-    public synchronized void write(byte b[], int off, int len) throws IOException {
+    public void write(byte b[], int off, int len) throws IOException {
+        if (singleOwner) {
+            implWrite(b, off, len);
+        } else {
+            synchronized (this) {
+                implWrite(b, off, len);
+            }
+        }
+    }
+
+    private void implWrite(byte b[], int off, int len) throws IOException {
         if (len >= buf.length) {
             /* If the request length exceeds the size of the output buffer,
                flush the output buffer and then write the data directly.
@@ -136,7 +186,17 @@ class BufferedOutputStream extends FilterOutputStream {
      * @exception  IOException  if an I/O error occurs.
      * @see        java.io.FilterOutputStream#out
      */
-    public synchronized void flush() throws IOException {
+    public void flush() throws IOException {
+        if (singleOwner) {
+            implFlush();
+        } else {
+            synchronized (this) {
+                implFlush();
+            }
+        }
+    }
+
+    private void implFlush() throws IOException {
         flushBuffer();
         out.flush();
     }
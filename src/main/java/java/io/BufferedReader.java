@@ -553,6 +553,11 @@ public class BufferedReader extends Reader {
      * that stream that requires reading from the BufferedReader after it is
      * closed, will cause an UncheckedIOException to be thrown.
      *
+     * @implNote
+     * When the stream is executed in parallel, lines are split off in
+     * batches whose size adapts to the time taken to process each line, as
+     * by {@link Spliterators#adaptiveSpliterator(Spliterator)}.
+     *
      * @return a {@code Stream<String>} providing the lines of java.text
      *         described by this {@code BufferedReader}
      *
@@ -587,7 +592,8 @@ public class BufferedReader extends Reader {
                 }
             }
         };
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
-                iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return StreamSupport.stream(Spliterators.adaptiveSpliterator(
+                Spliterators.spliteratorUnknownSize(
+                        iter, Spliterator.ORDERED | Spliterator.NONNULL)), false);
     }
 }
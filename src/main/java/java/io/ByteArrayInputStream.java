@@ -196,6 +196,31 @@ class ByteArrayInputStream extends InputStream {
         return len;
     }
 
+    /**
+     * Writes the remaining bytes of this input stream to the given output
+     * stream. The bytes are written directly from the buffer with a single
+     * call to <code>out.write</code>, without being copied.
+     *
+     * @param   out   the output stream, non-null
+     * @return  the number of bytes transferred
+     * @exception  IOException if an I/O error occurs when writing
+     * @exception  NullPointerException if <code>out</code> is
+     *             <code>null</code>
+     * @since   1.8
+     */
+    public synchronized long transferTo(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        int len = count - pos;
+        if (len > 0) {
+            out.write(buf, pos, len);
+            pos = count;
+            return len;
+        }
+        return 0;
+    }
+
     /**
      * Skips <code>n</code> bytes of input from this input stream. Fewer
      * bytes might be skipped if the end of the input stream is reached.
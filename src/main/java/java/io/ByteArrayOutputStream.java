@@ -54,6 +54,12 @@ public class ByteArrayOutputStream extends OutputStream {
      */
     protected int count;
 
+    /**
+     * True if this stream is owned by a single thread, so that writing does
+     * not synchronize on it.
+     */
+    private final boolean singleOwner;
+
     /**
      * Creates a new byte array output stream. The buffer capacity is
      * initially 32 bytes, though its size increases if necessary.
@@ -70,11 +76,32 @@ public class ByteArrayOutputStream extends OutputStream {
      * @exception  IllegalArgumentException if size is negative.
      */
     public ByteArrayOutputStream(int size) {
+        this(size, false);
+    }
+
+    /**
+     * Creates a new byte array output stream, with a buffer capacity of
+     * the specified size, in bytes, optionally owned by a single thread.
+     * <p>
+     * If <code>singleOwner</code> is <code>true</code>, the
+     * <code>write</code> methods do not synchronize on the stream, saving
+     * the cost of acquiring its monitor on every call.  Such a stream must
+     * not be written by more than one thread at a time, or written while
+     * another thread reads its contents, without external synchronization.
+     *
+     * @param   size          the initial size.
+     * @param   singleOwner   if <code>true</code>, writes do not synchronize
+     *                        on the stream.
+     * @exception  IllegalArgumentException if size is negative.
+     * @since   1.8
+     */
+    public ByteArrayOutputStream(int size, boolean singleOwner) {
         if (size < 0) {
             throw new IllegalArgumentException("Negative initial size: "
                                                + size);
         }
         buf = new byte[size];
+        this.singleOwner = singleOwner;
     }
 
     /**
@@ -131,7 +158,17 @@ public class ByteArrayOutputStream extends OutputStream {
      *
      * @param   b   the byte to be written.
      */
-    public synchronized void write(int b) {
+    public void write(int b) {
+        if (singleOwner) {
+            implWrite(b);
+        } else {
+            synchronized (this) {
+                implWrite(b);
+            }
+        }
+    }
+
+    private void implWrite(int b) {
         ensureCapacity(count + 1);
         buf[count] = (byte) b;
         count += 1;
@@ -145,7 +182,17 @@ public class ByteArrayOutputStream extends OutputStream {
      * @param   off   the start offset in the data.
      * @param   len   the number of bytes to write.
      */
-    public synchronized void write(byte b[], int off, int len) {
+    public void write(byte b[], int off, int len) {
+        if (singleOwner) {
+            implWrite(b, off, len);
+        } else {
+            synchronized (this) {
+                implWrite(b, off, len);
+            }
+        }
+    }
+
+    private void implWrite(byte b[], int off, int len) {
         if ((off < 0) || (off > b.length) || (len < 0) ||
             ((off + len) - b.length > 0)) {
             throw new IndexOutOfBoundsException();
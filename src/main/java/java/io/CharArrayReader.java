@@ -142,6 +142,31 @@ public class CharArrayReader extends Reader {
         }
     }
 
+    /**
+     * Writes the remaining characters of the buffer to the given writer,
+     * with a single call to <tt>out.write</tt>.
+     *
+     * @param  out the writer, non-null
+     * @return the number of characters transferred
+     * @exception  IOException  If an I/O error occurs
+     * @exception  NullPointerException if <tt>out</tt> is <tt>null</tt>
+     * @since 1.8
+     */
+    public long transferTo(Writer out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        synchronized (lock) {
+            ensureOpen();
+            int n = count - pos;
+            if (n <= 0)
+                return 0;
+            out.write(buf, pos, n);
+            pos = count;
+            return n;
+        }
+    }
+
     /**
      * Skips characters.  Returns the number of characters that were skipped.
      *
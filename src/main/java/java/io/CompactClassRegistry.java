@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.io;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A numbering of classes shared by a {@link CompactObjectOutputStream} and
+ * the {@link CompactObjectInputStream} that reads its output.
+ * <p>
+ * A compact stream refers to a registered class by its number alone.
+ * Other classes are written by name the first time they are used in the
+ * stream, and by a number assigned by the stream after that.  For both,
+ * the schema of a class is checked by a fingerprint rather than by a
+ * full class descriptor.  The fingerprint of a class covers its name,
+ * whether it is serializable, externalizable or an enum type, whether it
+ * has {@code writeObject} and {@code readObject} methods, the names, types
+ * and sharing of its serializable fields, and the fingerprint of its
+ * serializable superclass.  The streams written with a registry carry the
+ * combined fingerprint of its classes, so the reading side must register
+ * the same classes, with the same schemas, in the same order.
+ * <p>
+ * Classes are registered before the streams that use them are created.  A
+ * stream uses the classes registered when it was created.  This class is
+ * safe for use by multiple concurrent threads.
+ *
+ * @see CompactObjectOutputStream
+ * @see CompactObjectInputStream
+ * @since 1.8
+ */
+public final class CompactClassRegistry {
+
+    /** the registered classes, replaced as classes are registered */
+    private volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Creates a registry with no classes.
+     */
+    public CompactClassRegistry() {
+    }
+
+    /**
+     * Creates a registry with the given classes, numbered in the given
+     * order.
+     *
+     * @param classes the classes to register
+     * @throws NullPointerException if {@code classes} or one of its
+     *         elements is null
+     */
+    public CompactClassRegistry(Class<?>... classes) {
+        for (Class<?> cl : classes) {
+            register(cl);
+        }
+    }
+
+    /**
+     * Registers a class, and returns its number.  Classes are numbered from
+     * zero in the order they are registered.  If the class is already
+     * registered, its existing number is returned.
+     *
+     * @param cl the class to register
+     * @return the number of the class
+     * @throws NullPointerException if {@code cl} is null
+     */
+    public synchronized int register(Class<?> cl) {
+        Snapshot s = snapshot;
+        Integer id = s.ids.get(cl);
+        if (id != null) {
+            return id;
+        }
+        snapshot = new Snapshot(s, ObjectStreamClass.lookup(cl, true));
+        return s.descs.length;
+    }
+
+    /**
+     * Returns the number of classes registered.
+     *
+     * @return the number of classes registered
+     */
+    public int size() {
+        return snapshot.descs.length;
+    }
+
+    /**
+     * Returns the classes currently registered.
+     */
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * The classes registered at some point.  Immutable.
+     */
+    static final class Snapshot {
+        /** descriptors of the classes, indexed by number */
+        final ObjectStreamClass[] descs;
+        /** maps classes to their numbers */
+        final HashMap<Class<?>, Integer> ids;
+        /** combined fingerprint of the classes */
+        final long fingerprint;
+
+        Snapshot() {
+            descs = new ObjectStreamClass[0];
+            ids = new HashMap<>();
+            fingerprint = FNV_OFFSET;
+        }
+
+        Snapshot(Snapshot s, ObjectStreamClass desc) {
+            descs = Arrays.copyOf(s.descs, s.descs.length + 1);
+            descs[s.descs.length] = desc;
+            ids = new HashMap<>(s.ids);
+            ids.put(desc.forClass(), s.descs.length);
+            fingerprint = mix(s.fingerprint, fingerprint(desc));
+        }
+    }
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static long mix(long h, long v) {
+        for (int i = 0; i < 8; i++) {
+            h = (h ^ (v & 0xff)) * FNV_PRIME;
+            v >>>= 8;
+        }
+        return h;
+    }
+
+    private static long mix(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        // terminate, so that consecutive strings cannot run together
+        return (h ^ 0xff) * FNV_PRIME;
+    }
+
+    /**
+     * Returns the schema fingerprint of the class described by a local
+     * class descriptor.
+     */
+    static long fingerprint(ObjectStreamClass desc) {
+        long h = mix(FNV_OFFSET, desc.getName());
+        int flags = (desc.isSerializable() ? 1 : 0)
+                  | (desc.isExternalizable() ? 2 : 0)
+                  | (desc.isEnum() ? 4 : 0)
+                  | (desc.hasWriteObjectMethod() ? 8 : 0)
+                  | (desc.hasReadObjectMethod() ? 16 : 0);
+        h = mix(h, flags);
+        for (ObjectStreamField f : desc.getFields(false)) {
+            h = mix(h, f.getName());
+            h = mix(h, f.getSignature());
+            h = mix(h, f.isUnshared() ? 1 : 0);
+        }
+        ObjectStreamClass superDesc = desc.getSuperDesc();
+        return (superDesc != null) ? mix(h, fingerprint(superDesc)) : h;
+    }
+}
@@ -0,0 +1,1089 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.io;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static java.io.CompactObjectOutputStream.*;
+
+/**
+ * An {@code ObjectInputStream} that reads objects written by a
+ * {@link CompactObjectOutputStream}.
+ * <p>
+ * Objects are deserialized as by {@code ObjectInputStream}.  The
+ * {@code readObject}, {@code readExternal} and {@code readResolve} methods
+ * of their classes are called, and validations registered with
+ * {@link #registerValidation registerValidation} are called when the
+ * object graph has been read.  The stream must be created with a
+ * {@link CompactClassRegistry} holding the same classes, registered in the
+ * same order, as that of the writing stream.  Classes that are not
+ * registered are written by name, and loaded by
+ * {@link #resolveClass(String)}, which subclasses may override to choose
+ * the class loader or to reject classes; the
+ * {@link ObjectInputStream#resolveClass(ObjectStreamClass)} method is not
+ * called.  The schema of each class is checked against the fingerprint
+ * written for it, and an {@code InvalidClassException} is thrown if they
+ * differ.
+ * <p>
+ * As the data written by {@code writeObject} and {@code writeExternal}
+ * methods is not framed, the matching {@code readObject} and
+ * {@code readExternal} methods must read all of it, and a class with a
+ * {@code writeObject} method but no {@code readObject} method must write
+ * only its fields.  Fields of a class never default:
+ * {@link ObjectInputStream.GetField#defaulted GetField.defaulted} returns
+ * {@code false} for every serializable field.  After an exception other
+ * than one thrown by the underlying stream, the stream should not be used
+ * further.
+ * <p>
+ * Input is buffered: more bytes may be read from the underlying stream
+ * than are consumed by this stream.
+ *
+ * @see CompactObjectOutputStream
+ * @see CompactClassRegistry
+ * @since 1.8
+ */
+public class CompactObjectInputStream extends ObjectInputStream {
+
+    /** marker for unshared objects in the handle table */
+    private static final Object unsharedMarker = new Object();
+
+    /** the underlying stream */
+    private final InputStream in;
+    /** input buffer */
+    private final byte[] buf = new byte[8192];
+    /** position of the next byte to read in buf */
+    private int pos;
+    /** end of the data in buf */
+    private int end;
+
+    /** the registered classes */
+    private final CompactClassRegistry.Snapshot registry;
+    /** descriptors of the classes read by name, in order */
+    private final ArrayList<ObjectStreamClass> localClasses =
+        new ArrayList<>();
+    /** maps wire handles to objects */
+    private Object[] handles = new Object[16];
+    /** number of handles assigned */
+    private int numHandles;
+    /** recursion depth */
+    private int depth;
+    /** buffer for reading primitive field values */
+    private byte[] primVals;
+    /** validation callback list */
+    private final ValidationList vlist = new ValidationList();
+    /** the context of the readObject call in progress, if any */
+    private SerialCallbackContext curContext;
+
+    /**
+     * Creates a {@code CompactObjectInputStream} that reads from the
+     * specified {@code InputStream}, with no registered classes.  The
+     * stream header is read, blocking until it is available.
+     *
+     * @param   in input stream to read from
+     * @throws  StreamCorruptedException if the stream header is incorrect
+     * @throws  IOException if an I/O error occurs while reading the stream
+     *          header
+     * @throws  SecurityException if a security manager exists and its
+     *          {@code checkPermission} method denies
+     *          {@code SerializablePermission("enableSubclassImplementation")}
+     * @throws  NullPointerException if {@code in} is null
+     */
+    public CompactObjectInputStream(InputStream in) throws IOException {
+        this(in, new CompactClassRegistry());
+    }
+
+    /**
+     * Creates a {@code CompactObjectInputStream} that reads from the
+     * specified {@code InputStream}, using the classes currently registered
+     * with the given registry.  The stream header is read, blocking until it
+     * is available.
+     *
+     * @param   in input stream to read from
+     * @param   registry the registry of classes identified by number
+     * @throws  StreamCorruptedException if the stream header is incorrect,
+     *          or the registered classes differ from those of the writing
+     *          stream
+     * @throws  IOException if an I/O error occurs while reading the stream
+     *          header
+     * @throws  SecurityException if a security manager exists and its
+     *          {@code checkPermission} method denies
+     *          {@code SerializablePermission("enableSubclassImplementation")}
+     * @throws  NullPointerException if {@code in} or {@code registry} is
+     *          null
+     */
+    public CompactObjectInputStream(InputStream in,
+                                    CompactClassRegistry registry)
+        throws IOException
+    {
+        super();
+        if (in == null) {
+            throw new NullPointerException();
+        }
+        this.in = in;
+        this.registry = registry.snapshot();
+        readStreamHeader();
+    }
+
+    /**
+     * Reads and verifies the magic number, the version and the fingerprint
+     * of the registered classes.
+     *
+     * @throws  IOException if there are I/O errors while reading from the
+     *          underlying <code>InputStream</code>
+     * @throws  StreamCorruptedException if control information in the
+     *          stream is inconsistent
+     */
+    @Override
+    protected void readStreamHeader() throws IOException {
+        short s0 = readShort();
+        byte s1 = readByte();
+        if (s0 != MAGIC || s1 != VERSION) {
+            throw new StreamCorruptedException(
+                String.format("invalid stream header: %04X%02X", s0, s1));
+        }
+        if (readLong() != registry.fingerprint) {
+            throw new StreamCorruptedException(
+                "registered classes differ from those of the writer");
+        }
+    }
+
+    /**
+     * Reads an object from the stream.
+     *
+     * @return  the Object read from the stream.
+     * @throws  ClassNotFoundException Class definition of a serialized
+     *          object cannot be found.
+     * @throws  InvalidClassException Something is wrong with a class used by
+     *          serialization.
+     * @throws  StreamCorruptedException Control information in the stream is
+     *          inconsistent.
+     * @throws  IOException Any of the usual Input/Output related exceptions.
+     */
+    @Override
+    protected Object readObjectOverride()
+        throws IOException, ClassNotFoundException
+    {
+        return readTop(false);
+    }
+
+    /**
+     * Reads an "unshared" object from the stream.  Back references to the
+     * object read cause an {@code InvalidObjectException}.
+     *
+     * @return  reference to deserialized object
+     * @throws  ClassNotFoundException if class of an object to deserialize
+     *          cannot be found
+     * @throws  StreamCorruptedException if control information in the stream
+     *          is inconsistent
+     * @throws  ObjectStreamException if object to deserialize has already
+     *          appeared in stream
+     * @throws  IOException if an I/O error occurs during deserialization
+     */
+    @Override
+    public Object readUnshared() throws IOException, ClassNotFoundException {
+        return readTop(true);
+    }
+
+    private Object readTop(boolean unshared)
+        throws IOException, ClassNotFoundException
+    {
+        try {
+            Object obj = readObject0(unshared);
+            if (depth == 0) {
+                vlist.doCallbacks();
+            }
+            return obj;
+        } finally {
+            if (depth == 0) {
+                vlist.clear();
+            }
+        }
+    }
+
+    /**
+     * Read the non-static and non-transient fields of the current class from
+     * this stream.  This may only be called from the readObject method of the
+     * class being deserialized.
+     *
+     * @throws  ClassNotFoundException if the class of a serialized object
+     *          could not be found.
+     * @throws  IOException if an I/O error occurs.
+     * @throws  NotActiveException if the stream is not currently reading
+     *          objects.
+     */
+    @Override
+    public void defaultReadObject()
+        throws IOException, ClassNotFoundException
+    {
+        SerialCallbackContext ctx = curContext;
+        if (ctx == null) {
+            throw new NotActiveException("not in call to readObject");
+        }
+        defaultReadFields(ctx.getObj(), ctx.getDesc());
+    }
+
+    /**
+     * Reads the persistent fields from the stream and makes them available by
+     * name.
+     *
+     * @return  the <code>GetField</code> object representing the persistent
+     *          fields of the object being deserialized
+     * @throws  ClassNotFoundException if the class of a serialized object
+     *          could not be found.
+     * @throws  IOException if an I/O error occurs.
+     * @throws  NotActiveException if the stream is not currently reading
+     *          objects.
+     */
+    @Override
+    public ObjectInputStream.GetField readFields()
+        throws IOException, ClassNotFoundException
+    {
+        SerialCallbackContext ctx = curContext;
+        if (ctx == null) {
+            throw new NotActiveException("not in call to readObject");
+        }
+        ctx.getObj();
+        GetFieldImpl getField = new GetFieldImpl(ctx.getDesc());
+        getField.readFields();
+        return getField;
+    }
+
+    /**
+     * Register an object to be validated before the graph is returned.
+     * Callbacks are made in order of descending priority once the object
+     * graph has been read.
+     *
+     * @param   obj the object to receive the validation callback.
+     * @param   prio controls the order of callbacks
+     * @throws  NotActiveException The stream is not currently reading objects
+     *          so it is invalid to register a callback.
+     * @throws  InvalidObjectException The validation object is null.
+     */
+    @Override
+    public void registerValidation(ObjectInputValidation obj, int prio)
+        throws NotActiveException, InvalidObjectException
+    {
+        if (depth == 0) {
+            throw new NotActiveException("stream inactive");
+        }
+        vlist.register(obj, prio);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos == end && fill() < 0) {
+            return -1;
+        }
+        return buf[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        int endoff = off + len;
+        if (off < 0 || len < 0 || endoff > b.length || endoff < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int n = end - pos;
+        if (n == 0) {
+            if (len >= buf.length) {
+                return in.read(b, off, len);
+            }
+            if ((n = fill()) < 0) {
+                return -1;
+            }
+        }
+        n = Math.min(n, len);
+        System.arraycopy(buf, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        int n = end - pos;
+        return (n > 0) ? n : in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pos = end = 0;
+        in.close();
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte0() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return readByte0();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte0() & 0xFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        require(2);
+        char v = Bits.getChar(buf, pos);
+        pos += 2;
+        return v;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        require(2);
+        short v = Bits.getShort(buf, pos);
+        pos += 2;
+        return v;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        require(4);
+        int v = Bits.getInt(buf, pos);
+        pos += 4;
+        return v;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        require(8);
+        long v = Bits.getLong(buf, pos);
+        pos += 8;
+        return v;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        int endoff = off + len;
+        if (off < 0 || len < 0 || endoff > b.length || endoff < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            int n = read(b, off, len);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public int skipBytes(int len) throws IOException {
+        int skipped = 0;
+        while (skipped < len) {
+            if (pos == end && fill() < 0) {
+                break;
+            }
+            int n = Math.min(end - pos, len - skipped);
+            pos += n;
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    /**
+     * Reads in a line that has been terminated by a \n, \r, \r\n or EOF.
+     *
+     * @return  a String copy of the line.
+     * @throws  IOException if there are I/O errors while reading from the
+     *          underlying <code>InputStream</code>
+     * @deprecated This method does not properly convert bytes to characters.
+     *          see DataInputStream for the details and alternatives.
+     */
+    @Deprecated
+    @Override
+    public String readLine() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (;;) {
+            int c = read();
+            if (c < 0) {
+                return (sb.length() > 0) ? sb.toString() : null;
+            } else if (c == '\n') {
+                return sb.toString();
+            } else if (c == '\r') {
+                if ((pos < end || fill() > 0) && buf[pos] == '\n') {
+                    pos++;
+                }
+                return sb.toString();
+            }
+            sb.append((char) c);
+        }
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    /**
+     * Underlying readObject implementation.
+     */
+    private Object readObject0(boolean unshared)
+        throws IOException, ClassNotFoundException
+    {
+        byte tag;
+        while ((tag = readByte0()) == TAG_RESET) {
+            if (depth > 0) {
+                throw new StreamCorruptedException(
+                    "unexpected reset; recursion depth: " + depth);
+            }
+            numHandles = 0;
+            Arrays.fill(handles, null);
+            localClasses.clear();
+        }
+
+        depth++;
+        try {
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+
+                case TAG_REFERENCE:
+                    return readHandle(unshared);
+
+                case TAG_STRING: {
+                    String str = readString();
+                    assign(unshared ? unsharedMarker : str);
+                    return str;
+                }
+
+                case TAG_CLASS:
+                    return readClassRef().forClass();
+
+                case TAG_ARRAY:
+                    return readArray(unshared);
+
+                case TAG_ENUM:
+                    return readEnum(unshared);
+
+                case TAG_OBJECT:
+                    return readOrdinaryObject(unshared);
+
+                default:
+                    throw new StreamCorruptedException(
+                        String.format("invalid type code: %02X", tag));
+            }
+        } finally {
+            depth--;
+        }
+    }
+
+    private Object readHandle(boolean unshared) throws IOException {
+        int handle = readVarInt();
+        if (handle >= numHandles) {
+            throw new StreamCorruptedException(
+                String.format("invalid handle value: %08X", handle));
+        }
+        Object obj = handles[handle];
+        if (obj == unsharedMarker) {
+            throw new InvalidObjectException(
+                "cannot read back reference to unshared object");
+        }
+        if (unshared) {
+            throw new InvalidObjectException(
+                "cannot read back reference as unshared");
+        }
+        return obj;
+    }
+
+    /**
+     * Assigns the next handle to the given object, and returns the handle.
+     */
+    private int assign(Object obj) {
+        if (numHandles == handles.length) {
+            handles = Arrays.copyOf(handles, numHandles << 1);
+        }
+        handles[numHandles] = obj;
+        return numHandles++;
+    }
+
+    /**
+     * Reads a class number, preceded by the name and fingerprint of the
+     * class if it is new to the stream, and returns the local descriptor of
+     * the class.
+     */
+    private ObjectStreamClass readClassRef()
+        throws IOException, ClassNotFoundException
+    {
+        int v = readVarInt();
+        if (v != 0) {
+            int id = v - 1;
+            ObjectStreamClass[] descs = registry.descs;
+            if (id < descs.length) {
+                return descs[id];
+            } else if (id - descs.length < localClasses.size()) {
+                return localClasses.get(id - descs.length);
+            }
+            throw new StreamCorruptedException(
+                String.format("invalid class number: %08X", id));
+        }
+
+        String name = readString();
+        long fingerprint = readLong();
+        Class<?> cl = resolveClass(name);
+        if (cl == null) {
+            throw new ClassNotFoundException(name);
+        }
+        ObjectStreamClass desc = ObjectStreamClass.lookup(cl, true);
+        if (CompactClassRegistry.fingerprint(desc) != fingerprint) {
+            throw new InvalidClassException(name,
+                "local class incompatible: schema fingerprint differs");
+        }
+        localClasses.add(desc);
+        return desc;
+    }
+
+    /**
+     * Loads the local class of the given name.  This method is called once
+     * per stream for each class that the writing stream wrote by name
+     * because it is not registered.  Registered classes are never passed
+     * to it.
+     * <p>
+     * The default implementation loads the class, without initializing it,
+     * with the class loader that the default implementation of
+     * {@link ObjectInputStream#resolveClass(ObjectStreamClass)} uses: that
+     * of the closest method on the current thread's stack whose class was
+     * defined by a user-defined class loader, or the bootstrap loader if
+     * there is none.  The names of the primitive types resolve to their
+     * classes.
+     * <p>
+     * A subclass may override this method to load classes with another
+     * class loader, or, by throwing an {@code InvalidClassException}, to
+     * read only objects of registered classes.
+     *
+     * @param   name the binary name of the class, as returned by
+     *          {@link Class#getName}
+     * @return  the local class of the given name
+     * @throws  IOException any of the usual Input/Output exceptions, or an
+     *          {@code InvalidClassException} if the class is rejected
+     * @throws  ClassNotFoundException if the class cannot be found
+     * @see     ObjectInputStream#resolveClass(ObjectStreamClass)
+     */
+    protected Class<?> resolveClass(String name)
+        throws IOException, ClassNotFoundException
+    {
+        try {
+            return Class.forName(name, false, latestUserDefinedLoader());
+        } catch (ClassNotFoundException ex) {
+            Class<?> cl = primClasses.get(name);
+            if (cl != null) {
+                return cl;
+            } else {
+                throw ex;
+            }
+        }
+    }
+
+    private Enum<?> readEnum(boolean unshared)
+        throws IOException, ClassNotFoundException
+    {
+        ObjectStreamClass desc = readClassRef();
+        if (!desc.isEnum()) {
+            throw new InvalidClassException("non-enum class: " + desc);
+        }
+        int enumHandle = assign(unsharedMarker);
+        String name = readString();
+        Enum<?> result;
+        try {
+            @SuppressWarnings("unchecked")
+            Enum<?> en = Enum.valueOf((Class)desc.forClass(), name);
+            result = en;
+        } catch (IllegalArgumentException ex) {
+            throw (IOException) new InvalidObjectException(
+                "enum constant " + name + " does not exist in " +
+                desc.forClass()).initCause(ex);
+        }
+        if (!unshared) {
+            handles[enumHandle] = result;
+        }
+        return result;
+    }
+
+    private Object readArray(boolean unshared)
+        throws IOException, ClassNotFoundException
+    {
+        ObjectStreamClass desc = readClassRef();
+        Class<?> ccl = desc.forClass().getComponentType();
+        if (ccl == null) {
+            throw new StreamCorruptedException(
+                "not an array class: " + desc.getName());
+        }
+        int len = readVarInt();
+        Object array = Array.newInstance(ccl, len);
+        int arrayHandle = assign(unshared ? unsharedMarker : array);
+
+        if (ccl.isPrimitive()) {
+            if (ccl == Integer.TYPE) {
+                int[] ia = (int[]) array;
+                for (int i = 0; i < len; i++) {
+                    ia[i] = (int) unzigzag(readVarLong());
+                }
+            } else if (ccl == Byte.TYPE) {
+                readFully((byte[]) array, 0, len);
+            } else if (ccl == Long.TYPE) {
+                long[] ja = (long[]) array;
+                for (int i = 0; i < len; i++) {
+                    ja[i] = unzigzag(readVarLong());
+                }
+            } else if (ccl == Float.TYPE) {
+                float[] fa = (float[]) array;
+                for (int i = 0; i < len; i++) {
+                    fa[i] = readFloat();
+                }
+            } else if (ccl == Double.TYPE) {
+                double[] da = (double[]) array;
+                for (int i = 0; i < len; i++) {
+                    da[i] = readDouble();
+                }
+            } else if (ccl == Short.TYPE) {
+                short[] sa = (short[]) array;
+                for (int i = 0; i < len; i++) {
+                    sa[i] = (short) unzigzag(readVarLong());
+                }
+            } else if (ccl == Character.TYPE) {
+                char[] ca = (char[]) array;
+                for (int i = 0; i < len; i++) {
+                    ca[i] = (char) readVarInt();
+                }
+            } else if (ccl == Boolean.TYPE) {
+                boolean[] za = (boolean[]) array;
+                for (int i = 0; i < len; i++) {
+                    za[i] = readByte0() != 0;
+                }
+            } else {
+                throw new InternalError();
+            }
+        } else {
+            Object[] oa = (Object[]) array;
+            for (int i = 0; i < len; i++) {
+                oa[i] = readObject0(false);
+            }
+        }
+        return (handles[arrayHandle] == unsharedMarker) ? array :
+            handles[arrayHandle];
+    }
+
+    private Object readOrdinaryObject(boolean unshared)
+        throws IOException, ClassNotFoundException
+    {
+        ObjectStreamClass desc = readClassRef();
+        desc.checkDeserialize();
+
+        Object obj;
+        try {
+            obj = desc.isInstantiable() ? desc.newInstance() : null;
+        } catch (Exception ex) {
+            throw (IOException) new InvalidClassException(
+                desc.forClass().getName(),
+                "unable to create instance").initCause(ex);
+        }
+
+        int objHandle = assign(unshared ? unsharedMarker : obj);
+        if (desc.isExternalizable()) {
+            readExternalData((Externalizable) obj, desc);
+        } else {
+            readSerialData(obj, desc);
+        }
+
+        if (obj != null && desc.hasReadResolveMethod()) {
+            Object rep = desc.invokeReadResolve(obj);
+            if (unshared && rep.getClass().isArray()) {
+                rep = cloneArray(rep);
+            }
+            if (rep != obj) {
+                obj = rep;
+                if (!unshared) {
+                    handles[objHandle] = rep;
+                }
+            }
+        }
+        return obj;
+    }
+
+    private void readExternalData(Externalizable obj, ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException
+    {
+        if (obj == null) {
+            throw new InvalidClassException(desc.getName(),
+                                            "no valid constructor");
+        }
+        SerialCallbackContext oldContext = curContext;
+        try {
+            curContext = null;
+            obj.readExternal(this);
+        } finally {
+            curContext = oldContext;
+        }
+    }
+
+    /**
+     * Reads instance data for each serializable class of given object,
+     * from superclass to subclass.
+     */
+    private void readSerialData(Object obj, ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException
+    {
+        ObjectStreamClass.ClassDataSlot[] slots = desc.getClassDataLayout();
+        for (int i = 0; i < slots.length; i++) {
+            ObjectStreamClass slotDesc = slots[i].desc;
+            if (obj != null && slotDesc.hasReadObjectMethod()) {
+                SerialCallbackContext oldContext = curContext;
+                try {
+                    curContext = new SerialCallbackContext(obj, slotDesc);
+                    slotDesc.invokeReadObject(obj, this);
+                } finally {
+                    curContext.setUsed();
+                    curContext = oldContext;
+                }
+            } else {
+                defaultReadFields(obj, slotDesc);
+            }
+        }
+    }
+
+    /**
+     * Reads in values of serializable fields declared by given class
+     * descriptor.  If obj is non-null, sets field values in obj.
+     */
+    private void defaultReadFields(Object obj, ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException
+    {
+        Class<?> cl = desc.forClass();
+        if (cl != null && obj != null && !cl.isInstance(obj)) {
+            throw new ClassCastException();
+        }
+
+        int primDataSize = desc.getPrimDataSize();
+        if (primVals == null || primVals.length < primDataSize) {
+            primVals = new byte[primDataSize];
+        }
+        ObjectStreamField[] fields = desc.getFields(false);
+        Object[] objVals = new Object[desc.getNumObjFields()];
+        readPrimFieldValues(fields, fields.length - objVals.length, primVals);
+        if (obj != null) {
+            desc.setPrimFieldValues(obj, primVals);
+        }
+        readObjFieldValues(fields, objVals);
+        if (obj != null) {
+            desc.setObjFieldValues(obj, objVals);
+        }
+    }
+
+    /**
+     * Reads the values of the first numPrimFields of the given fields,
+     * storing them in primVals at the offsets of the fields.
+     */
+    private void readPrimFieldValues(ObjectStreamField[] fields,
+                                     int numPrimFields, byte[] primVals)
+        throws IOException
+    {
+        for (int i = 0; i < numPrimFields; i++) {
+            int off = fields[i].getOffset();
+            switch (fields[i].getTypeCode()) {
+                case 'Z':
+                case 'B':
+                    primVals[off] = readByte0();
+                    break;
+                case 'C':
+                    Bits.putChar(primVals, off, (char) readVarInt());
+                    break;
+                case 'S':
+                    Bits.putShort(primVals, off,
+                                  (short) unzigzag(readVarLong()));
+                    break;
+                case 'I':
+                    Bits.putInt(primVals, off, (int) unzigzag(readVarLong()));
+                    break;
+                case 'J':
+                    Bits.putLong(primVals, off, unzigzag(readVarLong()));
+                    break;
+                case 'F':
+                    Bits.putInt(primVals, off, readInt());
+                    break;
+                case 'D':
+                    Bits.putLong(primVals, off, readLong());
+                    break;
+                default:
+                    throw new InternalError();
+            }
+        }
+    }
+
+    /**
+     * Reads the values of the last objVals.length of the given fields.
+     */
+    private void readObjFieldValues(ObjectStreamField[] fields,
+                                    Object[] objVals)
+        throws IOException, ClassNotFoundException
+    {
+        int numPrimFields = fields.length - objVals.length;
+        for (int i = 0; i < objVals.length; i++) {
+            objVals[i] = readObject0(fields[numPrimFields + i].isUnshared());
+        }
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Method for cloning arrays in case of using unsharing reading
+     */
+    private static Object cloneArray(Object array) {
+        if (array instanceof Object[]) {
+            return ((Object[]) array).clone();
+        } else if (array instanceof boolean[]) {
+            return ((boolean[]) array).clone();
+        } else if (array instanceof byte[]) {
+            return ((byte[]) array).clone();
+        } else if (array instanceof char[]) {
+            return ((char[]) array).clone();
+        } else if (array instanceof double[]) {
+            return ((double[]) array).clone();
+        } else if (array instanceof float[]) {
+            return ((float[]) array).clone();
+        } else if (array instanceof int[]) {
+            return ((int[]) array).clone();
+        } else if (array instanceof long[]) {
+            return ((long[]) array).clone();
+        } else if (array instanceof short[]) {
+            return ((short[]) array).clone();
+        } else {
+            throw new AssertionError();
+        }
+    }
+
+    /**
+     * Reads a string written as its length followed by its characters, each
+     * as a variable-length integer.
+     */
+    private String readString() throws IOException {
+        int len = readVarInt();
+        char[] cbuf = new char[Math.min(len, buf.length)];
+        StringBuilder sb = null;
+        int i = 0;
+        for (int n = 0; n < len; n++) {
+            char c;
+            if (pos < end && buf[pos] >= 0) {
+                c = (char) buf[pos++];
+            } else {
+                c = (char) readVarInt();
+            }
+            if (i == cbuf.length) {
+                if (sb == null) {
+                    sb = new StringBuilder(len);
+                }
+                sb.append(cbuf, 0, i);
+                i = 0;
+            }
+            cbuf[i++] = c;
+        }
+        if (sb == null) {
+            return new String(cbuf, 0, i);
+        }
+        return sb.append(cbuf, 0, i).toString();
+    }
+
+    /**
+     * Reads a non-negative int written as a variable-length integer.
+     */
+    private int readVarInt() throws IOException {
+        long v = readVarLong();
+        if (v < 0 || v > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("integer out of range: " + v);
+        }
+        return (int) v;
+    }
+
+    private long readVarLong() throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte0();
+            v |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new StreamCorruptedException("malformed variable-length integer");
+    }
+
+    private byte readByte0() throws IOException {
+        if (pos == end && fill() < 0) {
+            throw new EOFException();
+        }
+        return buf[pos++];
+    }
+
+    /**
+     * Reads from the underlying stream into the empty buffer, returning the
+     * number of bytes read or -1 at the end of the stream.
+     */
+    private int fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        pos = 0;
+        end = Math.max(n, 0);
+        return n;
+    }
+
+    /**
+     * Ensures that n bytes, at most the length of the buffer, are available
+     * in the buffer.
+     */
+    private void require(int n) throws IOException {
+        int avail = end - pos;
+        if (avail >= n) {
+            return;
+        }
+        System.arraycopy(buf, pos, buf, 0, avail);
+        pos = 0;
+        end = avail;
+        while (end < n) {
+            int r = in.read(buf, end, buf.length - end);
+            if (r < 0) {
+                throw new EOFException();
+            }
+            end += r;
+        }
+    }
+
+    /**
+     * Default GetField implementation.
+     */
+    private class GetFieldImpl extends GetField {
+
+        /** class descriptor describing serializable fields */
+        private final ObjectStreamClass desc;
+        /** primitive field values */
+        private final byte[] primVals;
+        /** object field values */
+        private final Object[] objVals;
+
+        GetFieldImpl(ObjectStreamClass desc) {
+            this.desc = desc;
+            primVals = new byte[desc.getPrimDataSize()];
+            objVals = new Object[desc.getNumObjFields()];
+        }
+
+        public ObjectStreamClass getObjectStreamClass() {
+            return desc;
+        }
+
+        public boolean defaulted(String name) throws IOException {
+            getFieldOffset(name, null);
+            return false;
+        }
+
+        public boolean get(String name, boolean val) throws IOException {
+            return Bits.getBoolean(primVals,
+                                   getFieldOffset(name, Boolean.TYPE));
+        }
+
+        public byte get(String name, byte val) throws IOException {
+            return primVals[getFieldOffset(name, Byte.TYPE)];
+        }
+
+        public char get(String name, char val) throws IOException {
+            return Bits.getChar(primVals,
+                                getFieldOffset(name, Character.TYPE));
+        }
+
+        public short get(String name, short val) throws IOException {
+            return Bits.getShort(primVals, getFieldOffset(name, Short.TYPE));
+        }
+
+        public int get(String name, int val) throws IOException {
+            return Bits.getInt(primVals, getFieldOffset(name, Integer.TYPE));
+        }
+
+        public float get(String name, float val) throws IOException {
+            return Bits.getFloat(primVals, getFieldOffset(name, Float.TYPE));
+        }
+
+        public long get(String name, long val) throws IOException {
+            return Bits.getLong(primVals, getFieldOffset(name, Long.TYPE));
+        }
+
+        public double get(String name, double val) throws IOException {
+            return Bits.getDouble(primVals,
+                                  getFieldOffset(name, Double.TYPE));
+        }
+
+        public Object get(String name, Object val) throws IOException {
+            return objVals[getFieldOffset(name, Object.class)];
+        }
+
+        void readFields() throws IOException, ClassNotFoundException {
+            ObjectStreamField[] fields = desc.getFields(false);
+            readPrimFieldValues(fields, fields.length - objVals.length,
+                                primVals);
+            readObjFieldValues(fields, objVals);
+        }
+
+        private int getFieldOffset(String name, Class<?> type) {
+            ObjectStreamField field = desc.getField(name, type);
+            if (field == null) {
+                throw new IllegalArgumentException("no such field " + name +
+                                                   " with type " + type);
+            }
+            return field.getOffset();
+        }
+    }
+}
@@ -0,0 +1,873 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.io;
+
+import java.util.HashMap;
+
+/**
+ * An {@code ObjectOutputStream} that writes objects in a compact binary
+ * format, to be read by a {@link CompactObjectInputStream}.
+ * <p>
+ * Objects are serialized as by {@code ObjectOutputStream}.  The
+ * {@code writeReplace}, {@code writeObject} and {@code writeExternal}
+ * methods of their classes are called, and the serializable fields of
+ * classes without a {@code writeObject} method are written.  The format
+ * differs from that of the
+ * <a href="{@docRoot}/../platform/serialization/spec/protocol.html">
+ * object serialization stream protocol</a> as follows:
+ * <ul>
+ * <li>Classes are identified by number.  Classes registered with the
+ *     {@link CompactClassRegistry} of the stream are never written by name;
+ *     other classes are written by name the first time they are used.  In
+ *     place of a class descriptor, a 64-bit fingerprint of the schema of a
+ *     class is written, which the reading side checks against the local
+ *     class.  So the classes on both sides must have the same serializable
+ *     fields; there is no support for class evolution.</li>
+ * <li>Lengths, handles and class numbers are written as variable-length
+ *     integers.  The values of {@code char}, {@code short}, {@code int} and
+ *     {@code long} fields and array elements are written as
+ *     variable-length integers, small magnitudes taking fewer bytes.</li>
+ * <li>Strings are written as a variable-length count of characters
+ *     followed by each character as a variable-length integer, taking one
+ *     byte for an ASCII character.  Strings of any length are
+ *     supported.</li>
+ * <li>Data written by {@code writeObject} and {@code writeExternal}
+ *     methods is not framed into blocks.  It must be read in full by the
+ *     matching {@code readObject} and {@code readExternal} methods.</li>
+ * </ul>
+ * Primitive data written directly to the stream by the methods of
+ * {@link DataOutput} is written as specified by that interface.  Dynamic
+ * proxy classes, {@link #enableReplaceObject replaceObject} and
+ * {@link #annotateClass annotateClass} are not supported.  After an
+ * exception other than one thrown by the underlying stream, the stream
+ * should not be used further.
+ * <p>
+ * Output is buffered: it is written to the underlying stream when the
+ * buffer is full and when the stream is flushed or closed.
+ *
+ * @see CompactObjectInputStream
+ * @see CompactClassRegistry
+ * @since 1.8
+ */
+public class CompactObjectOutputStream extends ObjectOutputStream {
+
+    /** stream magic number, followed by the version */
+    static final short MAGIC = (short) 0xC0DE;
+    /** format version */
+    static final byte VERSION = 1;
+
+    /* tags introducing each object */
+    static final byte TAG_NULL = 0;
+    static final byte TAG_REFERENCE = 1;
+    static final byte TAG_STRING = 2;
+    static final byte TAG_OBJECT = 3;
+    static final byte TAG_ARRAY = 4;
+    static final byte TAG_ENUM = 5;
+    static final byte TAG_CLASS = 6;
+    static final byte TAG_RESET = 7;
+
+    /** the underlying stream */
+    private final OutputStream out;
+    /** output buffer */
+    private final byte[] buf = new byte[8192];
+    /** number of bytes in buf */
+    private int pos;
+
+    /** the registered classes */
+    private final CompactClassRegistry.Snapshot registry;
+    /** maps classes used so far to their numbers */
+    private final HashMap<Class<?>, Integer> classIds = new HashMap<>();
+    /** number of classes written by name */
+    private int numLocalClasses;
+    /** obj -> wire handle map */
+    private final HandleTable handles = new HandleTable(10, (float) 3.00);
+    /** obj -> replacement obj map */
+    private final ReplaceTable subs = new ReplaceTable(10, (float) 3.00);
+    /** recursion depth */
+    private int depth;
+    /** if true, a reset precedes the next object written */
+    private boolean resetPending;
+    /** buffer for writing primitive field values */
+    private byte[] primVals;
+    /** the context of the writeObject call in progress, if any */
+    private SerialCallbackContext curContext;
+    /** the PutField of the writeObject call in progress, if any */
+    private PutFieldImpl curPut;
+
+    /**
+     * Creates a {@code CompactObjectOutputStream} that writes to the
+     * specified {@code OutputStream}, with no registered classes.  The
+     * stream header is written to the buffer.
+     *
+     * @param   out output stream to write to
+     * @throws  IOException if an I/O error occurs while writing the stream
+     *          header
+     * @throws  SecurityException if a security manager exists and its
+     *          {@code checkPermission} method denies
+     *          {@code SerializablePermission("enableSubclassImplementation")}
+     * @throws  NullPointerException if {@code out} is null
+     */
+    public CompactObjectOutputStream(OutputStream out) throws IOException {
+        this(out, new CompactClassRegistry());
+    }
+
+    /**
+     * Creates a {@code CompactObjectOutputStream} that writes to the
+     * specified {@code OutputStream}, using the classes currently
+     * registered with the given registry.  The stream header is written to
+     * the buffer.
+     *
+     * @param   out output stream to write to
+     * @param   registry the registry of classes to identify by number
+     * @throws  IOException if an I/O error occurs while writing the stream
+     *          header
+     * @throws  SecurityException if a security manager exists and its
+     *          {@code checkPermission} method denies
+     *          {@code SerializablePermission("enableSubclassImplementation")}
+     * @throws  NullPointerException if {@code out} or {@code registry} is
+     *          null
+     */
+    public CompactObjectOutputStream(OutputStream out,
+                                     CompactClassRegistry registry)
+        throws IOException
+    {
+        super();
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        this.out = out;
+        this.registry = registry.snapshot();
+        writeStreamHeader();
+    }
+
+    /**
+     * Writes the magic number, the version and the fingerprint of the
+     * registered classes.
+     *
+     * @throws  IOException if I/O errors occur while writing to the
+     *          underlying stream
+     */
+    @Override
+    protected void writeStreamHeader() throws IOException {
+        writeShort(MAGIC);
+        writeByte(VERSION);
+        writeLong(registry.fingerprint);
+    }
+
+    /**
+     * Writes the specified object to the stream.
+     *
+     * @param   obj the object to be written
+     * @throws  IOException if an I/O error occurs, or something is wrong
+     *          with a class used by serialization
+     */
+    @Override
+    protected void writeObjectOverride(Object obj) throws IOException {
+        writeObject0(obj, false);
+    }
+
+    /**
+     * Writes an "unshared" object to the stream.  The object is written
+     * as a new object even if it has been written before, and later
+     * writes of it do not refer back to it.
+     *
+     * @param   obj object to write to stream
+     * @throws  IOException if an I/O error occurs, or something is wrong
+     *          with a class used by serialization
+     */
+    @Override
+    public void writeUnshared(Object obj) throws IOException {
+        writeObject0(obj, true);
+    }
+
+    /**
+     * Write the non-static and non-transient fields of the current class
+     * to this stream.  This may only be called from the writeObject method
+     * of the class being serialized.
+     *
+     * @throws  IOException if I/O errors occur while writing to the
+     *          underlying stream
+     */
+    @Override
+    public void defaultWriteObject() throws IOException {
+        SerialCallbackContext ctx = curContext;
+        if (ctx == null) {
+            throw new NotActiveException("not in call to writeObject");
+        }
+        defaultWriteFields(ctx.getObj(), ctx.getDesc());
+    }
+
+    /**
+     * Retrieve the object used to buffer persistent fields to be written to
+     * the stream.  The fields will be written to the stream when writeFields
+     * method is called.
+     *
+     * @return  an instance of the class Putfield that holds the serializable
+     *          fields
+     * @throws  IOException if I/O errors occur
+     */
+    @Override
+    public ObjectOutputStream.PutField putFields() throws IOException {
+        if (curPut == null) {
+            SerialCallbackContext ctx = curContext;
+            if (ctx == null) {
+                throw new NotActiveException("not in call to writeObject");
+            }
+            ctx.getObj();
+            curPut = new PutFieldImpl(ctx.getDesc());
+        }
+        return curPut;
+    }
+
+    /**
+     * Write the buffered fields to the stream.
+     *
+     * @throws  IOException if I/O errors occur while writing to the
+     *          underlying stream
+     * @throws  NotActiveException Called when a classes writeObject method
+     *          was not called to write the state of the object.
+     */
+    @Override
+    public void writeFields() throws IOException {
+        if (curPut == null) {
+            throw new NotActiveException("no current PutField object");
+        }
+        curPut.writeFields();
+    }
+
+    /**
+     * Reset will disregard the state of any objects already written to the
+     * stream, and the classes written by name.  The reset is recorded in
+     * the stream ahead of the next object written, and the reading side
+     * disregards the same state before reading that object.
+     *
+     * @throws  IOException if reset() is invoked while serializing an
+     *          object.
+     */
+    @Override
+    public void reset() throws IOException {
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        resetPending = true;
+        handles.clear();
+        subs.clear();
+        classIds.clear();
+        numLocalClasses = 0;
+    }
+
+    /**
+     * Has no effect: the format of the stream does not depend on the
+     * protocol version.
+     *
+     * @param   version use ProtocolVersion from java.io.ObjectStreamConstants.
+     * @throws  IllegalArgumentException if invalid version is passed in.
+     */
+    @Override
+    public void useProtocolVersion(int version) throws IOException {
+        if (version != PROTOCOL_VERSION_1 && version != PROTOCOL_VERSION_2) {
+            throw new IllegalArgumentException(
+                "unknown version: " + version);
+        }
+    }
+
+    @Override
+    public void write(int val) throws IOException {
+        writeByte0(val);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        int endoff = off + len;
+        if (off < 0 || len < 0 || endoff > b.length || endoff < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len >= buf.length) {
+            drain();
+            out.write(b, off, len);
+            return;
+        }
+        ensure(len);
+        System.arraycopy(b, off, buf, pos, len);
+        pos += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    protected void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    @Override
+    public void writeBoolean(boolean val) throws IOException {
+        writeByte0(val ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int val) throws IOException {
+        writeByte0(val);
+    }
+
+    @Override
+    public void writeShort(int val) throws IOException {
+        ensure(2);
+        Bits.putShort(buf, pos, (short) val);
+        pos += 2;
+    }
+
+    @Override
+    public void writeChar(int val) throws IOException {
+        ensure(2);
+        Bits.putChar(buf, pos, (char) val);
+        pos += 2;
+    }
+
+    @Override
+    public void writeInt(int val) throws IOException {
+        ensure(4);
+        Bits.putInt(buf, pos, val);
+        pos += 4;
+    }
+
+    @Override
+    public void writeFloat(float val) throws IOException {
+        writeInt(Float.floatToIntBits(val));
+    }
+
+    @Override
+    public void writeLong(long val) throws IOException {
+        ensure(8);
+        Bits.putLong(buf, pos, val);
+        pos += 8;
+    }
+
+    @Override
+    public void writeDouble(double val) throws IOException {
+        writeLong(Double.doubleToLongBits(val));
+    }
+
+    @Override
+    public void writeBytes(String str) throws IOException {
+        int len = str.length();
+        for (int i = 0; i < len; i++) {
+            writeByte0(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(String str) throws IOException {
+        int len = str.length();
+        for (int i = 0; i < len; i++) {
+            writeChar(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(String str) throws IOException {
+        DataOutputStream.writeUTF(str, this);
+    }
+
+    /**
+     * Underlying writeObject/writeUnshared implementation.
+     */
+    private void writeObject0(Object obj, boolean unshared)
+        throws IOException
+    {
+        if (depth == 0 && resetPending) {
+            writeByte0(TAG_RESET);
+            resetPending = false;
+        }
+        depth++;
+        try {
+            // handle previously written and non-replaceable objects
+            int h;
+            if ((obj = subs.lookup(obj)) == null) {
+                writeByte0(TAG_NULL);
+                return;
+            } else if (!unshared && (h = handles.lookup(obj)) != -1) {
+                writeReference(h);
+                return;
+            } else if (obj instanceof Class) {
+                writeClass((Class<?>) obj);
+                return;
+            }
+
+            // check for replacement object
+            Object orig = obj;
+            Class<?> cl = obj.getClass();
+            ObjectStreamClass desc;
+            for (;;) {
+                Class<?> repCl;
+                desc = ObjectStreamClass.lookup(cl, true);
+                if (!desc.hasWriteReplaceMethod() ||
+                    (obj = desc.invokeWriteReplace(obj)) == null ||
+                    (repCl = obj.getClass()) == cl)
+                {
+                    break;
+                }
+                cl = repCl;
+            }
+            if (obj != orig) {
+                subs.assign(orig, obj);
+                if (obj == null) {
+                    writeByte0(TAG_NULL);
+                    return;
+                } else if (!unshared && (h = handles.lookup(obj)) != -1) {
+                    writeReference(h);
+                    return;
+                } else if (obj instanceof Class) {
+                    writeClass((Class<?>) obj);
+                    return;
+                }
+            }
+
+            // remaining cases
+            if (obj instanceof String) {
+                writeByte0(TAG_STRING);
+                handles.assign(unshared ? null : obj);
+                writeString((String) obj);
+            } else if (cl.isArray()) {
+                writeArray(obj, desc, unshared);
+            } else if (obj instanceof Enum) {
+                writeEnum((Enum<?>) obj, desc, unshared);
+            } else if (obj instanceof Serializable) {
+                writeOrdinaryObject(obj, desc, unshared);
+            } else {
+                throw new NotSerializableException(cl.getName());
+            }
+        } finally {
+            depth--;
+        }
+    }
+
+    private void writeReference(int handle) throws IOException {
+        writeByte0(TAG_REFERENCE);
+        writeVarInt(handle);
+    }
+
+    private void writeClass(Class<?> cl) throws IOException {
+        writeByte0(TAG_CLASS);
+        writeClassRef(ObjectStreamClass.lookup(cl, true));
+    }
+
+    /**
+     * Writes the number of the class described by a local descriptor,
+     * preceded by its name and fingerprint if it is neither registered nor
+     * written before.  Zero introduces a new class; other values are one
+     * more than the number of the class.
+     */
+    private void writeClassRef(ObjectStreamClass desc) throws IOException {
+        Class<?> cl = desc.forClass();
+        Integer id = classIds.get(cl);
+        if (id == null) {
+            id = registry.ids.get(cl);
+            if (id == null) {
+                if (desc.isProxy()) {
+                    throw new NotSerializableException(
+                        "proxy class " + cl.getName());
+                }
+                writeVarInt(0);
+                writeString(desc.getName());
+                writeLong(CompactClassRegistry.fingerprint(desc));
+                classIds.put(cl, registry.descs.length + numLocalClasses++);
+                return;
+            }
+            classIds.put(cl, id);
+        }
+        writeVarInt(id + 1);
+    }
+
+    private void writeEnum(Enum<?> en, ObjectStreamClass desc,
+                           boolean unshared)
+        throws IOException
+    {
+        writeByte0(TAG_ENUM);
+        ObjectStreamClass sdesc = desc.getSuperDesc();
+        writeClassRef((sdesc.forClass() == Enum.class) ? desc : sdesc);
+        handles.assign(unshared ? null : en);
+        writeString(en.name());
+    }
+
+    private void writeArray(Object array, ObjectStreamClass desc,
+                            boolean unshared)
+        throws IOException
+    {
+        writeByte0(TAG_ARRAY);
+        writeClassRef(desc);
+        handles.assign(unshared ? null : array);
+
+        Class<?> ccl = desc.forClass().getComponentType();
+        if (ccl.isPrimitive()) {
+            if (ccl == Integer.TYPE) {
+                int[] ia = (int[]) array;
+                writeVarInt(ia.length);
+                for (int v : ia) {
+                    writeVarLong(zigzag(v));
+                }
+            } else if (ccl == Byte.TYPE) {
+                byte[] ba = (byte[]) array;
+                writeVarInt(ba.length);
+                write(ba, 0, ba.length);
+            } else if (ccl == Long.TYPE) {
+                long[] ja = (long[]) array;
+                writeVarInt(ja.length);
+                for (long v : ja) {
+                    writeVarLong(zigzag(v));
+                }
+            } else if (ccl == Float.TYPE) {
+                float[] fa = (float[]) array;
+                writeVarInt(fa.length);
+                for (float v : fa) {
+                    writeFloat(v);
+                }
+            } else if (ccl == Double.TYPE) {
+                double[] da = (double[]) array;
+                writeVarInt(da.length);
+                for (double v : da) {
+                    writeDouble(v);
+                }
+            } else if (ccl == Short.TYPE) {
+                short[] sa = (short[]) array;
+                writeVarInt(sa.length);
+                for (short v : sa) {
+                    writeVarLong(zigzag(v));
+                }
+            } else if (ccl == Character.TYPE) {
+                char[] ca = (char[]) array;
+                writeVarInt(ca.length);
+                for (char v : ca) {
+                    writeVarInt(v);
+                }
+            } else if (ccl == Boolean.TYPE) {
+                boolean[] za = (boolean[]) array;
+                writeVarInt(za.length);
+                for (boolean v : za) {
+                    writeByte0(v ? 1 : 0);
+                }
+            } else {
+                throw new InternalError();
+            }
+        } else {
+            Object[] objs = (Object[]) array;
+            writeVarInt(objs.length);
+            for (Object obj : objs) {
+                writeObject0(obj, false);
+            }
+        }
+    }
+
+    private void writeOrdinaryObject(Object obj, ObjectStreamClass desc,
+                                     boolean unshared)
+        throws IOException
+    {
+        desc.checkSerialize();
+        writeByte0(TAG_OBJECT);
+        writeClassRef(desc);
+        handles.assign(unshared ? null : obj);
+        if (desc.isExternalizable()) {
+            writeExternalData((Externalizable) obj);
+        } else {
+            writeSerialData(obj, desc);
+        }
+    }
+
+    private void writeExternalData(Externalizable obj) throws IOException {
+        PutFieldImpl oldPut = curPut;
+        curPut = null;
+        SerialCallbackContext oldContext = curContext;
+        try {
+            curContext = null;
+            obj.writeExternal(this);
+        } finally {
+            curContext = oldContext;
+        }
+        curPut = oldPut;
+    }
+
+    /**
+     * Writes instance data for each serializable class of given object,
+     * from superclass to subclass.
+     */
+    private void writeSerialData(Object obj, ObjectStreamClass desc)
+        throws IOException
+    {
+        ObjectStreamClass.ClassDataSlot[] slots = desc.getClassDataLayout();
+        for (int i = 0; i < slots.length; i++) {
+            ObjectStreamClass slotDesc = slots[i].desc;
+            if (slotDesc.hasWriteObjectMethod()) {
+                PutFieldImpl oldPut = curPut;
+                curPut = null;
+                SerialCallbackContext oldContext = curContext;
+                try {
+                    curContext = new SerialCallbackContext(obj, slotDesc);
+                    slotDesc.invokeWriteObject(obj, this);
+                } finally {
+                    curContext.setUsed();
+                    curContext = oldContext;
+                }
+                curPut = oldPut;
+            } else {
+                defaultWriteFields(obj, slotDesc);
+            }
+        }
+    }
+
+    /**
+     * Fetches and writes values of serializable fields of given object to
+     * stream.
+     */
+    private void defaultWriteFields(Object obj, ObjectStreamClass desc)
+        throws IOException
+    {
+        Class<?> cl = desc.forClass();
+        if (cl != null && obj != null && !cl.isInstance(obj)) {
+            throw new ClassCastException();
+        }
+
+        desc.checkDefaultSerialize();
+
+        int primDataSize = desc.getPrimDataSize();
+        if (primVals == null || primVals.length < primDataSize) {
+            primVals = new byte[primDataSize];
+        }
+        desc.getPrimFieldValues(obj, primVals);
+        Object[] objVals = new Object[desc.getNumObjFields()];
+        desc.getObjFieldValues(obj, objVals);
+        writeFieldValues(desc.getFields(false), primVals, objVals);
+    }
+
+    /**
+     * Writes the values of the given fields, the primitive values taken
+     * from primVals at the offsets of the fields.
+     */
+    private void writeFieldValues(ObjectStreamField[] fields, byte[] primVals,
+                                  Object[] objVals)
+        throws IOException
+    {
+        int numPrimFields = fields.length - objVals.length;
+        for (int i = 0; i < numPrimFields; i++) {
+            int off = fields[i].getOffset();
+            switch (fields[i].getTypeCode()) {
+                case 'Z':
+                case 'B':
+                    writeByte0(primVals[off]);
+                    break;
+                case 'C':
+                    writeVarInt(Bits.getChar(primVals, off));
+                    break;
+                case 'S':
+                    writeVarLong(zigzag(Bits.getShort(primVals, off)));
+                    break;
+                case 'I':
+                    writeVarLong(zigzag(Bits.getInt(primVals, off)));
+                    break;
+                case 'J':
+                    writeVarLong(zigzag(Bits.getLong(primVals, off)));
+                    break;
+                case 'F':
+                    writeInt(Bits.getInt(primVals, off));
+                    break;
+                case 'D':
+                    writeLong(Bits.getLong(primVals, off));
+                    break;
+                default:
+                    throw new InternalError();
+            }
+        }
+        for (int i = 0; i < objVals.length; i++) {
+            writeObject0(objVals[i], fields[numPrimFields + i].isUnshared());
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    /**
+     * Writes a string as its length followed by its characters, each as a
+     * variable-length integer.
+     */
+    private void writeString(String str) throws IOException {
+        int len = str.length();
+        writeVarInt(len);
+        int i = 0;
+        while (i < len) {
+            // each character takes at most 3 bytes
+            int n = Math.min(len - i, buf.length / 3);
+            ensure(n * 3);
+            int p = pos;
+            for (int end = i + n; i < end; i++) {
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    buf[p++] = (byte) c;
+                } else if (c < 0x4000) {
+                    buf[p++] = (byte) (c | 0x80);
+                    buf[p++] = (byte) (c >>> 7);
+                } else {
+                    buf[p++] = (byte) (c | 0x80);
+                    buf[p++] = (byte) ((c >>> 7) | 0x80);
+                    buf[p++] = (byte) (c >>> 14);
+                }
+            }
+            pos = p;
+        }
+    }
+
+    /**
+     * Writes a non-negative int as a variable-length integer: 7 bits per
+     * byte, least significant first, the high bit of each byte but the last
+     * set.
+     */
+    private void writeVarInt(int v) throws IOException {
+        writeVarLong(v & 0xffffffffL);
+    }
+
+    private void writeVarLong(long v) throws IOException {
+        ensure(10);
+        int p = pos;
+        while ((v & ~0x7fL) != 0) {
+            buf[p++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+        buf[p++] = (byte) v;
+        pos = p;
+    }
+
+    private void writeByte0(int b) throws IOException {
+        if (pos == buf.length) {
+            drain();
+        }
+        buf[pos++] = (byte) b;
+    }
+
+    /**
+     * Makes room for n bytes in the buffer, which must be at most its
+     * length.
+     */
+    private void ensure(int n) throws IOException {
+        if (buf.length - pos < n) {
+            drain();
+        }
+    }
+
+    /**
+     * Default PutField implementation.
+     */
+    private class PutFieldImpl extends PutField {
+
+        /** class descriptor describing serializable fields */
+        private final ObjectStreamClass desc;
+        /** primitive field values */
+        private final byte[] primVals;
+        /** object field values */
+        private final Object[] objVals;
+
+        PutFieldImpl(ObjectStreamClass desc) {
+            this.desc = desc;
+            primVals = new byte[desc.getPrimDataSize()];
+            objVals = new Object[desc.getNumObjFields()];
+        }
+
+        public void put(String name, boolean val) {
+            Bits.putBoolean(primVals, getFieldOffset(name, Boolean.TYPE), val);
+        }
+
+        public void put(String name, byte val) {
+            primVals[getFieldOffset(name, Byte.TYPE)] = val;
+        }
+
+        public void put(String name, char val) {
+            Bits.putChar(primVals, getFieldOffset(name, Character.TYPE), val);
+        }
+
+        public void put(String name, short val) {
+            Bits.putShort(primVals, getFieldOffset(name, Short.TYPE), val);
+        }
+
+        public void put(String name, int val) {
+            Bits.putInt(primVals, getFieldOffset(name, Integer.TYPE), val);
+        }
+
+        public void put(String name, float val) {
+            Bits.putFloat(primVals, getFieldOffset(name, Float.TYPE), val);
+        }
+
+        public void put(String name, long val) {
+            Bits.putLong(primVals, getFieldOffset(name, Long.TYPE), val);
+        }
+
+        public void put(String name, double val) {
+            Bits.putDouble(primVals, getFieldOffset(name, Double.TYPE), val);
+        }
+
+        public void put(String name, Object val) {
+            objVals[getFieldOffset(name, Object.class)] = val;
+        }
+
+        // deprecated in ObjectOutputStream.PutField
+        public void write(ObjectOutput out) throws IOException {
+            if (CompactObjectOutputStream.this != out) {
+                throw new IllegalArgumentException("wrong stream");
+            }
+            writeFields();
+        }
+
+        void writeFields() throws IOException {
+            writeFieldValues(desc.getFields(false), primVals, objVals);
+        }
+
+        private int getFieldOffset(String name, Class<?> type) {
+            ObjectStreamField field = desc.getField(name, type);
+            if (field == null) {
+                throw new IllegalArgumentException("no such field " + name +
+                                                   " with type " + type);
+            }
+            return field.getOffset();
+        }
+    }
+}
@@ -281,6 +281,56 @@ class FileInputStream extends InputStream
      */
     public native long skip(long n) throws IOException;
 
+    /**
+     * Reads all bytes from this input stream and writes the bytes to the
+     * given output stream in the order that they are read.  On return, this
+     * input stream will be at end of stream.  This method does not close
+     * either stream.
+     *
+     * <p> If the classes of this stream and of <code>out</code> are exactly
+     * <code>FileInputStream</code> and <code>FileOutputStream</code>, and
+     * this stream reads from a regular file, the bytes up to the end of the
+     * file are transferred with {@link FileChannel#transferTo
+     * FileChannel.transferTo}, which many operating systems implement
+     * without copying the bytes through user space.  Any remaining bytes,
+     * and all bytes in other cases, are copied as specified by {@link
+     * InputStream#transferTo InputStream.transferTo}.
+     *
+     * @param      out the output stream, non-null
+     * @return     the number of bytes transferred
+     * @exception  IOException if an I/O error occurs when reading or writing
+     * @exception  NullPointerException if <code>out</code> is
+     *             <code>null</code>
+     * @since      1.8
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        long transferred = 0L;
+        // subclasses may override read or write, which the channels bypass
+        if (getClass() == FileInputStream.class
+                && out.getClass() == FileOutputStream.class) {
+            FileChannel target = ((FileOutputStream) out).getChannel();
+            FileChannel fc = getChannel();
+            long pos;
+            try {
+                pos = fc.position();
+            } catch (IOException x) {
+                pos = -1;   // not seekable, e.g. a pipe
+            }
+            if (pos >= 0) {
+                long size = fc.size();
+                while (pos < size) {
+                    long n = fc.transferTo(pos, size - pos, target);
+                    if (n <= 0)
+                        break;
+                    pos += n;
+                    transferred += n;
+                }
+                fc.position(pos);
+            }
+        }
+        return transferred + super.transferTo(out);
+    }
+
     /**
      * Returns an estimate of the number of remaining bytes that can be read (or
      * skipped over) from this input stream without blocking by the next
@@ -48,6 +48,10 @@ public abstract class InputStream implements Closeable {
     // use when skipping.
     private static final int MAX_SKIP_BUFFER_SIZE = 2048;
 
+    // TRANSFER_BUFFER_SIZE is the size of the buffer used to copy bytes
+    // in transferTo.
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
     /**
      * Reads the next byte of data from the input stream. The value byte is
      * returned as an <code>int</code> in the range <code>0</code> to
@@ -187,6 +191,94 @@ public abstract class InputStream implements Closeable {
         return i;
     }
 
+    /**
+     * Reads the requested number of bytes from the input stream into the given
+     * byte array. This method blocks until <code>len</code> bytes of input
+     * data have been read, end of stream is detected, or an exception is
+     * thrown. The number of bytes actually read, possibly zero, is returned.
+     * This method does not close the input stream.
+     *
+     * <p> In the case where end of stream is reached before <code>len</code>
+     * bytes have been read, then the actual number of bytes read will be
+     * returned. When this stream reaches end of stream, further invocations
+     * of this method will return zero.
+     *
+     * <p> The <code>readNBytes</code> method of <code>InputStream</code>
+     * repeatedly calls {@link #read(byte[], int, int) read(b, off, len)}.
+     * Subclasses may override it to read more efficiently, for example to
+     * read large requests directly from an underlying stream.
+     *
+     * @param      b     the byte array into which the data is read.
+     * @param      off   the start offset in <code>b</code> at which the data
+     *                   is written.
+     * @param      len   the maximum number of bytes to read.
+     * @return     the actual number of bytes read into the buffer.
+     * @exception  IOException if an I/O error occurs.
+     * @exception  NullPointerException If <code>b</code> is <code>null</code>.
+     * @exception  IndexOutOfBoundsException If <code>off</code> is negative,
+     * <code>len</code> is negative, or <code>len</code> is greater than
+     * <code>b.length - off</code>
+     * @since      1.8
+     */
+    public int readNBytes(byte b[], int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        } else if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = 0;
+        while (n < len) {
+            int count = read(b, off + n, len - n);
+            if (count < 0)
+                break;
+            n += count;
+        }
+        return n;
+    }
+
+    /**
+     * Reads all bytes from this input stream and writes the bytes to the
+     * given output stream in the order that they are read. On return, this
+     * input stream will be at end of stream. This method does not close
+     * either stream.
+     *
+     * <p> This method may block indefinitely reading from the input stream,
+     * or writing to the output stream. The behavior for the case where the
+     * input and/or output stream is <i>asynchronously closed</i>, or the
+     * thread interrupted during the transfer, is highly input and output
+     * stream specific, and therefore not specified.
+     *
+     * <p> If an I/O error occurs reading from the input stream or writing to
+     * the output stream, then it may do so after some bytes have been read
+     * or written. Consequently the input stream may not be at end of stream
+     * and one, or both, streams may be in an inconsistent state.
+     *
+     * <p> The <code>transferTo</code> method of <code>InputStream</code>
+     * reads into a buffer of 8192 bytes and writes each chunk read.
+     * Subclasses may override it to avoid the copy, for example by handing
+     * their bytes to the output stream directly.
+     *
+     * @param      out the output stream, non-null
+     * @return     the number of bytes transferred
+     * @exception  IOException if an I/O error occurs when reading or writing
+     * @exception  NullPointerException if <code>out</code> is
+     *             <code>null</code>
+     * @since      1.8
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        long transferred = 0;
+        byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+        int read;
+        while ((read = this.read(buffer, 0, TRANSFER_BUFFER_SIZE)) >= 0) {
+            out.write(buffer, 0, read);
+            transferred += read;
+        }
+        return transferred;
+    }
+
     /**
      * Skips over and discards <code>n</code> bytes of data from this input
      * stream. The <code>skip</code> method may, for a variety of reasons, end
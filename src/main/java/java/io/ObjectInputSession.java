@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.io;
+
+/**
+ * Reads the messages written by an {@link ObjectOutputSession}.
+ * <p>
+ * Each call to {@link #readMessage readMessage} reads the next message of
+ * the session from the given {@code InputStream} and returns the object
+ * graph it contains.  A session uses a single {@link ObjectInputStream}
+ * for all its messages, and keeps the class descriptors read so that
+ * later messages can refer to them.  Messages must be read in the order
+ * they were written, and each message must be read exactly once.  The
+ * stream given for a message need not end with the message, but is left
+ * positioned after it.
+ * <p>
+ * If {@code readMessage} throws a {@code ClassNotFoundException}, the
+ * message has been read in full and the session stays usable.  If it
+ * throws any other exception, the position in the message is unknown, and
+ * later calls throw {@code StreamCorruptedException}.
+ * <p>
+ * An {@code ObjectInputSession} is not safe for use by multiple concurrent
+ * threads.  Classes are resolved as by an {@code ObjectInputStream}
+ * created by the caller of {@code readMessage}.
+ *
+ * @see ObjectOutputSession
+ * @since 1.8
+ */
+public final class ObjectInputSession {
+
+    /** forwards to the input stream of the current message */
+    private final Source source = new Source();
+    /** stream shared by all messages, created with the first message */
+    private ObjectInputStream stream;
+    /** whether an earlier message failed, leaving the stream unusable */
+    private boolean broken;
+
+    /**
+     * Creates a new session.
+     */
+    public ObjectInputSession() {
+    }
+
+    /**
+     * Reads the next message of this session from the given stream, and
+     * returns the object graph it contains.
+     *
+     * @param   in the stream from which to read the message
+     * @return  the object read
+     * @throws  ClassNotFoundException if the class of a serialized object
+     *          cannot be found
+     * @throws  InvalidClassException if something is wrong with a class
+     *          used by serialization
+     * @throws  StreamCorruptedException if the message is not valid, or
+     *          an earlier message of this session could not be read
+     * @throws  IOException if an I/O error occurs
+     * @throws  NullPointerException if {@code in} is null
+     */
+    public Object readMessage(InputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        if (in == null) {
+            throw new NullPointerException();
+        }
+        if (broken) {
+            throw new StreamCorruptedException(
+                "earlier message of session could not be read");
+        }
+        source.in = in;
+        boolean done = false;
+        try {
+            if (stream == null) {
+                stream = new ObjectInputStream(source);
+            }
+            Object obj;
+            try {
+                obj = stream.readObject();
+            } catch (ClassNotFoundException ex) {
+                stream.retainClassDescs();
+                done = true;
+                throw ex;
+            }
+            stream.retainClassDescs();
+            done = true;
+            return obj;
+        } finally {
+            source.in = null;
+            if (!done && stream != null) {
+                broken = true;
+            }
+        }
+    }
+
+    /**
+     * Input stream forwarding to the stream of the message being read.
+     */
+    private static final class Source extends InputStream {
+        InputStream in;
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return in.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (in != null) ? in.available() : 0;
+        }
+    }
+}
@@ -215,7 +215,7 @@ public class ObjectInputStream
     private static final Object unsharedMarker = new Object();
 
     /** table mapping primitive type names to corresponding class objects */
-    private static final HashMap<String, Class<?>> primClasses
+    static final HashMap<String, Class<?>> primClasses
         = new HashMap<>(8, 1.0F);
     static {
         primClasses.put("boolean", boolean.class);
@@ -1550,7 +1550,8 @@ public class ObjectInputStream
         }
 
         ObjectStreamClass desc = new ObjectStreamClass();
-        int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        int descHandle = unshared ?
+            handles.assign(unsharedMarker) : handles.assignClassDesc(desc);
         passHandle = NULL_HANDLE;
 
         int numIfaces = bin.readInt();
@@ -1601,7 +1602,8 @@ public class ObjectInputStream
         }
 
         ObjectStreamClass desc = new ObjectStreamClass();
-        int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        int descHandle = unshared ?
+            handles.assign(unsharedMarker) : handles.assignClassDesc(desc);
         passHandle = NULL_HANDLE;
 
         ObjectStreamClass readDesc = null;
@@ -2052,6 +2054,22 @@ public class ObjectInputStream
         clear();
     }
 
+    /**
+     * Clears the handles of all objects read so far, except for those of
+     * shared class descriptors.  These keep their handles, renumbered from
+     * zero in the order the handles were assigned, so the descriptors can
+     * be referred to by later objects without being read again.  This
+     * matches ObjectOutputStream.retainClassDescs on the writing side.
+     * Used by ObjectInputSession between messages.
+     */
+    void retainClassDescs() throws IOException {
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        handles.retainClassDescs();
+        vlist.clear();
+    }
+
     /**
      * Converts specified span of bytes into float values.
      */
@@ -2079,7 +2097,7 @@ public class ObjectInputStream
      * This method should not be removed or its signature changed without
      * corresponding modifications to the above class.
      */
-    private static ClassLoader latestUserDefinedLoader() {
+    static ClassLoader latestUserDefinedLoader() {
         return sun.misc.VM.latestUserDefinedLoader();
     }
 
@@ -2211,7 +2229,7 @@ public class ObjectInputStream
      * Prioritized list of callbacks to be performed once object graph has been
      * completely deserialized.
      */
-    private static class ValidationList {
+    static class ValidationList {
 
         private static class Callback {
             final ObjectInputValidation obj;
@@ -3275,6 +3293,8 @@ public class ObjectInputStream
         Object[] entries;
         /** array mapping handle -> list of dependent handles (if any) */
         HandleList[] deps;
+        /** array mapping handle -> whether handle is of a class descriptor */
+        boolean[] classDescs;
         /** lowest unresolved dependency */
         int lowDep = -1;
         /** number of handles in table */
@@ -3287,6 +3307,7 @@ public class ObjectInputStream
             status = new byte[initialCapacity];
             entries = new Object[initialCapacity];
             deps = new HandleList[initialCapacity];
+            classDescs = new boolean[initialCapacity];
         }
 
         /**
@@ -3304,6 +3325,17 @@ public class ObjectInputStream
             return size++;
         }
 
+        /**
+         * Assigns next available handle to given shared class descriptor,
+         * and returns assigned handle.  The handle is kept by
+         * retainClassDescs.
+         */
+        int assignClassDesc(ObjectStreamClass desc) {
+            int handle = assign(desc);
+            classDescs[handle] = true;
+            return handle;
+        }
+
         /**
          * Registers a dependency (in exception status) of one handle on
          * another.  The dependent handle must be "open" (i.e., assigned, but
@@ -3472,10 +3504,34 @@ public class ObjectInputStream
             Arrays.fill(status, 0, size, (byte) 0);
             Arrays.fill(entries, 0, size, null);
             Arrays.fill(deps, 0, size, null);
+            Arrays.fill(classDescs, 0, size, false);
             lowDep = -1;
             size = 0;
         }
 
+        /**
+         * Removes all handles other than those assigned by assignClassDesc,
+         * which are renumbered from zero in ascending order.  Must only be
+         * called when no handles are open.
+         */
+        void retainClassDescs() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (classDescs[i]) {
+                    status[n] = status[i];
+                    entries[n] = entries[i];
+                    classDescs[n] = true;
+                    n++;
+                }
+            }
+            Arrays.fill(status, n, size, (byte) 0);
+            Arrays.fill(entries, n, size, null);
+            Arrays.fill(deps, 0, size, null);
+            Arrays.fill(classDescs, n, size, false);
+            lowDep = -1;
+            size = n;
+        }
+
         /**
          * Returns number of handles registered in table.
          */
@@ -3492,14 +3548,17 @@ public class ObjectInputStream
             byte[] newStatus = new byte[newCapacity];
             Object[] newEntries = new Object[newCapacity];
             HandleList[] newDeps = new HandleList[newCapacity];
+            boolean[] newClassDescs = new boolean[newCapacity];
 
             System.arraycopy(status, 0, newStatus, 0, size);
             System.arraycopy(entries, 0, newEntries, 0, size);
             System.arraycopy(deps, 0, newDeps, 0, size);
+            System.arraycopy(classDescs, 0, newClassDescs, 0, size);
 
             status = newStatus;
             entries = newEntries;
             deps = newDeps;
+            classDescs = newClassDescs;
         }
 
         /**
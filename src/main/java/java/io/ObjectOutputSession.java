@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.io;
+
+/**
+ * Writes a sequence of objects as separate messages in the Java
+ * serialization format, keeping class descriptors known across messages.
+ * <p>
+ * Each message is the serialized form of one object graph, written to the
+ * {@code OutputStream} passed to {@link #writeMessage writeMessage}.  A
+ * session uses a single {@link ObjectOutputStream} for all its messages.
+ * The first message begins with the stream header.  Between messages the
+ * handles of the objects written are cleared, as by
+ * {@link ObjectOutputStream#reset reset}, except that class descriptors
+ * keep their handles.  So each class descriptor is written only once per
+ * session, and later messages refer to it by handle.  The stream's buffers
+ * and handle tables are reused, so the cost per message is close to that
+ * of writing its objects alone.
+ * <p>
+ * The messages must be read, in the order they were written, by a single
+ * {@link ObjectInputSession}.  A message is only readable by a session that
+ * has read all the messages before it.  Concatenated, the messages of a
+ * session form a valid serialization stream for
+ * {@code ObjectInputStream}, but only the first object of that stream can
+ * be read, since class descriptors in later messages refer to handles the
+ * stream no longer has.
+ * <p>
+ * If {@code writeMessage} throws an exception, some of the message may
+ * already have been written to its {@code OutputStream}.  Those bytes must
+ * be discarded, and not read by the {@code ObjectInputSession}.  The
+ * session stays usable: its next message begins with a reset, so that the
+ * reading session forgets the descriptors of the failed message.
+ * <p>
+ * An {@code ObjectOutputSession} is not safe for use by multiple
+ * concurrent threads.  Sessions are intended to be reused for the life of
+ * a connection, or pooled by the application.
+ *
+ * @see ObjectInputSession
+ * @since 1.8
+ */
+public final class ObjectOutputSession {
+
+    /** forwards to the output stream of the current message */
+    private final Target target = new Target();
+    /** stream shared by all messages, created with the first message */
+    private ObjectOutputStream stream;
+    /** whether a message has been written since the stream was created */
+    private boolean started;
+    /** whether the next message must begin with a reset */
+    private boolean resetPending;
+
+    /**
+     * Creates a new session.
+     */
+    public ObjectOutputSession() {
+    }
+
+    /**
+     * Writes an object graph as the next message of this session to the
+     * given stream, and flushes the stream.
+     *
+     * @param   obj the object to be written
+     * @param   out the stream to which to write the message
+     * @throws  InvalidClassException if something is wrong with a class
+     *          used by serialization
+     * @throws  NotSerializableException if some object to be serialized
+     *          does not implement the {@code java.io.Serializable}
+     *          interface
+     * @throws  IOException if an I/O error occurs
+     * @throws  NullPointerException if {@code out} is null
+     */
+    public void writeMessage(Object obj, OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        target.out = out;
+        boolean done = false;
+        try {
+            if (stream == null) {
+                stream = new ObjectOutputStream(target);
+            } else if (resetPending) {
+                stream.reset();
+            }
+            resetPending = true;
+            stream.writeObject(obj);
+            stream.flush();
+            stream.retainClassDescs();
+            resetPending = false;
+            started = true;
+            done = true;
+        } finally {
+            if (!done) {
+                discard();
+            }
+            target.out = null;
+        }
+    }
+
+    /**
+     * Makes the next message begin with a reset, so that it is written as
+     * if this session had written no messages before it except the stream
+     * header.  This releases the class descriptors kept by the session.
+     */
+    public void reset() {
+        resetPending = true;
+    }
+
+    // Drops the buffered output of a failed message.  If no message has
+    // been written, the stream header is dropped too, and the stream is
+    // created again for the next message.
+    private void discard() {
+        target.out = null;
+        if (stream != null) {
+            try {
+                stream.flush();
+            } catch (IOException | RuntimeException ex) {
+                // discarded anyway
+            }
+            if (!started) {
+                stream = null;
+            }
+        }
+    }
+
+    /**
+     * Output stream forwarding to the stream of the message being written,
+     * and discarding output when there is none.
+     */
+    private static final class Target extends OutputStream {
+        OutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out != null) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out != null) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+    }
+}
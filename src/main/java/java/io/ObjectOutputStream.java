@@ -503,6 +503,22 @@ public class ObjectOutputStream
         bout.setBlockDataMode(true);
     }
 
+    /**
+     * Clears the handles of all objects written so far, except for those of
+     * class descriptors.  These keep their handles, renumbered from zero in
+     * the order the handles were assigned, so the descriptors are not
+     * written again.  Unlike reset, nothing is written to the stream: the
+     * reading side must call ObjectInputStream.retainClassDescs at the same
+     * point.  Used by ObjectOutputSession between messages.
+     */
+    void retainClassDescs() throws IOException {
+        if (depth != 0) {
+            throw new IOException("stream active");
+        }
+        subs.clear();
+        handles.retainClassDescs();
+    }
+
     /**
      * Subclasses may implement this method to allow class data to be stored in
      * the stream. By default this method does nothing.  The corresponding
@@ -2240,7 +2256,7 @@ public class ObjectOutputStream
      * Lightweight identity hash table which maps objects to integer handles,
      * assigned in ascending order.
      */
-    private static class HandleTable {
+    static class HandleTable {
 
         /* number of mappings in table/next available handle */
         private int size;
@@ -2308,6 +2324,25 @@ public class ObjectOutputStream
             size = 0;
         }
 
+        /**
+         * Removes all mappings other than those of class descriptors, which
+         * are renumbered from zero in ascending order.
+         */
+        void retainClassDescs() {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (objs[i] instanceof ObjectStreamClass) {
+                    objs[n++] = objs[i];
+                }
+            }
+            Arrays.fill(objs, n, size, null);
+            Arrays.fill(spine, -1);
+            size = n;
+            for (int i = 0; i < n; i++) {
+                insert(objs[i], i);
+            }
+        }
+
         /**
          * Returns the number of mappings currently in table.
          */
@@ -2365,7 +2400,7 @@ public class ObjectOutputStream
      * Lightweight identity hash table which maps objects to replacement
      * objects.
      */
-    private static class ReplaceTable {
+    static class ReplaceTable {
 
         /* maps object -> index */
         private final HandleTable htab;
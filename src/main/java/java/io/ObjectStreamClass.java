@@ -25,6 +25,9 @@
 
 package java.io;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
@@ -84,6 +87,15 @@ public class ObjectStreamClass implements Serializable {
         AccessController.doPrivileged(
             new ReflectionFactory.GetReflectionFactoryAction());
 
+    /**
+     * if true, field values are always copied by the Unsafe loops of
+     * FieldReflector rather than by the method handles of FieldAccessor
+     */
+    private static final boolean disableFieldHandles =
+        AccessController.doPrivileged(
+            new sun.security.action.GetBooleanAction(
+                "sun.java.io.serialization.disableFieldHandles")).booleanValue();
+
     private static class Caches {
         /** cache mapping local classes -> descriptors */
         static final ConcurrentMap<WeakClassKey,Reference<?>> localDescs =
@@ -99,6 +111,28 @@ public class ObjectStreamClass implements Serializable {
         /** queue for WeakReferences to field reflectors keys */
         private static final ReferenceQueue<Class<?>> reflectorsQueue =
             new ReferenceQueue<>();
+
+        /**
+         * soft references to descriptors of local classes already looked
+         * up, held by the classes themselves so that repeated lookups need
+         * not consult localDescs
+         */
+        static final ClassValue<Reference<ObjectStreamClass>> descs =
+            new ClassValue<Reference<ObjectStreamClass>>() {
+                @Override
+                protected Reference<ObjectStreamClass> computeValue(Class<?> type) {
+                    return new SoftReference<>(lookupDesc(type));
+                }
+            };
+
+        /** field accessors for the local serializable fields of classes */
+        static final ClassValue<FieldAccessor> fieldAccessors =
+            new ClassValue<FieldAccessor>() {
+                @Override
+                protected FieldAccessor computeValue(Class<?> type) {
+                    return FieldAccessor.forClass(type);
+                }
+            };
     }
 
     /** class associated with this descriptor (if any) */
@@ -322,6 +356,23 @@ public class ObjectStreamClass implements Serializable {
         if (!(all || Serializable.class.isAssignableFrom(cl))) {
             return null;
         }
+        ObjectStreamClass desc = Caches.descs.get(cl).get();
+        if (desc == null) {
+            // cleared by the garbage collector; the next lookup caches the
+            // descriptor again
+            desc = lookupDesc(cl);
+            Caches.descs.remove(cl);
+        }
+        return desc;
+    }
+
+    /**
+     * Looks up and returns class descriptor for given class in the
+     * localDescs cache, creating it if it does not exist.  Called once per
+     * class by the descs ClassValue, unless lookups race, the descriptor
+     * cannot be created, or the soft reference to it has been cleared.
+     */
+    private static ObjectStreamClass lookupDesc(Class<?> cl) {
         processQueue(Caches.localDescsQueue, Caches.localDescs);
         WeakClassKey key = new WeakClassKey(cl, Caches.localDescsQueue);
         Reference<?> ref = Caches.localDescs.get(key);
@@ -1917,6 +1968,14 @@ public class ObjectStreamClass implements Serializable {
         private final char[] typeCodes;
         /** field types */
         private final Class<?>[] types;
+        /** class declaring the fields, or null if there are no fields */
+        private final Class<?> cl;
+        /**
+         * accessor copying the fields with method handles, or UNAVAILABLE if
+         * the fields are not the local serializable fields of cl; null until
+         * first needed
+         */
+        private FieldAccessor accessor;
 
         /**
          * Constructs FieldReflector capable of setting/getting values from the
@@ -1925,8 +1984,9 @@ public class ObjectStreamClass implements Serializable {
          * treated as filler, for which get operations return default values
          * and set operations discard given values.
          */
-        FieldReflector(ObjectStreamField[] fields) {
+        FieldReflector(ObjectStreamField[] fields, Class<?> cl) {
             this.fields = fields;
+            this.cl = cl;
             int nfields = fields.length;
             readKeys = new long[nfields];
             writeKeys = new long[nfields];
@@ -1965,6 +2025,28 @@ public class ObjectStreamClass implements Serializable {
             return fields;
         }
 
+        /**
+         * Returns the accessor for the local serializable fields of the
+         * class, if this reflector operates on exactly those fields, or
+         * FieldAccessor.UNAVAILABLE.  The accessor is not looked up when the
+         * reflector is created, since that may happen while the descriptor
+         * of the class is itself being created.
+         */
+        private FieldAccessor accessor() {
+            FieldAccessor a = accessor;
+            if (a == null) {
+                a = FieldAccessor.UNAVAILABLE;
+                if (!disableFieldHandles && cl != null) {
+                    FieldAccessor local = Caches.fieldAccessors.get(cl);
+                    if (local.matches(fields)) {
+                        a = local;
+                    }
+                }
+                accessor = a;
+            }
+            return a;
+        }
+
         /**
          * Fetches the serializable primitive field values of object obj and
          * marshals them into byte array buf starting at offset 0.  The caller
@@ -1974,6 +2056,11 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
+            FieldAccessor a = accessor();
+            if (a != FieldAccessor.UNAVAILABLE) {
+                a.getPrimFieldValues(obj, buf);
+                return;
+            }
             /* assuming checkDefaultSerialize() has been called on the class
              * descriptor this FieldReflector was obtained from, no field keys
              * in array should be equal to Unsafe.INVALID_FIELD_OFFSET.
@@ -2029,6 +2116,11 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
+            FieldAccessor a = accessor();
+            if (a != FieldAccessor.UNAVAILABLE) {
+                a.setPrimFieldValues(obj, buf);
+                return;
+            }
             for (int i = 0; i < numPrimFields; i++) {
                 long key = writeKeys[i];
                 if (key == Unsafe.INVALID_FIELD_OFFSET) {
@@ -2083,6 +2175,11 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
+            FieldAccessor a = accessor();
+            if (a != FieldAccessor.UNAVAILABLE) {
+                a.getObjFieldValues(obj, vals);
+                return;
+            }
             /* assuming checkDefaultSerialize() has been called on the class
              * descriptor this FieldReflector was obtained from, no field keys
              * in array should be equal to Unsafe.INVALID_FIELD_OFFSET.
@@ -2111,6 +2208,16 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
+            FieldAccessor a = accessor();
+            if (a != FieldAccessor.UNAVAILABLE) {
+                try {
+                    a.setObjFieldValues(obj, vals);
+                    return;
+                } catch (ClassCastException ex) {
+                    // set the fields again below, which throws a
+                    // ClassCastException naming the field
+                }
+            }
             for (int i = numPrimFields; i < fields.length; i++) {
                 long key = writeKeys[i];
                 if (key == Unsafe.INVALID_FIELD_OFFSET) {
@@ -2142,6 +2249,261 @@ public class ObjectStreamClass implements Serializable {
         }
     }
 
+    /**
+     * Copies the local serializable fields of a class, in the same way as
+     * the methods of FieldReflector, with one method handle per operation.
+     * Each handle gets or sets every field in turn, with the field's offset
+     * in the data buffer or value array bound in, so that once the handle
+     * has been compiled for its class the fields are copied by straight-line
+     * code rather than by a loop switching on type codes.  Accessors are
+     * created lazily and cached per class in Caches.fieldAccessors.
+     */
+    private static final class FieldAccessor {
+
+        /** accessor for classes whose fields cannot be copied by handles */
+        static final FieldAccessor UNAVAILABLE = new FieldAccessor();
+
+        private static final MethodHandles.Lookup lookup =
+            MethodHandles.lookup();
+
+        /** fields operated on, with their offsets */
+        private final ObjectStreamField[] fields;
+        /** (Object, byte[])void handles, or null if there are no such fields */
+        private final MethodHandle getPrims;
+        private final MethodHandle setPrims;
+        /** (Object, Object[])void handles, or null if there are no such fields */
+        private final MethodHandle getObjs;
+        private final MethodHandle setObjs;
+
+        private FieldAccessor() {
+            fields = null;
+            getPrims = setPrims = getObjs = setObjs = null;
+        }
+
+        /**
+         * Creates an accessor for the given fields, which must all have
+         * reflective Field objects, and be sorted as by computeFieldOffsets.
+         */
+        private FieldAccessor(ObjectStreamField[] fields)
+            throws IllegalAccessException, NoSuchMethodException
+        {
+            this.fields = fields;
+            MethodType primType = MethodType.methodType(
+                void.class, Object.class, byte[].class);
+            MethodType objType = MethodType.methodType(
+                void.class, Object.class, Object[].class);
+            int numPrimFields = 0;
+            while (numPrimFields < fields.length &&
+                   fields[numPrimFields].isPrimitive()) {
+                numPrimFields++;
+            }
+            int numObjFields = fields.length - numPrimFields;
+            MethodHandle[] getters = new MethodHandle[numPrimFields];
+            MethodHandle[] setters = new MethodHandle[numPrimFields];
+            MethodHandle[] objGetters = new MethodHandle[numObjFields];
+            MethodHandle[] objSetters = new MethodHandle[numObjFields];
+
+            for (int i = 0; i < fields.length; i++) {
+                ObjectStreamField f = fields[i];
+                Field rf = f.getField();
+                Class<?> type = f.isPrimitive() ? rf.getType() : Object.class;
+                Integer off = f.getOffset();
+                MethodHandle get = lookup.unreflectGetter(rf).asType(
+                    MethodType.methodType(type, Object.class));
+                MethodHandle set = lookup.unreflectSetter(rf).asType(
+                    MethodType.methodType(void.class, Object.class, type));
+                if (f.isPrimitive()) {
+                    // (byte[], type)void, then (Object, byte[])void
+                    MethodHandle put = MethodHandles.insertArguments(
+                        bufferHandle(f.getTypeCode(), true), 1, off);
+                    getters[i] = MethodHandles.permuteArguments(
+                        MethodHandles.filterArguments(put, 1, get),
+                        primType, 1, 0);
+                    // (byte[])type, then (Object, byte[])void
+                    MethodHandle read = MethodHandles.insertArguments(
+                        bufferHandle(f.getTypeCode(), false), 1, off);
+                    setters[i] = MethodHandles.filterArguments(set, 1, read);
+                } else {
+                    // (Object[], Object)void, then (Object, Object[])void
+                    MethodHandle store = MethodHandles.insertArguments(
+                        MethodHandles.arrayElementSetter(Object[].class),
+                        1, off);
+                    objGetters[i - numPrimFields] =
+                        MethodHandles.permuteArguments(
+                            MethodHandles.filterArguments(store, 1, get),
+                            objType, 1, 0);
+                    // (Object[])Object, then (Object, Object[])void
+                    MethodHandle load = MethodHandles.insertArguments(
+                        MethodHandles.arrayElementGetter(Object[].class),
+                        1, off);
+                    objSetters[i - numPrimFields] =
+                        MethodHandles.filterArguments(set, 1, load);
+                }
+            }
+            getPrims = sequence(getters, 0, getters.length);
+            setPrims = sequence(setters, 0, setters.length);
+            getObjs = sequence(objGetters, 0, objGetters.length);
+            setObjs = sequence(objSetters, 0, objSetters.length);
+        }
+
+        /**
+         * Returns the accessor for the local serializable fields of the
+         * given class, or UNAVAILABLE if they cannot all be accessed by
+         * method handles.
+         */
+        static FieldAccessor forClass(Class<?> cl) {
+            ObjectStreamClass desc = lookup(cl, true);
+            final ObjectStreamField[] fields = desc.getFields(false);
+            if (fields.length == 0) {
+                return UNAVAILABLE;
+            }
+            for (ObjectStreamField f : fields) {
+                if (f.getField() == null) {
+                    return UNAVAILABLE;
+                }
+            }
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    for (ObjectStreamField f : fields) {
+                        f.getField().setAccessible(true);
+                    }
+                    return null;
+                }
+            });
+            try {
+                return new FieldAccessor(fields);
+            } catch (IllegalAccessException | NoSuchMethodException ex) {
+                return UNAVAILABLE;
+            }
+        }
+
+        /**
+         * Returns true if the given fields are those of this accessor, with
+         * the same offsets.
+         */
+        boolean matches(ObjectStreamField[] other) {
+            if (fields == null || other.length != fields.length) {
+                return false;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                ObjectStreamField f = fields[i];
+                ObjectStreamField g = other[i];
+                if (f != g && (!f.getField().equals(g.getField()) ||
+                               f.getTypeCode() != g.getTypeCode() ||
+                               f.getOffset() != g.getOffset()))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the Bits method, or byte array element handle, that puts
+         * a value of the given type code into a buffer at an offset, as
+         * (byte[], int, type)void, or that gets it, as (byte[], int)type.
+         */
+        private static MethodHandle bufferHandle(char typeCode, boolean put)
+            throws IllegalAccessException, NoSuchMethodException
+        {
+            Class<?> type;
+            String name;
+            switch (typeCode) {
+                case 'B':
+                    return put ? MethodHandles.arrayElementSetter(byte[].class)
+                               : MethodHandles.arrayElementGetter(byte[].class);
+                case 'Z': type = boolean.class; name = "Boolean"; break;
+                case 'C': type = char.class;    name = "Char";    break;
+                case 'S': type = short.class;   name = "Short";   break;
+                case 'I': type = int.class;     name = "Int";     break;
+                case 'F': type = float.class;   name = "Float";   break;
+                case 'J': type = long.class;    name = "Long";    break;
+                case 'D': type = double.class;  name = "Double";  break;
+                default:
+                    throw new InternalError();
+            }
+            return put
+                ? lookup.findStatic(Bits.class, "put" + name,
+                    MethodType.methodType(void.class, byte[].class, int.class, type))
+                : lookup.findStatic(Bits.class, "get" + name,
+                    MethodType.methodType(type, byte[].class, int.class));
+        }
+
+        /**
+         * Returns a handle that invokes handles[from] to handles[to - 1], of
+         * the same type returning void, in order, or null if there are none.
+         * The handles are folded pairwise so that the nesting depth grows
+         * only with the logarithm of their number.
+         */
+        private static MethodHandle sequence(MethodHandle[] handles,
+                                             int from, int to)
+        {
+            if (from == to) {
+                return null;
+            } else if (to - from == 1) {
+                return handles[from];
+            }
+            int mid = (from + to) >>> 1;
+            return MethodHandles.foldArguments(sequence(handles, mid, to),
+                                               sequence(handles, from, mid));
+        }
+
+        void getPrimFieldValues(Object obj, byte[] buf) {
+            if (getPrims != null) {
+                try {
+                    getPrims.invokeExact(obj, buf);
+                } catch (Throwable ex) {
+                    throw unchecked(ex);
+                }
+            }
+        }
+
+        void setPrimFieldValues(Object obj, byte[] buf) {
+            if (setPrims != null) {
+                try {
+                    setPrims.invokeExact(obj, buf);
+                } catch (Throwable ex) {
+                    throw unchecked(ex);
+                }
+            }
+        }
+
+        void getObjFieldValues(Object obj, Object[] vals) {
+            if (getObjs != null) {
+                try {
+                    getObjs.invokeExact(obj, vals);
+                } catch (Throwable ex) {
+                    throw unchecked(ex);
+                }
+            }
+        }
+
+        /**
+         * Sets the object fields; a value of the wrong type causes a
+         * ClassCastException without a detail message, after the fields
+         * before it have been set.
+         */
+        void setObjFieldValues(Object obj, Object[] vals) {
+            if (setObjs != null) {
+                try {
+                    setObjs.invokeExact(obj, vals);
+                } catch (Throwable ex) {
+                    throw unchecked(ex);
+                }
+            }
+        }
+
+        private static RuntimeException unchecked(Throwable ex) {
+            if (ex instanceof RuntimeException) {
+                return (RuntimeException) ex;
+            } else if (ex instanceof Error) {
+                throw (Error) ex;
+            } else {
+                throw new InternalError(ex);
+            }
+        }
+    }
+
     /**
      * Matches given set of serializable fields with serializable fields
      * described by the given local class descriptor, and returns a
@@ -2190,7 +2552,7 @@ public class ObjectStreamClass implements Serializable {
             entry = ((EntryFuture) entry).get();
         } else if (entry == null) {
             try {
-                entry = new FieldReflector(matchFields(fields, localDesc));
+                entry = new FieldReflector(matchFields(fields, localDesc), cl);
             } catch (Throwable th) {
                 entry = th;
             }
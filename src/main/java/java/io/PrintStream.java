@@ -27,7 +27,12 @@ package java.io;
 
 import java.util.Formatter;
 import java.util.Locale;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 
@@ -59,6 +64,8 @@ public class PrintStream extends FilterOutputStream
 {
 
     private final boolean autoFlush;
+    /* If true, writes do not synchronize on this stream */
+    private final boolean singleOwner;
     private boolean trouble = false;
     private Formatter formatter;
 
@@ -69,6 +76,20 @@ public class PrintStream extends FilterOutputStream
     private BufferedWriter textOut;
     private OutputStreamWriter charOut;
 
+    /*
+     * A single-owner stream has no textOut or charOut, whose locks would be
+     * taken on every call; it encodes text itself into the encoded buffer,
+     * staging strings through chars so that the encoder works on arrays.
+     * An unpaired high surrogate at the end of a write is held back until
+     * the next one, as the stream encoder behind an OutputStreamWriter does.
+     */
+    private CharsetEncoder encoder;
+    private ByteBuffer encoded;
+    private char[] chars;
+    private boolean haveLeftoverChar;
+    private char leftoverChar;
+    private String lineSeparator;
+
     /**
      * requireNonNull is explicitly declared here so as not to create an extra
      * dependency on java.java.util.Objects.requireNonNull. PrintStream is loaded
@@ -99,15 +120,32 @@ public class PrintStream extends FilterOutputStream
 
     /* Private constructors */
     private PrintStream(boolean autoFlush, OutputStream out) {
+        this(autoFlush, out, false);
+    }
+
+    private PrintStream(boolean autoFlush, OutputStream out,
+                        boolean singleOwner) {
         super(out);
         this.autoFlush = autoFlush;
-        this.charOut = new OutputStreamWriter(this);
-        this.textOut = new BufferedWriter(charOut);
+        this.singleOwner = singleOwner;
+        if (singleOwner) {
+            this.encoder = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.encoded = ByteBuffer.allocate(8192);
+            this.chars = new char[1024];
+            this.lineSeparator = java.security.AccessController.doPrivileged(
+                new sun.security.action.GetPropertyAction("line.separator"));
+        } else {
+            this.charOut = new OutputStreamWriter(this);
+            this.textOut = new BufferedWriter(charOut);
+        }
     }
 
     private PrintStream(boolean autoFlush, OutputStream out, Charset charset) {
         super(out);
         this.autoFlush = autoFlush;
+        this.singleOwner = false;
         this.charOut = new OutputStreamWriter(this, charset);
         this.textOut = new BufferedWriter(charOut);
     }
@@ -177,6 +215,35 @@ public class PrintStream extends FilterOutputStream
              toCharset(encoding));
     }
 
+    /**
+     * Creates a new print stream, optionally owned by a single thread.
+     *
+     * <p> If <code>singleOwner</code> is <code>true</code>, the methods that
+     * write bytes, characters and line separators do not synchronize on the
+     * stream, saving the cost of acquiring its monitor on every call.  Text
+     * is encoded by the stream itself, in the platform's default character
+     * encoding, rather than by an internal writer, so printing takes no lock
+     * of the stream's own.  Such a stream must not be written by more than
+     * one thread at a time without external synchronization.
+     *
+     * @param  out          The output stream to which values and objects will
+     *                      be printed
+     * @param  autoFlush    A boolean; if true, the output buffer will be
+     *                      flushed whenever a byte array is written, one of
+     *                      the <code>println</code> methods is invoked, or a
+     *                      newline character or byte (<code>'\n'</code>) is
+     *                      written
+     * @param  singleOwner  A boolean; if true, writes do not synchronize on
+     *                      the stream
+     *
+     * @since  1.8
+     */
+    public PrintStream(OutputStream out, boolean autoFlush,
+                       boolean singleOwner) {
+        this(autoFlush, requireNonNull(out, "Null output stream"),
+             singleOwner);
+    }
+
     /**
      * Creates a new print stream, without automatic line flushing, with the
      * specified file name.  This convenience constructor creates
@@ -356,7 +423,10 @@ public class PrintStream extends FilterOutputStream
             if (! closing) {
                 closing = true;
                 try {
-                    textOut.close();
+                    if (encoder != null)
+                        flushEncoder();
+                    else
+                        textOut.close();
                     out.close();
                 }
                 catch (IOException x) {
@@ -444,11 +514,12 @@ public class PrintStream extends FilterOutputStream
      */
     public void write(int b) {
         try {
-            synchronized (this) {
-                ensureOpen();
-                out.write(b);
-                if ((b == '\n') && autoFlush)
-                    out.flush();
+            if (singleOwner) {
+                implWrite(b);
+            } else {
+                synchronized (this) {
+                    implWrite(b);
+                }
             }
         }
         catch (InterruptedIOException x) {
@@ -459,6 +530,13 @@ public class PrintStream extends FilterOutputStream
         }
     }
 
+    private void implWrite(int b) throws IOException {
+        ensureOpen();
+        out.write(b);
+        if ((b == '\n') && autoFlush)
+            out.flush();
+    }
+
     /**
      * Writes <code>len</code> bytes from the specified byte array starting at
      * offset <code>off</code> to this stream.  If automatic flushing is
@@ -475,11 +553,12 @@ public class PrintStream extends FilterOutputStream
      */
     public void write(byte buf[], int off, int len) {
         try {
-            synchronized (this) {
-                ensureOpen();
-                out.write(buf, off, len);
-                if (autoFlush)
-                    out.flush();
+            if (singleOwner) {
+                implWrite(buf, off, len);
+            } else {
+                synchronized (this) {
+                    implWrite(buf, off, len);
+                }
             }
         }
         catch (InterruptedIOException x) {
@@ -490,6 +569,13 @@ public class PrintStream extends FilterOutputStream
         }
     }
 
+    private void implWrite(byte buf[], int off, int len) throws IOException {
+        ensureOpen();
+        out.write(buf, off, len);
+        if (autoFlush)
+            out.flush();
+    }
+
     /*
      * The following private methods on the java.text- and character-output streams
      * always flush the stream buffers, so that writes to the underlying byte
@@ -498,15 +584,11 @@ public class PrintStream extends FilterOutputStream
 
     private void write(char buf[]) {
         try {
-            synchronized (this) {
-                ensureOpen();
-                textOut.write(buf);
-                textOut.flushBuffer();
-                charOut.flushBuffer();
-                if (autoFlush) {
-                    for (int i = 0; i < buf.length; i++)
-                        if (buf[i] == '\n')
-                            out.flush();
+            if (singleOwner) {
+                implWrite(buf);
+            } else {
+                synchronized (this) {
+                    implWrite(buf);
                 }
             }
         }
@@ -518,15 +600,31 @@ public class PrintStream extends FilterOutputStream
         }
     }
 
+    private void implWrite(char buf[]) throws IOException {
+        ensureOpen();
+        if (encoder != null) {
+            encode(buf, 0, buf.length);
+            writeEncoded();
+        } else {
+            textOut.write(buf);
+            textOut.flushBuffer();
+            charOut.flushBuffer();
+        }
+        if (autoFlush) {
+            for (int i = 0; i < buf.length; i++)
+                if (buf[i] == '\n')
+                    out.flush();
+        }
+    }
+
     private void write(String s) {
         try {
-            synchronized (this) {
-                ensureOpen();
-                textOut.write(s);
-                textOut.flushBuffer();
-                charOut.flushBuffer();
-                if (autoFlush && (s.indexOf('\n') >= 0))
-                    out.flush();
+            if (singleOwner) {
+                implWrite(s);
+            } else {
+                synchronized (this) {
+                    implWrite(s);
+                }
             }
         }
         catch (InterruptedIOException x) {
@@ -537,15 +635,28 @@ public class PrintStream extends FilterOutputStream
         }
     }
 
+    private void implWrite(String s) throws IOException {
+        ensureOpen();
+        if (encoder != null) {
+            encode(s);
+            writeEncoded();
+        } else {
+            textOut.write(s);
+            textOut.flushBuffer();
+            charOut.flushBuffer();
+        }
+        if (autoFlush && (s.indexOf('\n') >= 0))
+            out.flush();
+    }
+
     private void newLine() {
         try {
-            synchronized (this) {
-                ensureOpen();
-                textOut.newLine();
-                textOut.flushBuffer();
-                charOut.flushBuffer();
-                if (autoFlush)
-                    out.flush();
+            if (singleOwner) {
+                implNewLine();
+            } else {
+                synchronized (this) {
+                    implNewLine();
+                }
             }
         }
         catch (InterruptedIOException x) {
@@ -556,6 +667,88 @@ public class PrintStream extends FilterOutputStream
         }
     }
 
+    private void implNewLine() throws IOException {
+        ensureOpen();
+        if (encoder != null) {
+            encode(lineSeparator);
+            writeEncoded();
+        } else {
+            textOut.newLine();
+            textOut.flushBuffer();
+            charOut.flushBuffer();
+        }
+        if (autoFlush)
+            out.flush();
+    }
+
+    /*
+     * The following private methods encode text for a single-owner stream.
+     * The encoded bytes go through write(byte[], int, int), just as those
+     * of charOut do.
+     */
+
+    private void encode(String s) {
+        char[] cbuf = chars;
+        for (int off = 0, len = s.length(); off < len; ) {
+            int n = Math.min(len - off, cbuf.length);
+            s.getChars(off, off + n, cbuf, 0);
+            encode(cbuf, 0, n);
+            off += n;
+        }
+    }
+
+    private void encode(char buf[], int off, int len) {
+        CharBuffer cb = CharBuffer.wrap(buf, off, len);
+        if (haveLeftoverChar) {
+            // Complete the surrogate pair split by the previous write
+            CharBuffer lcb = CharBuffer.allocate(2);
+            lcb.put(leftoverChar);
+            if (cb.hasRemaining())
+                lcb.put(cb.get());
+            lcb.flip();
+            haveLeftoverChar = false;
+            encode(lcb);
+        }
+        encode(cb);
+    }
+
+    private void encode(CharBuffer cb) {
+        for (;;) {
+            CoderResult cr = encoder.encode(cb, encoded, false);
+            if (cr.isOverflow()) {
+                writeEncoded();
+                continue;
+            }
+            // Malformed and unmappable input is replaced, so this is an
+            // underflow, which may leave a high surrogate behind
+            if (cb.hasRemaining()) {
+                leftoverChar = cb.get();
+                haveLeftoverChar = true;
+            }
+            return;
+        }
+    }
+
+    private void flushEncoder() {
+        CharBuffer cb = CharBuffer.allocate(1);
+        if (haveLeftoverChar) {
+            cb.put(leftoverChar);
+            haveLeftoverChar = false;
+        }
+        cb.flip();
+        encoder.encode(cb, encoded, true);
+        encoder.flush(encoded);
+        writeEncoded();
+    }
+
+    private void writeEncoded() {
+        int n = encoded.position();
+        if (n > 0) {
+            write(encoded.array(), 0, n);
+            encoded.clear();
+        }
+    }
+
     /* Methods that do not terminate lines */
 
     /**
@@ -249,6 +249,46 @@ public abstract class Reader implements Readable, Closeable {
         throw new IOException("reset() not supported");
     }
 
+    /** Transfer buffer size */
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+    /**
+     * Reads all characters from this reader and writes the characters to the
+     * given writer in the order that they are read. On return, this reader
+     * will be at end of the stream. This method does not close either reader
+     * or writer.
+     *
+     * <p> This method may block indefinitely reading from the reader, or
+     * writing to the writer. The behavior for the case where the reader
+     * and/or writer is <i>asynchronously closed</i>, or the thread
+     * interrupted during the transfer, is highly reader and writer
+     * specific, and therefore not specified.
+     *
+     * <p> If an I/O error occurs reading from the reader or writing to the
+     * writer, then it may do so after some characters have been read or
+     * written. Consequently the reader may not be at end of the stream and
+     * one, or both, may be in an inconsistent state.
+     *
+     * @param  out the writer, non-null
+     * @return the number of characters transferred
+     * @exception  IOException if an I/O error occurs when reading or writing
+     * @exception  NullPointerException if <tt>out</tt> is <tt>null</tt>
+     * @since 1.8
+     */
+    public long transferTo(Writer out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        long transferred = 0;
+        char[] buffer = new char[TRANSFER_BUFFER_SIZE];
+        int nRead;
+        while ((nRead = read(buffer, 0, TRANSFER_BUFFER_SIZE)) >= 0) {
+            out.write(buffer, 0, nRead);
+            transferred += nRead;
+        }
+        return transferred;
+    }
+
     /**
      * Closes the stream and releases any system resources associated with
      * it.  Once the stream has been closed, further read(), ready(),
@@ -103,6 +103,31 @@ public class StringReader extends Reader {
         }
     }
 
+    /**
+     * Writes the remaining characters of the string to the given writer,
+     * with a single call to <tt>out.write</tt>.
+     *
+     * @param  out the writer, non-null
+     * @return the number of characters transferred
+     * @exception  IOException  If an I/O error occurs
+     * @exception  NullPointerException if <tt>out</tt> is <tt>null</tt>
+     * @since 1.8
+     */
+    public long transferTo(Writer out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        synchronized (lock) {
+            ensureOpen();
+            int n = length - next;
+            if (n <= 0)
+                return 0;
+            out.write(str, next, n);
+            next = length;
+            return n;
+        }
+    }
+
     /**
      * Skips the specified number of characters in the stream. Returns
      * the number of characters that were skipped.
@@ -0,0 +1,761 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import sun.misc.Cleaner;
+import sun.nio.ch.DirectBuffer;
+
+
+/**
+ * A hash map with fixed-width binary keys and values whose table lives
+ * outside the Java heap, in direct or memory-mapped byte buffers.
+ *
+ * <p> Every mapping occupies one slot of a fixed-capacity open-addressing
+ * table.  The table is split into <i>slabs</i>, each a single {@link
+ * ByteBuffer} of at most 2<sup>30</sup> bytes, so that the table can grow
+ * beyond the two-gigabyte limit of an individual buffer.  Because none of
+ * the table is reachable as Java objects, a table of many gigabytes adds
+ * nothing to the work done by the garbage collector.
+ *
+ * <p> A map is created either in anonymous memory, with the {@link
+ * #OffHeapHashMap(int,int,long) constructor}, or backed by a file, with
+ * {@link #map(Path,int,int,long) map}.  A file-backed map keeps its size
+ * and geometry in a small header at the start of the file, so that a map
+ * reopened on the same file sees the mappings written by an earlier
+ * process.  Changes reach the file according to the rules of {@link
+ * MappedByteBuffer}; {@link #force} may be used to flush them explicitly.
+ *
+ * <p> A map holds native memory or file mappings until it is {@link
+ * #close closed}.  Closing releases them immediately, through the same
+ * cleaner that would otherwise release them once the buffers became
+ * unreachable, rather than waiting for a garbage collection.  Any
+ * operation on a closed map throws {@link IllegalStateException}.
+ *
+ * <p> Keys and values are presented through the {@link Map} interface as
+ * byte buffers whose remaining bytes are the key or value.  Keys passed
+ * to {@link #put(ByteBuffer,ByteBuffer) put} must have exactly {@link
+ * #keySize} bytes remaining and values exactly {@link #valueSize} bytes
+ * remaining; neither buffer's position is changed.  Buffers returned by
+ * {@link #get(Object) get}, {@link #put(ByteBuffer,ByteBuffer) put} and
+ * the entry-set iterator are freshly allocated heap copies.  For maps
+ * whose keys are eight bytes wide, the {@link #get(long,ByteBuffer)},
+ * {@link #put(long,ByteBuffer)}, {@link #containsKey(long)} and {@link
+ * #remove(long)} methods operate on a {@code long} key directly and
+ * allocate nothing.  A {@code long} key is the same key as the eight-byte
+ * big-endian buffer holding its value.
+ *
+ * <p> The capacity of a map is fixed when it is created; an attempt to
+ * insert a mapping into a full map throws {@link IllegalStateException}.
+ * The entry-set iterator is fail-fast and does not support removal.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a map concurrently, and at least one of the
+ * threads modifies it, it must be synchronized externally.
+ *
+ * @since 1.8
+ */
+
+public class OffHeapHashMap
+    extends AbstractMap<ByteBuffer,ByteBuffer>
+    implements Closeable
+{
+
+    // Largest slab, in bytes
+    private static final int MAX_SLAB_BYTES = 1 << 30;
+
+    // Fraction of the slots that may be occupied
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // File header layout: magic, keySize, valueSize, slot count, size
+    private static final long MAGIC = 0x4f6648486d617031L;
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_KEY_SIZE = 8;
+    private static final int H_VALUE_SIZE = 12;
+    private static final int H_SLOTS = 16;
+    private static final int H_SIZE = 24;
+
+    // Slot layout: key bytes, value bytes, state byte, padding to 8 bytes
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+
+    private final int keySize;
+    private final int valueSize;
+    private final int slotSize;
+    private final long slots;           // power of two
+    private final long threshold;
+    private final int slabShift;        // log2(slots per slab)
+    private final long slabMask;        // slots per slab - 1
+
+    // The slabs and, for each slab, a private view used for bulk copies
+    // so that the slabs' own positions never change
+    private ByteBuffer[] slabs;
+    private ByteBuffer[] views;
+
+    // Header of a file-backed map, or null
+    private MappedByteBuffer header;
+
+    private long size;
+    private int modCount;
+
+    /**
+     * Creates a map in direct (off-heap) memory.
+     *
+     * @param  keySize
+     *         The width of every key, in bytes
+     *
+     * @param  valueSize
+     *         The width of every value, in bytes
+     *
+     * @param  capacity
+     *         The number of mappings the map must be able to hold
+     *
+     * @throws  IllegalArgumentException
+     *          If the key size is not positive, the value size or capacity
+     *          is negative, or the capacity is too large
+     */
+    public OffHeapHashMap(int keySize, int valueSize, long capacity) {
+        this(keySize, valueSize, slotsFor(capacity), null, null);
+    }
+
+    private OffHeapHashMap(int keySize, int valueSize, long slots,
+                           FileChannel fc, MappedByteBuffer header)
+    {
+        this.slotSize = slotSize(keySize, valueSize);
+        this.keySize = keySize;
+        this.valueSize = valueSize;
+        this.slots = slots;
+        this.threshold = Math.min((long)(slots * (double)LOAD_FACTOR),
+                                  slots - 1);
+        this.slabShift = slabShift(slots, slotSize);
+        long perSlab = 1L << slabShift;
+        this.slabMask = perSlab - 1;
+        long count = slots >>> slabShift;
+        int slabBytes = (int)(perSlab * slotSize);
+        ByteBuffer[] ss = new ByteBuffer[(int)count];
+        ByteBuffer[] vs = new ByteBuffer[(int)count];
+        try {
+            for (int i = 0; i < ss.length; i++) {
+                ss[i] = (fc == null)
+                    ? ByteBuffer.allocateDirect(slabBytes)
+                    : fc.map(FileChannel.MapMode.READ_WRITE,
+                             HEADER_BYTES + (long)i * slabBytes, slabBytes);
+                vs[i] = ss[i].duplicate();
+            }
+        } catch (IOException x) {
+            free(ss);
+            throw new UncheckedIOException(x);
+        } catch (RuntimeException | Error x) {
+            free(ss);
+            throw x;
+        }
+        this.slabs = ss;
+        this.views = vs;
+        this.header = header;
+        this.size = (header == null) ? 0 : header.getLong(H_SIZE);
+    }
+
+    // Returns the width of a slot holding a key, a value and a state byte
+    private static int slotSize(int keySize, int valueSize) {
+        if (keySize <= 0 || valueSize < 0)
+            throw new IllegalArgumentException("Illegal key or value size");
+        long n = ((long)keySize + valueSize + 1 + 7) & ~7L;
+        if (n > MAX_SLAB_BYTES)
+            throw new IllegalArgumentException("Key and value too large");
+        return (int)n;
+    }
+
+    // Returns the slot count needed to hold the given number of mappings
+    private static long slotsFor(long capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        double n = Math.ceil(capacity / (double)LOAD_FACTOR) + 1;
+        if (n > (double)(1L << 62))     // compared before it can overflow
+            throw new IllegalArgumentException("Capacity too large");
+        return Math.max(2L, Long.highestOneBit((long)n - 1) << 1);
+    }
+
+    // Returns log2 of the number of slots per slab
+    private static int slabShift(long slots, int slotSize) {
+        long perSlab = Math.min(slots,
+                                Long.highestOneBit(MAX_SLAB_BYTES / slotSize));
+        int shift = Long.numberOfTrailingZeros(perSlab);
+        if ((slots >>> shift) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Capacity too large");
+        return shift;
+    }
+
+    /**
+     * Creates or reopens a map backed by the given file.
+     *
+     * <p> If the file is empty or does not exist, a new map is laid out
+     * in it.  Otherwise the file must hold a map previously created by
+     * this method with the same key and value sizes, in which case its
+     * mappings are retained and the stored capacity is used.
+     *
+     * @param  file
+     *         The file to map
+     *
+     * @param  keySize
+     *         The width of every key, in bytes
+     *
+     * @param  valueSize
+     *         The width of every value, in bytes
+     *
+     * @param  capacity
+     *         The number of mappings a new map must be able to hold
+     *
+     * @return  The file-backed map
+     *
+     * @throws  IllegalArgumentException
+     *          If the sizes or capacity are illegal, or the file holds a
+     *          map with different key or value sizes
+     *
+     * @throws  IOException
+     *          If an I/O error occurs, or the file is not a map
+     */
+    public static OffHeapHashMap map(Path file, int keySize, int valueSize,
+                                     long capacity)
+        throws IOException
+    {
+        // Validate all sizes before the file is opened or created
+        long slots = slotsFor(capacity);
+        slabShift(slots, slotSize(keySize, valueSize));
+        try (FileChannel fc = FileChannel.open(file,
+                                               StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE)) {
+            boolean fresh = fc.size() == 0;
+            if (!fresh && fc.size() < HEADER_BYTES)
+                throw new IOException("Not a map file: " + file);
+            MappedByteBuffer h = fc.map(FileChannel.MapMode.READ_WRITE,
+                                        0, HEADER_BYTES);
+            try {
+                if (fresh) {
+                    h.putInt(H_KEY_SIZE, keySize)
+                     .putInt(H_VALUE_SIZE, valueSize)
+                     .putLong(H_SLOTS, slots)
+                     .putLong(H_SIZE, 0L)
+                     .putLong(H_MAGIC, MAGIC);
+                } else {
+                    if (h.getLong(H_MAGIC) != MAGIC)
+                        throw new IOException("Not a map file: " + file);
+                    if (h.getInt(H_KEY_SIZE) != keySize
+                        || h.getInt(H_VALUE_SIZE) != valueSize)
+                        throw new IllegalArgumentException(
+                            "Key or value size differs from that of " + file);
+                    slots = h.getLong(H_SLOTS);
+                }
+                return new OffHeapHashMap(keySize, valueSize, slots, fc, h);
+            } catch (UncheckedIOException x) {
+                free(new ByteBuffer[] { h });
+                throw x.getCause();
+            } catch (IOException | RuntimeException | Error x) {
+                free(new ByteBuffer[] { h });
+                throw x;
+            }
+        }
+    }
+
+    /**
+     * Returns the width of the keys of this map.
+     *
+     * @return  The key size, in bytes
+     */
+    public final int keySize() {
+        return keySize;
+    }
+
+    /**
+     * Returns the width of the values of this map.
+     *
+     * @return  The value size, in bytes
+     */
+    public final int valueSize() {
+        return valueSize;
+    }
+
+    /**
+     * Returns the number of mappings in this map, or {@link
+     * Integer#MAX_VALUE} if it holds more than that.
+     *
+     * @return  The number of mappings, saturated to an {@code int}
+     */
+    public int size() {
+        ensureOpen();
+        return (int)Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return  The number of mappings
+     */
+    public long longSize() {
+        ensureOpen();
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of mappings this map can hold.
+     *
+     * @return  The capacity of this map
+     */
+    public long capacity() {
+        return threshold;
+    }
+
+    public boolean isEmpty() {
+        return longSize() == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return keyArg(key) && find(hash((ByteBuffer)key),
+                                   (ByteBuffer)key, 0L) >= 0;
+    }
+
+    public ByteBuffer get(Object key) {
+        if (!keyArg(key))
+            return null;
+        long s = find(hash((ByteBuffer)key), (ByteBuffer)key, 0L);
+        return (s < 0) ? null : copy(s, keySize, valueSize);
+    }
+
+    /**
+     * Associates the given value with the given key.
+     *
+     * @throws  IllegalArgumentException
+     *          If the key or value does not have exactly {@link #keySize}
+     *          or {@link #valueSize} bytes remaining
+     *
+     * @throws  IllegalStateException
+     *          If this map is closed, or full and the key is absent
+     */
+    public ByteBuffer put(ByteBuffer key, ByteBuffer value) {
+        if (key.remaining() != keySize)
+            throw new IllegalArgumentException("Key size mismatch");
+        checkValue(value);
+        ensureOpen();
+        long h = hash(key);
+        long s = find(h, key, 0L);
+        ByteBuffer old = null;
+        if (s >= 0)
+            old = copy(s, keySize, valueSize);
+        else {
+            s = insert(h);
+            write(s, 0, key);
+        }
+        write(s, keySize, value);
+        return old;
+    }
+
+    public ByteBuffer remove(Object key) {
+        if (!keyArg(key))
+            return null;
+        long s = find(hash((ByteBuffer)key), (ByteBuffer)key, 0L);
+        if (s < 0)
+            return null;
+        ByteBuffer old = copy(s, keySize, valueSize);
+        delete(s);
+        return old;
+    }
+
+    /**
+     * Removes all of the mappings from this map.  This operation requires
+     * time linear in the capacity of the map.
+     */
+    public void clear() {
+        ensureOpen();
+        for (long s = 0; s < slots; s++)
+            slab(s).put(offset(s) + keySize + valueSize, FREE);
+        setSize(0L);
+    }
+
+    // -- Allocation-free accessors for eight-byte keys --
+
+    /**
+     * Tells whether this map contains a mapping for the given key.
+     *
+     * @param  key
+     *         The key, as a big-endian eight-byte value
+     *
+     * @return  {@code true} if the key is present
+     *
+     * @throws  UnsupportedOperationException
+     *          If the key size of this map is not eight
+     */
+    public boolean containsKey(long key) {
+        checkLongKey();
+        return find(mix(key), null, key) >= 0;
+    }
+
+    /**
+     * Copies the value mapped to the given key into the given buffer.
+     * If the key is present, {@link #valueSize} bytes are transferred to
+     * the destination starting at its current position, and the position
+     * is incremented by the value size.
+     *
+     * @param  key
+     *         The key, as a big-endian eight-byte value
+     *
+     * @param  dst
+     *         The buffer into which the value is to be written
+     *
+     * @return  {@code true} if the key was present
+     *
+     * @throws  BufferOverflowException
+     *          If the key is present and there is insufficient space in
+     *          the destination buffer
+     *
+     * @throws  UnsupportedOperationException
+     *          If the key size of this map is not eight
+     */
+    public boolean get(long key, ByteBuffer dst) {
+        checkLongKey();
+        long s = find(mix(key), null, key);
+        if (s < 0)
+            return false;
+        if (dst.remaining() < valueSize)
+            throw new BufferOverflowException();
+        dst.put(view(s, keySize, valueSize));
+        return true;
+    }
+
+    /**
+     * Associates the remaining bytes of the given buffer with the given
+     * key.  The buffer's position is not changed.
+     *
+     * @param  key
+     *         The key, as a big-endian eight-byte value
+     *
+     * @param  value
+     *         A buffer with exactly {@link #valueSize} bytes remaining
+     *
+     * @return  {@code true} if the key was not already present
+     *
+     * @throws  IllegalArgumentException
+     *          If the value does not have exactly {@link #valueSize}
+     *          bytes remaining
+     *
+     * @throws  IllegalStateException
+     *          If this map is closed, or full and the key is absent
+     *
+     * @throws  UnsupportedOperationException
+     *          If the key size of this map is not eight
+     */
+    public boolean put(long key, ByteBuffer value) {
+        checkLongKey();
+        checkValue(value);
+        long h = mix(key);
+        long s = find(h, null, key);
+        boolean added = s < 0;
+        if (added) {
+            s = insert(h);
+            slab(s).putLong(offset(s), key);
+        }
+        write(s, keySize, value);
+        return added;
+    }
+
+    /**
+     * Removes the mapping for the given key, if present.
+     *
+     * @param  key
+     *         The key, as a big-endian eight-byte value
+     *
+     * @return  {@code true} if the key was present
+     *
+     * @throws  UnsupportedOperationException
+     *          If the key size of this map is not eight
+     */
+    public boolean remove(long key) {
+        checkLongKey();
+        long s = find(mix(key), null, key);
+        if (s < 0)
+            return false;
+        delete(s);
+        return true;
+    }
+
+    // -- Lifecycle --
+
+    /**
+     * Forces any changes made to a file-backed map to be written to the
+     * storage device containing the file.  Has no effect on a map that
+     * is not file-backed.
+     *
+     * @see MappedByteBuffer#force
+     */
+    public void force() {
+        ensureOpen();
+        if (header != null) {
+            for (ByteBuffer b : slabs)
+                ((MappedByteBuffer)b).force();
+            header.force();
+        }
+    }
+
+    /**
+     * Closes this map, releasing its memory or unmapping its file
+     * immediately.  A file-backed map is forced to storage first.
+     * Closing a closed map has no effect.
+     */
+    public void close() {
+        if (slabs == null)
+            return;
+        force();
+        ByteBuffer[] ss = slabs;
+        slabs = null;
+        views = null;
+        free(ss);
+        if (header != null) {
+            free(new ByteBuffer[] { header });
+            header = null;
+        }
+    }
+
+    // Runs the cleaners of the given direct buffers
+    private static void free(ByteBuffer[] bufs) {
+        for (ByteBuffer b : bufs) {
+            if (b != null) {
+                Cleaner c = ((DirectBuffer)b).cleaner();
+                if (c != null)
+                    c.clean();
+            }
+        }
+    }
+
+    // -- Views --
+
+    public Set<Map.Entry<ByteBuffer,ByteBuffer>> entrySet() {
+        return new AbstractSet<Map.Entry<ByteBuffer,ByteBuffer>>() {
+            public Iterator<Map.Entry<ByteBuffer,ByteBuffer>> iterator() {
+                return new EntryIterator();
+            }
+            public int size() {
+                return OffHeapHashMap.this.size();
+            }
+            public void clear() {
+                OffHeapHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<ByteBuffer,ByteBuffer>>
+    {
+        private long next = advance(0L);
+        private final int expectedModCount = modCount;
+
+        private long advance(long s) {
+            ensureOpen();
+            while (s < slots && !used(s))
+                s++;
+            return s;
+        }
+
+        public boolean hasNext() {
+            return next < slots;
+        }
+
+        public Map.Entry<ByteBuffer,ByteBuffer> next() {
+            ensureOpen();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            long s = next;
+            if (s >= slots)
+                throw new NoSuchElementException();
+            next = advance(s + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(
+                copy(s, 0, keySize), copy(s, keySize, valueSize));
+        }
+    }
+
+    // -- Slot access --
+
+    private void ensureOpen() {
+        if (slabs == null)
+            throw new IllegalStateException("Map is closed");
+    }
+
+    private void checkLongKey() {
+        if (keySize != 8)
+            throw new UnsupportedOperationException("Key size is not 8");
+        ensureOpen();
+    }
+
+    private void checkValue(ByteBuffer value) {
+        if (value.remaining() != valueSize)
+            throw new IllegalArgumentException("Value size mismatch");
+    }
+
+    private boolean keyArg(Object key) {
+        ensureOpen();
+        return key instanceof ByteBuffer
+            && ((ByteBuffer)key).remaining() == keySize;
+    }
+
+    private ByteBuffer slab(long s) {
+        return slabs[(int)(s >>> slabShift)];
+    }
+
+    private int offset(long s) {
+        return (int)(s & slabMask) * slotSize;
+    }
+
+    private boolean used(long s) {
+        return slab(s).get(offset(s) + keySize + valueSize) == USED;
+    }
+
+    // Returns the bulk-copy view positioned over len bytes at off in slot s
+    private ByteBuffer view(long s, int off, int len) {
+        ByteBuffer v = views[(int)(s >>> slabShift)];
+        int p = offset(s) + off;
+        v.limit(p + len);
+        v.position(p);
+        return v;
+    }
+
+    private ByteBuffer copy(long s, int off, int len) {
+        ByteBuffer b = ByteBuffer.allocate(len);
+        b.put(view(s, off, len));
+        b.flip();
+        return b;
+    }
+
+    // Copies the remaining bytes of src into slot s at off, leaving src as-is
+    private void write(long s, int off, ByteBuffer src) {
+        int p = src.position();
+        view(s, off, src.remaining()).put(src);
+        src.position(p);
+    }
+
+    // Reads eight key bytes as a big-endian long regardless of buffer order
+    private static long getLong(ByteBuffer b, int i) {
+        long v = b.getLong(i);
+        return (b.order() == ByteOrder.BIG_ENDIAN) ? v : Long.reverseBytes(v);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Hashes the key in the remaining bytes of b; agrees with mix(long)
+    // for eight-byte keys
+    private long hash(ByteBuffer b) {
+        int p = b.position(), i = 0;
+        long h = 0;
+        for (; i + 8 <= keySize; i += 8)
+            h = h * 0x9E3779B97F4A7C15L + getLong(b, p + i);
+        for (; i < keySize; i++)
+            h = h * 31 + b.get(p + i);
+        return mix(h);
+    }
+
+    private boolean keyEquals(long s, ByteBuffer key, long longKey) {
+        ByteBuffer slab = slab(s);
+        int o = offset(s);
+        if (key == null)
+            return slab.getLong(o) == longKey;
+        int p = key.position(), i = 0;
+        for (; i + 8 <= keySize; i += 8) {
+            if (slab.getLong(o + i) != getLong(key, p + i))
+                return false;
+        }
+        for (; i < keySize; i++) {
+            if (slab.get(o + i) != key.get(p + i))
+                return false;
+        }
+        return true;
+    }
+
+    // Returns the slot holding the key (a buffer, or the long key if the
+    // buffer is null), or -1 if absent
+    private long find(long h, ByteBuffer key, long longKey) {
+        long mask = slots - 1;
+        for (long s = h & mask; used(s); s = (s + 1) & mask) {
+            if (keyEquals(s, key, longKey))
+                return s;
+        }
+        return -1L;
+    }
+
+    // Claims the first free slot in the probe sequence of an absent key
+    private long insert(long h) {
+        if (size >= threshold)
+            throw new IllegalStateException("Map is full");
+        long mask = slots - 1;
+        long s = h & mask;
+        while (used(s))
+            s = (s + 1) & mask;
+        slab(s).put(offset(s) + keySize + valueSize, USED);
+        setSize(size + 1);
+        return s;
+    }
+
+    // Frees slot i, shifting back later entries of its probe run
+    private void delete(long i) {
+        long mask = slots - 1;
+        long j = i;
+        while (used(j = (j + 1) & mask)) {
+            long h = hash(view(j, 0, keySize)) & mask;
+            // move j to the hole unless its home lies cyclically in (i, j]
+            if ((i <= j) ? (h <= i || h > j) : (h <= i && h > j)) {
+                ByteBuffer src = slab(j), dst = slab(i);
+                int so = offset(j), doff = offset(i);
+                for (int k = 0; k < slotSize; k += 8)
+                    dst.putLong(doff + k, src.getLong(so + k));
+                i = j;
+            }
+        }
+        slab(i).put(offset(i) + keySize + valueSize, FREE);
+        setSize(size - 1);
+    }
+
+    private void setSize(long n) {
+        size = n;
+        modCount++;
+        if (header != null)
+            header.putLong(H_SIZE, n);
+    }
+
+}
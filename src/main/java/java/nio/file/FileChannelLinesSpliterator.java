@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.file;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import sun.misc.Cleaner;
+import sun.nio.ch.DirectBuffer;
+
+/**
+ * A file-based lines spliterator, leveraging a shared mapped byte buffer and
+ * associated file channel, covering lines of a file for character encodings
+ * where line feed characters can be easily identified from character encoded
+ * bytes.
+ *
+ * <p>
+ * To split a spliterator, windows of the file are mapped from the byte
+ * offset halfway between its bounds until the first line feed at or after
+ * that offset is found; the spliterator is split just after it, so that
+ * each split covers whole lines.  Splitting therefore
+ * costs only the search for a line feed, and a file of any size is split
+ * into byte ranges of roughly equal size, sized by the usual leaf target
+ * of parallel streams since the size estimate of a spliterator is the
+ * number of bytes it covers.
+ *
+ * <p>
+ * When traversal starts, the range of the spliterator is mapped in chunks
+ * of at most {@code CHUNK_SIZE} bytes, which are decoded lazily into
+ * characters by a {@link BufferedReader} as lines are read from it, and
+ * unmapped once they have been read.  A
+ * spliterator cannot be split once traversal has started.
+ *
+ * <p>
+ * The line feed characters recognized are those of
+ * {@link BufferedReader#readLine()}: {@code '\n'}, {@code '\r'}, or
+ * {@code '\r'} followed by {@code '\n'}.  In the supported charsets their
+ * bytes never occur within the encoding of another character.
+ *
+ * @since 1.8
+ */
+final class FileChannelLinesSpliterator implements Spliterator<String> {
+
+    static final Set<String> SUPPORTED_CHARSET_NAMES;
+    static {
+        SUPPORTED_CHARSET_NAMES = new HashSet<>();
+        SUPPORTED_CHARSET_NAMES.add(StandardCharsets.UTF_8.name());
+        SUPPORTED_CHARSET_NAMES.add(StandardCharsets.ISO_8859_1.name());
+        SUPPORTED_CHARSET_NAMES.add(StandardCharsets.US_ASCII.name());
+    }
+
+    /** The maximum number of bytes mapped at once during traversal. */
+    private static final int CHUNK_SIZE = 1 << 24;
+
+    /** The number of bytes mapped at once when searching for a line feed. */
+    private static final int SCAN_SIZE = 1 << 16;
+
+    private final FileChannel fc;
+    private final Charset cs;
+    private long index;
+    private final long fence;
+
+    // Non-null when traversing
+    private BufferedReader reader;
+
+    FileChannelLinesSpliterator(FileChannel fc, Charset cs, long index, long fence) {
+        this.fc = fc;
+        this.cs = cs;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line = readLine();
+        if (line != null) {
+            action.accept(line);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        String line;
+        while ((line = readLine()) != null) {
+            action.accept(line);
+        }
+    }
+
+    private BufferedReader getBufferedReader() {
+        /**
+         * A readable byte channel that reads bytes from the underlying
+         * file, mapped in chunks, between the current index and the fence.
+         * The channel is not closed, since the file channel is shared.
+         */
+        ReadableByteChannel rrbc = new ReadableByteChannel() {
+            private ByteBuffer chunk;
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                if (chunk == null || !chunk.hasRemaining()) {
+                    unmap(chunk);
+                    chunk = null;
+                    long bytesToMap = fence - index;
+                    if (bytesToMap <= 0)
+                        return -1;
+                    chunk = fc.map(FileChannel.MapMode.READ_ONLY, index,
+                                   Math.min(bytesToMap, CHUNK_SIZE));
+                }
+                int n = Math.min(dst.remaining(), chunk.remaining());
+                ByteBuffer src = chunk.duplicate();
+                src.limit(src.position() + n);
+                dst.put(src);
+                chunk.position(chunk.position() + n);
+                index += n;
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return fc.isOpen();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        return new BufferedReader(Channels.newReader(rrbc, cs.newDecoder(), -1));
+    }
+
+    private String readLine() {
+        if (reader == null) {
+            reader = getBufferedReader();
+        }
+
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        // Cannot split after partial traverse
+        if (reader != null)
+            return null;
+
+        final long hi = fence, lo = index;
+
+        // Check if line separator hits the mid point
+        long mid = (lo + hi) >>> 1;
+        try {
+            long split = lineEnd(mid, hi);
+            if (split < 0 || split >= hi)
+                return null;
+            // The left spliterator will have the line-separator at the end
+            return new FileChannelLinesSpliterator(fc, cs, lo, index = split);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the offset just after the first line feed at or after a given
+     * offset and before a bound, or {@code -1} if there is none.
+     */
+    private long lineEnd(long from, long bound) throws IOException {
+        for (long pos = from; pos < bound; ) {
+            int size = (int) Math.min(bound - pos, SCAN_SIZE);
+            ByteBuffer window = fc.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            try {
+                for (int i = 0; i < size; i++) {
+                    byte c = window.get(i);
+                    if (c == '\n')
+                        return pos + i + 1;
+                    if (c == '\r') {
+                        // Include a following '\n', which may be in the next window
+                        long next = pos + i + 1;
+                        if (next < bound && (i + 1 < size ? window.get(i + 1) : byteAt(next)) == '\n')
+                            next++;
+                        return next;
+                    }
+                }
+            } finally {
+                unmap(window);
+            }
+            pos += size;
+        }
+        return -1L;
+    }
+
+    private byte byteAt(long pos) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(1);
+        while (b.hasRemaining()) {
+            if (fc.read(b, pos) < 0)
+                return -1;
+        }
+        return b.get(0);
+    }
+
+    // Runs the cleaner of a mapped buffer, if any, rather than waiting for
+    // it to be collected
+    private static void unmap(ByteBuffer b) {
+        if (b != null) {
+            Cleaner c = ((DirectBuffer) b).cleaner();
+            if (c != null)
+                c.clean();
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        // Use the number of bytes as an estimate.
+        // We could divide by a constant that is the average number of
+        // characters per-line, but that constant will be factored out.
+        return fence - index;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return -1;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+}
@@ -963,6 +963,422 @@ public class Arrays {
                  MIN_ARRAY_SORT_GRAN : g).invoke();
     }
 
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * radix sort.
+     *
+     * @implNote The sorting algorithm is a least-significant-digit radix
+     * sort that distributes the elements on one byte of their value per
+     * pass, skipping passes in which all elements share the byte.  It
+     * performs no comparisons and runs in time linear in the length of
+     * the array regardless of the distribution of values, which makes it
+     * typically faster than {@link #sort(int[])} on large arrays of
+     * random values, and slower on presorted or short arrays.  It
+     * requires a working space the size of the array.  Arrays shorter
+     * than an internal threshold are sorted with {@link #sort(int[])}.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void radixSort(int[] a) {
+        RadixSort.sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a radix sort.  The range to be sorted extends from the
+     * index {@code fromIndex}, inclusive, to the index {@code toIndex},
+     * exclusive. If {@code fromIndex == toIndex}, the range to be sorted
+     * is empty.
+     *
+     * @implNote See {@link #radixSort(int[])}.  The working space is the
+     * size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void radixSort(int[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * parallel radix sort.
+     *
+     * @implNote The elements are first distributed on their most
+     * significant byte, with the counting and moving of disjoint chunks
+     * of the array performed by separate tasks; the resulting buckets
+     * are then each sorted on their remaining bytes, as by
+     * {@link #radixSort(int[])}, by separate tasks.  If the length of the
+     * array is below an internal threshold, it is sorted sequentially
+     * with {@link #radixSort(int[])}.  The algorithm requires a working
+     * space the size of the array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(int[] a) {
+        RadixSort.parallelSort(a, 0, a.length - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a parallel radix sort.  The range to be sorted extends
+     * from the index {@code fromIndex}, inclusive, to the index
+     * {@code toIndex}, exclusive. If {@code fromIndex == toIndex}, the
+     * range to be sorted is empty.
+     *
+     * @implNote See {@link #parallelRadixSort(int[])}.  The working space
+     * is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(int[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * radix sort.
+     *
+     * @implNote The sorting algorithm is a least-significant-digit radix
+     * sort that distributes the elements on one byte of their value per
+     * pass, skipping passes in which all elements share the byte.  It
+     * performs no comparisons and runs in time linear in the length of
+     * the array regardless of the distribution of values, which makes it
+     * typically faster than {@link #sort(long[])} on large arrays of
+     * random values, and slower on presorted or short arrays.  It
+     * requires a working space the size of the array.  Arrays shorter
+     * than an internal threshold are sorted with {@link #sort(long[])}.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void radixSort(long[] a) {
+        RadixSort.sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a radix sort.  The range to be sorted extends from the
+     * index {@code fromIndex}, inclusive, to the index {@code toIndex},
+     * exclusive. If {@code fromIndex == toIndex}, the range to be sorted
+     * is empty.
+     *
+     * @implNote See {@link #radixSort(long[])}.  The working space is the
+     * size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void radixSort(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * parallel radix sort.
+     *
+     * @implNote The elements are first distributed on their most
+     * significant byte, with the counting and moving of disjoint chunks
+     * of the array performed by separate tasks; the resulting buckets
+     * are then each sorted on their remaining bytes, as by
+     * {@link #radixSort(long[])}, by separate tasks.  If the length of the
+     * array is below an internal threshold, it is sorted sequentially
+     * with {@link #radixSort(long[])}.  The algorithm requires a working
+     * space the size of the array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(long[] a) {
+        RadixSort.parallelSort(a, 0, a.length - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a parallel radix sort.  The range to be sorted extends
+     * from the index {@code fromIndex}, inclusive, to the index
+     * {@code toIndex}, exclusive. If {@code fromIndex == toIndex}, the
+     * range to be sorted is empty.
+     *
+     * @implNote See {@link #parallelRadixSort(long[])}.  The working space
+     * is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * radix sort.
+     *
+     * <p>The values are ordered as by {@link #sort(float[])}: {@code -0.0f}
+     * is treated as less than {@code 0.0f}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote The sorting algorithm is a least-significant-digit radix
+     * sort that distributes the elements on one byte of their value per
+     * pass, skipping passes in which all elements share the byte.  It
+     * performs no comparisons and runs in time linear in the length of
+     * the array regardless of the distribution of values, which makes it
+     * typically faster than {@link #sort(float[])} on large arrays of
+     * random values, and slower on presorted or short arrays.  It
+     * requires a working space the size of the array.  Arrays shorter
+     * than an internal threshold are sorted with {@link #sort(float[])}.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void radixSort(float[] a) {
+        RadixSort.sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a radix sort.  The range to be sorted extends from the
+     * index {@code fromIndex}, inclusive, to the index {@code toIndex},
+     * exclusive. If {@code fromIndex == toIndex}, the range to be sorted
+     * is empty.
+     *
+     * <p>The values are ordered as by {@link #sort(float[])}: {@code -0.0f}
+     * is treated as less than {@code 0.0f}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote See {@link #radixSort(float[])}.  The working space is the
+     * size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void radixSort(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * parallel radix sort.
+     *
+     * <p>The values are ordered as by {@link #sort(float[])}: {@code -0.0f}
+     * is treated as less than {@code 0.0f}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote The elements are first distributed on their most
+     * significant byte, with the counting and moving of disjoint chunks
+     * of the array performed by separate tasks; the resulting buckets
+     * are then each sorted on their remaining bytes, as by
+     * {@link #radixSort(float[])}, by separate tasks.  If the length of the
+     * array is below an internal threshold, it is sorted sequentially
+     * with {@link #radixSort(float[])}.  The algorithm requires a working
+     * space the size of the array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(float[] a) {
+        RadixSort.parallelSort(a, 0, a.length - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a parallel radix sort.  The range to be sorted extends
+     * from the index {@code fromIndex}, inclusive, to the index
+     * {@code toIndex}, exclusive. If {@code fromIndex == toIndex}, the
+     * range to be sorted is empty.
+     *
+     * <p>The values are ordered as by {@link #sort(float[])}: {@code -0.0f}
+     * is treated as less than {@code 0.0f}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote See {@link #parallelRadixSort(float[])}.  The working space
+     * is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * radix sort.
+     *
+     * <p>The values are ordered as by {@link #sort(double[])}: {@code -0.0d}
+     * is treated as less than {@code 0.0d}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote The sorting algorithm is a least-significant-digit radix
+     * sort that distributes the elements on one byte of their value per
+     * pass, skipping passes in which all elements share the byte.  It
+     * performs no comparisons and runs in time linear in the length of
+     * the array regardless of the distribution of values, which makes it
+     * typically faster than {@link #sort(double[])} on large arrays of
+     * random values, and slower on presorted or short arrays.  It
+     * requires a working space the size of the array.  Arrays shorter
+     * than an internal threshold are sorted with {@link #sort(double[])}.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void radixSort(double[] a) {
+        RadixSort.sort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a radix sort.  The range to be sorted extends from the
+     * index {@code fromIndex}, inclusive, to the index {@code toIndex},
+     * exclusive. If {@code fromIndex == toIndex}, the range to be sorted
+     * is empty.
+     *
+     * <p>The values are ordered as by {@link #sort(double[])}: {@code -0.0d}
+     * is treated as less than {@code 0.0d}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote See {@link #radixSort(double[])}.  The working space is the
+     * size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void radixSort(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order using a
+     * parallel radix sort.
+     *
+     * <p>The values are ordered as by {@link #sort(double[])}: {@code -0.0d}
+     * is treated as less than {@code 0.0d}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote The elements are first distributed on their most
+     * significant byte, with the counting and moving of disjoint chunks
+     * of the array performed by separate tasks; the resulting buckets
+     * are then each sorted on their remaining bytes, as by
+     * {@link #radixSort(double[])}, by separate tasks.  If the length of the
+     * array is below an internal threshold, it is sorted sequentially
+     * with {@link #radixSort(double[])}.  The algorithm requires a working
+     * space the size of the array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(double[] a) {
+        RadixSort.parallelSort(a, 0, a.length - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical
+     * order using a parallel radix sort.  The range to be sorted extends
+     * from the index {@code fromIndex}, inclusive, to the index
+     * {@code toIndex}, exclusive. If {@code fromIndex == toIndex}, the
+     * range to be sorted is empty.
+     *
+     * <p>The values are ordered as by {@link #sort(double[])}: {@code -0.0d}
+     * is treated as less than {@code 0.0d}, and all NaN values are
+     * considered greater than any other value and placed at the end.
+     *
+     * @implNote See {@link #parallelRadixSort(double[])}.  The working space
+     * is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.8
+     */
+    public static void parallelRadixSort(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex - 1,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
     /**
      * Sorts the specified array of objects into ascending order, according
      * to the {@linkplain Comparable natural ordering} of its elements.
@@ -1571,6 +1987,192 @@ public class Arrays {
         }
     }
 
+    // Sorting of int values by an IntComparator
+
+    /**
+     * Sorts the specified array of {@code int} values, typically indices
+     * into other arrays, according to the order induced by the specified
+     * comparator.  This allows the rows of columnar data to be ordered by
+     * the values of one or more columns without boxing the indices or
+     * materializing row objects.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a merge sort, using insertion
+     * sort for short runs and skipping the merge of runs that are already
+     * in order.  It requires a working space the size of the array.
+     *
+     * @param a the array to be sorted
+     * @param c the comparator to determine the order of the array
+     * @throws NullPointerException if the comparator is null
+     * @throws IllegalArgumentException (optional) if the comparator is
+     *         found to violate the {@link Comparator} contract
+     * @since 1.8
+     */
+    public static void sortIndices(int[] a, IntComparator c) {
+        sortIndices(a, 0, a.length, c);
+    }
+
+    /**
+     * Sorts the specified range of the specified array of {@code int}
+     * values according to the order induced by the specified comparator.
+     * The range to be sorted extends from index {@code fromIndex},
+     * inclusive, to index {@code toIndex}, exclusive.  (If
+     * {@code fromIndex==toIndex}, the range to be sorted is empty.)
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote See {@link #sortIndices(int[], IntComparator)}.  The
+     * working space is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @param c the comparator to determine the order of the array
+     * @throws NullPointerException if the comparator is null
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
+     *         (optional) if the comparator is found to violate the
+     *         {@link Comparator} contract
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @since 1.8
+     */
+    public static void sortIndices(int[] a, int fromIndex, int toIndex,
+                                   IntComparator c) {
+        Objects.requireNonNull(c);
+        rangeCheck(a.length, fromIndex, toIndex);
+        int[] aux = copyOfRange(a, fromIndex, toIndex);
+        mergeSort(aux, a, fromIndex, toIndex, -fromIndex, c);
+    }
+
+    /**
+     * Sorts the specified array of {@code int} values according to the
+     * order induced by the specified comparator, in parallel.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is the parallel sort-merge of
+     * {@link #parallelSort(Object[], Comparator)}, with sub-arrays at the
+     * minimum granularity sorted by
+     * {@link #sortIndices(int[], IntComparator) sortIndices}.  The
+     * algorithm requires a working space the size of the array.  The
+     * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
+     * execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     * @param c the comparator to determine the order of the array
+     * @throws NullPointerException if the comparator is null
+     * @throws IllegalArgumentException (optional) if the comparator is
+     *         found to violate the {@link Comparator} contract
+     * @since 1.8
+     */
+    public static void parallelSortIndices(int[] a, IntComparator c) {
+        parallelSortIndices(a, 0, a.length, c);
+    }
+
+    /**
+     * Sorts the specified range of the specified array of {@code int}
+     * values according to the order induced by the specified comparator,
+     * in parallel.  The range to be sorted extends from index
+     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive.
+     * (If {@code fromIndex==toIndex}, the range to be sorted is empty.)
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote See {@link #parallelSortIndices(int[], IntComparator)}.
+     * The working space is the size of the range.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @param c the comparator to determine the order of the array
+     * @throws NullPointerException if the comparator is null
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
+     *         (optional) if the comparator is found to violate the
+     *         {@link Comparator} contract
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @since 1.8
+     */
+    public static void parallelSortIndices(int[] a, int fromIndex, int toIndex,
+                                           IntComparator c) {
+        Objects.requireNonNull(c);
+        rangeCheck(a.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex, p, g;
+        if (n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1) {
+            int[] aux = copyOfRange(a, fromIndex, toIndex);
+            mergeSort(aux, a, fromIndex, toIndex, -fromIndex, c);
+        }
+        else
+            new ArraysParallelSortHelpers.FJIndex.Sorter
+                (null, a, new int[n], fromIndex, n, 0,
+                 ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g, c).invoke();
+    }
+
+    /**
+     * Src is the source array that starts at index 0
+     * Dest is the (possibly larger) array destination with a possible offset
+     * low is the index in dest to start sorting
+     * high is the end index in dest to end sorting
+     * off is the offset into src corresponding to low in dest
+     * As the legacy Object merge sort, specialized to int values.
+     */
+    static void mergeSort(int[] src,
+                          int[] dest,
+                          int low, int high, int off,
+                          IntComparator c) {
+        int length = high - low;
+
+        // Insertion sort on smallest arrays
+        if (length < INSERTIONSORT_THRESHOLD) {
+            for (int i=low; i<high; i++)
+                for (int j=i; j>low && c.compare(dest[j-1], dest[j])>0; j--)
+                    swap(dest, j, j-1);
+            return;
+        }
+
+        // Recursively sort halves of dest into src
+        int destLow  = low;
+        int destHigh = high;
+        low  += off;
+        high += off;
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, -off, c);
+        mergeSort(dest, src, mid, high, -off, c);
+
+        // If list is already sorted, just copy from src to dest.  This is an
+        // optimization that results in faster sorts for nearly ordered lists.
+        if (c.compare(src[mid-1], src[mid]) <= 0) {
+           System.arraycopy(src, low, dest, destLow, length);
+           return;
+        }
+
+        // Merge sorted halves (now in src) into dest
+        for(int i = destLow, p = low, q = mid; i < destHigh; i++) {
+            if (q >= high || p < mid && c.compare(src[p], src[q]) <= 0)
+                dest[i] = src[p++];
+            else
+                dest[i] = src[q++];
+        }
+    }
+
+    /**
+     * Swaps x[a] with x[b].
+     */
+    private static void swap(int[] x, int a, int b) {
+        int t = x[a];
+        x[a] = x[b];
+        x[b] = t;
+    }
+
     // Parallel prefix
 
     /**
@@ -175,6 +175,65 @@ public class Collections {
         list.sort(c);
     }
 
+    /**
+     * Sorts the specified list into ascending order, according to the
+     * {@linkplain Comparable natural ordering} of its elements, using
+     * parallel tasks for large lists.  The resulting order is the same
+     * as that of {@link #sort(List)}, and the sort is likewise
+     * <i>stable</i>.
+     *
+     * <p>The specified list must be modifiable, but need not be resizable.
+     *
+     * @implNote
+     * This implementation defers to the {@link List#parallelSort(Comparator)}
+     * method using the specified list and a {@code null} comparator.
+     *
+     * @param  <T> the class of the objects in the list
+     * @param  list the list to be sorted.
+     * @throws ClassCastException if the list contains elements that are not
+     *         <i>mutually comparable</i> (for example, strings and integers).
+     * @throws UnsupportedOperationException if the specified list's
+     *         list-iterator does not support the {@code set} operation.
+     * @throws IllegalArgumentException (optional) if the implementation
+     *         detects that the natural ordering of the list elements is
+     *         found to violate the {@link Comparable} contract
+     * @see List#parallelSort(Comparator)
+     * @since 1.8
+     */
+    public static <T extends Comparable<? super T>> void parallelSort(List<T> list) {
+        list.parallelSort(null);
+    }
+
+    /**
+     * Sorts the specified list according to the order induced by the
+     * specified comparator, using parallel tasks for large lists.  The
+     * resulting order is the same as that of {@link #sort(List, Comparator)},
+     * and the sort is likewise <i>stable</i>.
+     *
+     * <p>The specified list must be modifiable, but need not be resizable.
+     *
+     * @implNote
+     * This implementation defers to the {@link List#parallelSort(Comparator)}
+     * method using the specified list and comparator.
+     *
+     * @param  <T> the class of the objects in the list
+     * @param  list the list to be sorted.
+     * @param  c the comparator to determine the order of the list.  A
+     *        {@code null} value indicates that the elements' <i>natural
+     *        ordering</i> should be used.
+     * @throws ClassCastException if the list contains elements that are not
+     *         <i>mutually comparable</i> using the specified comparator.
+     * @throws UnsupportedOperationException if the specified list's
+     *         list-iterator does not support the {@code set} operation.
+     * @throws IllegalArgumentException (optional) if the comparator is
+     *         found to violate the {@link Comparator} contract
+     * @see List#parallelSort(Comparator)
+     * @since 1.8
+     */
+    public static <T> void parallelSort(List<T> list, Comparator<? super T> c) {
+        list.parallelSort(c);
+    }
+
 
     /**
      * Searches the specified list for the specified object using the binary
@@ -1330,6 +1389,10 @@ public class Collections {
         public void sort(Comparator<? super E> c) {
             throw new UnsupportedOperationException();
         }
+        @Override
+        public void parallelSort(Comparator<? super E> c) {
+            throw new UnsupportedOperationException();
+        }
 
         public ListIterator<E> listIterator()   {return listIterator(0);}
 
@@ -2460,6 +2523,10 @@ public class Collections {
         public void sort(Comparator<? super E> c) {
             synchronized (mutex) {list.sort(c);}
         }
+        @Override
+        public void parallelSort(Comparator<? super E> c) {
+            synchronized (mutex) {list.parallelSort(c);}
+        }
 
         /**
          * SynchronizedRandomAccessList instances are serialized as
@@ -3494,6 +3561,11 @@ public class Collections {
         public void sort(Comparator<? super E> c) {
             list.sort(c);
         }
+
+        @Override
+        public void parallelSort(Comparator<? super E> c) {
+            list.parallelSort(c);
+        }
     }
 
     /**
@@ -4472,6 +4544,9 @@ public class Collections {
         @Override
         public void sort(Comparator<? super E> c) {
         }
+        @Override
+        public void parallelSort(Comparator<? super E> c) {
+        }
 
         // Override default methods in Collection
         @Override
@@ -4833,6 +4908,9 @@ public class Collections {
         public void sort(Comparator<? super E> c) {
         }
         @Override
+        public void parallelSort(Comparator<? super E> c) {
+        }
+        @Override
         public Spliterator<E> spliterator() {
             return singletonSpliterator(element);
         }
@@ -0,0 +1,638 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.InvalidObjectException;
+import java.util.function.Consumer;
+
+/**
+ * This class implements the <tt>Set</tt> interface with an
+ * open-addressing hash table that stores nothing but the elements
+ * themselves.  Where a {@link HashSet} holds a {@link HashMap}, and so a
+ * node object and a dummy value per element, this set keeps its elements
+ * directly in a single array and resolves collisions by linear probing,
+ * which typically needs less than half the memory of a <tt>HashSet</tt>
+ * and touches fewer cache lines per lookup.  This class permits the
+ * <tt>null</tt> element.
+ *
+ * <p>This class offers constant time performance for the basic operations
+ * (<tt>add</tt>, <tt>remove</tt>, <tt>contains</tt> and <tt>size</tt>),
+ * assuming the hash function disperses the elements properly among the
+ * table slots.  Because colliding elements occupy neighbouring slots
+ * rather than a chain, performance depends more strongly on the quality
+ * of the elements' {@code hashCode} than it does for <tt>HashSet</tt>;
+ * element hash codes are therefore spread with a multiplicative hash.
+ * The default load factor (.5) is lower than that of <tt>HashSet</tt>
+ * for the same reason.  Removal shifts subsequent elements of a probe
+ * sequence backwards, so no deleted-slot markers accumulate.  Iteration
+ * requires time proportional to the table length.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a compact hash set concurrently, and at least
+ * one of the threads modifies the set, it <i>must</i> be synchronized
+ * externally.  If no such object exists, the set should be "wrapped"
+ * using the {@link Collections#synchronizedSet Collections.synchronizedSet}
+ * method.
+ *
+ * <p>The iterators returned by this class's <tt>iterator</tt> method are
+ * <i>fail-fast</i>: if the set is modified at any time after the iterator
+ * is created, in any way except through the iterator's own <tt>remove</tt>
+ * method, the iterator throws a {@link ConcurrentModificationException}.
+ * Note that the fail-fast behavior of an iterator cannot be guaranteed;
+ * it should be used only to detect bugs.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @param <E> the type of elements maintained by this set
+ *
+ * @see     Collection
+ * @see     Set
+ * @see     HashSet
+ * @see     IdentityHashMap
+ * @since   1.8
+ */
+public class CompactHashSet<E>
+    extends AbstractSet<E>
+    implements Set<E>, Cloneable, java.io.Serializable
+{
+    private static final long serialVersionUID = 4893178604623372462L;
+
+    /**
+     * The default initial capacity, in expected elements.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum table length.  One slot is always kept free so that
+     * probe sequences terminate.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Value representing the null element within the table.
+     */
+    static final Object NULL_ELEMENT = new Object();
+
+    /**
+     * The element slots; a null entry marks a free slot.  Length is
+     * always a power of two.
+     */
+    transient Object[] table;
+
+    /**
+     * The number of elements contained in this set.
+     */
+    transient int size;
+
+    /**
+     * The number of times this set has been modified.  Used to make
+     * iterators fail-fast.
+     */
+    transient int modCount;
+
+    /**
+     * The number of elements at which the table is resized.
+     */
+    transient int threshold;
+
+    /**
+     * The load factor for the hash table.
+     */
+    final float loadFactor;
+
+    /**
+     * Constructs a new, empty set able to hold the specified number of
+     * elements without resizing, using the specified load factor.
+     *
+     * @param      initialCapacity   the expected number of elements
+     * @param      loadFactor        the load factor, strictly between 0 and 1
+     * @throws     IllegalArgumentException if the initial capacity is less
+     *             than zero, or if the load factor is out of range
+     */
+    public CompactHashSet(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                                               initialCapacity);
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        int cap = IntHashMap.tableSizeFor(initialCapacity, loadFactor);
+        table = new Object[cap];
+        threshold = IntHashMap.thresholdFor(cap, loadFactor);
+    }
+
+    /**
+     * Constructs a new, empty set able to hold the specified number of
+     * elements without resizing, with the default load factor (0.5).
+     *
+     * @param      initialCapacity   the expected number of elements
+     * @throws     IllegalArgumentException if the initial capacity is less
+     *             than zero
+     */
+    public CompactHashSet(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new, empty set with the default initial capacity (16)
+     * and load factor (0.5).
+     */
+    public CompactHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new set containing the elements in the specified
+     * collection, with the default load factor (0.5).
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null
+     */
+    public CompactHashSet(Collection<? extends E> c) {
+        this(Math.max(c.size(), DEFAULT_INITIAL_CAPACITY), DEFAULT_LOAD_FACTOR);
+        addAll(c);
+    }
+
+    /* ---------------- Static utilities -------------- */
+
+    /**
+     * Returns the internal representation of the element.
+     */
+    static Object maskNull(Object o) {
+        return (o == null ? NULL_ELEMENT : o);
+    }
+
+    /**
+     * Returns the external representation of the element.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> E unmaskNull(Object o) {
+        return (o == NULL_ELEMENT ? null : (E) o);
+    }
+
+    /**
+     * Spreads an element hash code over the whole word, as in
+     * {@link IntHashMap}, so that the low bits used for indexing depend on
+     * all of its bits.
+     */
+    static int hash(Object o) {
+        int h = o.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /* ---------------- Set operations -------------- */
+
+    /**
+     * Returns an iterator over the elements in this set.  The elements
+     * are returned in no particular order.
+     *
+     * @return an Iterator over the elements in this set
+     * @see ConcurrentModificationException
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains no elements.
+     *
+     * @return <tt>true</tt> if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains the specified element.
+     *
+     * @param o element whose presence in this set is to be tested
+     * @return <tt>true</tt> if this set contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(maskNull(o)) >= 0;
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param e element to be added to this set
+     * @return <tt>true</tt> if this set did not already contain the specified
+     * element
+     * @throws IllegalStateException if the set is at maximum capacity
+     */
+    public boolean add(E e) {
+        Object k = maskNull(e);
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        int i = hash(k) & mask;
+        for (Object item; (item = tab[i]) != null; i = (i + 1) & mask) {
+            if (item == k || item.equals(k))
+                return false;
+        }
+        if (size >= threshold) {
+            resize();
+            tab = table;
+            mask = tab.length - 1;
+            for (i = hash(k) & mask; tab[i] != null; i = (i + 1) & mask)
+                ;
+        }
+        tab[i] = k;
+        ++modCount;
+        ++size;
+        return true;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     *
+     * @param o object to be removed from this set, if present
+     * @return <tt>true</tt> if the set contained the specified element
+     */
+    public boolean remove(Object o) {
+        int i = indexOf(maskNull(o));
+        if (i < 0)
+            return false;
+        removeAt(i);
+        ++modCount;
+        --size;
+        return true;
+    }
+
+    /**
+     * Removes all of the elements from this set.  The table keeps its
+     * current length.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            size = 0;
+            Arrays.fill(table, null);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int mc = modCount;
+        Object[] tab = table;
+        for (int i = 0; i < tab.length && modCount == mc; ++i) {
+            Object item;
+            if ((item = tab[i]) != null)
+                action.accept(unmaskNull(item));
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>CompactHashSet</tt> instance: the
+     * elements themselves are not cloned.
+     *
+     * @return a shallow copy of this set
+     */
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            CompactHashSet<E> newSet = (CompactHashSet<E>) super.clone();
+            newSet.table = table.clone();
+            newSet.modCount = 0;
+            return newSet;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /* ---------------- Internals -------------- */
+
+    /**
+     * Returns the slot holding the given masked element, or -1 if absent.
+     */
+    final int indexOf(Object k) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        for (int i = hash(k) & mask; ; i = (i + 1) & mask) {
+            Object item = tab[i];
+            if (item == k)
+                return i;
+            else if (item == null)
+                return -1;
+            else if (item.equals(k))
+                return i;
+        }
+    }
+
+    /**
+     * Empties slot i and shifts back any later elements of the same probe
+     * run that would otherwise become unreachable.
+     */
+    final void removeAt(int i) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        for (int j = i; ; ) {
+            Object item = tab[j = (j + 1) & mask];
+            if (item == null)
+                break;
+            int h = hash(item) & mask;
+            // move item to the hole unless its home slot lies cyclically in (i, j]
+            if ((i <= j) ? (h <= i || h > j) : (h <= i && h > j)) {
+                tab[i] = item;
+                i = j;
+            }
+        }
+        tab[i] = null;
+    }
+
+    /**
+     * Doubles the table length, or if already at maximum capacity allows
+     * the table to fill up to its last free slot.
+     *
+     * @throws IllegalStateException if the table is full
+     */
+    final void resize() {
+        Object[] oldTab = table;
+        int oldCap = oldTab.length;
+        if (oldCap >= MAXIMUM_CAPACITY) {
+            if (threshold >= oldCap - 1)
+                throw new IllegalStateException("Set capacity exceeded");
+            threshold = oldCap - 1;
+            return;
+        }
+        int newCap = oldCap << 1, mask = newCap - 1;
+        Object[] newTab = new Object[newCap];
+        for (int j = 0; j < oldCap; ++j) {
+            Object item;
+            if ((item = oldTab[j]) != null) {
+                int i = hash(item) & mask;
+                while (newTab[i] != null)
+                    i = (i + 1) & mask;
+                newTab[i] = item;
+            }
+        }
+        table = newTab;
+        threshold = IntHashMap.thresholdFor(newCap, loadFactor);
+    }
+
+    /**
+     * Iterator over the table slots in ascending order.  Removing the
+     * element at slot i may shift a later element back into slot i, so
+     * the cursor steps back to revisit it.  If the probe run after slot i
+     * wraps past the end of the table, a removal could instead shift an
+     * already visited element from the start of the table into a slot
+     * not yet visited; in that case the iterator first switches to a
+     * private copy of the table, as {@link IdentityHashMap}'s iterators
+     * do, and removes by value from then on.
+     */
+    private final class Itr implements Iterator<E> {
+        Object[] traversalTable = table; // live table, or a private copy
+        int index;                       // next slot to examine
+        int lastReturned = -1;           // slot of last element returned
+        int expectedModCount = modCount;
+        boolean copied;
+
+        public boolean hasNext() {
+            Object[] tab = traversalTable;
+            for (int i = index; i < tab.length; i++) {
+                if (tab[i] != null) {
+                    index = i;
+                    return true;
+                }
+            }
+            index = tab.length;
+            return false;
+        }
+
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = index++;
+            return unmaskNull(traversalTable[lastReturned]);
+        }
+
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            int i = lastReturned;
+            lastReturned = -1;
+            if (!copied && runWraps(i)) {
+                traversalTable = table.clone();
+                copied = true;
+            }
+            if (copied)
+                CompactHashSet.this.remove(unmaskNull(traversalTable[i]));
+            else {
+                removeAt(i);
+                ++modCount;
+                --size;
+                index = i;
+            }
+            expectedModCount = modCount;
+        }
+
+        /** Tells whether the probe run following slot i wraps around. */
+        private boolean runWraps(int i) {
+            Object[] tab = table;
+            for (int j = i + 1; j < tab.length; j++) {
+                if (tab[j] == null)
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Save the state of this <tt>CompactHashSet</tt> instance to a stream
+     * (that is, serialize it).
+     *
+     * @serialData The capacity of the table (<tt>int</tt>), and its load
+     *             factor (<tt>float</tt>) are emitted, followed by the size
+     *             of the set (the number of elements it contains)
+     *             (<tt>int</tt>), followed by all of its elements (each an
+     *             <tt>Object</tt>) in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+        // Write out any hidden serialization magic
+        s.defaultWriteObject();
+
+        // Write out table capacity and size
+        s.writeInt(table.length);
+        s.writeInt(size);
+
+        // Write out all elements
+        Object[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            Object item;
+            if ((item = tab[i]) != null)
+                s.writeObject(unmaskNull(item));
+        }
+    }
+
+    /**
+     * Reconstitute the <tt>CompactHashSet</tt> instance from a stream (that
+     * is, deserialize it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        // Read in the load factor and any hidden serialization magic
+        s.defaultReadObject();
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new InvalidObjectException("Illegal load factor: " +
+                                             loadFactor);
+
+        // Read capacity (ignored, recomputed from size) and size
+        s.readInt();
+        int size = s.readInt();
+        if (size < 0)
+            throw new InvalidObjectException("Illegal size: " + size);
+
+        int cap = IntHashMap.tableSizeFor(size, loadFactor);
+        table = new Object[cap];
+        threshold = IntHashMap.thresholdFor(cap, loadFactor);
+
+        // Read in all elements
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+                E e = (E) s.readObject();
+            add(e);
+        }
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the elements in this
+     * set.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}.  Overriding implementations should document
+     * the reporting of additional characteristic values.
+     *
+     * @return a {@code Spliterator} over the elements in this set
+     */
+    public Spliterator<E> spliterator() {
+        return new SetSpliterator<>(this, 0, -1, 0, 0);
+    }
+
+    static final class SetSpliterator<E> implements Spliterator<E> {
+        final CompactHashSet<E> set;
+        int index;            // current index, modified on advance/split
+        int fence;            // one past last index, or -1 until first use
+        int est;              // size estimate
+        int expectedModCount; // for comodification checks
+
+        SetSpliterator(CompactHashSet<E> set, int origin, int fence, int est,
+                       int expectedModCount) {
+            this.set = set;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                CompactHashSet<E> s = set;
+                est = s.size;
+                expectedModCount = s.modCount;
+                hi = fence = s.table.length;
+            }
+            return hi;
+        }
+
+        public SetSpliterator<E> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new SetSpliterator<>(set, lo, index = mid, est >>>= 1,
+                                     expectedModCount);
+        }
+
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence();
+            Object[] tab = set.table;
+            while (index < hi) {
+                Object item = tab[index++];
+                if (item != null) {
+                    action.accept(unmaskNull(item));
+                    if (set.modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence(), i = index, mc = expectedModCount;
+            Object[] tab = set.table;
+            index = hi;
+            if (tab.length >= hi) {
+                for (; i < hi; ++i) {
+                    Object item;
+                    if ((item = tab[i]) != null)
+                        action.accept(unmaskNull(item));
+                }
+            }
+            if (set.modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+
+        public long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == set.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * A comparison function on {@code int} values, which imposes a total
+ * ordering on them.  This is the primitive specialization of
+ * {@link Comparator}; it is typically used to order the indices of
+ * columnar data by the values they refer to, as by
+ * {@link Arrays#sortIndices(int[], IntComparator) Arrays.sortIndices},
+ * without boxing either the indices or the values.  For example, to
+ * order the rows of a table held as a {@code double[]} column:
+ *
+ * <pre> {@code
+ * int[] rows = new int[price.length];
+ * Arrays.setAll(rows, i -> i);
+ * Arrays.sortIndices(rows, (i, j) -> Double.compare(price[i], price[j]));
+ * }</pre>
+ *
+ * @see Comparator
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface IntComparator {
+    /**
+     * Compares its two arguments for order.  Returns a negative integer,
+     * zero, or a positive integer as the first argument is less than,
+     * equal to, or greater than the second, subject to the same
+     * contract as {@link Comparator#compare}.
+     *
+     * @param a the first value to be compared.
+     * @param b the second value to be compared.
+     * @return a negative integer, zero, or a positive integer as the
+     *         first argument is less than, equal to, or greater than the
+     *         second.
+     */
+    int compare(int a, int b);
+
+    /**
+     * Returns a comparator that imposes the reverse ordering of this
+     * comparator.
+     *
+     * @return a comparator that imposes the reverse ordering of this
+     *         comparator.
+     */
+    default IntComparator reversed() {
+        return (a, b) -> compare(b, a);
+    }
+
+    /**
+     * Returns a lexicographic-order comparator with another comparator.
+     * If this {@code IntComparator} considers two values equal, i.e.
+     * {@code compare(a, b) == 0}, {@code other} is used to determine the
+     * order.
+     *
+     * @param  other the other comparator to be used when this comparator
+     *         compares two values that are equal.
+     * @return a lexicographic-order comparator composed of this and then the
+     *         other comparator
+     * @throws NullPointerException if the argument is null.
+     */
+    default IntComparator thenComparing(IntComparator other) {
+        Objects.requireNonNull(other);
+        return (a, b) -> {
+            int res = compare(a, b);
+            return (res != 0) ? res : other.compare(a, b);
+        };
+    }
+}
@@ -0,0 +1,704 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An open-addressing hash table mapping primitive {@code int} keys to
+ * object values.  Unlike a {@code HashMap<Integer,V>}, this class does
+ * not box its keys and does not allocate a node per mapping: keys and
+ * values are held in two parallel arrays that are probed linearly, so a
+ * lookup touches at most a few adjacent array slots.
+ *
+ * <p>All {@code int} values, including zero, are permitted as keys, and
+ * <tt>null</tt> is permitted as a value.  As with {@link HashMap#get},
+ * a return value of <tt>null</tt> from {@link #get} does not necessarily
+ * indicate that the map contains no mapping for the key; the
+ * {@link #containsKey containsKey} operation may be used to distinguish
+ * these two cases.
+ *
+ * <p>The <i>load factor</i> bounds the fraction of table slots that may
+ * be occupied before the table is doubled.  Because collisions are
+ * resolved by probing neighbouring slots, the default load factor (.5)
+ * is lower than that of {@code HashMap}; values up to about .75 trade
+ * longer probe sequences for less memory.  Removal shifts subsequent
+ * entries of a probe sequence backwards, so no deleted-slot markers
+ * accumulate and lookups never degrade after heavy churn.
+ *
+ * <p>The keys of the map may be traversed as an {@link IntStream} via
+ * {@link #keys}, or through the {@link PrimitiveIterator.OfInt} and
+ * {@link Spliterator.OfInt} returned by {@link #keyIterator} and
+ * {@link #keySpliterator}.  These traversals are <i>fail-fast</i> in the
+ * same sense as the iterators of {@link HashMap}: if the map is
+ * structurally modified after the traversal starts, a
+ * {@link ConcurrentModificationException} is thrown on a best-effort
+ * basis.  They do not support removal.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access the map concurrently, and at least one of
+ * the threads modifies it structurally, it <i>must</i> be synchronized
+ * externally.
+ *
+ * @param <V> the type of mapped values
+ *
+ * @see HashMap
+ * @see LongHashMap
+ * @see IntIntHashMap
+ * @since 1.8
+ */
+public class IntHashMap<V> {
+
+    /**
+     * The default initial capacity, in expected mappings.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum table length.  One slot is always kept free so that
+     * probe sequences terminate.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * The key slots; a zero entry marks a free slot.  The key zero itself
+     * is held outside the table in {@link #hasZeroKey}/{@link #zeroValue}.
+     * Length is always a power of two.
+     */
+    transient int[] keys;
+
+    /**
+     * The value slots, parallel to {@link #keys}.
+     */
+    transient Object[] vals;
+
+    /**
+     * True if the map contains a mapping for the key zero.
+     */
+    transient boolean hasZeroKey;
+
+    /**
+     * The value mapped to the key zero, if {@link #hasZeroKey}.
+     */
+    transient Object zeroValue;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    transient int size;
+
+    /**
+     * The number of times this map has been structurally modified.
+     * Used to make traversals fail-fast.
+     */
+    transient int modCount;
+
+    /**
+     * The number of table entries at which the table is resized.
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     */
+    final float loadFactor;
+
+    /**
+     * Constructs an empty map able to hold the specified number of
+     * mappings without resizing, using the specified load factor.
+     *
+     * @param  initialCapacity the expected number of mappings
+     * @param  loadFactor      the load factor, strictly between 0 and 1
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is out of range
+     */
+    public IntHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                                               initialCapacity);
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        int cap = tableSizeFor(initialCapacity, loadFactor);
+        keys = new int[cap];
+        vals = new Object[cap];
+        threshold = thresholdFor(cap, loadFactor);
+    }
+
+    /**
+     * Constructs an empty map able to hold the specified number of
+     * mappings without resizing, using the default load factor (0.5).
+     *
+     * @param  initialCapacity the expected number of mappings
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public IntHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty map with the default initial capacity (16) and
+     * the default load factor (0.5).
+     */
+    public IntHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /* ---------------- Static utilities -------------- */
+
+    /**
+     * Spreads the bits of a key over the whole word by a Fibonacci
+     * multiply, so that sequential keys do not occupy runs of adjacent
+     * slots and the low bits used for indexing depend on all input bits.
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the power-of-two table length needed to hold the given
+     * number of entries at the given load factor.
+     */
+    static int tableSizeFor(int expected, float loadFactor) {
+        long n = (long) Math.ceil(expected / (double) loadFactor);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY :
+            Math.max(2, HashMap.tableSizeFor((int) n));
+    }
+
+    /**
+     * Returns the resize threshold for a table of the given length,
+     * always leaving at least one slot free.
+     */
+    static int thresholdFor(int cap, float loadFactor) {
+        return Math.min((int) (cap * loadFactor), cap - 1);
+    }
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains no key-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value mapped to the key, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == 0)
+            return (V) zeroValue;
+        int i = indexOf(key);
+        return (i < 0) ? null : (V) vals[i];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value mapped to the key, or {@code defaultValue}
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? (V) zeroValue : defaultValue;
+        int i = indexOf(key);
+        return (i < 0) ? defaultValue : (V) vals[i];
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the
+     * specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the
+     * specified value.  This operation requires time linear in the
+     * table length.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the value
+     */
+    public boolean containsValue(Object value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value))
+            return true;
+        int[] ks = keys;
+        Object[] vs = vals;
+        for (int i = 0; i < ks.length; ++i) {
+            if (ks[i] != 0 && Objects.equals(vs[i], value))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>
+     * @throws IllegalStateException if the map is at maximum capacity
+     */
+    public V put(int key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is
+     * mapped to {@code null}) associates it with the given value and
+     * returns {@code null}, else returns the current value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the key, or
+     *         {@code null} if there was no mapping for the key
+     * @throws IllegalStateException if the map is at maximum capacity
+     */
+    public V putIfAbsent(int key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        Object old;
+        if (key == 0) {
+            if (!hasZeroKey)
+                return null;
+            old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+        }
+        else {
+            int i = indexOf(key);
+            if (i < 0)
+                return null;
+            old = vals[i];
+            removeAt(i);
+        }
+        ++modCount;
+        --size;
+        return (V) old;
+    }
+
+    /**
+     * Removes all of the mappings from this map.  The table keeps its
+     * current length.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            size = 0;
+            hasZeroKey = false;
+            zeroValue = null;
+            Arrays.fill(keys, 0);
+            Arrays.fill(vals, null);
+        }
+    }
+
+    /**
+     * Performs the given action for each mapping in this map until all
+     * mappings have been processed or the action throws an exception.
+     * The action receives the value first and the key second.
+     *
+     * @param action the action to be performed for each mapping
+     * @throws NullPointerException if the specified action is null
+     * @throws ConcurrentModificationException if the map is structurally
+     *         modified during the traversal
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int mc = modCount;
+        if (hasZeroKey)
+            action.accept((V) zeroValue, 0);
+        int[] ks = keys;
+        Object[] vs = vals;
+        for (int i = 0; i < ks.length && modCount == mc; ++i) {
+            int k;
+            if ((k = ks[i]) != 0)
+                action.accept((V) vs[i], k);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a fail-fast iterator over the keys of this map.
+     *
+     * @return an iterator over the keys of this map
+     */
+    public PrimitiveIterator.OfInt keyIterator() {
+        return Spliterators.iterator(keySpliterator());
+    }
+
+    /**
+     * Returns a late-binding, fail-fast {@link Spliterator.OfInt} over
+     * the keys of this map.  The spliterator reports
+     * {@link Spliterator#SIZED} (until split) and
+     * {@link Spliterator#DISTINCT}.
+     *
+     * @return a spliterator over the keys of this map
+     */
+    public Spliterator.OfInt keySpliterator() {
+        return new KeySpliterator<>(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code IntStream} over the keys of this map.
+     * The stream may be made parallel with {@link IntStream#parallel}.
+     *
+     * @return an {@code IntStream} over the keys of this map
+     */
+    public IntStream keys() {
+        return StreamSupport.intStream(keySpliterator(), false);
+    }
+
+    /**
+     * Compares the specified object with this map for equality.  Returns
+     * <tt>true</tt> if the given object is also an {@code IntHashMap} and
+     * the two maps contain the same mappings.
+     *
+     * @param o object to be compared for equality with this map
+     * @return <tt>true</tt> if the specified object is equal to this map
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof IntHashMap))
+            return false;
+        IntHashMap<?> m = (IntHashMap<?>) o;
+        if (m.size != size)
+            return false;
+        if (hasZeroKey &&
+            !(m.hasZeroKey && Objects.equals(zeroValue, m.zeroValue)))
+            return false;
+        int[] ks = keys;
+        Object[] vs = vals;
+        for (int i = 0; i < ks.length; ++i) {
+            int k, j;
+            if ((k = ks[i]) != 0 &&
+                ((j = m.indexOf(k)) < 0 || !Objects.equals(vs[i], m.vals[j])))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this map, defined as the sum over
+     * all mappings of {@code key ^ Objects.hashCode(value)}, which agrees
+     * with the hash code of an equivalent {@code Map<Integer,V>}.
+     *
+     * @return the hash code value for this map
+     */
+    public int hashCode() {
+        int h = hasZeroKey ? Objects.hashCode(zeroValue) : 0;
+        int[] ks = keys;
+        Object[] vs = vals;
+        for (int i = 0; i < ks.length; ++i) {
+            int k;
+            if ((k = ks[i]) != 0)
+                h += k ^ Objects.hashCode(vs[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns a string representation of this map in the same format as
+     * {@link AbstractMap#toString}.
+     *
+     * @return a string representation of this map
+     */
+    public String toString() {
+        if (size == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        if (hasZeroKey)
+            sb.append(0).append('=').append(valueString(zeroValue)).append(", ");
+        int[] ks = keys;
+        Object[] vs = vals;
+        for (int i = 0; i < ks.length; ++i) {
+            int k;
+            if ((k = ks[i]) != 0)
+                sb.append(k).append('=').append(valueString(vs[i])).append(", ");
+        }
+        sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+
+    private String valueString(Object v) {
+        return (v == this) ? "(this Map)" : String.valueOf(v);
+    }
+
+    /* ---------------- Internals -------------- */
+
+    /**
+     * Returns the slot holding the given nonzero key, or -1 if absent.
+     */
+    final int indexOf(int key) {
+        int[] ks = keys;
+        int mask = ks.length - 1;
+        for (int i = hash(key) & mask, k; ; i = (i + 1) & mask) {
+            if ((k = ks[i]) == key)
+                return i;
+            else if (k == 0)
+                return -1;
+        }
+    }
+
+    /**
+     * Implements put and putIfAbsent.
+     */
+    @SuppressWarnings("unchecked")
+    final V putVal(int key, V value, boolean onlyIfAbsent) {
+        if (key == 0) {
+            Object old = zeroValue;
+            if (hasZeroKey) {
+                if (!onlyIfAbsent || old == null)
+                    zeroValue = value;
+                return (V) old;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            ++modCount;
+            ++size;
+            return null;
+        }
+        int[] ks = keys;
+        int mask = ks.length - 1;
+        int i = hash(key) & mask;
+        for (int k; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                Object old = vals[i];
+                if (!onlyIfAbsent || old == null)
+                    vals[i] = value;
+                return (V) old;
+            }
+        }
+        if (size >= threshold) {
+            resize();
+            ks = keys;
+            mask = ks.length - 1;
+            for (i = hash(key) & mask; ks[i] != 0; i = (i + 1) & mask)
+                ;
+        }
+        ks[i] = key;
+        vals[i] = value;
+        ++modCount;
+        ++size;
+        return null;
+    }
+
+    /**
+     * Empties slot i and shifts back any later entries of the same probe
+     * run that would otherwise become unreachable.
+     */
+    final void removeAt(int i) {
+        int[] ks = keys;
+        Object[] vs = vals;
+        int mask = ks.length - 1;
+        for (int j = i, k; (k = ks[j = (j + 1) & mask]) != 0; ) {
+            int h = hash(k) & mask;
+            // move k to the hole unless its home slot lies cyclically in (i, j]
+            if ((i <= j) ? (h <= i || h > j) : (h <= i && h > j)) {
+                ks[i] = k;
+                vs[i] = vs[j];
+                i = j;
+            }
+        }
+        ks[i] = 0;
+        vs[i] = null;
+    }
+
+    /**
+     * Doubles the table length, or if already at maximum capacity allows
+     * the table to fill up to its last free slot.
+     *
+     * @throws IllegalStateException if the table is full
+     */
+    final void resize() {
+        int[] oldKeys = keys;
+        Object[] oldVals = vals;
+        int oldCap = oldKeys.length;
+        if (oldCap >= MAXIMUM_CAPACITY) {
+            if (threshold >= oldCap - 1)
+                throw new IllegalStateException("Map capacity exceeded");
+            threshold = oldCap - 1;
+            return;
+        }
+        int newCap = oldCap << 1, mask = newCap - 1;
+        int[] newKeys = new int[newCap];
+        Object[] newVals = new Object[newCap];
+        for (int j = 0; j < oldCap; ++j) {
+            int k;
+            if ((k = oldKeys[j]) != 0) {
+                int i = hash(k) & mask;
+                while (newKeys[i] != 0)
+                    i = (i + 1) & mask;
+                newKeys[i] = k;
+                newVals[i] = oldVals[j];
+            }
+        }
+        keys = newKeys;
+        vals = newVals;
+        threshold = thresholdFor(newCap, loadFactor);
+    }
+
+    /**
+     * Spliterator over the key slots.  Slot index {@code keys.length}
+     * stands for the out-of-table zero key.
+     */
+    static final class KeySpliterator<V> implements Spliterator.OfInt {
+        final IntHashMap<V> map;
+        int index;            // current index, modified on advance/split
+        int fence;            // one past last index, or -1 until first use
+        int est;              // size estimate
+        int expectedModCount; // for comodification checks
+
+        KeySpliterator(IntHashMap<V> m, int origin, int fence, int est,
+                       int expectedModCount) {
+            this.map = m;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                IntHashMap<V> m = map;
+                est = m.size;
+                expectedModCount = m.modCount;
+                hi = fence = m.keys.length + 1;
+            }
+            return hi;
+        }
+
+        public KeySpliterator<V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new KeySpliterator<>(map, lo, index = mid, est >>>= 1,
+                                     expectedModCount);
+        }
+
+        public boolean tryAdvance(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            IntHashMap<V> m = map;
+            int hi = getFence();
+            int[] ks = m.keys;
+            while (index < hi) {
+                int i = index++, k;
+                if (i < ks.length) {
+                    if ((k = ks[i]) == 0)
+                        continue;
+                }
+                else if (m.hasZeroKey)
+                    k = 0;
+                else
+                    continue;
+                action.accept(k);
+                if (m.modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                return true;
+            }
+            return false;
+        }
+
+        public void forEachRemaining(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            IntHashMap<V> m = map;
+            int hi = getFence(), i = index, mc = expectedModCount;
+            int[] ks = m.keys;
+            index = hi;
+            for (int end = Math.min(hi, ks.length), k; i < end; ++i) {
+                if ((k = ks[i]) != 0)
+                    action.accept(k);
+            }
+            if (hi > ks.length && i <= ks.length && m.hasZeroKey)
+                action.accept(0);
+            if (m.modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+
+        public long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+}
@@ -483,6 +483,56 @@ public interface List<E> extends Collection<E> {
         }
     }
 
+    /**
+     * Sorts this list according to the order induced by the specified
+     * {@link Comparator}, using parallel tasks for large lists.  The
+     * resulting order is the same as that of {@link #sort(Comparator)},
+     * and the sort is likewise <i>stable</i>.
+     *
+     * <p>If the specified comparator is {@code null} then all elements in this
+     * list must implement the {@link Comparable} interface and the elements'
+     * {@linkplain Comparable natural ordering} should be used.
+     *
+     * <p>This list must be modifiable, but need not be resizable.
+     *
+     * @implSpec
+     * The default implementation obtains an array containing all elements in
+     * this list, sorts the array with
+     * {@link Arrays#parallelSort(Object[], Comparator) Arrays.parallelSort},
+     * and iterates over this list resetting each element from the
+     * corresponding position in the array.
+     *
+     * @implNote
+     * The sorting algorithm is the parallel sort-merge of
+     * {@code Arrays.parallelSort}, which falls back to the sequential sort
+     * for lists below its minimum granularity.  The
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() ForkJoin common
+     * pool} is used to execute any parallel tasks.
+     *
+     * @param c the {@code Comparator} used to compare list elements.
+     *          A {@code null} value indicates that the elements'
+     *          {@linkplain Comparable natural ordering} should be used
+     * @throws ClassCastException if the list contains elements that are not
+     *         <i>mutually comparable</i> using the specified comparator
+     * @throws UnsupportedOperationException if the list's list-iterator does
+     *         not support the {@code set} operation
+     * @throws IllegalArgumentException
+     *         (<a href="Collection.html#optional-restrictions">optional</a>)
+     *         if the comparator is found to violate the {@link Comparator}
+     *         contract
+     * @since 1.8
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    default void parallelSort(Comparator<? super E> c) {
+        Object[] a = this.toArray();
+        Arrays.parallelSort(a, (Comparator) c);
+        ListIterator<E> i = this.listIterator();
+        for (Object e : a) {
+            i.next();
+            i.set((E) e);
+        }
+    }
+
     /**
      * Removes all of the elements from this list (optional operation).
      * The list will be empty after this call returns.
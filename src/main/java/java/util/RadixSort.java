@@ -0,0 +1,625 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * This class implements least-significant-digit radix sorts for the
+ * {@code int}, {@code long}, {@code float} and {@code double} arrays,
+ * together with a parallel variant that distributes elements on their
+ * most significant digit and then sorts the resulting buckets
+ * independently in the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+ * Unlike {@link DualPivotQuicksort} these sorts perform no comparisons:
+ * each pass moves every element once according to one eight-bit digit
+ * of its key, so their running time is linear in the length of the
+ * range and independent of the distribution of values, at the cost of
+ * a workspace as large as the range.
+ *
+ * Keys are derived from values so that unsigned order of the keys is
+ * the numerical order of the values: the sign bit of an integer is
+ * inverted, and for a floating-point value the sign bit is inverted
+ * if clear and all bits are inverted if set.  This orders
+ * {@code -0.0} before {@code 0.0} as {@link Arrays#sort(double[])}
+ * does; NaNs are moved to the end of the range before sorting.
+ *
+ * All exposed methods are package-private, designed to be invoked
+ * from public methods (in class Arrays) after performing any
+ * necessary array bounds checks and expanding parameters into the
+ * required forms.
+ *
+ * @since 1.8
+ */
+final class RadixSort {
+
+    /**
+     * Prevents instantiation.
+     */
+    private RadixSort() {}
+
+    /*
+     * Tuning parameters.
+     */
+
+    /**
+     * If the length of an array to be sorted is less than this
+     * constant, Dual-Pivot Quicksort is used in preference to radix
+     * sort, whose fixed cost of clearing and summing the digit counts
+     * dominates for short ranges.
+     */
+    private static final int RADIX_SORT_THRESHOLD = 1 << 10;
+
+    /**
+     * If the length of an array to be sorted is less than this
+     * constant, the parallel sort runs sequentially.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    /**
+     * The minimum number of elements examined by each task of the
+     * parallel counting and distribution phases.
+     */
+    private static final int MIN_CHUNK = 1 << 13;
+
+    /**
+     * The number of distinct values of one digit.
+     */
+    private static final int RADIX = 1 << 8;
+
+    /*
+     * Key transformations.
+     */
+
+    private static int key(int e) {
+        return e ^ Integer.MIN_VALUE;
+    }
+
+    private static int key(float e) {
+        int b = Float.floatToRawIntBits(e);
+        return b ^ ((b >> 31) | Integer.MIN_VALUE);
+    }
+
+    private static long key(long e) {
+        return e ^ Long.MIN_VALUE;
+    }
+
+    private static long key(double e) {
+        long b = Double.doubleToRawLongBits(e);
+        return b ^ ((b >> 63) | Long.MIN_VALUE);
+    }
+
+    /*
+     * Sorting methods for four primitive types.
+     */
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     */
+    static void sort(int[] a, int left, int right) {
+        int n = right - left + 1;
+        if (n < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, left, right, null, 0, 0);
+            return;
+        }
+        int[] w = new int[n];
+        if (sortDigits(a, left, w, 0, n, 4))
+            System.arraycopy(w, 0, a, left, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.  The first
+     * pass, on the most significant digit, is split into chunks whose
+     * digit counts are gathered and whose elements are distributed by
+     * separate tasks; each of the resulting buckets is then sorted on
+     * the remaining digits by its own task.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param parallelism the target parallelism level
+     */
+    static void parallelSort(int[] a, int left, int right, int parallelism) {
+        int n = right - left + 1;
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism <= 1) {
+            sort(a, left, right);
+            return;
+        }
+        int[] w = new int[n];
+        int chunks = chunks(n, parallelism);
+        int[][] counts = new int[chunks][RADIX];
+        forEach(chunks, c -> {
+            int[] count = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i)
+                ++count[key(a[i]) >>> 24];
+        });
+        int[] buckets = positions(counts);
+        forEach(chunks, c -> {
+            int[] pos = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i) {
+                int e = a[i];
+                w[pos[key(e) >>> 24]++] = e;
+            }
+        });
+        forEach(RADIX, d -> {
+            int lo = buckets[d], len = buckets[d + 1] - lo;
+            if (len > 0 && !sortDigits(w, lo, a, left + lo, len, 4 - 1))
+                System.arraycopy(w, lo, a, left + lo, len);
+        });
+    }
+
+    /**
+     * Sorts n elements of a, starting at aOff, on their lowest digits,
+     * using w from wOff as workspace.  Passes in which every element
+     * has the same digit are skipped.
+     *
+     * @return true if the sorted elements were left in w rather than a
+     */
+    private static boolean sortDigits(int[] a, int aOff, int[] w, int wOff,
+                                      int n, int digits) {
+        int[] count = new int[digits * RADIX];
+        for (int i = aOff, end = aOff + n; i < end; ++i) {
+            int k = key(a[i]);
+            for (int d = 0; d < digits; ++d)
+                ++count[d * RADIX + ((k >>> (d << 3)) & 0xFF)];
+        }
+        int[] src = a, dst = w;
+        int srcOff = aOff, dstOff = wOff;
+        boolean swapped = false;
+        for (int d = 0, shift = 0; d < digits; ++d, shift += 8) {
+            int base = d * RADIX;
+            if (count[base + ((key(src[srcOff]) >>> shift) & 0xFF)] == n)
+                continue;
+            for (int i = 0, sum = dstOff; i < RADIX; ++i) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; ++i) {
+                int e = src[i];
+                dst[count[base + ((key(e) >>> shift) & 0xFF)]++] = e;
+            }
+            int[] t = src; src = dst; dst = t;
+            int o = srcOff; srcOff = dstOff; dstOff = o;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     */
+    static void sort(long[] a, int left, int right) {
+        int n = right - left + 1;
+        if (n < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, left, right, null, 0, 0);
+            return;
+        }
+        long[] w = new long[n];
+        if (sortDigits(a, left, w, 0, n, 8))
+            System.arraycopy(w, 0, a, left, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.  The first
+     * pass, on the most significant digit, is split into chunks whose
+     * digit counts are gathered and whose elements are distributed by
+     * separate tasks; each of the resulting buckets is then sorted on
+     * the remaining digits by its own task.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param parallelism the target parallelism level
+     */
+    static void parallelSort(long[] a, int left, int right, int parallelism) {
+        int n = right - left + 1;
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism <= 1) {
+            sort(a, left, right);
+            return;
+        }
+        long[] w = new long[n];
+        int chunks = chunks(n, parallelism);
+        int[][] counts = new int[chunks][RADIX];
+        forEach(chunks, c -> {
+            int[] count = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i)
+                ++count[(int) (key(a[i]) >>> 56)];
+        });
+        int[] buckets = positions(counts);
+        forEach(chunks, c -> {
+            int[] pos = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i) {
+                long e = a[i];
+                w[pos[(int) (key(e) >>> 56)]++] = e;
+            }
+        });
+        forEach(RADIX, d -> {
+            int lo = buckets[d], len = buckets[d + 1] - lo;
+            if (len > 0 && !sortDigits(w, lo, a, left + lo, len, 8 - 1))
+                System.arraycopy(w, lo, a, left + lo, len);
+        });
+    }
+
+    /**
+     * Sorts n elements of a, starting at aOff, on their lowest digits,
+     * using w from wOff as workspace.  Passes in which every element
+     * has the same digit are skipped.
+     *
+     * @return true if the sorted elements were left in w rather than a
+     */
+    private static boolean sortDigits(long[] a, int aOff, long[] w, int wOff,
+                                      int n, int digits) {
+        int[] count = new int[digits * RADIX];
+        for (int i = aOff, end = aOff + n; i < end; ++i) {
+            long k = key(a[i]);
+            for (int d = 0; d < digits; ++d)
+                ++count[d * RADIX + (int) ((k >>> (d << 3)) & 0xFF)];
+        }
+        long[] src = a, dst = w;
+        int srcOff = aOff, dstOff = wOff;
+        boolean swapped = false;
+        for (int d = 0, shift = 0; d < digits; ++d, shift += 8) {
+            int base = d * RADIX;
+            if (count[base + (int) ((key(src[srcOff]) >>> shift) & 0xFF)] == n)
+                continue;
+            for (int i = 0, sum = dstOff; i < RADIX; ++i) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; ++i) {
+                long e = src[i];
+                dst[count[base + (int) ((key(e) >>> shift) & 0xFF)]++] = e;
+            }
+            long[] t = src; src = dst; dst = t;
+            int o = srcOff; srcOff = dstOff; dstOff = o;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     */
+    static void sort(float[] a, int left, int right) {
+        /*
+         * Move NaNs to the end of the array.
+         */
+        while (left <= right && Float.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= left; ) {
+            float ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        int n = right - left + 1;
+        if (n < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, left, right, null, 0, 0);
+            return;
+        }
+        float[] w = new float[n];
+        if (sortDigits(a, left, w, 0, n, 4))
+            System.arraycopy(w, 0, a, left, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.  The first
+     * pass, on the most significant digit, is split into chunks whose
+     * digit counts are gathered and whose elements are distributed by
+     * separate tasks; each of the resulting buckets is then sorted on
+     * the remaining digits by its own task.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param parallelism the target parallelism level
+     */
+    static void parallelSort(float[] a, int left, int right, int parallelism) {
+        /*
+         * Move NaNs to the end of the array.
+         */
+        while (left <= right && Float.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= left; ) {
+            float ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        int n = right - left + 1;
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism <= 1) {
+            sort(a, left, right);
+            return;
+        }
+        float[] w = new float[n];
+        int chunks = chunks(n, parallelism);
+        int[][] counts = new int[chunks][RADIX];
+        forEach(chunks, c -> {
+            int[] count = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i)
+                ++count[key(a[i]) >>> 24];
+        });
+        int[] buckets = positions(counts);
+        forEach(chunks, c -> {
+            int[] pos = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i) {
+                float e = a[i];
+                w[pos[key(e) >>> 24]++] = e;
+            }
+        });
+        forEach(RADIX, d -> {
+            int lo = buckets[d], len = buckets[d + 1] - lo;
+            if (len > 0 && !sortDigits(w, lo, a, left + lo, len, 4 - 1))
+                System.arraycopy(w, lo, a, left + lo, len);
+        });
+    }
+
+    /**
+     * Sorts n elements of a, starting at aOff, on their lowest digits,
+     * using w from wOff as workspace.  Passes in which every element
+     * has the same digit are skipped.
+     *
+     * @return true if the sorted elements were left in w rather than a
+     */
+    private static boolean sortDigits(float[] a, int aOff, float[] w, int wOff,
+                                      int n, int digits) {
+        int[] count = new int[digits * RADIX];
+        for (int i = aOff, end = aOff + n; i < end; ++i) {
+            int k = key(a[i]);
+            for (int d = 0; d < digits; ++d)
+                ++count[d * RADIX + ((k >>> (d << 3)) & 0xFF)];
+        }
+        float[] src = a, dst = w;
+        int srcOff = aOff, dstOff = wOff;
+        boolean swapped = false;
+        for (int d = 0, shift = 0; d < digits; ++d, shift += 8) {
+            int base = d * RADIX;
+            if (count[base + ((key(src[srcOff]) >>> shift) & 0xFF)] == n)
+                continue;
+            for (int i = 0, sum = dstOff; i < RADIX; ++i) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; ++i) {
+                float e = src[i];
+                dst[count[base + ((key(e) >>> shift) & 0xFF)]++] = e;
+            }
+            float[] t = src; src = dst; dst = t;
+            int o = srcOff; srcOff = dstOff; dstOff = o;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     */
+    static void sort(double[] a, int left, int right) {
+        /*
+         * Move NaNs to the end of the array.
+         */
+        while (left <= right && Double.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= left; ) {
+            double ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        int n = right - left + 1;
+        if (n < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, left, right, null, 0, 0);
+            return;
+        }
+        double[] w = new double[n];
+        if (sortDigits(a, left, w, 0, n, 8))
+            System.arraycopy(w, 0, a, left, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.  The first
+     * pass, on the most significant digit, is split into chunks whose
+     * digit counts are gathered and whose elements are distributed by
+     * separate tasks; each of the resulting buckets is then sorted on
+     * the remaining digits by its own task.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param parallelism the target parallelism level
+     */
+    static void parallelSort(double[] a, int left, int right, int parallelism) {
+        /*
+         * Move NaNs to the end of the array.
+         */
+        while (left <= right && Double.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= left; ) {
+            double ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        int n = right - left + 1;
+        if (n < PARALLEL_SORT_THRESHOLD || parallelism <= 1) {
+            sort(a, left, right);
+            return;
+        }
+        double[] w = new double[n];
+        int chunks = chunks(n, parallelism);
+        int[][] counts = new int[chunks][RADIX];
+        forEach(chunks, c -> {
+            int[] count = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i)
+                ++count[(int) (key(a[i]) >>> 56)];
+        });
+        int[] buckets = positions(counts);
+        forEach(chunks, c -> {
+            int[] pos = counts[c];
+            for (int i = left + chunkStart(n, chunks, c),
+                     end = left + chunkStart(n, chunks, c + 1); i < end; ++i) {
+                double e = a[i];
+                w[pos[(int) (key(e) >>> 56)]++] = e;
+            }
+        });
+        forEach(RADIX, d -> {
+            int lo = buckets[d], len = buckets[d + 1] - lo;
+            if (len > 0 && !sortDigits(w, lo, a, left + lo, len, 8 - 1))
+                System.arraycopy(w, lo, a, left + lo, len);
+        });
+    }
+
+    /**
+     * Sorts n elements of a, starting at aOff, on their lowest digits,
+     * using w from wOff as workspace.  Passes in which every element
+     * has the same digit are skipped.
+     *
+     * @return true if the sorted elements were left in w rather than a
+     */
+    private static boolean sortDigits(double[] a, int aOff, double[] w, int wOff,
+                                      int n, int digits) {
+        int[] count = new int[digits * RADIX];
+        for (int i = aOff, end = aOff + n; i < end; ++i) {
+            long k = key(a[i]);
+            for (int d = 0; d < digits; ++d)
+                ++count[d * RADIX + (int) ((k >>> (d << 3)) & 0xFF)];
+        }
+        double[] src = a, dst = w;
+        int srcOff = aOff, dstOff = wOff;
+        boolean swapped = false;
+        for (int d = 0, shift = 0; d < digits; ++d, shift += 8) {
+            int base = d * RADIX;
+            if (count[base + (int) ((key(src[srcOff]) >>> shift) & 0xFF)] == n)
+                continue;
+            for (int i = 0, sum = dstOff; i < RADIX; ++i) {
+                int c = count[base + i];
+                count[base + i] = sum;
+                sum += c;
+            }
+            for (int i = srcOff, end = srcOff + n; i < end; ++i) {
+                double e = src[i];
+                dst[count[base + (int) ((key(e) >>> shift) & 0xFF)]++] = e;
+            }
+            double[] t = src; src = dst; dst = t;
+            int o = srcOff; srcOff = dstOff; dstOff = o;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /*
+     * Parallel helpers.
+     */
+
+    /**
+     * Returns the number of chunks into which the first pass over n
+     * elements is split.
+     */
+    private static int chunks(int n, int parallelism) {
+        return Math.max(1, Math.min(parallelism << 2, n / MIN_CHUNK));
+    }
+
+    /**
+     * Returns the offset of chunk c of the given number of chunks
+     * dividing n elements.
+     */
+    private static int chunkStart(int n, int chunks, int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    /**
+     * Replaces the digit counts of each chunk by the position at which
+     * that chunk's first element with each digit is to be stored, so
+     * that the distribution is stable, and returns the bounds of the
+     * buckets.
+     */
+    private static int[] positions(int[][] counts) {
+        int[] buckets = new int[RADIX + 1];
+        int sum = 0;
+        for (int d = 0; d < RADIX; ++d) {
+            buckets[d] = sum;
+            for (int[] count : counts) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+        }
+        buckets[RADIX] = sum;
+        return buckets;
+    }
+
+    /**
+     * Runs the action for each index below n as separate tasks and
+     * waits for all of them to complete.
+     */
+    private static void forEach(int n, IntConsumer action) {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[n];
+        for (int i = 0; i < n; ++i) {
+            int index = i;
+            tasks[i] = ForkJoinTask.adapt(() -> action.accept(index));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+}
@@ -24,6 +24,8 @@
  */
 package java.util;
 
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
@@ -649,6 +651,45 @@ public final class Spliterators {
         return new DoubleIteratorSpliterator(Objects.requireNonNull(iterator), characteristics);
     }
 
+    // Adaptive spliterators
+
+    /**
+     * Creates a {@code Spliterator} covering the elements of a given
+     * {@code Spliterator}, that splits off batches of elements whose size is
+     * adapted at run time to the cost of processing each element.
+     *
+     * <p>The spliterator is intended for sources that can only be traversed
+     * sequentially, such as those of {@link #spliteratorUnknownSize(Iterator, int)},
+     * which otherwise split off batches of a fixed, growing size that ignores
+     * how long their elements take to process.  Batches are copied out of the
+     * given spliterator, and each batch measures the time taken to traverse
+     * it with {@code forEachRemaining} or {@code tryAdvance}, which includes
+     * the time taken by the operations applied to its elements.  The first
+     * batches are as small as one element; once costs have been measured
+     * each batch is sized to take roughly a millisecond, growing by at most
+     * a factor of two from one batch to the next, so that expensive or
+     * skewed elements are spread across many batches while cheap elements
+     * are batched coarsely.  When splitting within a
+     * {@link java.util.concurrent.ForkJoinPool} whose worker already has a
+     * surplus of queued tasks, and thus of work available to be stolen,
+     * batches are made larger still.
+     *
+     * <p>Traversal without splitting is delegated directly to the given
+     * spliterator, and adds no overhead.  The spliterator reports the
+     * characteristics, size estimate and comparator of the given spliterator.
+     * The behaviour of splitting and traversal is undefined if the given
+     * spliterator is operated on after this spliterator is returned.
+     *
+     * @param <T> Type of elements
+     * @param spliterator The spliterator for the source
+     * @return A spliterator adapting its splits to the cost of elements
+     * @throws NullPointerException if the given spliterator is {@code null}
+     * @since 1.8
+     */
+    public static <T> Spliterator<T> adaptiveSpliterator(Spliterator<? extends T> spliterator) {
+        return new AdaptiveSpliterator<>(Objects.requireNonNull(spliterator));
+    }
+
     // Iterators from Spliterators
 
     /**
@@ -2121,4 +2162,197 @@ public final class Spliterators {
             throw new IllegalStateException();
         }
     }
+
+    // Adaptive spliterators
+
+    /**
+     * A Spliterator that splits off batches of elements of a given
+     * spliterator, sized by the measured cost of processing elements.
+     * Batches report the time taken by their traversals back to the
+     * spliterator they were split from.  Batches
+     * run concurrently, so that the cost estimate is updated racily; a lost
+     * update only delays adaptation.
+     */
+    static final class AdaptiveSpliterator<T> implements Spliterator<T>, Consumer<T> {
+        static final int MAX_BATCH = IteratorSpliterator.MAX_BATCH;
+        static final long TARGET_NANOS = 1L << 20;  // ~1ms of work per batch
+        static final int SURPLUS_THRESHOLD = 3;     // as in ForkJoinTask
+        private final Spliterator<? extends T> source;
+        private int batch;                          // size of the last batch
+        private volatile double cost = -1.0;        // nanos per element, if measured
+        private Object element;                     // for use by accept
+
+        AdaptiveSpliterator(Spliterator<? extends T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void accept(T t) {
+            element = t;
+        }
+
+        /**
+         * Records that a batch traversed {@code n} elements in the given
+         * time, folding the observed cost into a moving average.
+         */
+        void record(int n, long nanos) {
+            if (n > 0) {
+                double c = (double) nanos / n, old = cost;
+                cost = (old < 0.0) ? c : old + (c - old) * 0.25;
+            }
+        }
+
+        /**
+         * Returns the size of the next batch.
+         */
+        private int nextBatchSize() {
+            int b = batch;
+            double c = cost;
+            long n;
+            if (c < 0.0)                     // no measurement yet: grow slowly
+                n = b + 1;
+            else {
+                n = (long) (TARGET_NANOS / Math.max(c, 1.0));
+                if (b > 0 && n > (long) b << 1)
+                    n = (long) b << 1;
+            }
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread &&
+                ForkJoinTask.getSurplusQueuedTaskCount() > SURPLUS_THRESHOLD)
+                n <<= 1;                     // enough queued work for thieves
+            return (int) Math.max(1L, Math.min(n, MAX_BATCH));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long s = source.estimateSize();
+            if (s <= 1L)
+                return null;
+            int n = nextBatchSize();
+            if (n > s)
+                n = (int) s;
+            Object[] a = new Object[n];
+            int j = 0;
+            while (j < n && source.tryAdvance(this)) {
+                a[j++] = element;
+                element = null;
+            }
+            if (j == 0)
+                return null;
+            batch = j;
+            return new Batch<>(this, a, 0, j);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return source.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            source.forEachRemaining(action);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Comparator<? super T> getComparator() {
+            return (Comparator<? super T>) source.getComparator();
+        }
+
+        /**
+         * A batch of elements split off an AdaptiveSpliterator, that times
+         * its traversal.  A traversal by tryAdvance is timed from the first
+         * call to the one that takes the last element, so that the time
+         * includes the work done by the caller between elements, and is
+         * recorded only if the batch is exhausted; a traversal cut short,
+         * as by a short-circuiting operation, ends the stream anyway.
+         */
+        static final class Batch<T> implements Spliterator<T> {
+            private final AdaptiveSpliterator<T> parent;
+            private final Object[] array;
+            private int index;        // current index, modified on advance/split
+            private final int fence;  // one past last index
+            private int timedFrom = -1; // index of first tryAdvance, if timed
+            private long start;       // System.nanoTime() at timedFrom
+
+            Batch(AdaptiveSpliterator<T> parent, Object[] array, int origin, int fence) {
+                this.parent = parent;
+                this.array = array;
+                this.index = origin;
+                this.fence = fence;
+            }
+
+            @Override
+            public Spliterator<T> trySplit() {
+                int lo = index, mid = (lo + fence) >>> 1;
+                if (lo >= mid)
+                    return null;
+                timedFrom = -1;       // the elements timed so far go to the prefix
+                return new Batch<>(parent, array, lo, index = mid);
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public void forEachRemaining(Consumer<? super T> action) {
+                Object[] a; int i, hi; // hoist accesses and checks from loop
+                if (action == null)
+                    throw new NullPointerException();
+                if ((a = array).length >= (hi = fence) &&
+                    (i = index) >= 0 && i < (index = hi)) {
+                    int lo; long t0;
+                    if ((lo = timedFrom) >= 0) { // continue a tryAdvance traversal
+                        t0 = start;
+                        timedFrom = -1;
+                    } else {
+                        lo = i;
+                        t0 = System.nanoTime();
+                    }
+                    do { action.accept((T)a[i]); } while (++i < hi);
+                    parent.record(hi - lo, System.nanoTime() - t0);
+                }
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (action == null)
+                    throw new NullPointerException();
+                if (index >= 0 && index < fence) {
+                    if (timedFrom < 0) {
+                        timedFrom = index;
+                        start = System.nanoTime();
+                    }
+                    @SuppressWarnings("unchecked") T e = (T) array[index++];
+                    action.accept(e);
+                    if (index == fence) {
+                        parent.record(fence - timedFrom, System.nanoTime() - start);
+                        timedFrom = -1;
+                    }
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public long estimateSize() { return (long)(fence - index); }
+
+            @Override
+            public int characteristics() {
+                return parent.characteristics() | Spliterator.SIZED | Spliterator.SUBSIZED;
+            }
+
+            @Override
+            public Comparator<? super T> getComparator() {
+                return parent.getComparator();
+            }
+        }
+    }
 }
@@ -0,0 +1,698 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded hash table supporting full concurrency of retrievals and
+ * high expected concurrency for updates, which evicts entries in
+ * least-recently-used order once its capacity is exceeded.  This class
+ * plays the role of a {@link java.util.LinkedHashMap} constructed with
+ * {@code accessOrder = true} and an overridden
+ * {@link java.util.LinkedHashMap#removeEldestEntry removeEldestEntry}
+ * method, without the external lock that such a map needs.
+ *
+ * <p>The mappings are held in a {@link ConcurrentHashMap}, so retrievals
+ * never block.  The access order is kept in a doubly-linked list guarded
+ * by a lock, but a retrieval does not acquire it: the accessed entry is
+ * recorded in a small per-thread-striped buffer, and buffered accesses are
+ * applied to the list in batches by whichever thread next acquires the
+ * lock without waiting.  Writes are likewise applied to the list from a
+ * queue.  Accesses may be dropped when the buffers are contended, so the
+ * order maintained is an approximation of true recency order which is
+ * very close to it in practice.
+ *
+ * <p>Each entry has a <em>weight</em>, determined when the entry is
+ * inserted or its value replaced by an optional <em>weigher</em>
+ * function, or 1 if no weigher is supplied.  The <em>capacity</em> bounds
+ * the sum of the weights of the entries (the <em>weighted size</em>).
+ * The weighted size may exceed the capacity briefly while writes are
+ * still buffered.  A capacity given as a number of entries is therefore
+ * simply a weighted capacity with unit weights.
+ *
+ * <p>An optional <em>eviction listener</em> is notified of each entry
+ * evicted because of the capacity bound or the
+ * {@link #removeEldestEntry removeEldestEntry} policy.  Notifications are
+ * delivered by the thread that performed the eviction after it has
+ * released the lock, and not for entries removed explicitly.
+ *
+ * <p>Like {@code ConcurrentHashMap}, this class does <em>not</em> allow
+ * {@code null} to be used as a key or value.  Iterators are weakly
+ * consistent and traverse the entries in no particular order.
+ *
+ * @since 1.8
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class ConcurrentLinkedHashMap<K,V> extends AbstractMap<K,V>
+    implements ConcurrentMap<K,V> {
+
+    /*
+     * Overview:
+     *
+     * Each mapping is a Node held in a ConcurrentHashMap.  A node's
+     * value and weight are updated under the node's monitor; its
+     * "alive" flag is cleared, also under the monitor, once the node has
+     * been unlinked from the table, so writers that find a dead node
+     * retry against the table.
+     *
+     * The access-order list, the weighted size and each node's
+     * policyWeight (the weight the policy has accounted for) are guarded
+     * by evictionLock.  Operations on the table are recorded as tasks in
+     * writeBuffer, and reads in readBuffer; both are drained under the
+     * lock, writes completely and reads lossily.  Tasks for the same
+     * node may be enqueued out of order by racing threads, so each task
+     * checks whether the node is still alive when it is applied: adds and
+     * updates of a dead node are ignored, and a removal subtracts
+     * whatever weight has been accounted for the node so far.
+     *
+     * A thread that fails to acquire the lock leaves the buffers to the
+     * thread holding it, which re-checks the write buffer after
+     * releasing the lock, so no write is left unapplied.
+     */
+
+    /** The maximum capacity. */
+    static final long MAXIMUM_CAPACITY = Long.MAX_VALUE - Integer.MAX_VALUE;
+
+    /** The table of mappings. */
+    final ConcurrentHashMap<K,Node<K,V>> data;
+
+    /** Guards the access-order list and weighted size. */
+    final ReentrantLock evictionLock = new ReentrantLock();
+
+    /** Sentinel of the circular access-order list; head.next is eldest. */
+    final Node<K,V> head = new Node<K,V>(null, null, 0);
+
+    /** Lossy buffer of recently read nodes. */
+    final StripedBuffer<Node<K,V>> readBuffer = new StripedBuffer<>();
+
+    /** Pending structural changes, applied in order under the lock. */
+    final ConcurrentLinkedQueue<Runnable> writeBuffer =
+        new ConcurrentLinkedQueue<>();
+
+    /** Evicted nodes awaiting listener notification. */
+    final ConcurrentLinkedQueue<Node<K,V>> pendingNotifications;
+
+    final ToIntBiFunction<? super K, ? super V> weigher;
+    final BiConsumer<? super K, ? super V> evictionListener;
+
+    /** Accessed under evictionLock; volatile for unlocked reads. */
+    volatile long capacity;
+    volatile long weightedSize;
+
+    /** Whether insertions were applied since the last evict; under lock. */
+    boolean added;
+
+    /** Reusable drain action for readBuffer, run under the lock. */
+    final Consumer<Node<K,V>> applyRead = this::onAccess;
+
+    static final class Node<K,V> {
+        final K key;
+        volatile V value;
+        volatile boolean alive = true;
+        int weight;                     // guarded by this node's monitor
+        int policyWeight;               // guarded by evictionLock
+        Node<K,V> prev, next;           // guarded by evictionLock
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            if (key == null) // sentinel
+                prev = next = this;
+        }
+
+        boolean isLinked() {
+            return next != null;
+        }
+    }
+
+    /**
+     * Creates a new map that holds up to the given number of entries.
+     *
+     * @param capacity the maximum number of entries
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ConcurrentLinkedHashMap(long capacity) {
+        this(capacity, null, null);
+    }
+
+    /**
+     * Creates a new map bounded by the given weighted capacity.
+     *
+     * @param capacity the maximum weighted size
+     * @param weigher the function computing the weight of an entry, or
+     *        {@code null} to give every entry a weight of 1; it must
+     *        return a non-negative value
+     * @param evictionListener notified of each evicted entry, or
+     *        {@code null}
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ConcurrentLinkedHashMap(long capacity,
+                                   ToIntBiFunction<? super K, ? super V> weigher,
+                                   BiConsumer<? super K, ? super V> evictionListener) {
+        if (capacity < 0)
+            throw new IllegalArgumentException();
+        this.capacity = Math.min(capacity, MAXIMUM_CAPACITY);
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.pendingNotifications = (evictionListener == null) ? null :
+            new ConcurrentLinkedQueue<Node<K,V>>();
+        this.data = new ConcurrentHashMap<K,Node<K,V>>(
+            (int) Math.min(capacity, 1 << 16));
+    }
+
+    /* ---------------- Policy -------------- */
+
+    /**
+     * Returns the maximum weighted size of this map.
+     *
+     * @return the capacity
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum weighted size of this map, evicting entries
+     * immediately if the current weighted size exceeds it.
+     *
+     * @param capacity the new capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public void setCapacity(long capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException();
+        evictionLock.lock();
+        try {
+            this.capacity = Math.min(capacity, MAXIMUM_CAPACITY);
+            drainBuffers();
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListener();
+    }
+
+    /**
+     * Returns the sum of the weights of the entries, as accounted for by
+     * the eviction policy.  Pending buffered writes are not reflected.
+     *
+     * @return the weighted size
+     */
+    public long weightedSize() {
+        return Math.max(0L, weightedSize);
+    }
+
+    /**
+     * Returns {@code true} if this map should remove its eldest entry.
+     * This method is invoked under the map's policy lock after each
+     * batch of buffered insertions is applied and after any entries
+     * exceeding the capacity have been evicted, with the least recently
+     * used remaining entry; it is invoked again for the next eldest as
+     * long as it returns {@code true}.  Removed entries are passed to the
+     * eviction listener.
+     *
+     * <p>The default implementation returns {@code false}, so that only
+     * the capacity bound applies.  Implementations should be brief and
+     * must not modify this map.
+     *
+     * @param eldest the least recently used entry
+     * @return {@code true} if the eldest entry should be removed
+     */
+    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+        return false;
+    }
+
+    final int weigh(K key, V value) {
+        int w = (weigher == null) ? 1 : weigher.applyAsInt(key, value);
+        if (w < 0)
+            throw new IllegalArgumentException("negative weight");
+        return w;
+    }
+
+    /** Records a read of the node, draining if the read buffer is full. */
+    final void afterRead(Node<K,V> node) {
+        if (readBuffer.offer(node))
+            tryToDrainBuffers();
+    }
+
+    /** Records a write task and applies pending work if possible. */
+    final void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        tryToDrainBuffers();
+    }
+
+    final void tryToDrainBuffers() {
+        do {
+            if (!evictionLock.tryLock())
+                return;
+            try {
+                drainBuffers();
+                evict();
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyListener();
+        } while (!writeBuffer.isEmpty());
+    }
+
+    /** Applies buffered reads and writes; requires evictionLock. */
+    final void drainBuffers() {
+        readBuffer.drainTo(applyRead);
+        for (Runnable task; (task = writeBuffer.poll()) != null; )
+            task.run();
+    }
+
+    /**
+     * Evicts eldest entries while over capacity, then, if insertions were
+     * applied since the last call, while removeEldestEntry asks for it;
+     * requires evictionLock.
+     */
+    final void evict() {
+        for (Node<K,V> e; weightedSize > capacity && (e = head.next) != head; )
+            evictNode(e);
+        if (added) {
+            added = false;
+            for (Node<K,V> e; (e = head.next) != head && e.alive &&
+                     removeEldestEntry(new SimpleImmutableEntry<K,V>(e.key, e.value)); )
+                evictNode(e);
+        }
+    }
+
+    final void evictNode(Node<K,V> node) {
+        unlink(node);
+        weightedSize -= node.policyWeight;
+        node.policyWeight = 0;
+        if (data.remove(node.key, node)) {
+            synchronized (node) {
+                node.alive = false;
+            }
+            if (pendingNotifications != null)
+                pendingNotifications.add(node);
+        }
+    }
+
+    final void notifyListener() {
+        ConcurrentLinkedQueue<Node<K,V>> q;
+        if ((q = pendingNotifications) != null) {
+            for (Node<K,V> node; (node = q.poll()) != null; )
+                evictionListener.accept(node.key, node.value);
+        }
+    }
+
+    /* Access-order list operations, all requiring evictionLock */
+
+    final void onAccess(Node<K,V> node) {
+        if (node.alive && node.isLinked())
+            moveToTail(node);
+    }
+
+    final void linkLast(Node<K,V> node) {
+        Node<K,V> last = head.prev;
+        node.prev = last;
+        node.next = head;
+        last.next = node;
+        head.prev = node;
+    }
+
+    final void unlink(Node<K,V> node) {
+        if (node.isLinked()) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+        }
+    }
+
+    final void moveToTail(Node<K,V> node) {
+        if (head.prev != node) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    final class AddTask implements Runnable {
+        final Node<K,V> node;
+        final int weight;
+        AddTask(Node<K,V> node, int weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+        public void run() {
+            if (node.alive) {
+                added = true;
+                weightedSize += weight;
+                node.policyWeight += weight;
+                if (!node.isLinked())
+                    linkLast(node);
+            }
+        }
+    }
+
+    final class UpdateTask implements Runnable {
+        final Node<K,V> node;
+        final int weightDifference;
+        UpdateTask(Node<K,V> node, int weightDifference) {
+            this.node = node;
+            this.weightDifference = weightDifference;
+        }
+        public void run() {
+            if (node.alive) {
+                weightedSize += weightDifference;
+                node.policyWeight += weightDifference;
+                if (node.isLinked())
+                    moveToTail(node);
+            }
+        }
+    }
+
+    final class RemoveTask implements Runnable {
+        final Node<K,V> node;
+        RemoveTask(Node<K,V> node) {
+            this.node = node;
+        }
+        public void run() {
+            unlink(node);
+            weightedSize -= node.policyWeight;
+            node.policyWeight = 0;
+        }
+    }
+
+    /* ---------------- Map operations -------------- */
+
+    public int size() {
+        return data.size();
+    }
+
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    public boolean containsValue(Object value) {
+        Objects.requireNonNull(value);
+        for (Node<K,V> node : data.values()) {
+            if (node.alive && value.equals(node.value))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key, and
+     * records the access for the eviction policy.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public V get(Object key) {
+        Node<K,V> node = data.get(key);
+        if (node == null)
+            return null;
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key, without
+     * recording the access.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value, or {@code null}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V getQuietly(Object key) {
+        Node<K,V> node = data.get(key);
+        return (node == null) ? null : node.value;
+    }
+
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    final V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        int weight = weigh(key, value);
+        Node<K,V> node = new Node<K,V>(key, value, weight);
+        for (;;) {
+            Node<K,V> prior = data.putIfAbsent(key, node);
+            if (prior == null) {
+                afterWrite(new AddTask(node, weight));
+                return null;
+            }
+            V oldValue;
+            int oldWeight;
+            synchronized (prior) {
+                if (!prior.alive)
+                    continue;
+                oldValue = prior.value;
+                oldWeight = prior.weight;
+                if (!onlyIfAbsent) {
+                    prior.value = value;
+                    prior.weight = weight;
+                }
+            }
+            if (onlyIfAbsent)
+                afterRead(prior);
+            else
+                afterWrite(new UpdateTask(prior, weight - oldWeight));
+            return oldValue;
+        }
+    }
+
+    public V remove(Object key) {
+        Node<K,V> node = data.remove(key);
+        if (node == null)
+            return null;
+        V oldValue;
+        synchronized (node) {
+            node.alive = false;
+            oldValue = node.value;
+        }
+        afterWrite(new RemoveTask(node));
+        return oldValue;
+    }
+
+    public boolean remove(Object key, Object value) {
+        Node<K,V> node = data.get(key);
+        if (node == null || value == null)
+            return false;
+        synchronized (node) {
+            if (!node.alive || !value.equals(node.value) ||
+                !data.remove(key, node))
+                return false;
+            node.alive = false;
+        }
+        afterWrite(new RemoveTask(node));
+        return true;
+    }
+
+    public V replace(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        int weight = weigh(key, value);
+        Node<K,V> node = data.get(key);
+        if (node == null)
+            return null;
+        V oldValue;
+        int oldWeight;
+        synchronized (node) {
+            if (!node.alive)
+                return null;
+            oldValue = node.value;
+            oldWeight = node.weight;
+            node.value = value;
+            node.weight = weight;
+        }
+        afterWrite(new UpdateTask(node, weight - oldWeight));
+        return oldValue;
+    }
+
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null || oldValue == null || newValue == null)
+            throw new NullPointerException();
+        int weight = weigh(key, newValue);
+        Node<K,V> node = data.get(key);
+        if (node == null)
+            return false;
+        int oldWeight;
+        synchronized (node) {
+            if (!node.alive || !oldValue.equals(node.value))
+                return false;
+            oldWeight = node.weight;
+            node.value = newValue;
+            node.weight = weight;
+        }
+        afterWrite(new UpdateTask(node, weight - oldWeight));
+        return true;
+    }
+
+    /**
+     * Removes all of the mappings from this map.  Eviction listeners are
+     * not notified.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (Node<K,V> node : data.values()) {
+                if (data.remove(node.key, node)) {
+                    synchronized (node) {
+                        node.alive = false;
+                    }
+                    writeBuffer.add(new RemoveTask(node));
+                }
+            }
+            drainBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /* ---------------- Views -------------- */
+
+    transient Set<Map.Entry<K,V>> entrySet;
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The view's iterators are weakly consistent, do not record accesses,
+     * and support removal.  The entries' {@code setValue} writes through
+     * to the map.
+     *
+     * @return the set view
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        Set<Map.Entry<K,V>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+        public int size() {
+            return ConcurrentLinkedHashMap.this.size();
+        }
+        public void clear() {
+            ConcurrentLinkedHashMap.this.clear();
+        }
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return new EntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object k, v;
+            Node<K,V> node;
+            return (k = e.getKey()) != null && (v = e.getValue()) != null &&
+                (node = data.get(k)) != null && v.equals(node.value);
+        }
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object k, v;
+            return (k = e.getKey()) != null && (v = e.getValue()) != null &&
+                ConcurrentLinkedHashMap.this.remove(k, v);
+        }
+    }
+
+    final class EntryIterator implements Iterator<Map.Entry<K,V>> {
+        final Iterator<Node<K,V>> it = data.values().iterator();
+        Node<K,V> current;
+
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        public Map.Entry<K,V> next() {
+            Node<K,V> node = current = it.next();
+            return new WriteThroughEntry(node.key, node.value);
+        }
+
+        public void remove() {
+            if (current == null)
+                throw new IllegalStateException();
+            ConcurrentLinkedHashMap.this.remove(current.key);
+            current = null;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    final class WriteThroughEntry extends SimpleEntry<K,V> {
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+        public V setValue(V value) {
+            if (value == null)
+                throw new NullPointerException();
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the keys of this map, ordered from least to
+     * most recently used, containing at most {@code limit} keys.  This
+     * operation acquires the policy lock and takes time proportional to
+     * the size of the result.
+     *
+     * @param limit the maximum number of keys to return
+     * @return the keys in access order
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public Set<K> ascendingKeySetWithLimit(int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException();
+        java.util.LinkedHashSet<K> keys = new java.util.LinkedHashSet<K>();
+        evictionLock.lock();
+        try {
+            drainBuffers();
+            for (Node<K,V> e = head.next; e != head && keys.size() < limit;
+                 e = e.next)
+                keys.add(e.key);
+        } finally {
+            evictionLock.unlock();
+        }
+        return java.util.Collections.unmodifiableSet(keys);
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * An unbounded {@linkplain BlockingQueue blocking queue} that uses the
+ * same ordering rules as class {@link PriorityBlockingQueue}, but whose
+ * insertion and removal operations are lock-free.  Elements are held
+ * in a {@link ConcurrentSkipListMap}, so that concurrent producers
+ * insert at independent positions of the skip list and consumers
+ * remove the head with a single successful compare-and-set, rather
+ * than all of them serializing on the lock guarding a binary heap.
+ * This class does not permit {@code null} elements.  A priority queue
+ * relying on {@linkplain Comparable natural ordering} also does not
+ * permit insertion of non-comparable objects (doing so results in
+ * {@code ClassCastException}).
+ *
+ * <p>Unlike {@code PriorityBlockingQueue}, elements of equal priority
+ * are removed in first-in-first-out order, and the iterator traverses
+ * the elements in priority order.  Iterators and spliterators are
+ * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+ *
+ * <p>Beware that, unlike in most collections, the {@code size} method
+ * is <em>NOT</em> a constant-time operation. Because of the
+ * asynchronous nature of these queues, determining the current number
+ * of elements requires a traversal of the elements, and so may report
+ * inaccurate results if this collection is modified during traversal.
+ * Bulk operations such as {@code addAll} and {@code drainTo} are not
+ * guaranteed to be performed atomically.
+ *
+ * <p>Blocking is confined to consumers that find the queue empty: they
+ * wait on a lock that producers acquire only when some consumer is
+ * known to be waiting.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/../technotes/guides/collections/index.html">
+ * Java Collections Framework</a>.
+ *
+ * @see PriorityBlockingQueue
+ * @see ConcurrentSkipListMap
+ * @since 1.8
+ * @param <E> the type of elements held in this collection
+ */
+public class ConcurrentSkipListPriorityQueue<E> extends AbstractQueue<E>
+    implements BlockingQueue<E>, java.io.Serializable {
+    private static final long serialVersionUID = -3529175458227103162L;
+
+    /*
+     * Each element is wrapped in an Item carrying a sequence number
+     * drawn from a shared counter, and the items are the keys of a
+     * ConcurrentSkipListMap ordered by element and then by sequence
+     * number.  Keys are therefore unique even for equal elements, so
+     * duplicates are retained, and equal elements leave in arrival
+     * order.  offer is map.put and poll is map.pollFirstEntry, both of
+     * which are lock-free in the map; the counter is a single atomic
+     * add per insertion.
+     *
+     * Blocking takes use a classic lock and condition.  A taker that
+     * finds the queue empty acquires the lock, increments the
+     * volatile waiting count, and rechecks before awaiting.  A producer
+     * reads the waiting count after inserting, and signals under the
+     * lock only if it is nonzero.  Because the increment precedes the
+     * recheck and the insertion precedes the read, either the taker
+     * sees the element or the producer sees the taker, so no wakeup is
+     * lost, while producers never touch the lock when consumers keep
+     * up.
+     */
+
+    /**
+     * The backing map, from wrapped elements to Boolean.TRUE.
+     */
+    private transient ConcurrentSkipListMap<Item<E>,Boolean> map;
+
+    /**
+     * The comparator, or null if priority queue uses elements'
+     * natural ordering.
+     */
+    private transient Comparator<? super E> comparator;
+
+    /**
+     * Source of sequence numbers breaking ties between equal elements.
+     */
+    private transient AtomicLong sequence;
+
+    /**
+     * Lock held by takers while waiting, and by producers signalling them.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Condition for blocking when empty.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Number of takers waiting on notEmpty; written only under lock.
+     */
+    private transient volatile int waiting;
+
+    /**
+     * A serialization-only copy of the elements, as in
+     * PriorityBlockingQueue.
+     */
+    private PriorityQueue<E> q;
+
+    /**
+     * Key of the backing map: an element and its insertion sequence.
+     */
+    static final class Item<E> {
+        final E element;
+        final long seq;
+        Item(E element, long seq) {
+            this.element = element;
+            this.seq = seq;
+        }
+    }
+
+    /**
+     * Orders items by element, then by sequence number.
+     */
+    static final class ItemComparator<E> implements Comparator<Item<E>> {
+        final Comparator<? super E> cmp;
+        ItemComparator(Comparator<? super E> cmp) {
+            this.cmp = cmp;
+        }
+        @SuppressWarnings("unchecked")
+        public int compare(Item<E> x, Item<E> y) {
+            int c = (cmp == null) ?
+                ((Comparable<? super E>) x.element).compareTo(y.element) :
+                cmp.compare(x.element, y.element);
+            return (c != 0) ? c : Long.compare(x.seq, y.seq);
+        }
+    }
+
+    /**
+     * Creates a {@code ConcurrentSkipListPriorityQueue} that orders its
+     * elements according to their {@linkplain Comparable natural
+     * ordering}.
+     */
+    public ConcurrentSkipListPriorityQueue() {
+        this((Comparator<? super E>) null);
+    }
+
+    /**
+     * Creates a {@code ConcurrentSkipListPriorityQueue} that orders its
+     * elements according to the specified comparator.
+     *
+     * @param comparator the comparator that will be used to order this
+     *        priority queue.  If {@code null}, the {@linkplain Comparable
+     *        natural ordering} of the elements will be used.
+     */
+    public ConcurrentSkipListPriorityQueue(Comparator<? super E> comparator) {
+        initialize(comparator);
+    }
+
+    /**
+     * Creates a {@code ConcurrentSkipListPriorityQueue} containing the
+     * elements in the specified collection, ordered according to their
+     * {@linkplain Comparable natural ordering}.
+     *
+     * @param c the collection whose elements are to be placed
+     *        into this priority queue
+     * @throws ClassCastException if elements of the specified collection
+     *         cannot be compared to one another according to the priority
+     *         queue's ordering
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements are null
+     */
+    public ConcurrentSkipListPriorityQueue(Collection<? extends E> c) {
+        this((Comparator<? super E>) null);
+        addAll(c);
+    }
+
+    private void initialize(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.map = new ConcurrentSkipListMap<Item<E>,Boolean>
+            (new ItemComparator<E>(comparator));
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Wakes up a waiting taker, if any.
+     */
+    private void signalNotEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link java.util.Queue#offer})
+     * @throws ClassCastException if the specified element cannot be compared
+     *         with elements currently in the priority queue according to the
+     *         priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        if (comparator == null && !(e instanceof Comparable))
+            throw new ClassCastException(e.getClass().getName());
+        map.put(new Item<E>(e, sequence.getAndIncrement()), Boolean.TRUE);
+        if (waiting > 0)
+            signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link java.util.Collection#add})
+     * @throws ClassCastException if the specified element cannot be compared
+     *         with elements currently in the priority queue according to the
+     *         priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(E e) {
+        return offer(e);
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     * As the queue is unbounded, this method will never block.
+     *
+     * @param e the element to add
+     * @throws ClassCastException if the specified element cannot be compared
+     *         with elements currently in the priority queue according to the
+     *         priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public void put(E e) {
+        offer(e); // never need to block
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     * As the queue is unbounded, this method will never block or
+     * return {@code false}.
+     *
+     * @param e the element to add
+     * @param timeout This parameter is ignored as the method never blocks
+     * @param unit This parameter is ignored as the method never blocks
+     * @return {@code true} (as specified by
+     *  {@link BlockingQueue#offer(Object,long,TimeUnit) BlockingQueue.offer})
+     * @throws ClassCastException if the specified element cannot be compared
+     *         with elements currently in the priority queue according to the
+     *         priority queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit) {
+        return offer(e); // never need to block
+    }
+
+    public E poll() {
+        Map.Entry<Item<E>,Boolean> first = map.pollFirstEntry();
+        return (first == null) ? null : first.getKey().element;
+    }
+
+    public E take() throws InterruptedException {
+        E result = poll();
+        if (result != null)
+            return result;
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            waiting++;
+            try {
+                while ( (result = poll()) == null)
+                    notEmpty.await();
+            } finally {
+                waiting--;
+            }
+            if (waiting > 0 && !map.isEmpty())
+                notEmpty.signal(); // propagate to another taker
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E result = poll();
+        if (result != null)
+            return result;
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            waiting++;
+            try {
+                while ( (result = poll()) == null && nanos > 0)
+                    nanos = notEmpty.awaitNanos(nanos);
+            } finally {
+                waiting--;
+            }
+            if (result != null && waiting > 0 && !map.isEmpty())
+                notEmpty.signal(); // propagate to another taker
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    public E peek() {
+        Map.Entry<Item<E>,Boolean> first = map.firstEntry();
+        return (first == null) ? null : first.getKey().element;
+    }
+
+    /**
+     * Returns the comparator used to order the elements in this queue,
+     * or {@code null} if this queue uses the {@linkplain Comparable
+     * natural ordering} of its elements.
+     *
+     * @return the comparator used to order the elements in this queue,
+     *         or {@code null} if this queue uses the natural
+     *         ordering of its elements
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  If this queue
+     * contains more than {@code Integer.MAX_VALUE} elements, returns
+     * {@code Integer.MAX_VALUE}.
+     *
+     * <p>Beware that, unlike in most collections, this method is
+     * <em>NOT</em> a constant-time operation.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Always returns {@code Integer.MAX_VALUE} because
+     * a {@code ConcurrentSkipListPriorityQueue} is not capacity constrained.
+     * @return {@code Integer.MAX_VALUE} always
+     */
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue,
+     * if it is present.  More formally, removes an element {@code e} such
+     * that {@code o.equals(e)}, if this queue contains one or more such
+     * elements.  Returns {@code true} if and only if this queue contained
+     * the specified element (or equivalently, if this queue changed as a
+     * result of the call).
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        if (o != null) {
+            for (Item<E> k : map.keySet()) {
+                if (o.equals(k.element) && map.remove(k) != null)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains the specified element.
+     * More formally, returns {@code true} if and only if this queue contains
+     * at least one element {@code e} such that {@code o.equals(e)}.
+     *
+     * @param o object to be checked for containment in this queue
+     * @return {@code true} if this queue contains the specified element
+     */
+    public boolean contains(Object o) {
+        if (o != null) {
+            for (Item<E> k : map.keySet()) {
+                if (o.equals(k.element))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        int n = 0;
+        for (E e; n < maxElements && (e = poll()) != null; ++n)
+            c.add(e);
+        return n;
+    }
+
+    /**
+     * Removes all of the elements from this queue.
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, in priority
+     * order.  The returned iterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr<E>(map.keySet().iterator());
+    }
+
+    static final class Itr<E> implements Iterator<E> {
+        final Iterator<Item<E>> it;
+        Itr(Iterator<Item<E>> it) {
+            this.it = it;
+        }
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+        public E next() {
+            return it.next().element;
+        }
+        public void remove() {
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the elements in this queue, in
+     * priority order.
+     *
+     * <p>The returned spliterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#CONCURRENT},
+     * {@link Spliterator#NONNULL} and {@link Spliterator#ORDERED}.
+     *
+     * @return a {@code Spliterator} over the elements in this queue
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize
+            (iterator(), Spliterator.CONCURRENT | Spliterator.NONNULL |
+             Spliterator.ORDERED);
+    }
+
+    /**
+     * Saves this queue to a stream (that is, serializes it).
+     *
+     * The elements are first copied to a java.util.PriorityQueue,
+     * which is then serialized, as for PriorityBlockingQueue.
+     *
+     * @param s the stream
+     * @throws java.io.IOException if an I/O error occurs
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+        try {
+            q = new PriorityQueue<E>(11, comparator);
+            q.addAll(this);
+            s.defaultWriteObject();
+        } finally {
+            q = null;
+        }
+    }
+
+    /**
+     * Reconstitutes this queue from a stream (that is, deserializes it).
+     * @param s the stream
+     * @throws ClassNotFoundException if the class of a serialized object
+     *         could not be found
+     * @throws java.io.IOException if an I/O error occurs
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        try {
+            s.defaultReadObject();
+            initialize(q.comparator());
+            while (!q.isEmpty())
+                offer(q.poll());
+        } finally {
+            q = null;
+        }
+    }
+}
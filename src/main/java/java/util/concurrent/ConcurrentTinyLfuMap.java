@@ -0,0 +1,1121 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded, optionally expiring hash table supporting full concurrency
+ * of retrievals and high expected concurrency for updates, which decides
+ * what to evict by the <em>W-TinyLFU</em> policy.  Where
+ * {@link ConcurrentLinkedHashMap} always evicts the least recently used
+ * entry, so that a single scan over many keys flushes the whole map,
+ * this class only lets a new entry displace an existing one if the new
+ * key has been used more often recently, as estimated by a compact
+ * frequency sketch.
+ *
+ * <p>New entries are first placed in a small <em>admission window</em>
+ * holding one percent of the capacity, which gives recently created
+ * entries a chance to build up frequency.  Entries leaving the window
+ * become candidates for the <em>main</em> space, which is divided into a
+ * <em>probation</em> segment and a <em>protected</em> segment holding
+ * eighty percent of it; an entry accessed while on probation is promoted
+ * to the protected segment.  When the map is over capacity, the most
+ * recent candidate is compared with the least recently used entry on
+ * probation and the one with the lower estimated frequency is evicted.
+ *
+ * <p>Entries may also be given a lifetime.  With an
+ * <em>expire-after-write</em> duration an entry expires that long after
+ * it was created or its value last replaced; with an
+ * <em>expire-after-access</em> duration, that long after it was last
+ * read or written.  An expired entry is never returned by retrievals
+ * and is removed, and reported as evicted, during routine maintenance.
+ * Expiration times are tracked by a hierarchical timing wheel, so the
+ * cost of expiring entries does not grow with their number.
+ *
+ * <p>Entries have weights, and the map may be bounded by total weight,
+ * as described for {@code ConcurrentLinkedHashMap}.  Reads and writes
+ * are recorded in buffers and applied to the policy in batches, so
+ * neither the eviction order nor the weighted size is exact at every
+ * instant.  Hit, miss and eviction counts are kept in
+ * {@link LongAdder}s and may be read at any time.
+ *
+ * <p>Like {@code ConcurrentHashMap}, this class does <em>not</em> allow
+ * {@code null} to be used as a key or value.  Iterators are weakly
+ * consistent, traverse the entries in no particular order, and do not
+ * return expired entries.  {@link #size} may include expired entries
+ * that have not yet been removed.
+ *
+ * @since 1.8
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class ConcurrentTinyLfuMap<K,V> extends AbstractMap<K,V>
+    implements ConcurrentMap<K,V> {
+
+    /*
+     * Overview:
+     *
+     * The concurrency scheme is that of ConcurrentLinkedHashMap: nodes
+     * in a ConcurrentHashMap, value updates under the node monitor, and
+     * policy state under evictionLock, fed by a lossy read buffer and a
+     * complete write buffer that are drained by whichever thread
+     * acquires the lock without waiting.
+     *
+     * The policy keeps three LRU lists (window, probation, protected),
+     * identified by each node's queue field, and a FrequencySketch that
+     * is incremented for every applied read and write.  After buffers
+     * are drained, expired entries are removed by advancing the timer
+     * wheel, then entries overflowing the window move to the tail of
+     * probation, counting as candidates, and finally, while the map is
+     * over capacity, the newest candidate duels the eldest probation
+     * entry (the victim).  A candidate whose frequency does not exceed
+     * the victim's is evicted; a small random fraction of warm
+     * candidates is admitted regardless, so that an attacker cannot pin
+     * a victim in place by forcing hash collisions.
+     *
+     * Expiration is checked without the lock by comparing the node's
+     * volatile write and access times with the current time, so
+     * retrievals are exact even when the timer wheel has not yet
+     * caught up.  The wheel itself only holds a node's last scheduled
+     * time, and a node whose time was extended by an access that has not
+     * yet been applied is rescheduled rather than evicted.
+     */
+
+    /** The maximum capacity. */
+    static final long MAXIMUM_CAPACITY = Long.MAX_VALUE - Integer.MAX_VALUE;
+
+    /** The fraction of capacity given to the main space. */
+    static final double PERCENT_MAIN = 0.99d;
+
+    /** The fraction of the main space given to the protected segment. */
+    static final double PERCENT_MAIN_PROTECTED = 0.80d;
+
+    /**
+     * The longest expiry duration, about 146 years, so that differences
+     * between expiration times cannot overflow.
+     */
+    static final long MAXIMUM_EXPIRY_NANOS = Long.MAX_VALUE >>> 1;
+
+    /** Candidates less frequent than this are never admitted at random. */
+    static final int WARM_FREQUENCY = 5;
+
+    /** The odds against admitting a warm candidate at random. */
+    static final int RANDOM_ADMISSION_ODDS = 100;
+
+    /* Queue types */
+    static final byte WINDOW = 0;
+    static final byte PROBATION = 1;
+    static final byte PROTECTED = 2;
+
+    /** The table of mappings. */
+    final ConcurrentHashMap<K,Node<K,V>> data;
+
+    /** Guards all policy state below. */
+    final ReentrantLock evictionLock = new ReentrantLock();
+
+    final Node<K,V> window = new Node<K,V>();
+    final Node<K,V> probation = new Node<K,V>();
+    final Node<K,V> protectedQueue = new Node<K,V>();
+    final FrequencySketch<K> sketch;
+    final TimerWheel timerWheel;
+
+    final StripedBuffer<Node<K,V>> readBuffer = new StripedBuffer<>();
+    final ConcurrentLinkedQueue<Runnable> writeBuffer =
+        new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<Node<K,V>> pendingNotifications;
+
+    final ToIntBiFunction<? super K, ? super V> weigher;
+    final BiConsumer<? super K, ? super V> evictionListener;
+
+    /** Expiry durations in nanoseconds, or Long.MAX_VALUE if none. */
+    final long expireAfterWriteNanos;
+    final long expireAfterAccessNanos;
+
+    /** Accessed under evictionLock; volatile for unlocked reads. */
+    volatile long maximum;
+    volatile long weightedSize;
+    long windowMaximum;
+    long windowWeightedSize;
+    long protectedMaximum;
+    long protectedWeightedSize;
+
+    final LongAdder hitCount = new LongAdder();
+    final LongAdder missCount = new LongAdder();
+    final LongAdder evictionCount = new LongAdder();
+
+    /** Reusable drain action for readBuffer, run under the lock. */
+    final Consumer<Node<K,V>> applyRead = this::onAccess;
+
+    static final class Node<K,V> {
+        final K key;
+        volatile V value;
+        volatile boolean alive = true;
+        volatile long writeTime;        // if expiring
+        volatile long accessTime;       // if expiring after access
+        int weight;                     // guarded by this node's monitor
+        // remaining fields guarded by evictionLock
+        int policyWeight;
+        byte queue;
+        Node<K,V> prev, next;           // access-order list
+        Node<K,V> prevInTimer, nextInTimer;
+
+        Node(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = this.accessTime = now;
+        }
+
+        Node() { // sentinel, for both lists and timer buckets
+            this.key = null;
+            prev = next = prevInTimer = nextInTimer = this;
+        }
+
+        boolean isLinked() {
+            return next != null;
+        }
+    }
+
+    /**
+     * Creates a new map that holds up to the given number of entries,
+     * without expiration.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public ConcurrentTinyLfuMap(long maximumSize) {
+        this(maximumSize, null, 0L, 0L, TimeUnit.NANOSECONDS, null);
+    }
+
+    /**
+     * Creates a new map that holds up to the given number of entries
+     * which expire after the given durations.  A duration of zero or
+     * less disables that kind of expiration.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param expireAfterWrite lifetime of an entry after it is written
+     * @param expireAfterAccess lifetime of an entry after it is accessed
+     * @param unit the unit of the durations
+     * @throws IllegalArgumentException if the maximum size is negative
+     * @throws NullPointerException if unit is null
+     */
+    public ConcurrentTinyLfuMap(long maximumSize, long expireAfterWrite,
+                                long expireAfterAccess, TimeUnit unit) {
+        this(maximumSize, null, expireAfterWrite, expireAfterAccess, unit,
+             null);
+    }
+
+    /**
+     * Creates a new map bounded by the given total weight, whose entries
+     * expire after the given durations.  A duration of zero or less
+     * disables that kind of expiration.
+     *
+     * @param maximumWeight the maximum weighted size
+     * @param weigher the function computing the weight of an entry, or
+     *        {@code null} to give every entry a weight of 1; it must
+     *        return a non-negative value
+     * @param expireAfterWrite lifetime of an entry after it is written
+     * @param expireAfterAccess lifetime of an entry after it is accessed
+     * @param unit the unit of the durations
+     * @param evictionListener notified of each entry evicted by the
+     *        capacity bound or by expiration, or {@code null}
+     * @throws IllegalArgumentException if the maximum weight is negative
+     * @throws NullPointerException if unit is null
+     */
+    public ConcurrentTinyLfuMap(long maximumWeight,
+                                ToIntBiFunction<? super K, ? super V> weigher,
+                                long expireAfterWrite, long expireAfterAccess,
+                                TimeUnit unit,
+                                BiConsumer<? super K, ? super V> evictionListener) {
+        if (maximumWeight < 0)
+            throw new IllegalArgumentException();
+        Objects.requireNonNull(unit);
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.pendingNotifications = (evictionListener == null) ? null :
+            new ConcurrentLinkedQueue<Node<K,V>>();
+        this.expireAfterWriteNanos = expiryNanos(expireAfterWrite, unit);
+        this.expireAfterAccessNanos = expiryNanos(expireAfterAccess, unit);
+        this.timerWheel = expires() ? new TimerWheel(System.nanoTime()) : null;
+        this.sketch = new FrequencySketch<K>(
+            (weigher == null) ? maximumWeight : 0L);
+        this.data = new ConcurrentHashMap<K,Node<K,V>>(
+            (int) Math.min(maximumWeight, 1 << 16));
+        setMaximumLocked(maximumWeight);
+    }
+
+    /* ---------------- Policy -------------- */
+
+    /**
+     * Returns the given duration in nanoseconds, or Long.MAX_VALUE if it
+     * disables expiration or is too long to represent.
+     */
+    static long expiryNanos(long duration, TimeUnit unit) {
+        long nanos;
+        if (duration <= 0L ||
+            (nanos = unit.toNanos(duration)) == Long.MAX_VALUE)
+            return Long.MAX_VALUE;
+        return Math.min(nanos, MAXIMUM_EXPIRY_NANOS);
+    }
+
+    final boolean expires() {
+        return expireAfterWriteNanos != Long.MAX_VALUE ||
+            expireAfterAccessNanos != Long.MAX_VALUE;
+    }
+
+    final boolean expiresAfterAccess() {
+        return expireAfterAccessNanos != Long.MAX_VALUE;
+    }
+
+    /** Returns the current time if expiring, else zero. */
+    final long now() {
+        return (timerWheel == null) ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Returns the time at which the node expires.  Like the System.nanoTime
+     * values it is derived from, the time may wrap around, and is only
+     * meaningful relative to another such time; the earlier of the two
+     * expiration times is chosen by comparing their difference, which
+     * cannot overflow as durations are at most MAXIMUM_EXPIRY_NANOS.
+     * Requires that expires() is true.
+     */
+    final long expirationTime(Node<K,V> node) {
+        long w = expireAfterWriteNanos, a = expireAfterAccessNanos;
+        long byWrite = node.writeTime + w, byAccess = node.accessTime + a;
+        if (w == Long.MAX_VALUE)
+            return byAccess;
+        if (a == Long.MAX_VALUE || byWrite - byAccess < 0L)
+            return byWrite;
+        return byAccess;
+    }
+
+    final boolean hasExpired(Node<K,V> node, long now) {
+        return timerWheel != null &&
+            (now - node.writeTime >= expireAfterWriteNanos ||
+             now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    /**
+     * Returns the maximum weighted size of this map.
+     *
+     * @return the maximum
+     */
+    public long maximum() {
+        return maximum;
+    }
+
+    /**
+     * Sets the maximum weighted size of this map, evicting entries
+     * immediately if the current weighted size exceeds it.
+     *
+     * @param maximum the new maximum
+     * @throws IllegalArgumentException if the maximum is negative
+     */
+    public void setMaximum(long maximum) {
+        if (maximum < 0)
+            throw new IllegalArgumentException();
+        evictionLock.lock();
+        try {
+            setMaximumLocked(maximum);
+            if (weigher == null)
+                sketch.ensureCapacity(maximum);
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListener();
+    }
+
+    final void setMaximumLocked(long maximum) {
+        long max = Math.min(maximum, MAXIMUM_CAPACITY);
+        long windowMax = max - (long) (PERCENT_MAIN * max);
+        this.maximum = max;
+        this.windowMaximum = windowMax;
+        this.protectedMaximum =
+            (long) (PERCENT_MAIN_PROTECTED * (max - windowMax));
+    }
+
+    /**
+     * Returns the sum of the weights of the entries, as accounted for by
+     * the eviction policy.  Pending buffered writes are not reflected.
+     *
+     * @return the weighted size
+     */
+    public long weightedSize() {
+        return Math.max(0L, weightedSize);
+    }
+
+    /**
+     * Returns the number of times a retrieval by {@link #get get} found
+     * a live entry.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of times a retrieval by {@link #get get} found
+     * no entry or an expired entry.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted by the capacity bound or by
+     * expiration.  Explicit removals are not counted.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to retrievals, or 1.0 if there have been
+     * no retrievals.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        long hits = hitCount.sum(), requests = hits + missCount.sum();
+        return (requests == 0L) ? 1.0d : (double) hits / requests;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts to zero.
+     */
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    /**
+     * Removes expired entries and applies pending reads and writes
+     * immediately, instead of at the next opportunity.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListener();
+    }
+
+    final int weigh(K key, V value) {
+        int w = (weigher == null) ? 1 : weigher.applyAsInt(key, value);
+        if (w < 0)
+            throw new IllegalArgumentException("negative weight");
+        return w;
+    }
+
+    final void afterRead(Node<K,V> node) {
+        if (readBuffer.offer(node))
+            tryToDrainBuffers();
+    }
+
+    final void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        tryToDrainBuffers();
+    }
+
+    final void tryToDrainBuffers() {
+        do {
+            if (!evictionLock.tryLock())
+                return;
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyListener();
+        } while (!writeBuffer.isEmpty());
+    }
+
+    /** Performs all pending policy work; requires evictionLock. */
+    final void maintenance() {
+        if (weigher != null)
+            sketch.ensureCapacity(data.size());
+        readBuffer.drainTo(applyRead);
+        for (Runnable task; (task = writeBuffer.poll()) != null; )
+            task.run();
+        if (timerWheel != null)
+            timerWheel.advance(System.nanoTime());
+        evictFromMain(evictFromWindow());
+    }
+
+    /**
+     * Moves entries overflowing the admission window to the tail of the
+     * probation segment, returning how many were moved.
+     */
+    final int evictFromWindow() {
+        int candidates = 0;
+        for (Node<K,V> node; windowWeightedSize > windowMaximum &&
+                 (node = window.next) != window; ) {
+            unlink(node);
+            windowWeightedSize -= node.policyWeight;
+            node.queue = PROBATION;
+            linkLast(probation, node);
+            ++candidates;
+        }
+        return candidates;
+    }
+
+    /**
+     * Evicts entries while over capacity, letting each of the newest
+     * candidates on probation duel the eldest probation entry.
+     */
+    final void evictFromMain(int candidates) {
+        while (weightedSize > maximum) {
+            Node<K,V> victim = probation.next;
+            Node<K,V> candidate = (candidates > 0) ? probation.prev : null;
+            if (victim == probation) { // fall back to other segments
+                if ((victim = protectedQueue.next) == protectedQueue &&
+                    (victim = window.next) == window)
+                    break;
+                evictNode(victim);
+            }
+            else if (candidate == null || candidate == victim) {
+                if (candidate != null)
+                    --candidates;
+                evictNode(victim);
+            }
+            else if (admit(candidate.key, victim.key))
+                evictNode(victim);
+            else {
+                --candidates;
+                evictNode(candidate);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the candidate should displace the victim: if it is
+     * estimated to be used more often, or else, if it is warm, by a small
+     * random chance.
+     */
+    final boolean admit(K candidateKey, K victimKey) {
+        int candidate = sketch.frequency(candidateKey);
+        return candidate > sketch.frequency(victimKey) ||
+            (candidate >= WARM_FREQUENCY &&
+             ThreadLocalRandom.current().nextInt(RANDOM_ADMISSION_ODDS) == 0);
+    }
+
+    /** Removes the node from the policy and, if present, the table. */
+    final void evictNode(Node<K,V> node) {
+        removeFromPolicy(node);
+        if (data.remove(node.key, node)) {
+            synchronized (node) {
+                node.alive = false;
+            }
+            evictionCount.increment();
+            if (pendingNotifications != null)
+                pendingNotifications.add(node);
+        }
+    }
+
+    final void removeFromPolicy(Node<K,V> node) {
+        if (node.isLinked()) {
+            unlink(node);
+            if (node.queue == WINDOW)
+                windowWeightedSize -= node.policyWeight;
+            else if (node.queue == PROTECTED)
+                protectedWeightedSize -= node.policyWeight;
+        }
+        weightedSize -= node.policyWeight;
+        node.policyWeight = 0;
+        if (timerWheel != null)
+            timerWheel.deschedule(node);
+    }
+
+    final void notifyListener() {
+        ConcurrentLinkedQueue<Node<K,V>> q;
+        if ((q = pendingNotifications) != null) {
+            for (Node<K,V> node; (node = q.poll()) != null; )
+                evictionListener.accept(node.key, node.value);
+        }
+    }
+
+    /** Applies a read or write access to the policy. */
+    final void onAccess(Node<K,V> node) {
+        sketch.increment(node.key);
+        if (!node.alive || !node.isLinked())
+            return;
+        if (node.queue == PROBATION) {
+            unlink(node);
+            node.queue = PROTECTED;
+            linkLast(protectedQueue, node);
+            protectedWeightedSize += node.policyWeight;
+            for (Node<K,V> demoted; protectedWeightedSize > protectedMaximum &&
+                     (demoted = protectedQueue.next) != protectedQueue; ) {
+                unlink(demoted);
+                protectedWeightedSize -= demoted.policyWeight;
+                demoted.queue = PROBATION;
+                linkLast(probation, demoted);
+            }
+        }
+        else
+            moveToTail(node.queue == WINDOW ? window : protectedQueue, node);
+        if (timerWheel != null && expiresAfterAccess())
+            timerWheel.reschedule(node, expirationTime(node));
+    }
+
+    static <K,V> void linkLast(Node<K,V> list, Node<K,V> node) {
+        Node<K,V> last = list.prev;
+        node.prev = last;
+        node.next = list;
+        last.next = node;
+        list.prev = node;
+    }
+
+    static <K,V> void unlink(Node<K,V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+    static <K,V> void moveToTail(Node<K,V> list, Node<K,V> node) {
+        if (list.prev != node) {
+            unlink(node);
+            linkLast(list, node);
+        }
+    }
+
+    final class AddTask implements Runnable {
+        final Node<K,V> node;
+        final int weight;
+        AddTask(Node<K,V> node, int weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+        public void run() {
+            if (!node.alive)
+                return;
+            sketch.increment(node.key);
+            weightedSize += weight;
+            node.policyWeight += weight;
+            if (!node.isLinked()) {
+                node.queue = WINDOW;
+                linkLast(window, node);
+                windowWeightedSize += node.policyWeight;
+            }
+            else if (node.queue == WINDOW)
+                windowWeightedSize += weight;
+            else if (node.queue == PROTECTED)
+                protectedWeightedSize += weight;
+            if (timerWheel != null)
+                timerWheel.reschedule(node, expirationTime(node));
+        }
+    }
+
+    final class UpdateTask implements Runnable {
+        final Node<K,V> node;
+        final int weightDifference;
+        UpdateTask(Node<K,V> node, int weightDifference) {
+            this.node = node;
+            this.weightDifference = weightDifference;
+        }
+        public void run() {
+            if (!node.alive)
+                return;
+            int d = weightDifference;
+            weightedSize += d;
+            node.policyWeight += d;
+            if (node.isLinked()) {
+                if (node.queue == WINDOW)
+                    windowWeightedSize += d;
+                else if (node.queue == PROTECTED)
+                    protectedWeightedSize += d;
+            }
+            onAccess(node);
+            if (timerWheel != null)
+                timerWheel.reschedule(node, expirationTime(node));
+        }
+    }
+
+    final class RemoveTask implements Runnable {
+        final Node<K,V> node;
+        RemoveTask(Node<K,V> node) {
+            this.node = node;
+        }
+        public void run() {
+            removeFromPolicy(node);
+        }
+    }
+
+    /* ---------------- Timer wheel -------------- */
+
+    /*
+     * The timer wheel is a hierarchy of WHEELS rings of WHEEL_SIZE
+     * buckets, after the hierarchical timing wheels of Varghese and
+     * Lauck.  A bucket of ring i spans 1 << shift(i) nanoseconds: about a
+     * second in the first ring, and WHEEL_SIZE times more in each next
+     * one, so that the rings cover about a minute, an hour, three days
+     * and two hundred days.  Times are compared by difference and bucket
+     * ticks taken by signed shifts, so that System.nanoTime values may
+     * have any sign.
+     */
+
+    /** The number of rings in the timer wheel. */
+    static final int WHEELS = 4;
+
+    /** log2 of the number of buckets in a ring. */
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /** log2 of the span of a bucket of the first ring, about a second. */
+    static final int BUCKET_SHIFT = 30;
+
+    /** Returns log2 of the span of a bucket of the given ring. */
+    static int shift(int ring) {
+        return BUCKET_SHIFT + ring * WHEEL_BITS;
+    }
+
+    /**
+     * A hierarchical timing wheel.  A node is kept in a bucket of the
+     * finest ring within one revolution of which it expires, or in the
+     * overflow list if it expires after all of them.  Advancing the clock
+     * visits the buckets whose ticks have passed in each ring whose tick
+     * has changed, and the overflow list whenever the last ring's tick
+     * has; each node found is evicted if it has expired and otherwise
+     * placed again by its current expiration time, which moves it to a
+     * finer ring as that time approaches.  All operations require
+     * evictionLock.
+     */
+    final class TimerWheel {
+        final Node<K,V>[][] rings;
+        final Node<K,V> overflow;
+        long nanos;
+
+        @SuppressWarnings("unchecked")
+        TimerWheel(long now) {
+            nanos = now;
+            rings = (Node<K,V>[][]) new Node<?,?>[WHEELS][WHEEL_SIZE];
+            for (Node<K,V>[] ring : rings)
+                for (int j = 0; j < ring.length; j++)
+                    ring[j] = new Node<K,V>();
+            overflow = new Node<K,V>();
+        }
+
+        /** Advances the clock, expiring or moving due nodes. */
+        void advance(long now) {
+            long then = nanos;
+            nanos = now;
+            for (int i = 0; i < WHEELS; i++) {
+                long from = then >> shift(i), to = now >> shift(i);
+                if (to - from <= 0L)
+                    return;
+                Node<K,V>[] ring = rings[i];
+                long end = from + Math.min(to - from + 1L, WHEEL_SIZE);
+                for (long tick = from; tick != end; tick++)
+                    expire(ring[(int) tick & WHEEL_MASK]);
+            }
+            expire(overflow);
+        }
+
+        /** Evicts the expired nodes of a bucket and places the others again. */
+        void expire(Node<K,V> sentinel) {
+            Node<K,V> node = sentinel.nextInTimer;
+            sentinel.prevInTimer = sentinel.nextInTimer = sentinel;
+            while (node != sentinel) {
+                Node<K,V> next = node.nextInTimer;
+                node.prevInTimer = node.nextInTimer = null;
+                long time = expirationTime(node);
+                if (node.alive && time - nanos > 0L)
+                    schedule(node, time); // extended, or not yet due
+                else
+                    evictNode(node);
+                node = next;
+            }
+        }
+
+        /** Places the node in the bucket for the given time. */
+        void reschedule(Node<K,V> node, long time) {
+            if (node.nextInTimer != null)
+                unlinkTimer(node);
+            schedule(node, time);
+        }
+
+        void schedule(Node<K,V> node, long time) {
+            Node<K,V> sentinel = bucketFor(time);
+            Node<K,V> last = sentinel.prevInTimer;
+            node.prevInTimer = last;
+            node.nextInTimer = sentinel;
+            last.nextInTimer = node;
+            sentinel.prevInTimer = node;
+        }
+
+        void deschedule(Node<K,V> node) {
+            if (node.nextInTimer != null)
+                unlinkTimer(node);
+        }
+
+        void unlinkTimer(Node<K,V> node) {
+            node.prevInTimer.nextInTimer = node.nextInTimer;
+            node.nextInTimer.prevInTimer = node.prevInTimer;
+            node.prevInTimer = node.nextInTimer = null;
+        }
+
+        /**
+         * Returns the bucket for the given time.  A time already past is
+         * placed in the current bucket of the first ring, which is
+         * visited at its next tick.
+         */
+        Node<K,V> bucketFor(long time) {
+            long delay = time - nanos;
+            if (delay < 0L) {
+                time = nanos;
+                delay = 0L;
+            }
+            for (int i = 0; i < WHEELS; i++) {
+                if ((delay >>> shift(i)) < WHEEL_SIZE)
+                    return rings[i][(int) (time >> shift(i)) & WHEEL_MASK];
+            }
+            return overflow;
+        }
+    }
+
+    /* ---------------- Map operations -------------- */
+
+    public int size() {
+        return data.size();
+    }
+
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    public boolean containsKey(Object key) {
+        Node<K,V> node = data.get(key);
+        return node != null && !hasExpired(node, now());
+    }
+
+    public boolean containsValue(Object value) {
+        Objects.requireNonNull(value);
+        long now = now();
+        for (Node<K,V> node : data.values()) {
+            if (node.alive && !hasExpired(node, now) &&
+                value.equals(node.value))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no live mapping for the key,
+     * recording the access for the eviction policy and the statistics.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public V get(Object key) {
+        Node<K,V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        long now = now();
+        if (hasExpired(node, now)) {
+            missCount.increment();
+            tryToDrainBuffers();
+            return null;
+        }
+        if (timerWheel != null && expiresAfterAccess())
+            node.accessTime = now;
+        hitCount.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no live mapping for the key,
+     * without recording the access.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value, or {@code null}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V getQuietly(Object key) {
+        Node<K,V> node = data.get(key);
+        return (node == null || hasExpired(node, now())) ? null : node.value;
+    }
+
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    final V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        int weight = weigh(key, value);
+        long now = now();
+        Node<K,V> node = new Node<K,V>(key, value, weight, now);
+        for (;;) {
+            Node<K,V> prior = data.putIfAbsent(key, node);
+            if (prior == null) {
+                afterWrite(new AddTask(node, weight));
+                return null;
+            }
+            V oldValue;
+            int oldWeight;
+            boolean expired;
+            synchronized (prior) {
+                if (!prior.alive)
+                    continue;
+                expired = hasExpired(prior, now);
+                oldValue = expired ? null : prior.value;
+                oldWeight = prior.weight;
+                if (!onlyIfAbsent || expired) {
+                    prior.value = value;
+                    prior.weight = weight;
+                    prior.writeTime = prior.accessTime = now;
+                }
+            }
+            if (onlyIfAbsent && !expired)
+                afterRead(prior);
+            else
+                afterWrite(new UpdateTask(prior, weight - oldWeight));
+            return oldValue;
+        }
+    }
+
+    public V remove(Object key) {
+        Node<K,V> node = data.remove(key);
+        if (node == null)
+            return null;
+        V oldValue;
+        synchronized (node) {
+            node.alive = false;
+            oldValue = node.value;
+        }
+        afterWrite(new RemoveTask(node));
+        return hasExpired(node, now()) ? null : oldValue;
+    }
+
+    public boolean remove(Object key, Object value) {
+        Node<K,V> node = data.get(key);
+        if (node == null || value == null)
+            return false;
+        synchronized (node) {
+            if (!node.alive || hasExpired(node, now()) ||
+                !value.equals(node.value) || !data.remove(key, node))
+                return false;
+            node.alive = false;
+        }
+        afterWrite(new RemoveTask(node));
+        return true;
+    }
+
+    public V replace(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        int weight = weigh(key, value);
+        Node<K,V> node = data.get(key);
+        if (node == null)
+            return null;
+        long now = now();
+        V oldValue;
+        int oldWeight;
+        synchronized (node) {
+            if (!node.alive || hasExpired(node, now))
+                return null;
+            oldValue = node.value;
+            oldWeight = node.weight;
+            node.value = value;
+            node.weight = weight;
+            node.writeTime = node.accessTime = now;
+        }
+        afterWrite(new UpdateTask(node, weight - oldWeight));
+        return oldValue;
+    }
+
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null || oldValue == null || newValue == null)
+            throw new NullPointerException();
+        int weight = weigh(key, newValue);
+        Node<K,V> node = data.get(key);
+        if (node == null)
+            return false;
+        long now = now();
+        int oldWeight;
+        synchronized (node) {
+            if (!node.alive || hasExpired(node, now) ||
+                !oldValue.equals(node.value))
+                return false;
+            oldWeight = node.weight;
+            node.value = newValue;
+            node.weight = weight;
+            node.writeTime = node.accessTime = now;
+        }
+        afterWrite(new UpdateTask(node, weight - oldWeight));
+        return true;
+    }
+
+    /**
+     * Removes all of the mappings from this map.  Eviction listeners are
+     * not notified.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (Node<K,V> node : data.values()) {
+                if (data.remove(node.key, node)) {
+                    synchronized (node) {
+                        node.alive = false;
+                    }
+                    writeBuffer.add(new RemoveTask(node));
+                }
+            }
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /* ---------------- Views -------------- */
+
+    transient Set<Map.Entry<K,V>> entrySet;
+
+    /**
+     * Returns a {@link Set} view of the live mappings contained in this
+     * map.  The view's iterators are weakly consistent, do not record
+     * accesses, and support removal.  The entries' {@code setValue}
+     * writes through to the map.
+     *
+     * @return the set view
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        Set<Map.Entry<K,V>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+        public int size() {
+            return ConcurrentTinyLfuMap.this.size();
+        }
+        public void clear() {
+            ConcurrentTinyLfuMap.this.clear();
+        }
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return new EntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object k, v, r;
+            return (k = e.getKey()) != null && (v = e.getValue()) != null &&
+                (r = getQuietly(k)) != null && v.equals(r);
+        }
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object k, v;
+            return (k = e.getKey()) != null && (v = e.getValue()) != null &&
+                ConcurrentTinyLfuMap.this.remove(k, v);
+        }
+    }
+
+    final class EntryIterator implements Iterator<Map.Entry<K,V>> {
+        final Iterator<Node<K,V>> it = data.values().iterator();
+        final long now = now();
+        Node<K,V> next, current;
+
+        EntryIterator() {
+            advance();
+        }
+
+        final void advance() {
+            Node<K,V> n = null;
+            while (it.hasNext()) {
+                if (!hasExpired(n = it.next(), now))
+                    break;
+                n = null;
+            }
+            next = n;
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Map.Entry<K,V> next() {
+            Node<K,V> node = next;
+            if (node == null)
+                throw new NoSuchElementException();
+            current = node;
+            advance();
+            return new WriteThroughEntry(node.key, node.value);
+        }
+
+        public void remove() {
+            if (current == null)
+                throw new IllegalStateException();
+            ConcurrentTinyLfuMap.this.remove(current.key);
+            current = null;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    final class WriteThroughEntry extends SimpleEntry<K,V> {
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+        public V setValue(V value) {
+            if (value == null)
+                throw new NullPointerException();
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
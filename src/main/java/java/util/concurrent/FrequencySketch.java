@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+/**
+ * A package-local, probabilistic multiset estimating how often each
+ * element has been seen recently, used by {@link ConcurrentTinyLfuMap}
+ * to decide whether a new entry is worth admitting in place of an
+ * eviction victim.  This is not thread-safe; callers hold the owning
+ * map's policy lock.
+ */
+final class FrequencySketch<E> {
+    /*
+     * This is a count-min sketch (Cormode and Muthukrishnan) of four-bit
+     * counters, the structure proposed for TinyLFU by Einziger, Friedman
+     * and Manes.  The table is treated as a single array of counters,
+     * sixteen to a long.  An element maps to DEPTH counters chosen by
+     * double hashing, that is at a start index and stride taken from the
+     * two halves of a 64-bit mix of its hash code, and its estimate is
+     * the least of them.  Updates are conservative (Estan and Varghese):
+     * only the counters holding that least value are raised, which keeps
+     * collisions from inflating the estimates of unrelated elements.  A
+     * counter never exceeds MAX_COUNT, which is enough to tell popular
+     * elements from unpopular ones.
+     *
+     * The sketch keeps a recent history: once the number of updates
+     * reaches ten times the maximum number of entries, every counter and
+     * the update count are halved, so that elements that were popular
+     * long ago fade and make room for those that are popular now.
+     */
+
+    /** The number of counters per element. */
+    static final int DEPTH = 4;
+
+    /** The largest value of a counter. */
+    static final int MAX_COUNT = 15;
+
+    /** The largest maximum size provided for; larger sizes share counters. */
+    static final int MAXIMUM_SIZE = 1 << 26;
+
+    /** The low three bits of every counter in a long. */
+    static final long LOW_BITS = 0x7777777777777777L;
+
+    long[] table;
+    int counterMask;    // number of counters - 1
+    int sampleSize;     // updates between halvings
+    int updates;        // updates since the last halving, or half of them
+
+    /**
+     * Creates a sketch sized for the given maximum number of entries.
+     */
+    FrequencySketch(long maximumSize) {
+        ensureCapacity(maximumSize);
+    }
+
+    /**
+     * Resizes the sketch for the given maximum number of entries,
+     * discarding all counts.  Provides about sixteen counters per entry.
+     */
+    void ensureCapacity(long maximumSize) {
+        int maximum = (int) Math.min(Math.max(maximumSize, 1L), MAXIMUM_SIZE);
+        int longs = Math.max(StripedBuffer.ceilingPowerOfTwo(maximum), 8);
+        if (table != null && table.length >= longs)
+            return;
+        table = new long[longs];
+        counterMask = (longs << 4) - 1;
+        sampleSize = 10 * maximum;
+        updates = 0;
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the element,
+     * up to a maximum of 15.
+     */
+    int frequency(E e) {
+        long h = mix(e.hashCode());
+        int index = (int) h, stride = (int) (h >>> 32) | 1;
+        int min = MAX_COUNT;
+        for (int d = 0; d < DEPTH; d++, index += stride)
+            min = Math.min(min, counter(index & counterMask));
+        return min;
+    }
+
+    /**
+     * Counts an occurrence of the element, raising its least counters
+     * unless they are at the maximum, and halving all counters once the
+     * sample size is reached.
+     */
+    void increment(E e) {
+        long h = mix(e.hashCode());
+        int start = (int) h, stride = (int) (h >>> 32) | 1;
+        int min = MAX_COUNT, index = start;
+        for (int d = 0; d < DEPTH; d++, index += stride)
+            min = Math.min(min, counter(index & counterMask));
+        if (min == MAX_COUNT)
+            return;
+        // The stride is odd, so the DEPTH counters are distinct
+        index = start;
+        for (int d = 0; d < DEPTH; d++, index += stride) {
+            int c = index & counterMask;
+            if (counter(c) == min)
+                table[c >>> 4] += 1L << ((c & 15) << 2);
+        }
+        if (++updates >= sampleSize)
+            halve();
+    }
+
+    /** Returns the value of counter c. */
+    int counter(int c) {
+        return (int) (table[c >>> 4] >>> ((c & 15) << 2)) & MAX_COUNT;
+    }
+
+    /** Halves every counter, sixteen at a time, and the update count. */
+    void halve() {
+        long[] t = table;
+        for (int i = 0; i < t.length; i++)
+            t[i] = (t[i] >>> 1) & LOW_BITS;
+        updates >>>= 1;
+    }
+
+    /**
+     * Spreads a hash code over 64 bits, with the golden-ratio increment
+     * and finalizer of SplittableRandom, so that both halves depend on
+     * every bit of it.
+     */
+    static long mix(int h) {
+        long z = h * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.function.Consumer;
+
+/**
+ * A bounded {@linkplain BlockingQueue blocking queue} backed by a ring
+ * buffer, for any number of producer threads and one consumer thread.
+ * This queue orders elements FIFO (first-in-first-out).  Producers
+ * claim a slot with a single compare-and-set of the tail counter and
+ * then publish the element into it with an ordered store; the consumer
+ * takes elements without any atomic read-modify-write instruction.
+ * Producers keep a shared cached bound on the free space, refreshed
+ * from the consumer's counter only when it is exhausted, and the
+ * producer and consumer counters are kept on separate cache lines, so
+ * that the two sides do not slow each other down through false sharing.
+ *
+ * <p><b>Usage contract.</b> The inserting methods ({@code add},
+ * {@code offer} and {@code put}) may be called concurrently by any
+ * number of threads, but at any time at most one thread may call the
+ * removing and examining methods ({@code remove}, {@code poll},
+ * {@code take}, {@code peek}, {@code element} and the {@code drainTo}
+ * methods).  Hand-over of the consumer role between threads must be
+ * established by some other happens-before relation.  Violating the
+ * contract can lose or duplicate elements.  The remaining methods, such
+ * as {@code size} and {@code iterator}, may be called from any thread
+ * and return approximations while the queue is in use.
+ *
+ * <p>A producer that has claimed a slot but not yet published into it
+ * briefly holds up the consumer, which must wait for that element to
+ * preserve FIFO order; {@code poll} spins until it appears, while
+ * {@link #drainTo(Consumer, int)} stops the batch early instead.
+ *
+ * <p>The capacity is fixed at construction, rounded up to a power of
+ * two.  Blocking methods do not use locks or conditions; they retry and
+ * wait between attempts according to the queue's {@link WaitStrategy}.
+ *
+ * <p>This class does not permit {@code null} elements.  Its iterator is
+ * weakly consistent and does not support removal.
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this queue
+ */
+public class MpscArrayQueue<E> extends RingBufferQueue<E> {
+
+    /**
+     * A value of tail that producers may claim up to (exclusive) without
+     * rereading head; always at most head + capacity.
+     */
+    @sun.misc.Contended("producer")
+    private volatile long producerLimit;
+
+    /**
+     * Creates a {@code MpscArrayQueue} with the given (minimum) capacity
+     * and a default wait strategy that spins briefly, then yields, and
+     * then parks.
+     *
+     * @param capacity the minimum capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or is greater than {@code 1 << 30}
+     */
+    public MpscArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.backingOff(128, 16, 100_000L));
+    }
+
+    /**
+     * Creates a {@code MpscArrayQueue} with the given (minimum) capacity
+     * and wait strategy.
+     *
+     * @param capacity the minimum capacity of this queue
+     * @param waitStrategy how blocking operations wait between attempts
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or is greater than {@code 1 << 30}
+     * @throws NullPointerException if {@code waitStrategy} is null
+     */
+    public MpscArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        producerLimit = mask + 1;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it is
+     * possible to do so immediately without exceeding the queue's
+     * capacity, returning {@code true} upon success and {@code false} if
+     * this queue is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        long limit = producerLimit, t;
+        do {
+            t = tail;
+            if (t >= limit) {
+                if (t >= (limit = head + mask + 1L))
+                    return false;
+                UNSAFE.putOrderedLong(this, PRODUCER_LIMIT, limit);
+            }
+        } while (!UNSAFE.compareAndSwapLong(this, TAIL, t, t + 1L));
+        UNSAFE.putOrderedObject(buffer, offset(t), e);
+        return true;
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head;
+        long offset = offset(h);
+        Object[] buf = buffer;
+        E e = (E) UNSAFE.getObjectVolatile(buf, offset);
+        if (e == null) {
+            if (h == tail)
+                return null;
+            do { // slot claimed but not yet published
+                e = (E) UNSAFE.getObjectVolatile(buf, offset);
+            } while (e == null);
+        }
+        UNSAFE.putObject(buf, offset, null);
+        UNSAFE.putOrderedLong(this, HEAD, h + 1L);
+        return e;
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long h = head;
+        long offset = offset(h);
+        Object[] buf = buffer;
+        E e = (E) UNSAFE.getObjectVolatile(buf, offset);
+        if (e == null && h != tail) {
+            do {
+                e = (E) UNSAFE.getObjectVolatile(buf, offset);
+            } while (e == null);
+        }
+        return e;
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super E> action, int limit) {
+        if (action == null)
+            throw new NullPointerException();
+        Object[] buf = buffer;
+        long h = head;
+        int i = 0;
+        try {
+            while (i < limit) {
+                long offset = offset(h + i);
+                E e = (E) UNSAFE.getObjectVolatile(buf, offset);
+                if (e == null)
+                    break;
+                UNSAFE.putObject(buf, offset, null);
+                ++i;
+                action.accept(e);
+            }
+        } finally {
+            if (i > 0)
+                UNSAFE.putOrderedLong(this, HEAD, h + i);
+        }
+        return i;
+    }
+
+    // Unsafe mechanics
+    private static final long PRODUCER_LIMIT;
+    static {
+        try {
+            PRODUCER_LIMIT = UNSAFE.objectFieldOffset
+                (MpscArrayQueue.class.getDeclaredField("producerLimit"));
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Package-private skeleton shared by the bounded lock-free ring buffer
+ * queues {@link SpscArrayQueue} and {@link MpscArrayQueue}.  It holds
+ * the power-of-two element array and the head and tail counters, and
+ * implements the blocking and bulk operations of {@link BlockingQueue}
+ * by retrying the non-blocking {@code offer} and {@code poll} of the
+ * subclass under the queue's {@link WaitStrategy}.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+abstract class RingBufferQueue<E> extends AbstractQueue<E>
+    implements BlockingQueue<E> {
+
+    /*
+     * head and tail count the elements ever removed and inserted; the
+     * element with sequence i lives in buffer[i & mask].  head is only
+     * written by the single consumer and tail by the producer(s), each
+     * with an ordered store, so the two live in separate @Contended
+     * groups, away from each other and from the read-mostly fields.
+     * Subclasses add side-local caches of the opposite counter, annotated
+     * with the same group names.  Contended groups are laid out per
+     * declaring class, so these do not join the groups here: each is
+     * padded into a group of its own among the subclass's fields.  A
+     * producer or consumer thus usually touches only cache lines that the
+     * other side does not write, though two of them rather than one.
+     */
+
+    /** The largest capacity, a power of two. */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** The element slots; null when empty. */
+    final Object[] buffer;
+
+    /** buffer.length - 1. */
+    final int mask;
+
+    /** How blocking operations wait between attempts. */
+    final WaitStrategy waitStrategy;
+
+    /** Number of elements removed; written only by the consumer. */
+    @sun.misc.Contended("consumer")
+    volatile long head;
+
+    /** Number of elements inserted or claimed by producers. */
+    @sun.misc.Contended("producer")
+    volatile long tail;
+
+    RingBufferQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException();
+        if (waitStrategy == null)
+            throw new NullPointerException();
+        int n = StripedBuffer.ceilingPowerOfTwo(capacity);
+        this.buffer = new Object[n];
+        this.mask = n - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Removes at most the given number of available elements from this
+     * queue and passes each of them, in order, to the given action.
+     * Elements that are added while this method is in progress may or
+     * may not be transferred.  The queue's head is published once for
+     * the whole batch, so this is cheaper than repeated calls to
+     * {@code poll}.  May only be called by the consumer thread.  If the
+     * action throws an exception, the element that was passed to it and
+     * all earlier ones have been removed, and no later ones.
+     *
+     * @param action the action to be performed for each element
+     * @param limit the maximum number of elements to transfer
+     * @return the number of elements transferred
+     * @throws NullPointerException if the action is null
+     */
+    public abstract int drainTo(Consumer<? super E> action, int limit);
+
+    /**
+     * Returns the number of elements this queue can hold, which is the
+     * requested capacity rounded up to a power of two.
+     *
+     * @return the capacity of this queue
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  The result is a
+     * snapshot that may already be out of date if producers or the
+     * consumer are active.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        long after = head, before, t;
+        do { // reread head until stable so that head and tail correspond
+            before = after;
+            t = tail;
+            after = head;
+        } while (before != after);
+        long size = t - after;
+        return (size <= 0L) ? 0 : (int) Math.min(size, (long) capacity());
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * accept without blocking, as of the time of the call.
+     *
+     * @return the remaining capacity
+     */
+    public int remainingCapacity() {
+        return capacity() - size();
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue, waiting
+     * according to this queue's wait strategy for space to become
+     * available.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void put(E e) throws InterruptedException {
+        if (e == null)
+            throw new NullPointerException();
+        for (int idle = 0; !offer(e); ) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(idle++);
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue, waiting
+     * up to the specified wait time according to this queue's wait
+     * strategy for space to become available.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (e == null)
+            throw new NullPointerException();
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        for (int idle = 0; !offer(e); ) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            if (nanos <= 0L || deadline - System.nanoTime() <= 0L)
+                return false;
+            waitStrategy.idle(idle++);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting according
+     * to this queue's wait strategy until an element becomes available.
+     * May only be called by the consumer thread.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public E take() throws InterruptedException {
+        E e;
+        for (int idle = 0; (e = poll()) == null; ) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(idle++);
+        }
+        return e;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting up to the
+     * specified wait time according to this queue's wait strategy if
+     * necessary for an element to become available.  May only be called
+     * by the consumer thread.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        E e;
+        for (int idle = 0; (e = poll()) == null; ) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            if (nanos <= 0L || deadline - System.nanoTime() <= 0L)
+                return null;
+            waitStrategy.idle(idle++);
+        }
+        return e;
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     *
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     *
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        return drainTo(c::add, maxElements);
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue in proper
+     * sequence.  The iterator is weakly consistent: it traverses the
+     * slots between the head and tail observed when it was created, and
+     * may omit elements removed, or return elements inserted, during the
+     * traversal.  It does not support removal.
+     *
+     * @return an iterator over the elements in this queue in proper
+     *         sequence
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private long cursor = head;
+        private final long fence = tail;
+        private E nextItem;
+
+        Itr() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            E e = null;
+            while (e == null && cursor < fence)
+                e = (E) UNSAFE.getObjectVolatile(buffer, offset(cursor++));
+            nextItem = e;
+        }
+
+        public boolean hasNext() {
+            return nextItem != null;
+        }
+
+        public E next() {
+            E e = nextItem;
+            if (e == null)
+                throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+    }
+
+    // Unsafe mechanics
+
+    /** Returns the address offset in buffer of the slot of sequence i. */
+    final long offset(long i) {
+        return ((long) ((int) i & mask) << ASHIFT) + ABASE;
+    }
+
+    static final sun.misc.Unsafe UNSAFE;
+    static final long HEAD;
+    static final long TAIL;
+    static final long ABASE;
+    static final int ASHIFT;
+    static {
+        try {
+            UNSAFE = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = RingBufferQueue.class;
+            HEAD = UNSAFE.objectFieldOffset(k.getDeclaredField("head"));
+            TAIL = UNSAFE.objectFieldOffset(k.getDeclaredField("tail"));
+            ABASE = UNSAFE.arrayBaseOffset(Object[].class);
+            int scale = UNSAFE.arrayIndexScale(Object[].class);
+            if ((scale & (scale - 1)) != 0)
+                throw new Error("data type scale not a power of two");
+            ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
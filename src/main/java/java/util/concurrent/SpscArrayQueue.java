@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.function.Consumer;
+
+/**
+ * A bounded {@linkplain BlockingQueue blocking queue} backed by a ring
+ * buffer, for exactly one producer thread and one consumer thread.
+ * This queue orders elements FIFO (first-in-first-out).  Neither
+ * insertion nor removal takes a lock or performs an atomic
+ * read-modify-write instruction: each side publishes its progress with
+ * an ordered store, and each keeps a private copy of the other side's
+ * counter, refreshing it only when the queue appears full or empty.
+ * The counters are kept on separate cache lines, so that the producer
+ * and consumer do not slow each other down through false sharing.
+ *
+ * <p><b>Usage contract.</b> At any time at most one thread may call the
+ * inserting methods ({@code add}, {@code offer} and {@code put}), and
+ * at most one thread may call the removing and examining methods
+ * ({@code remove}, {@code poll}, {@code take}, {@code peek},
+ * {@code element} and the {@code drainTo} methods).  Hand-over of either
+ * role between threads must be established by some other
+ * happens-before relation.  Violating the contract can lose or
+ * duplicate elements.  The remaining methods, such as {@code size} and
+ * {@code iterator}, may be called from any thread and return
+ * approximations while the queue is in use.
+ *
+ * <p>The capacity is fixed at construction, rounded up to a power of
+ * two.  Blocking methods do not use locks or conditions; they retry and
+ * wait between attempts according to the queue's {@link WaitStrategy}.
+ * The {@link #drainTo(Consumer, int)} method removes a batch of
+ * elements while publishing the consumer's progress only once.
+ *
+ * <p>This class does not permit {@code null} elements.  Its iterator is
+ * weakly consistent and does not support removal.
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this queue
+ */
+public class SpscArrayQueue<E> extends RingBufferQueue<E> {
+
+    /** The producer's last observed value of head. */
+    @sun.misc.Contended("producer")
+    private long headCache;
+
+    /** The consumer's last observed value of tail. */
+    @sun.misc.Contended("consumer")
+    private long tailCache;
+
+    /**
+     * Creates a {@code SpscArrayQueue} with the given (minimum) capacity
+     * and a default wait strategy that spins briefly, then yields, and
+     * then parks.
+     *
+     * @param capacity the minimum capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or is greater than {@code 1 << 30}
+     */
+    public SpscArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.backingOff(128, 16, 100_000L));
+    }
+
+    /**
+     * Creates a {@code SpscArrayQueue} with the given (minimum) capacity
+     * and wait strategy.
+     *
+     * @param capacity the minimum capacity of this queue
+     * @param waitStrategy how blocking operations wait between attempts
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or is greater than {@code 1 << 30}
+     * @throws NullPointerException if {@code waitStrategy} is null
+     */
+    public SpscArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it is
+     * possible to do so immediately without exceeding the queue's
+     * capacity, returning {@code true} upon success and {@code false} if
+     * this queue is full.  May only be called by the producer thread.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        long t = tail;
+        if (t - headCache > mask && t - (headCache = head) > mask)
+            return false;
+        UNSAFE.putOrderedObject(buffer, offset(t), e);
+        UNSAFE.putOrderedLong(this, TAIL, t + 1L);
+        return true;
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head;
+        if (h >= tailCache && h >= (tailCache = tail))
+            return null;
+        long offset = offset(h);
+        E e = (E) UNSAFE.getObject(buffer, offset);
+        UNSAFE.putObject(buffer, offset, null);
+        UNSAFE.putOrderedLong(this, HEAD, h + 1L);
+        return e;
+    }
+
+    /**
+     * May only be called by the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long h = head;
+        if (h >= tailCache && h >= (tailCache = tail))
+            return null;
+        return (E) UNSAFE.getObject(buffer, offset(h));
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super E> action, int limit) {
+        if (action == null)
+            throw new NullPointerException();
+        long h = head;
+        long n = Math.min((tailCache = tail) - h, (long) limit);
+        int i = 0;
+        try {
+            while (i < n) {
+                long offset = offset(h + i);
+                E e = (E) UNSAFE.getObject(buffer, offset);
+                UNSAFE.putObject(buffer, offset, null);
+                ++i;
+                action.accept(e);
+            }
+        } finally {
+            if (i > 0)
+                UNSAFE.putOrderedLong(this, HEAD, h + i);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.function.Consumer;
+
+/**
+ * A package-local, lossy, multiple-producer single-consumer buffer used
+ * by bounded caches to record reads without taking a lock.  Producers
+ * add elements to one of several small ring buffers selected by their
+ * thread probe (as in {@code Striped64}); when a ring is full the
+ * element is simply dropped, which is acceptable because recording a
+ * read only refines an approximate recency or frequency order.  The
+ * single consumer, always holding the owning cache's policy lock,
+ * empties all rings with {@link #drainTo}.
+ */
+final class StripedBuffer<E> {
+    /*
+     * Each ring is a power-of-two array indexed by a pair of counters.
+     * Producers claim a slot by CAS on tail and then publish the element
+     * with an ordered store; the consumer treats a null slot below tail
+     * as not yet published and stops there, resuming at that point on
+     * the next drain.  Rings are padded (via @sun.misc.Contended) so
+     * that the counters of neighbouring rings do not share cache lines.
+     */
+
+    /** Number of CPUS, to place bounds on the number of rings. */
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /** Number of rings, a power of two. */
+    static final int RINGS = ceilingPowerOfTwo(Math.min(4 * NCPU, 64));
+
+    /** Capacity of each ring, a power of two. */
+    static final int RING_SIZE = 16;
+
+    /** A ring is drained once it holds this many elements. */
+    static final int DRAIN_THRESHOLD = RING_SIZE / 2;
+
+    @sun.misc.Contended static final class Ring {
+        volatile long head;
+        volatile long tail;
+        final Object[] slots = new Object[RING_SIZE];
+
+        final boolean casTail(long cmp, long val) {
+            return UNSAFE.compareAndSwapLong(this, TAIL, cmp, val);
+        }
+    }
+
+    private final Ring[] rings;
+
+    StripedBuffer() {
+        Ring[] rs = new Ring[RINGS];
+        for (int i = 0; i < rs.length; ++i)
+            rs[i] = new Ring();
+        rings = rs;
+    }
+
+    static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+    /**
+     * Adds the element to the current thread's ring, unless the ring is
+     * full or contended, in which case the element is dropped.  A full
+     * ring asks the caller to drain; a contended one does not, since its
+     * fill level says nothing about whether draining is due, and the
+     * caller is moved to another ring for its next offer.
+     *
+     * @return true if the ring is full or has filled to its drain
+     *         threshold, so that the caller should drain; false if the
+     *         element was added below the threshold or was dropped
+     *         because another thread was adding to the same ring
+     */
+    boolean offer(E e) {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.current(); // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        Ring r = rings[h & (RINGS - 1)];
+        long t = r.tail, size = t - r.head;
+        if (size >= RING_SIZE)
+            return true;
+        if (!r.casTail(t, t + 1)) {
+            ThreadLocalRandom.advanceProbe(h); // spread to another ring
+            return false;
+        }
+        UNSAFE.putOrderedObject(r.slots, slotOffset(t), e);
+        return size + 1 >= DRAIN_THRESHOLD;
+    }
+
+    /**
+     * Passes every published element to the consumer and empties the
+     * rings.  Must only be called by one thread at a time.
+     */
+    @SuppressWarnings("unchecked")
+    void drainTo(Consumer<? super E> action) {
+        for (Ring r : rings) {
+            long h = r.head, t = r.tail;
+            Object[] slots = r.slots;
+            for (; h < t; ++h) {
+                long off = slotOffset(h);
+                Object e = UNSAFE.getObjectVolatile(slots, off);
+                if (e == null)
+                    break; // claimed but not yet published
+                UNSAFE.putOrderedObject(slots, off, null);
+                action.accept((E) e);
+            }
+            r.head = h;
+        }
+    }
+
+    private static long slotOffset(long i) {
+        return ((long) ((int) i & (RING_SIZE - 1)) << ASHIFT) + ABASE;
+    }
+
+    // Unsafe mechanics
+    private static final sun.misc.Unsafe UNSAFE;
+    private static final long TAIL;
+    private static final long ABASE;
+    private static final int ASHIFT;
+    static {
+        try {
+            UNSAFE = sun.misc.Unsafe.getUnsafe();
+            TAIL = UNSAFE.objectFieldOffset
+                (Ring.class.getDeclaredField("tail"));
+            ABASE = UNSAFE.arrayBaseOffset(Object[].class);
+            int scale = UNSAFE.arrayIndexScale(Object[].class);
+            if ((scale & (scale - 1)) != 0)
+                throw new Error("data type scale not a power of two");
+            ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
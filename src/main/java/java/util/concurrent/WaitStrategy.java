@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A policy for how a thread waits while a lock-free queue is full or
+ * empty.  The blocking operations of {@link SpscArrayQueue} and
+ * {@link MpscArrayQueue} retry in a loop and call {@link #idle} after
+ * each failed attempt; the strategy chooses the trade-off between the
+ * latency with which the waiting thread notices progress and the
+ * processor time it consumes while waiting.  Because these queues never
+ * signal waiting threads, a strategy must return within a bounded time.
+ *
+ * <p>Strategies are stateless and may be shared between queues.
+ *
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Waits briefly, or not at all, before a blocking operation retries.
+     *
+     * @param idleCount the number of times this method has already been
+     *        called during the current blocking operation, starting at
+     *        zero; strategies may use it to back off progressively
+     */
+    void idle(int idleCount);
+
+    /**
+     * Returns a strategy that busy-spins, giving the lowest latency at
+     * the cost of fully occupying a processor while waiting.  It is only
+     * appropriate when each waiting thread has a processor to itself.
+     *
+     * @return a busy-spinning wait strategy
+     */
+    static WaitStrategy spinning() {
+        return idleCount -> { };
+    }
+
+    /**
+     * Returns a strategy that calls {@link Thread#yield} between attempts,
+     * letting other runnable threads use the processor.
+     *
+     * @return a yielding wait strategy
+     */
+    static WaitStrategy yielding() {
+        return idleCount -> Thread.yield();
+    }
+
+    /**
+     * Returns a strategy that parks the waiting thread for the given time
+     * between attempts, using {@link LockSupport#parkNanos(long)}.
+     *
+     * @param nanos the time to park between attempts, in nanoseconds
+     * @return a parking wait strategy
+     * @throws IllegalArgumentException if {@code nanos} is not positive
+     */
+    static WaitStrategy parking(long nanos) {
+        if (nanos <= 0L)
+            throw new IllegalArgumentException();
+        return idleCount -> LockSupport.parkNanos(nanos);
+    }
+
+    /**
+     * Returns a strategy that first spins for the given number of
+     * attempts, then yields for the given number of attempts, and then
+     * parks for the given time between each further attempt.
+     *
+     * @param spins the number of attempts to spin
+     * @param yields the number of attempts after spinning to yield
+     * @param parkNanos the time to park between further attempts, in
+     *        nanoseconds
+     * @return a progressively backing-off wait strategy
+     * @throws IllegalArgumentException if {@code spins} or {@code yields}
+     *         is negative, or {@code parkNanos} is not positive
+     */
+    static WaitStrategy backingOff(int spins, int yields, long parkNanos) {
+        if (spins < 0 || yields < 0 || parkNanos <= 0L)
+            throw new IllegalArgumentException();
+        return idleCount -> {
+            if (idleCount < spins)
+                return;
+            else if (idleCount - spins < yields)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(parkNanos);
+        };
+    }
+}
@@ -0,0 +1,561 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.logging;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.MpscArrayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <tt>Handler</tt> that publishes <tt>LogRecords</tt> to a target
+ * <tt>Handler</tt> on a background thread.
+ * <p>
+ * The <tt>publish</tt> method of handlers such as <tt>StreamHandler</tt>,
+ * <tt>FileHandler</tt> and <tt>SocketHandler</tt> is synchronized, and
+ * formats and writes each record on the thread that logs it, so that
+ * under load logging threads wait for each other and for I/O.  An
+ * <tt>AsyncHandler</tt> instead only places each loggable record in a
+ * bounded lock-free queue and returns; a daemon thread removes records
+ * from the queue in batches of up to <tt>batchSize</tt> records, publishes
+ * them to the target <tt>Handler</tt>, and flushes the target once per
+ * batch.
+ * <p>
+ * When the queue is full, the <tt>OverflowPolicy</tt> of the handler
+ * decides what happens to a record:
+ * <ul>
+ * <li> <tt>BLOCK</tt>: the logging thread waits until there is room in
+ *      the queue.  No record is lost. </li>
+ * <li> <tt>DROP</tt>: the record is dropped. </li>
+ * <li> <tt>DISCARD_BELOW_LEVEL</tt>: the record is dropped if its level is
+ *      lower than the <tt>discardLevel</tt>; otherwise the logging thread
+ *      waits as for <tt>BLOCK</tt>. </li>
+ * </ul>
+ * The number of records dropped is reported by <tt>getDroppedCount</tt>.
+ * <p>
+ * Records are published after <tt>publish</tt> returns, so a record must
+ * not be modified once logged.  Unless <tt>inferCaller</tt> is false, the
+ * source class and method of each record are inferred before it is
+ * queued, since they cannot be inferred from the background thread.
+ * They are not inferred if the target's <tt>Formatter</tt> is a
+ * <tt>SimpleFormatter</tt> whose format string does not refer to the
+ * source.
+ * <p>
+ * The target <tt>Handler</tt> must not log back to this handler, for
+ * example through a <tt>Logger</tt> used by its <tt>Formatter</tt> or
+ * <tt>ErrorManager</tt>.  Such a record is published from the background
+ * thread, which alone empties the queue, so it is dropped rather than
+ * waited for when the queue is full, whatever the overflow policy.
+ * <p>
+ * Once the handler is closed, records published to it are ignored, even
+ * if its level is set again, and records queued while it was closing are
+ * dropped.  If the background thread terminates
+ * unexpectedly, records that cannot be queued are dropped.
+ * <p>
+ * <b>Configuration:</b>
+ * By default each <tt>AsyncHandler</tt> is initialized using the following
+ * <tt>LogManager</tt> configuration properties where <tt>&lt;handler-name&gt;</tt>
+ * refers to the fully-qualified class name of the handler.
+ * If properties are not defined
+ * (or have invalid values) then the specified default values are used.
+ * If no default value is defined then a RuntimeException is thrown.
+ * <ul>
+ * <li>   &lt;handler-name&gt;.level
+ *        specifies the level for the <tt>Handler</tt>
+ *        (defaults to <tt>Level.ALL</tt>). </li>
+ * <li>   &lt;handler-name&gt;.filter
+ *        specifies the name of a <tt>Filter</tt> class to use
+ *        (defaults to no <tt>Filter</tt>). </li>
+ * <li>   &lt;handler-name&gt;.size
+ *        defines the capacity of the queue, rounded up to a power of two
+ *        (defaults to 8192). </li>
+ * <li>   &lt;handler-name&gt;.batchSize
+ *        defines the maximum number of records published between flushes
+ *        of the target (defaults to 256). </li>
+ * <li>   &lt;handler-name&gt;.overflow
+ *        defines the <tt>OverflowPolicy</tt>, one of <tt>BLOCK</tt>,
+ *        <tt>DROP</tt> or <tt>DISCARD_BELOW_LEVEL</tt>
+ *        (defaults to <tt>BLOCK</tt>). </li>
+ * <li>   &lt;handler-name&gt;.discardLevel
+ *        defines the <tt>discardLevel</tt>
+ *        (defaults to <tt>Level.WARNING</tt>). </li>
+ * <li>   &lt;handler-name&gt;.inferCaller
+ *        specifies whether the caller of each record is inferred before it
+ *        is queued, if the target's <tt>Formatter</tt> may use it
+ *        (defaults to <tt>true</tt>). </li>
+ * <li>   &lt;handler-name&gt;.target
+ *        specifies the name of the target <tt>Handler </tt> class.
+ *        (no default). </li>
+ * </ul>
+ * <p>
+ * For example, the properties for {@code AsyncHandler} would be:
+ * <ul>
+ * <li>   java.util.logging.AsyncHandler.target=java.util.logging.FileHandler </li>
+ * <li>   java.util.logging.AsyncHandler.overflow=DISCARD_BELOW_LEVEL </li>
+ * </ul>
+ * <p>
+ * @since 1.8
+ */
+
+public class AsyncHandler extends Handler {
+
+    /**
+     * What an <tt>AsyncHandler</tt> does with a record when its queue is
+     * full.
+     *
+     * @since 1.8
+     */
+    public enum OverflowPolicy {
+        /** Wait until there is room in the queue. */
+        BLOCK,
+        /** Drop the record. */
+        DROP,
+        /**
+         * Drop the record if its level is lower than the discard level,
+         * otherwise wait until there is room in the queue.
+         */
+        DISCARD_BELOW_LEVEL
+    }
+
+    private final static int DEFAULT_SIZE = 8192;
+    private final static int DEFAULT_BATCH_SIZE = 256;
+
+    // How long the idle background thread parks between checks of the
+    // queue; producers unpark it, so this only bounds the delay in the
+    // rare case that a wake-up is missed.
+    private final static long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private volatile OverflowPolicy overflowPolicy;
+    private volatile Level discardLevel;
+    private int size;
+    private int batchSize;
+    private boolean inferCaller;
+    private Handler target;
+    private MpscArrayQueue<LogRecord> queue;
+    private Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private volatile boolean stopped;   // set when the worker exits
+
+    // Private method to configure an AsyncHandler from LogManager
+    // properties and/or default values as specified in the class
+    // javadoc.
+    private void configure() {
+        LogManager manager = LogManager.getLogManager();
+        String cname = getClass().getName();
+
+        size = manager.getIntProperty(cname + ".size", DEFAULT_SIZE);
+        if (size <= 0) {
+            size = DEFAULT_SIZE;
+        }
+        batchSize = manager.getIntProperty(cname + ".batchSize", DEFAULT_BATCH_SIZE);
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH_SIZE;
+        }
+        overflowPolicy = OverflowPolicy.BLOCK;
+        String policy = manager.getStringProperty(cname + ".overflow", null);
+        if (policy != null) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(policy.trim());
+            } catch (IllegalArgumentException ex) {
+                // we got an invalid value, use the default
+            }
+        }
+        discardLevel = manager.getLevelProperty(cname + ".discardLevel", Level.WARNING);
+        inferCaller = manager.getBooleanProperty(cname + ".inferCaller", true);
+        setLevel(manager.getLevelProperty(cname + ".level", Level.ALL));
+        setFilter(manager.getFilterProperty(cname + ".filter", null));
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt> and configure it based on
+     * <tt>LogManager</tt> configuration properties.
+     */
+    public AsyncHandler() {
+        sealed = false;
+        configure();
+        sealed = true;
+
+        LogManager manager = LogManager.getLogManager();
+        String handlerName = getClass().getName();
+        String targetName = manager.getProperty(handlerName + ".target");
+        if (targetName == null) {
+            throw new RuntimeException("The handler " + handlerName
+                    + " does not specify a target");
+        }
+        Class<?> clz;
+        try {
+            clz = ClassLoader.getSystemClassLoader().loadClass(targetName);
+            target = (Handler) clz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("AsyncHandler can't load handler target \"" + targetName + "\"" , e);
+        }
+        init();
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt> that publishes to a given target.
+     * <p>
+     * The <tt>AsyncHandler</tt> is configured based on <tt>LogManager</tt>
+     * properties (or their default values) except that the given target,
+     * queue size and overflow policy are used.
+     *
+     * @param target  the Handler to which to publish output.
+     * @param size    the capacity of the queue (must be greater than zero)
+     * @param overflowPolicy  what to do with records when the queue is full
+     *
+     * @throws IllegalArgumentException if {@code size is <= 0}
+     */
+    public AsyncHandler(Handler target, int size, OverflowPolicy overflowPolicy) {
+        if (target == null || overflowPolicy == null) {
+            throw new NullPointerException();
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        sealed = false;
+        configure();
+        sealed = true;
+        this.target = target;
+        this.size = size;
+        this.overflowPolicy = overflowPolicy;
+        init();
+    }
+
+    // Initialize.  Creates the queue and starts the background thread.
+    private void init() {
+        queue = new MpscArrayQueue<>(size);
+        worker = AccessController.doPrivileged(new PrivilegedAction<Thread>() {
+            @Override
+            public Thread run() {
+                Thread t = new Thread(AsyncHandler.this::drain, "AsyncHandler");
+                t.setDaemon(true);
+                t.setContextClassLoader(null);
+                return t;
+            }
+        });
+        worker.start();
+    }
+
+    /**
+     * Queue a <tt>LogRecord</tt> for publication to the target
+     * <tt>Handler</tt>.
+     * <p>
+     * If there is a <tt>Filter</tt>, its <tt>isLoggable</tt>
+     * method is called to check if the given log record is loggable.
+     * If not we return.  Otherwise the record is placed in the queue, or,
+     * if the queue is full, handled according to the overflow policy.
+     * This method is not synchronized.
+     *
+     * @param  record  description of the log event. A null record is
+     *                 silently ignored and is not published
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        if (inferCaller) {
+            Formatter f = target.getFormatter();
+            if (f == null || f.usesCaller()) {
+                record.getSourceClassName();
+            }
+        }
+        if (!queue.offer(record)) {
+            switch (overflowPolicy) {
+                case DISCARD_BELOW_LEVEL:
+                    if (record.getLevel().intValue() < discardLevel.intValue()) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    // fall through
+                case BLOCK:
+                    // the worker cannot wait for itself to make room
+                    if (Thread.currentThread() != worker && put(record)) {
+                        break;
+                    }
+                    // fall through
+                default:
+                    dropped.incrementAndGet();
+                    return;
+            }
+        }
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    // Waits until there is room for the record in the queue, and returns
+    // true, or returns false if the worker has exited and so will never
+    // make room.  If the thread is interrupted it keeps waiting, and is
+    // interrupted again when done.
+    private boolean put(LogRecord record) {
+        boolean interrupted = false;
+        boolean queued = false;
+        while (!stopped) {
+            try {
+                if (queue.offer(record, IDLE_PARK_NANOS, TimeUnit.NANOSECONDS)) {
+                    queued = true;
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return queued;
+    }
+
+    // A record queued by flush and close, which the background thread
+    // acts upon rather than publishes.
+    @SuppressWarnings("serial")
+    private static final class Marker extends LogRecord {
+        final boolean close;
+        final CountDownLatch done = new CountDownLatch(1);
+
+        Marker(boolean close) {
+            super(Level.OFF, null);
+            this.close = close;
+        }
+
+        // Waits until the marker has been acted upon, or the worker
+        // of the given handler has exited without acting upon it.
+        void await(AsyncHandler h) {
+            boolean interrupted = false;
+            for (;;) {
+                try {
+                    if (done.await(IDLE_PARK_NANOS, TimeUnit.NANOSECONDS)
+                            || h.stopped) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // The body of the background thread.  The close marker is released
+    // only once the thread has stopped consuming the queue, so that
+    // close hands the queue over and never races it on the target.
+    private void drain() {
+        Marker[] closing = new Marker[1];
+        Consumer<LogRecord> publisher = r -> {
+            if (closing[0] != null) {
+                discard(r);     // queued behind the close marker
+            } else if (r instanceof Marker) {
+                Marker m = (Marker) r;
+                flushTarget();
+                if (m.close) {
+                    closing[0] = m;
+                } else {
+                    m.done.countDown();
+                }
+            } else {
+                try {
+                    target.publish(r);
+                } catch (Throwable ex) {
+                    // an Error must not kill the only thread that
+                    // empties the queue
+                    reportError(null, toException(ex), ErrorManager.WRITE_FAILURE);
+                }
+            }
+        };
+        try {
+            while (closing[0] == null) {
+                if (queue.drainTo(publisher, batchSize) > 0) {
+                    flushTarget();
+                } else {
+                    idle = true;
+                    if (queue.isEmpty()) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                }
+            }
+            discardQueued();
+        } finally {
+            stopped = true;
+            if (closing[0] != null) {
+                closing[0].done.countDown();
+            }
+        }
+    }
+
+    // Counts a record that will not be published as dropped, or releases
+    // the thread waiting on it if it is a marker.
+    private void discard(LogRecord r) {
+        if (r instanceof Marker) {
+            ((Marker) r).done.countDown();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Empties the queue without publishing.  Must only be called by the
+    // thread that consumes the queue.
+    private void discardQueued() {
+        for (LogRecord r; (r = queue.poll()) != null; ) {
+            discard(r);
+        }
+    }
+
+    private void flushTarget() {
+        try {
+            target.flush();
+        } catch (Throwable ex) {
+            reportError(null, toException(ex), ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    private static Exception toException(Throwable ex) {
+        return ex instanceof Exception ? (Exception) ex : new Exception(ex);
+    }
+
+    // Queues a marker and waits until the background thread has acted
+    // upon it, unless called by the background thread itself.
+    private void awaitMarker(boolean close) {
+        if (Thread.currentThread() == worker) {
+            flushTarget();
+            return;
+        }
+        Marker m = new Marker(close);
+        if (put(m)) {
+            LockSupport.unpark(worker);
+            m.await(this);
+        }
+    }
+
+    /**
+     * Publishes all queued records to the target <tt>Handler</tt>, and then
+     * causes a flush on it.
+     */
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        awaitMarker(false);
+    }
+
+    /**
+     * Close the <tt>Handler</tt> and free all associated resources.
+     * Records already queued are first published to the target
+     * <tt>Handler</tt>, which is then also closed.  Records queued while
+     * the handler is closing are dropped.
+     *
+     * @exception  SecurityException  if a java.security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    @Override
+    public void close() throws SecurityException {
+        checkPermission();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        setLevel(Level.OFF);
+        awaitMarker(true);
+        if (Thread.currentThread() != worker) {
+            // the worker has stopped; drop records queued since it did
+            discardQueued();
+        }
+        target.close();
+    }
+
+    /**
+     * Set the <tt>OverflowPolicy</tt>, which decides what happens to a
+     * record published while the queue is full.
+     *
+     * @param newPolicy the new overflow policy
+     * @exception  SecurityException  if a java.security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setOverflowPolicy(OverflowPolicy newPolicy) throws SecurityException {
+        if (newPolicy == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        overflowPolicy = newPolicy;
+    }
+
+    /**
+     * Get the <tt>OverflowPolicy</tt>.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Set the <tt>discardLevel</tt>.  When the overflow policy is
+     * <tt>DISCARD_BELOW_LEVEL</tt> and the queue is full, records whose
+     * level is lower than the <tt>discardLevel</tt> are dropped.
+     *
+     * @param newLevel the new value of the <tt>discardLevel</tt>
+     * @exception  SecurityException  if a java.security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setDiscardLevel(Level newLevel) throws SecurityException {
+        if (newLevel == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        discardLevel = newLevel;
+    }
+
+    /**
+     * Get the <tt>discardLevel</tt>.
+     *
+     * @return the value of the <tt>discardLevel</tt>
+     */
+    public Level getDiscardLevel() {
+        return discardLevel;
+    }
+
+    /**
+     * Get the number of records dropped because the queue was full, or
+     * because they were queued while the handler was closing.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -61,6 +61,32 @@ public abstract class Formatter {
      */
     public abstract String format(LogRecord record);
 
+    /**
+     * Format the given log record and append the result to the given
+     * {@code StringBuilder}.
+     * <p>
+     * Handlers that reuse a {@code StringBuilder} across records call this
+     * method rather than {@link #format format}, so that a formatter that
+     * overrides it can avoid creating an intermediate string for each
+     * record.
+     *
+     * @implSpec
+     * This base class appends the result of {@code format(record)}.
+     *
+     * @param record the log record to be formatted.
+     * @param dest the {@code StringBuilder} to which to append
+     * @since 1.8
+     */
+    public void formatTo(LogRecord record, StringBuilder dest) {
+        dest.append(format(record));
+    }
+
+    // Returns false if format is known not to read the source class or
+    // method name of a record, so that callers need not infer them.
+    boolean usesCaller() {
+        return true;
+    }
+
 
     /**
      * Return the header string for a set of formatted records.
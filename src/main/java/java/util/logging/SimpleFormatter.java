@@ -28,7 +28,9 @@ package java.util.logging;
 
 import java.io.*;
 import java.text.*;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.Locale;
 import sun.util.logging.LoggingSupport;
 
 /**
@@ -52,6 +54,19 @@ import sun.util.logging.LoggingSupport;
  * is {@linkplain java.util.IllegalFormatException illegal},
  * the default format is implementation-specific.
  *
+ * @implNote
+ * The format string is parsed once.  Unless it uses a flag other than
+ * {@code '-'}, or a conversion other than {@code %n}, {@code %%},
+ * {@code %s} of the source, logger, level, message or thrown arguments,
+ * or {@code %t}/{@code %T} of the date with one of the suffixes
+ * {@code H I k l M S L p B b h A a C Y y j m d e T R r D F}, records are
+ * formatted directly into a reused {@code StringBuilder} rather than by
+ * {@code String.format}.  Date fields are then computed in the default
+ * time zone at the time the formatter was created.  The source class and
+ * method of a record are only obtained, and so only
+ * {@linkplain LogRecord#getSourceClassName inferred}, if the format
+ * string refers to the {@code source} argument.
+ *
  * @since 1.4
  * @see java.util.Formatter
  */
@@ -62,6 +77,27 @@ public class SimpleFormatter extends Formatter {
     private static final String format = LoggingSupport.getSimpleFormat();
     private final Date dat = new Date();
 
+    // format compiled to a sequence of specifiers, or null if it uses a
+    // conversion that is left to String.format
+    private static final Spec[] specs = compile(format);
+
+    // true if the format refers to the source argument
+    private static final boolean usesSource = usesSource(format, specs);
+
+    // the StringBuilder reused by format, and whether a call on this
+    // thread is using it; a parameter's toString may log through this
+    // formatter again, and that nested call must not clobber the buffer
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean bufferInUse;
+
+    // locale-sensitive state for date conversions, guarded by this
+    private Locale locale;
+    private Calendar calendar;
+    private char zero;
+    private String[] months, shortMonths, weekdays, shortWeekdays, ampm;
+    private String[] upperMonths, upperShortMonths, upperWeekdays,
+                     upperShortWeekdays, upperAmpm;
+
     /**
      * Format the given LogRecord.
      * <p>
@@ -138,10 +174,66 @@ public class SimpleFormatter extends Formatter {
      * @return a formatted log record
      */
     public synchronized String format(LogRecord record) {
+        if (specs == null) {
+            return formatAsString(record);
+        }
+        if (bufferInUse) {
+            StringBuilder sb = new StringBuilder();
+            append(record, sb);
+            return sb.toString();
+        }
+        StringBuilder sb = buffer;
+        sb.setLength(0);
+        bufferInUse = true;
+        try {
+            append(record, sb);
+            return sb.toString();
+        } finally {
+            bufferInUse = false;
+            if (sb.capacity() > MAX_BUFFER_CAPACITY) {
+                sb.setLength(0);
+                sb.trimToSize();
+            }
+        }
+    }
+
+    /**
+     * Format the given LogRecord and append the result to the given
+     * {@code StringBuilder}.
+     * <p>
+     * The record is formatted as by {@link #format format}, without
+     * creating an intermediate string if the format string allows.  If
+     * a subclass overrides {@code format}, this method appends the result
+     * of calling it.
+     *
+     * @param record the log record to be formatted.
+     * @param dest the {@code StringBuilder} to which to append
+     * @since 1.8
+     */
+    @Override
+    public void formatTo(LogRecord record, StringBuilder dest) {
+        if (specs == null || getClass() != SimpleFormatter.class) {
+            super.formatTo(record, dest);
+            return;
+        }
+        synchronized (this) {
+            append(record, dest);
+        }
+    }
+
+    @Override
+    boolean usesCaller() {
+        return usesSource || getClass() != SimpleFormatter.class;
+    }
+
+    // Formats a record by String.format, for format strings that do not
+    // compile.
+    private String formatAsString(LogRecord record) {
         dat.setTime(record.getMillis());
         String source;
-        if (record.getSourceClassName() != null) {
-            source = record.getSourceClassName();
+        String className = usesSource ? record.getSourceClassName() : null;
+        if (className != null) {
+            source = className;
             if (record.getSourceMethodName() != null) {
                source += " " + record.getSourceMethodName();
             }
@@ -149,21 +241,493 @@ public class SimpleFormatter extends Formatter {
             source = record.getLoggerName();
         }
         String message = formatMessage(record);
-        String throwable = "";
-        if (record.getThrown() != null) {
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            pw.println();
-            record.getThrown().printStackTrace(pw);
-            pw.close();
-            throwable = sw.toString();
-        }
         return String.format(format,
                              dat,
                              source,
                              record.getLoggerName(),
                              record.getLevel().getLocalizedLevelName(),
                              message,
-                             throwable);
+                             thrownString(record));
+    }
+
+    // Returns the thrown argument of a record.
+    private static String thrownString(LogRecord record) {
+        if (record.getThrown() == null) {
+            return "";
+        }
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        pw.println();
+        record.getThrown().printStackTrace(pw);
+        pw.close();
+        return sw.toString();
+    }
+
+    // Upper bound on the capacity of the buffer retained between records.
+    private static final int MAX_BUFFER_CAPACITY = 8192;
+
+    // Kinds of specifier.
+    private static final int LITERAL = 0;
+    private static final int STRING = 1;
+    private static final int DATE = 2;
+
+    // A compiled format specifier.  A STRING specifier appends argument
+    // arg, a DATE specifier the date/time conversion conv, a LITERAL
+    // specifier the text.
+    private static final class Spec {
+        final int kind;
+        final String text;
+        final int arg;
+        final char conv;
+        final boolean upper;
+        final boolean leftJustify;
+        final int width;
+        final int precision;
+
+        Spec(int kind, String text, int arg, char conv, boolean upper,
+             boolean leftJustify, int width, int precision) {
+            this.kind = kind;
+            this.text = text;
+            this.arg = arg;
+            this.conv = conv;
+            this.upper = upper;
+            this.leftJustify = leftJustify;
+            this.width = width;
+            this.precision = precision;
+        }
+
+        static Spec literal(String text) {
+            return new Spec(LITERAL, text, 0, '\0', false, false, -1, -1);
+        }
+
+        static Spec date(char conv, boolean upper) {
+            return new Spec(DATE, null, 1, conv, upper, false, -1, -1);
+        }
+    }
+
+    // Compiles a format string, which String.format accepts for the six
+    // arguments of format.  Returns null if the format uses a flag or
+    // conversion that is not supported.
+    private static Spec[] compile(String format) {
+        java.util.ArrayList<Spec> specs = new java.util.ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int ordinary = 0;
+        int len = format.length();
+        int i = 0;
+        while (i < len) {
+            char c = format.charAt(i++);
+            if (c != '%') {
+                text.append(c);
+                continue;
+            }
+            // %[argument_index$][flags][width][.precision]conversion
+            int arg = -1;
+            int j = i;
+            while (j < len && isDigit(format.charAt(j))) {
+                j++;
+            }
+            if (j > i && j < len && format.charAt(j) == '$') {
+                arg = Integer.parseInt(format.substring(i, j));
+                i = j + 1;
+            }
+            boolean leftJustify = false;
+            if (i < len && format.charAt(i) == '-') {
+                leftJustify = true;
+                i++;
+            }
+            if (i < len && "#+ 0,(<-".indexOf(format.charAt(i)) >= 0) {
+                return null;
+            }
+            int width = -1;
+            j = i;
+            while (j < len && isDigit(format.charAt(j))) {
+                j++;
+            }
+            if (j > i) {
+                width = Integer.parseInt(format.substring(i, j));
+                i = j;
+            }
+            int precision = -1;
+            if (i < len && format.charAt(i) == '.') {
+                j = ++i;
+                while (j < len && isDigit(format.charAt(j))) {
+                    j++;
+                }
+                if (j == i) {
+                    return null;
+                }
+                precision = Integer.parseInt(format.substring(i, j));
+                i = j;
+            }
+            if (i >= len) {
+                return null;
+            }
+            char conv = format.charAt(i++);
+            boolean plain = arg < 0 && !leftJustify && width < 0 && precision < 0;
+            if (conv == '%' && plain) {
+                text.append('%');
+                continue;
+            }
+            if (conv == 'n' && plain) {
+                text.append(System.lineSeparator());
+                continue;
+            }
+            if (conv == 's') {
+                if (arg < 0) {
+                    arg = ++ordinary;
+                }
+                if (arg < 2 || arg > 6) {
+                    return null;
+                }
+                if (text.length() > 0) {
+                    specs.add(Spec.literal(text.toString()));
+                    text.setLength(0);
+                }
+                specs.add(new Spec(STRING, null, arg, conv, false,
+                                   leftJustify, width, precision));
+                continue;
+            }
+            if ((conv == 't' || conv == 'T') && i < len
+                    && !leftJustify && width < 0 && precision < 0) {
+                if (arg < 0) {
+                    arg = ++ordinary;
+                }
+                char field = format.charAt(i++);
+                if (arg != 1 || "HIklMSLpBbhAaCYyjmdeTRrDF".indexOf(field) < 0) {
+                    return null;
+                }
+                if (text.length() > 0) {
+                    specs.add(Spec.literal(text.toString()));
+                    text.setLength(0);
+                }
+                addDate(specs, field, conv == 'T');
+                continue;
+            }
+            return null;
+        }
+        if (text.length() > 0) {
+            specs.add(Spec.literal(text.toString()));
+        }
+        return specs.toArray(new Spec[specs.size()]);
+    }
+
+    // Adds the specifiers of a date/time conversion, expanding the
+    // composite conversions.
+    private static void addDate(java.util.List<Spec> specs, char field,
+                                boolean upper) {
+        switch (field) {
+            case 'T':
+                addDate(specs, 'H', upper);
+                specs.add(Spec.literal(":"));
+                addDate(specs, 'M', upper);
+                specs.add(Spec.literal(":"));
+                addDate(specs, 'S', upper);
+                break;
+            case 'R':
+                addDate(specs, 'H', upper);
+                specs.add(Spec.literal(":"));
+                addDate(specs, 'M', upper);
+                break;
+            case 'r':
+                addDate(specs, 'I', upper);
+                specs.add(Spec.literal(":"));
+                addDate(specs, 'M', upper);
+                specs.add(Spec.literal(":"));
+                addDate(specs, 'S', upper);
+                specs.add(Spec.literal(" "));
+                addDate(specs, 'p', true);
+                break;
+            case 'D':
+                addDate(specs, 'm', upper);
+                specs.add(Spec.literal("/"));
+                addDate(specs, 'd', upper);
+                specs.add(Spec.literal("/"));
+                addDate(specs, 'y', upper);
+                break;
+            case 'F':
+                addDate(specs, 'Y', upper);
+                specs.add(Spec.literal("-"));
+                addDate(specs, 'm', upper);
+                specs.add(Spec.literal("-"));
+                addDate(specs, 'd', upper);
+                break;
+            default:
+                specs.add(Spec.date(field, upper));
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Returns true if the format may refer to the source argument.
+    private static boolean usesSource(String format, Spec[] specs) {
+        if (specs == null) {
+            return true;
+        }
+        for (Spec spec : specs) {
+            if (spec.kind == STRING && spec.arg == 2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Appends a record formatted by the compiled format.  Called with
+    // the lock held.
+    private void append(LogRecord record, StringBuilder sb) {
+        for (Spec spec : specs) {
+            switch (spec.kind) {
+                case LITERAL:
+                    sb.append(spec.text);
+                    break;
+                case STRING:
+                    int start = sb.length();
+                    appendArgument(record, spec.arg, sb);
+                    justify(sb, start, spec);
+                    break;
+                default:
+                    appendDate(record.getMillis(), spec, sb);
+            }
+        }
+    }
+
+    // Appends argument arg of format for a record.
+    private void appendArgument(LogRecord record, int arg, StringBuilder sb) {
+        switch (arg) {
+            case 2:
+                String className = record.getSourceClassName();
+                if (className != null) {
+                    sb.append(className);
+                    String methodName = record.getSourceMethodName();
+                    if (methodName != null) {
+                        sb.append(' ').append(methodName);
+                    }
+                } else {
+                    sb.append(record.getLoggerName());
+                }
+                break;
+            case 3:
+                sb.append(record.getLoggerName());
+                break;
+            case 4:
+                sb.append(record.getLevel().getLocalizedLevelName());
+                break;
+            case 5:
+                appendMessage(record, sb);
+                break;
+            default:
+                sb.append(thrownString(record));
+        }
+    }
+
+    // Applies the precision and width of a STRING specifier to the text
+    // appended from start.
+    private static void justify(StringBuilder sb, int start, Spec spec) {
+        if (spec.precision >= 0 && sb.length() - start > spec.precision) {
+            sb.setLength(start + spec.precision);
+        }
+        int pad = spec.width - (sb.length() - start);
+        if (pad > 0) {
+            if (spec.leftJustify) {
+                while (pad-- > 0) {
+                    sb.append(' ');
+                }
+            } else {
+                sb.insert(start, ' ');
+                while (--pad > 0) {
+                    sb.insert(start, ' ');
+                }
+            }
+        }
+    }
+
+    // Appends the message of a record as formatMessage would return it.
+    // Messages whose parameters are all strings substituted by simple
+    // "{n}" elements are formatted without MessageFormat.
+    private void appendMessage(LogRecord record, StringBuilder sb) {
+        Object[] parameters = record.getParameters();
+        if (record.getResourceBundle() != null || parameters == null
+                || parameters.length == 0 || getClass() != SimpleFormatter.class) {
+            sb.append(formatMessage(record));
+            return;
+        }
+        String message = record.getMessage();
+        int start = sb.length();
+        if (!appendSimpleMessage(message, parameters, sb)) {
+            sb.setLength(start);
+            sb.append(formatMessage(record));
+        }
+    }
+
+    // Appends a message with its "{n}" elements replaced by string
+    // parameters.  Returns false, leaving partial output, if the message
+    // needs MessageFormat.
+    private static boolean appendSimpleMessage(String message,
+                                               Object[] parameters,
+                                               StringBuilder sb) {
+        if (message == null) {
+            sb.append(message);
+            return true;
+        }
+        // formatMessage only uses MessageFormat for one of the first
+        // four parameters
+        if (message.indexOf("{0") < 0 && message.indexOf("{1") < 0 &&
+                message.indexOf("{2") < 0 && message.indexOf("{3") < 0) {
+            sb.append(message);
+            return true;
+        }
+        int len = message.length();
+        int i = 0;
+        while (i < len) {
+            char c = message.charAt(i++);
+            if (c == '\'') {
+                return false;
+            }
+            if (c != '{') {
+                sb.append(c);
+                continue;
+            }
+            int j = i;
+            int index = 0;
+            while (j < len && isDigit(message.charAt(j)) && index < 1000) {
+                index = index * 10 + message.charAt(j++) - '0';
+            }
+            if (j == i || j >= len || message.charAt(j) != '}') {
+                return false;
+            }
+            if (index >= parameters.length) {
+                sb.append('{').append(index).append('}');
+            } else {
+                Object p = parameters[index];
+                if (p != null && !(p instanceof String)) {
+                    return false;
+                }
+                sb.append((String) p);
+            }
+            i = j + 1;
+        }
+        return true;
+    }
+
+    // Appends a date/time conversion of the given time.
+    private void appendDate(long millis, Spec spec, StringBuilder sb) {
+        Calendar c = calendar(millis);
+        switch (spec.conv) {
+            case 'H':
+                appendNumber(c.get(Calendar.HOUR_OF_DAY), 2, sb);
+                break;
+            case 'I':
+            case 'l':
+                int hour = c.get(Calendar.HOUR);
+                appendNumber(hour == 0 ? 12 : hour, spec.conv == 'I' ? 2 : 0, sb);
+                break;
+            case 'k':
+                appendNumber(c.get(Calendar.HOUR_OF_DAY), 0, sb);
+                break;
+            case 'M':
+                appendNumber(c.get(Calendar.MINUTE), 2, sb);
+                break;
+            case 'S':
+                appendNumber(c.get(Calendar.SECOND), 2, sb);
+                break;
+            case 'L':
+                appendNumber(c.get(Calendar.MILLISECOND), 3, sb);
+                break;
+            case 'p':
+                sb.append((spec.upper ? upperAmpm : ampm)[c.get(Calendar.AM_PM)]);
+                break;
+            case 'B':
+                sb.append((spec.upper ? upperMonths : months)[c.get(Calendar.MONTH)]);
+                break;
+            case 'b':
+            case 'h':
+                sb.append((spec.upper ? upperShortMonths : shortMonths)[c.get(Calendar.MONTH)]);
+                break;
+            case 'A':
+                sb.append((spec.upper ? upperWeekdays : weekdays)[c.get(Calendar.DAY_OF_WEEK)]);
+                break;
+            case 'a':
+                sb.append((spec.upper ? upperShortWeekdays : shortWeekdays)[c.get(Calendar.DAY_OF_WEEK)]);
+                break;
+            case 'C':
+                appendNumber(c.get(Calendar.YEAR) / 100, 2, sb);
+                break;
+            case 'Y':
+                appendNumber(c.get(Calendar.YEAR), 4, sb);
+                break;
+            case 'y':
+                appendNumber(c.get(Calendar.YEAR) % 100, 2, sb);
+                break;
+            case 'j':
+                appendNumber(c.get(Calendar.DAY_OF_YEAR), 3, sb);
+                break;
+            case 'm':
+                appendNumber(c.get(Calendar.MONTH) + 1, 2, sb);
+                break;
+            case 'd':
+                appendNumber(c.get(Calendar.DATE), 2, sb);
+                break;
+            default: // 'e'
+                appendNumber(c.get(Calendar.DATE), 0, sb);
+        }
+    }
+
+    // Appends a non-negative number with the locale's digits, padded
+    // with zeros to the given width.
+    private void appendNumber(int value, int width, StringBuilder sb) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            sb.append(zero);
+        }
+        int start = sb.length();
+        sb.setLength(start + digits);
+        int offset = zero - '0';
+        for (int i = start + digits - 1; i >= start; i--) {
+            sb.setCharAt(i, (char) ('0' + offset + value % 10));
+            value /= 10;
+        }
+    }
+
+    // Returns the calendar set to the given time, first creating the
+    // locale-sensitive state if the default format locale has changed.
+    private Calendar calendar(long millis) {
+        Locale l = Locale.getDefault(Locale.Category.FORMAT);
+        if (l != locale) {
+            calendar = Calendar.getInstance(l);
+            zero = l.equals(Locale.US) ? '0'
+                    : DecimalFormatSymbols.getInstance(l).getZeroDigit();
+            DateFormatSymbols dfs = DateFormatSymbols.getInstance(l);
+            months = dfs.getMonths();
+            shortMonths = dfs.getShortMonths();
+            weekdays = dfs.getWeekdays();
+            shortWeekdays = dfs.getShortWeekdays();
+            ampm = l.equals(Locale.US) ? new String[] {"AM", "PM"}
+                    : dfs.getAmPmStrings();
+            for (int i = 0; i < ampm.length; i++) {
+                ampm[i] = ampm[i].toLowerCase(l);
+            }
+            upperMonths = toUpperCase(months, l);
+            upperShortMonths = toUpperCase(shortMonths, l);
+            upperWeekdays = toUpperCase(weekdays, l);
+            upperShortWeekdays = toUpperCase(shortWeekdays, l);
+            upperAmpm = toUpperCase(ampm, l);
+            locale = l;
+            calendar.setTimeInMillis(millis);
+        } else if (calendar.getTimeInMillis() != millis) {
+            calendar.setTimeInMillis(millis);
+        }
+        return calendar;
+    }
+
+    private static String[] toUpperCase(String[] names, Locale l) {
+        String[] upper = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            upper[i] = names[i].toUpperCase(l);
+        }
+        return upper;
     }
 }
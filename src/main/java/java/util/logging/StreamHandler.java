@@ -77,6 +77,19 @@ public class StreamHandler extends Handler {
     private boolean doneHeader;
     private volatile Writer writer;
 
+    // Upper bound on the capacity of the buffers retained between records.
+    private static final int MAX_BUFFER_CAPACITY = 8192;
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
+    // Buffers into which records are formatted and copied by publish,
+    // guarded by this.
+    private StringBuilder buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+    private char[] chars = new char[INITIAL_BUFFER_CAPACITY];
+    // True while publish is using the buffers. A record published by
+    // the same thread while formatting another, for instance from the
+    // toString method of a parameter, is given buffers of its own.
+    private boolean buffersInUse;
+
     // Private method to configure a StreamHandler from LogManager
     // properties and/or default values as specified in the class
     // javadoc.
@@ -206,22 +219,65 @@ public class StreamHandler extends Handler {
         if (!isLoggable(record)) {
             return;
         }
-        String msg;
+        if (buffersInUse) {
+            // re-entered while formatting another record
+            StringBuilder msg = new StringBuilder();
+            if (format(record, msg)) {
+                write(msg.toString());
+            }
+            return;
+        }
+
+        StringBuilder msg = buffer;
+        msg.setLength(0);
+        buffersInUse = true;
+        try {
+            if (!format(record, msg)) {
+                return;
+            }
+            // Copy the message through a reused array rather than
+            // creating a string for it.
+            int len = msg.length();
+            if (chars.length < len) {
+                chars = new char[Math.max(len, chars.length * 2)];
+            }
+            msg.getChars(0, len, chars, 0);
+            write(chars, len);
+        } finally {
+            buffersInUse = false;
+            if (msg.capacity() > MAX_BUFFER_CAPACITY) {
+                buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+                chars = new char[INITIAL_BUFFER_CAPACITY];
+            }
+        }
+    }
+
+    // Formats a record into dest, returning false after reporting a
+    // failure to the ErrorManager.
+    private boolean format(LogRecord record, StringBuilder dest) {
         try {
-            msg = getFormatter().format(record);
+            getFormatter().formatTo(record, dest);
+            return true;
         } catch (Exception ex) {
             // We don't want to throw an exception here, but we
             // report the exception to any registered ErrorManager.
             reportError(null, ex, ErrorManager.FORMAT_FAILURE);
-            return;
+            return false;
         }
+    }
+
+    private void write(String msg) {
+        write(msg.toCharArray(), msg.length());
+    }
 
+    // Writes the head if needed, then the first len chars of msg.
+    private void write(char[] msg, int len) {
         try {
             if (!doneHeader) {
                 writer.write(getFormatter().getHead(this));
                 doneHeader = true;
             }
-            writer.write(msg);
+            writer.write(msg, 0, len);
         } catch (Exception ex) {
             // We don't want to throw an exception here, but we
             // report the exception to any registered ErrorManager.
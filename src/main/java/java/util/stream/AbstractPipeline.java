@@ -24,9 +24,14 @@
  */
 package java.util.stream;
 
+import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 
 /**
@@ -148,6 +153,12 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     private boolean parallel;
 
+    /**
+     * The profile of the evaluation in progress, if profiling is enabled;
+     * only valid for the source stage.
+     */
+    private StreamProfile profile;
+
     /**
      * Constructor for the head of a stream pipeline.
      *
@@ -229,9 +240,40 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
-        return isParallel()
-               ? terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags()))
-               : terminalOp.evaluateSequential(this, sourceSpliterator(terminalOp.getOpFlags()));
+        if (StreamProfile.ENABLED)
+            startProfile(terminalOp);
+        try {
+            return isParallel()
+                   ? terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags()))
+                   : terminalOp.evaluateSequential(this, sourceSpliterator(terminalOp.getOpFlags()));
+        }
+        finally {
+            if (StreamProfile.ENABLED)
+                StreamProfile.complete(sourceStage.profile);
+        }
+    }
+
+    /**
+     * Starts profiling the evaluation of this pipeline.
+     *
+     * @param terminalOp the terminal operation, or {@code null} for toArray
+     */
+    private void startProfile(TerminalOp<E_OUT, ?> terminalOp) {
+        int n = 0;
+        for (AbstractPipeline<?, ?, ?> p = this; p.previousStage != null; p = p.previousStage)
+            n++;
+        AbstractPipeline<?, ?, ?>[] stages = new AbstractPipeline<?, ?, ?>[n];
+        for (AbstractPipeline<?, ?, ?> p = this; p.previousStage != null; p = p.previousStage)
+            stages[--n] = p;
+        sourceStage.profile = StreamProfile.start(stages, terminalOp, isParallel());
+    }
+
+    /**
+     * Returns the profile of the evaluation in progress, or {@code null} if
+     * it is not profiled.
+     */
+    final StreamProfile profile() {
+        return sourceStage.profile;
     }
 
     /**
@@ -246,18 +288,26 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
-        // If the last intermediate operation is stateful then
-        // evaluate directly to avoid an extra collection step
-        if (isParallel() && previousStage != null && opIsStateful()) {
-            // Set the depth of this, last, pipeline stage to zero to slice the
-            // pipeline such that this operation will not be included in the
-            // upstream slice and upstream operations will not be included
-            // in this slice
-            depth = 0;
-            return opEvaluateParallel(previousStage, previousStage.sourceSpliterator(0), generator);
+        if (StreamProfile.ENABLED)
+            startProfile(null);
+        try {
+            // If the last intermediate operation is stateful then
+            // evaluate directly to avoid an extra collection step
+            if (isParallel() && previousStage != null && opIsStateful()) {
+                // Set the depth of this, last, pipeline stage to zero to slice the
+                // pipeline such that this operation will not be included in the
+                // upstream slice and upstream operations will not be included
+                // in this slice
+                depth = 0;
+                return opEvaluateParallel(previousStage, previousStage.sourceSpliterator(0), generator);
+            }
+            else {
+                return evaluate(sourceSpliterator(0), true, generator);
+            }
         }
-        else {
-            return evaluate(sourceSpliterator(0), true, generator);
+        finally {
+            if (StreamProfile.ENABLED)
+                StreamProfile.complete(sourceStage.profile);
         }
     }
 
@@ -477,8 +527,9 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         Objects.requireNonNull(wrappedSink);
 
         if (!StreamOpFlag.SHORT_CIRCUIT.isKnown(getStreamAndOpFlags())) {
-            wrappedSink.begin(spliterator.getExactSizeIfKnown());
-            spliterator.forEachRemaining(wrappedSink);
+            long size = spliterator.getExactSizeIfKnown();
+            wrappedSink.begin(size);
+            forEachBatched(spliterator, wrappedSink, size);
             wrappedSink.end();
         }
         else {
@@ -486,6 +537,72 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         }
     }
 
+    /**
+     * Classes of the primitive spliterators that produce their elements
+     * without running behavioral parameters, so that collecting a batch
+     * of elements ahead of the sink cannot be observed.
+     */
+    private static final Class<?> INT_ARRAY_SPLITERATOR
+            = Spliterators.spliterator(new int[0], 0).getClass();
+    private static final Class<?> LONG_ARRAY_SPLITERATOR
+            = Spliterators.spliterator(new long[0], 0).getClass();
+    private static final Class<?> DOUBLE_ARRAY_SPLITERATOR
+            = Spliterators.spliterator(new double[0], 0).getClass();
+
+    /**
+     * Returns whether the elements of the given spliterator may be
+     * collected into batches before the given sink sees any of them: the
+     * spliterator must be over an array or a range, or the sink must be
+     * {@linkplain Sink#isSideEffectFree() side-effect free}.
+     */
+    private static boolean batchable(Spliterator<?> spliterator, Sink<?> sink) {
+        Class<?> c = spliterator.getClass();
+        return c == INT_ARRAY_SPLITERATOR || c == LONG_ARRAY_SPLITERATOR
+               || c == DOUBLE_ARRAY_SPLITERATOR
+               || c == Streams.RangeIntSpliterator.class
+               || c == Streams.RangeLongSpliterator.class
+               || sink.isSideEffectFree();
+    }
+
+    /**
+     * Pushes the remaining elements of a spliterator into a sink, without
+     * checking for cancellation.  Primitive values are pushed in batches
+     * through the sink's {@code acceptBatch} method, so that stages and
+     * terminal operations that process a batch in one loop can do so, if
+     * the spliterator and sink are {@linkplain #batchable batchable}.
+     *
+     * @param spliterator the source of the elements
+     * @param sink the sink to receive the elements
+     * @param size the exact number of elements, if known, or {@code -1}
+     */
+    private static <P_IN> void forEachBatched(Spliterator<P_IN> spliterator,
+                                              Sink<P_IN> sink, long size) {
+        if (size == 0 || !batchable(spliterator, sink)) {
+            spliterator.forEachRemaining(sink);
+        }
+        else if (sink instanceof Sink.OfInt
+            && spliterator instanceof Spliterator.OfInt) {
+            Sink.BatchingInt b = new Sink.BatchingInt(sink, size);
+            ((Spliterator.OfInt) spliterator).forEachRemaining((IntConsumer) b);
+            b.flush();
+        }
+        else if (sink instanceof Sink.OfLong
+                 && spliterator instanceof Spliterator.OfLong) {
+            Sink.BatchingLong b = new Sink.BatchingLong(sink, size);
+            ((Spliterator.OfLong) spliterator).forEachRemaining((LongConsumer) b);
+            b.flush();
+        }
+        else if (sink instanceof Sink.OfDouble
+                 && spliterator instanceof Spliterator.OfDouble) {
+            Sink.BatchingDouble b = new Sink.BatchingDouble(sink, size);
+            ((Spliterator.OfDouble) spliterator).forEachRemaining((DoubleConsumer) b);
+            b.flush();
+        }
+        else {
+            spliterator.forEachRemaining(sink);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> void copyIntoWithCancel(Sink<P_IN> wrappedSink, Spliterator<P_IN> spliterator) {
@@ -513,12 +630,46 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     final <P_IN> Sink<P_IN> wrapSink(Sink<E_OUT> sink) {
         Objects.requireNonNull(sink);
 
+        StreamProfile profile = StreamProfile.ENABLED ? sourceStage.profile : null;
+        if (profile != null)
+            return wrapProfiledSink(profile, sink);
         for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
+            FusedOps.Step step = FusedOps.ENABLED ? p.opFusionStep() : null;
+            if (step != null) {
+                // Collect the run of fusible stages of one shape ending at p
+                ArrayList<FusedOps.Step> run = new ArrayList<>();
+                run.add(step);
+                for (FusedOps.Step s; p.previousStage.depth > 0
+                                      && (s = p.previousStage.opFusionStep()) != null
+                                      && s.shape == step.shape
+                                      && run.size() < FusedOps.MAX_RUN; p = p.previousStage)
+                    run.add(s);
+                if (run.size() > 1) {
+                    sink = FusedOps.wrap(run, sink);
+                    continue;
+                }
+            }
             sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
         }
         return (Sink<P_IN>) sink;
     }
 
+    /**
+     * Like {@link #wrapSink(Sink)}, but wraps the sink of each stage, and
+     * the given sink, so as to record the elements entering it and the time
+     * spent in it.  Stages are not fused, so that each is recorded
+     * separately.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <P_IN> Sink<P_IN> wrapProfiledSink(StreamProfile profile, Sink<E_OUT> sink) {
+        Sink s = profile.record(nextStage, getOutputShape(), sink);
+        for (AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
+            s = p.opWrapSink(p.previousStage.combinedFlags, s);
+            s = profile.record(p, p.previousStage.getOutputShape(), s);
+        }
+        return (Sink<P_IN>) s;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> Spliterator<E_OUT> wrapSpliterator(Spliterator<P_IN> sourceSpliterator) {
@@ -657,6 +808,22 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract Sink<E_IN> opWrapSink(int flags, Sink<E_OUT> sink);
 
+    /**
+     * Returns a description of the per-element work of this operation if
+     * it is stateless, ignores the flags passed to
+     * {@link #opWrapSink(int, Sink)}, and transforms each element into at
+     * most one element of the same shape, so that it may be fused with
+     * adjacent such operations into a single sink.
+     *
+     * @implSpec The default implementation returns {@code null}, indicating
+     * that the operation is not fusible.
+     *
+     * @return the fusion step for this operation, or {@code null}
+     */
+    FusedOps.Step opFusionStep() {
+        return null;
+    }
+
     /**
      * Performs a parallel evaluation of the operation using the specified
      * {@code PipelineHelper} which describes the upstream intermediate
@@ -294,7 +294,10 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         long sizeThreshold = getTargetSize(sizeEstimate);
         boolean forkRight = false;
         @SuppressWarnings("unchecked") K task = (K) this;
+        StreamProfile profile = StreamProfile.ENABLED ? StreamProfile.of(helper) : null;
         while (sizeEstimate > sizeThreshold && (ls = rs.trySplit()) != null) {
+            if (profile != null)
+                profile.split();
             K leftChild, rightChild, taskToFork;
             task.leftChild  = leftChild = task.makeChild(ls);
             task.rightChild = rightChild = task.makeChild(rs);
@@ -313,6 +316,8 @@ abstract class AbstractTask<P_IN, P_OUT, R,
             taskToFork.fork();
             sizeEstimate = rs.estimateSize();
         }
+        if (profile != null)
+            profile.leaf(sizeEstimate);
         task.setLocalResult(task.doLeaf());
         task.tryComplete();
     }
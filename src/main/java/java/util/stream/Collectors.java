@@ -40,9 +40,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -1091,6 +1094,303 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Returns a concurrent {@code Collector} implementing a cascaded "group
+     * by" operation on input elements of type {@code T}, like
+     * {@link #groupingByConcurrent(Function, Collector)}, that accumulates
+     * the groups of each thread separately and merges them when the
+     * reduction completes.
+     *
+     * <p>Each worker thread of a parallel pipeline groups elements into a
+     * {@code Map} of its own, with its own downstream containers, so that
+     * threads do not contend for the entries of hot keys, nor for a shared
+     * downstream container.  When the reduction completes, the partial
+     * results for each key are combined with the downstream collector's
+     * combiner and the downstream finisher is applied.  This is preferable
+     * to {@code groupingByConcurrent} when there are few distinct keys
+     * relative to the number of elements.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.  There
+     * are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param downstream a {@code Collector} implementing the downstream reduction
+     * @return a concurrent, unordered {@code Collector} implementing the cascaded group-by operation
+     *
+     * @see #groupingByConcurrent(Function, Collector)
+     * @see #countingBy(Function)
+     * @see #summingLongBy(Function, ToLongFunction)
+     * @since 1.8
+     */
+    public static <T, K, A, D>
+    Collector<T, ?, Map<K, D>> groupingByStriped(Function<? super T, ? extends K> classifier,
+                                                 Collector<? super T, A, D> downstream) {
+        Objects.requireNonNull(classifier);
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Supplier<StripedGroups<T, K, A>> supplier
+                = () -> new StripedGroups<>(classifier, downstreamSupplier, downstreamAccumulator);
+        BinaryOperator<StripedGroups<T, K, A>> merger = (l, r) -> l.addAll(r, downstreamCombiner);
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            @SuppressWarnings("unchecked")
+            Function<StripedGroups<T, K, A>, Map<K, D>> finisher
+                    = g -> (Map<K, D>) g.merge(downstreamCombiner);
+            return new CollectorImpl<>(supplier, StripedGroups::accept, merger, finisher, CH_CONCURRENT_NOID);
+        }
+        else {
+            @SuppressWarnings("unchecked")
+            Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+            Function<StripedGroups<T, K, A>, Map<K, D>> finisher = g -> {
+                Map<K, A> intermediate = g.merge(downstreamCombiner);
+                intermediate.replaceAll((k, v) -> downstreamFinisher.apply(v));
+                @SuppressWarnings("unchecked")
+                Map<K, D> castResult = (Map<K, D>) intermediate;
+                return castResult;
+            };
+            return new CollectorImpl<>(supplier, StripedGroups::accept, merger, finisher, CH_CONCURRENT_NOID);
+        }
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that counts the input elements
+     * of each group, like
+     * {@code groupingByStriped(classifier, counting())}, but that counts in
+     * primitive {@code long} cells, rather than through a general downstream
+     * collector.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.  There
+     * are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @return a concurrent, unordered {@code Collector} counting the input
+     * elements of each group
+     *
+     * @see #groupingByStriped(Function, Collector)
+     * @since 1.8
+     */
+    public static <T, K>
+    Collector<T, ?, Map<K, Long>> countingBy(Function<? super T, ? extends K> classifier) {
+        return stripedLongReduction(classifier, (a, t) -> { a[0]++; });
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that sums a long-valued
+     * function of the input elements of each group, like
+     * {@code groupingByStriped(classifier, summingLong(mapper))}, but that
+     * sums in primitive {@code long} cells, rather than through a general
+     * downstream collector.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.  There
+     * are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a concurrent, unordered {@code Collector} summing the property
+     * over the input elements of each group
+     *
+     * @see #groupingByStriped(Function, Collector)
+     * @since 1.8
+     */
+    public static <T, K>
+    Collector<T, ?, Map<K, Long>> summingLongBy(Function<? super T, ? extends K> classifier,
+                                                ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper);
+        return stripedLongReduction(classifier, (a, t) -> { a[0] += mapper.applyAsLong(t); });
+    }
+
+    private static <T, K>
+    Collector<T, ?, Map<K, Long>> stripedLongReduction(Function<? super T, ? extends K> classifier,
+                                                       BiConsumer<long[], ? super T> accumulator) {
+        Objects.requireNonNull(classifier);
+        BinaryOperator<long[]> combiner = (a, b) -> { a[0] += b[0]; return a; };
+        return new CollectorImpl<T, StripedGroups<T, K, long[]>, Map<K, Long>>(
+                () -> new StripedGroups<>(classifier, () -> new long[1], accumulator),
+                StripedGroups::accept,
+                (l, r) -> l.addAll(r, combiner),
+                g -> {
+                    Map<K, long[]> sums = g.merge(combiner);
+                    Map<K, Long> result = new HashMap<>(Math.max((int) (sums.size() / .75f) + 1, 16));
+                    for (Map.Entry<K, long[]> e : sums.entrySet())
+                        result.put(e.getKey(), e.getValue()[0]);
+                    return result;
+                },
+                CH_CONCURRENT_NOID);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates the input elements into a
+     * buffer that keeps at most {@code maxInMemory} elements in memory and
+     * writes the rest to temporary files, and that results in a
+     * {@code Stream} of the elements in encounter order.  The elements are
+     * read back lazily as the resulting stream is traversed.
+     *
+     * <p>This can be used to buffer the elements of a pipeline whose size
+     * exceeds the memory available to it.  The temporary files are deleted
+     * once they have been read, or when the resulting stream is closed;
+     * a resulting stream that is not fully traversed should therefore be
+     * closed, for example with a try-with-resources statement.
+     *
+     * @apiNote
+     * The elements are written with {@link java.io.ObjectOutputStream}, and
+     * must therefore be {@link java.io.Serializable}.  Any
+     * {@code IOException} thrown while writing or reading a temporary file
+     * is wrapped in an {@link java.io.UncheckedIOException}.
+     *
+     * @param <T> the type of the input elements
+     * @param maxInMemory the maximum number of elements kept in memory by
+     *                    each accumulation
+     * @return a {@code Collector} which collects all the input elements into
+     * a {@code Stream}, in encounter order
+     * @throws IllegalArgumentException if {@code maxInMemory} is not positive
+     * @since 1.8
+     */
+    public static <T>
+    Collector<T, ?, Stream<T>> spillingToStream(int maxInMemory) {
+        return spillingCollector(null, maxInMemory);
+    }
+
+    /**
+     * Returns a {@code Collector} that sorts the input elements according to
+     * a {@code Comparator}, spilling sorted runs of at most
+     * {@code maxInMemory} elements to temporary files, and that results in
+     * a {@code Stream} of the sorted elements.  The runs are merged lazily
+     * as the resulting stream is traversed; this sort is stable, so that
+     * equal elements appear in encounter order.
+     *
+     * <p>This is the external counterpart of {@link Stream#sorted(Comparator)},
+     * for pipelines whose size exceeds the memory available to them.  The
+     * temporary files are deleted once they have been read, or when the
+     * resulting stream is closed.
+     *
+     * @apiNote
+     * The elements are written with {@link java.io.ObjectOutputStream}, and
+     * must therefore be {@link java.io.Serializable}.  Any
+     * {@code IOException} thrown while writing or reading a temporary file
+     * is wrapped in an {@link java.io.UncheckedIOException}.
+     *
+     * @param <T> the type of the input elements
+     * @param comparator a {@code Comparator} for comparing elements
+     * @param maxInMemory the maximum number of elements kept in memory by
+     *                    each accumulation
+     * @return a {@code Collector} which collects all the input elements into
+     * a sorted {@code Stream}
+     * @throws IllegalArgumentException if {@code maxInMemory} is not positive
+     * @see #spillingToStream(int)
+     * @since 1.8
+     */
+    public static <T>
+    Collector<T, ?, Stream<T>> spillingSorted(Comparator<? super T> comparator,
+                                              int maxInMemory) {
+        return spillingCollector(Objects.requireNonNull(comparator), maxInMemory);
+    }
+
+    private static <T>
+    Collector<T, ?, Stream<T>> spillingCollector(Comparator<? super T> comparator,
+                                                 int maxInMemory) {
+        if (maxInMemory <= 0)
+            throw new IllegalArgumentException("maxInMemory: " + maxInMemory);
+        return new CollectorImpl<T, SpillingBuffer<T>, Stream<T>>(
+                () -> new SpillingBuffer<>(comparator, maxInMemory),
+                SpillingBuffer::accept,
+                SpillingBuffer::addAll,
+                SpillingBuffer::stream,
+                CH_NOID);
+    }
+
+    /**
+     * Returns a {@code Collector} implementing a cascaded "group by"
+     * operation on input elements of type {@code T}, like
+     * {@link #groupingBy(Function, Collector)}, that keeps at most
+     * {@code maxInMemory} groups in memory, and that results in a
+     * {@code Stream} of the groups sorted by key.
+     *
+     * <p>Groups are accumulated in a hash table.  Whenever it holds
+     * {@code maxInMemory} groups, its entries are sorted by key and written,
+     * with their partial results, to a temporary file, and accumulation
+     * continues with an empty table.  When all elements have been
+     * accumulated, the sorted files are merged lazily as the resulting
+     * stream is traversed, partial results for the same key are combined
+     * with the downstream collector's combiner, in encounter order, and the
+     * downstream finisher is applied.  Memory use is thus bounded by the
+     * number of groups in memory, rather than by the number of distinct
+     * keys.  The temporary files are deleted once they have been read, or
+     * when the resulting stream is closed.
+     *
+     * @apiNote
+     * The keys and the intermediate accumulation type of the downstream
+     * collector are written with {@link java.io.ObjectOutputStream}, and must
+     * therefore be {@link java.io.Serializable}; the accumulation types of
+     * the collectors returned by this class generally are.  Keys that
+     * compare as equal by {@code keyComparator} are treated as the same key,
+     * and the first of them encountered is the key of the resulting entry.
+     * Any {@code IOException} thrown while writing or reading a temporary
+     * file is wrapped in an {@link java.io.UncheckedIOException}.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param keyComparator a {@code Comparator} for comparing keys, consistent
+     *                      with {@code equals}
+     * @param downstream a {@code Collector} implementing the downstream reduction
+     * @param maxInMemory the maximum number of groups kept in memory by each
+     *                    accumulation
+     * @return a {@code Collector} implementing the cascaded group-by operation,
+     * whose result is a {@code Stream} of entries sorted by key
+     * @throws IllegalArgumentException if {@code maxInMemory} is not positive
+     *
+     * @see #groupingBy(Function, Collector)
+     * @since 1.8
+     */
+    public static <T, K, A, D>
+    Collector<T, ?, Stream<Map.Entry<K, D>>> spillingGroupingBy(Function<? super T, ? extends K> classifier,
+                                                              Comparator<? super K> keyComparator,
+                                                              Collector<? super T, A, D> downstream,
+                                                              int maxInMemory) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(keyComparator);
+        if (maxInMemory <= 0)
+            throw new IllegalArgumentException("maxInMemory: " + maxInMemory);
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, D> downstreamFinisher = downstream.finisher();
+        BiConsumer<SpillingGroups<K, A>, T> accumulator = (g, t) -> {
+            try {
+                K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+                A container = g.groups.computeIfAbsent(key, k -> downstreamSupplier.get());
+                downstreamAccumulator.accept(container, t);
+                g.spillIfFull();
+            }
+            catch (Throwable ex) {
+                g.spilled.abort(ex);
+                throw ex;
+            }
+        };
+        return new CollectorImpl<T, SpillingGroups<K, A>, Stream<Map.Entry<K, D>>>(
+                () -> new SpillingGroups<>(keyComparator, maxInMemory),
+                accumulator,
+                (l, r) -> l.addAll(r, downstreamCombiner),
+                g -> g.stream(downstreamCombiner, downstreamFinisher),
+                CH_NOID);
+    }
+
     /**
      * Returns a {@code Collector} which partitions the input elements according
      * to a {@code Predicate}, and organizes them into a
@@ -1565,4 +1865,116 @@ public final class Collectors {
             };
         }
     }
+
+    /**
+     * Implementation class used by spillingGroupingBy.  Groups are
+     * accumulated in {@code groups} until it is full, and then moved, as
+     * entries of key and intermediate result, to a buffer that keeps them
+     * sorted by key and spills them to temporary files.  Every group in the
+     * buffer was accumulated before those in {@code groups}.
+     */
+    private static final class SpillingGroups<K, A> {
+        final int maxInMemory;
+        final SpillingBuffer<Map.Entry<K, A>> spilled;
+        Map<K, A> groups = new HashMap<>();
+
+        SpillingGroups(Comparator<? super K> keyComparator, int maxInMemory) {
+            this.maxInMemory = maxInMemory;
+            this.spilled = new SpillingBuffer<>(
+                    (a, b) -> keyComparator.compare(a.getKey(), b.getKey()),
+                    maxInMemory);
+        }
+
+        void spillIfFull() {
+            if (groups.size() >= maxInMemory)
+                spill();
+        }
+
+        void spill() {
+            for (Map.Entry<K, A> e : groups.entrySet())
+                spilled.accept(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), e.getValue()));
+            groups = new HashMap<>();
+        }
+
+        SpillingGroups<K, A> addAll(SpillingGroups<K, A> other, BinaryOperator<A> combiner) {
+            try {
+                if (!other.spilled.isEmpty()) {
+                    // Keep the groups of other after all of ours
+                    spill();
+                    spilled.addAll(other.spilled);
+                    groups = other.groups;
+                }
+                else {
+                    for (Map.Entry<K, A> e : other.groups.entrySet()) {
+                        groups.merge(e.getKey(), e.getValue(), combiner);
+                        spillIfFull();
+                    }
+                }
+            }
+            catch (Throwable ex) {
+                spilled.abort(ex);
+                other.spilled.abort(ex);
+                throw ex;
+            }
+            return this;
+        }
+
+        <D> Stream<Map.Entry<K, D>> stream(BinaryOperator<A> combiner, Function<A, D> finisher) {
+            Stream<Map.Entry<K, A>> sorted;
+            Iterator<Map.Entry<K, A>> it;
+            Map.Entry<K, A> first;
+            try {
+                spill();
+                sorted = spilled.stream();
+            }
+            catch (Throwable ex) {
+                spilled.abort(ex);
+                throw ex;
+            }
+            try {
+                it = sorted.iterator();
+                first = it.hasNext() ? it.next() : null;
+            }
+            catch (Throwable ex) {
+                try {
+                    sorted.close();
+                }
+                catch (Throwable x) {
+                    ex.addSuppressed(x);
+                }
+                throw ex;
+            }
+            Comparator<? super Map.Entry<K, A>> comparator = spilled.comparator();
+            Iterator<Map.Entry<K, D>> folded = new Iterator<Map.Entry<K, D>>() {
+                Map.Entry<K, A> next = first;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<K, D> next() {
+                    Map.Entry<K, A> first = next;
+                    if (first == null)
+                        throw new NoSuchElementException();
+                    A container = first.getValue();
+                    next = null;
+                    while (it.hasNext()) {
+                        Map.Entry<K, A> e = it.next();
+                        if (comparator.compare(first, e) != 0) {
+                            next = e;
+                            break;
+                        }
+                        container = combiner.apply(container, e.getValue());
+                    }
+                    return new AbstractMap.SimpleImmutableEntry<>(first.getKey(), finisher.apply(container));
+                }
+            };
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(folded, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false)
+                    .onClose(sorted::close);
+        }
+    }
 }
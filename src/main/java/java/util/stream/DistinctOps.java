@@ -24,13 +24,15 @@
  */
 package java.util.stream;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.IntFunction;
 
 /**
@@ -76,26 +78,7 @@ final class DistinctOps {
                     return reduce(helper, spliterator);
                 }
                 else {
-                    // Holder of null state since ConcurrentHashMap does not support null values
-                    AtomicBoolean seenNull = new AtomicBoolean(false);
-                    ConcurrentHashMap<T, Boolean> map = new ConcurrentHashMap<>();
-                    TerminalOp<T, Void> forEachOp = ForEachOps.makeRef(t -> {
-                        if (t == null)
-                            seenNull.set(true);
-                        else
-                            map.putIfAbsent(t, Boolean.TRUE);
-                    }, false);
-                    forEachOp.evaluateParallel(helper, spliterator);
-
-                    // If null has been seen then copy the key set into a HashSet that supports null values
-                    // and add null
-                    Set<T> keys = map.keySet();
-                    if (seenNull.get()) {
-                        // TODO Implement a more efficient set-union view, rather than copying
-                        keys = new HashSet<>(keys);
-                        keys.add(null);
-                    }
-                    return Nodes.node(keys);
+                    return partitionedDistinct(helper, spliterator);
                 }
             }
 
@@ -180,4 +163,99 @@ final class DistinctOps {
             }
         };
     }
+
+    /*
+     * The unordered parallel evaluation of distinct() does not share a
+     * concurrent set between threads.  Each leaf task adds its elements to
+     * hash sets of its own, one for each of a number of ranges of hash
+     * codes (selected by the high bits of the scrambled hash, so that the
+     * low bits used within each set keep varying).  Then the sets of every
+     * leaf for one range are merged by a task of their own, and the
+     * results for all ranges are concatenated.
+     */
+
+    /**
+     * The per-leaf state of a partitioned distinct: the leaves' hash sets,
+     * indexed by leaf and then by hash range.  A container is created with
+     * the sets of a single leaf; combining containers concatenates their
+     * leaves.
+     */
+    private static final class Partitions<T> {
+        final int shift;
+        final List<HashSet<T>[]> leaves = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        Partitions(int shift) {
+            this.shift = shift;
+            leaves.add((HashSet<T>[]) new HashSet<?>[1 << (32 - shift)]);
+        }
+
+        void add(T t) {
+            HashSet<T>[] sets = leaves.get(0);
+            int r = (Objects.hashCode(t) * 0x9e3779b9) >>> shift;
+            HashSet<T> set = sets[r];
+            if (set == null)
+                sets[r] = set = new HashSet<>();
+            set.add(t);
+        }
+
+        void addAll(Partitions<T> other) {
+            leaves.addAll(other.leaves);
+        }
+    }
+
+    /**
+     * Evaluates an unordered distinct in parallel, merging per-leaf hash
+     * sets by hash range.
+     *
+     * @param helper the pipeline helper
+     * @param spliterator the source spliterator
+     * @return a node holding the distinct elements
+     */
+    private static <T, P_IN> Node<T> partitionedDistinct(PipelineHelper<T> helper,
+                                                         Spliterator<P_IN> spliterator) {
+        // A power of two number of ranges, about one per leaf task
+        int shift = Integer.numberOfLeadingZeros(AbstractTask.LEAF_TARGET - 1);
+        int ranges = 1 << (32 - shift);
+        TerminalOp<T, Partitions<T>> reduceOp
+                = ReduceOps.<T, Partitions<T>>makeRef(() -> new Partitions<>(shift),
+                                                      Partitions::add, Partitions::addAll);
+        List<HashSet<T>[]> leaves = reduceOp.evaluateParallel(helper, spliterator).leaves;
+
+        @SuppressWarnings("unchecked")
+        Node<T>[] nodes = (Node<T>[]) new Node<?>[ranges];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[ranges];
+        for (int i = 0; i < ranges; i++) {
+            int r = i;
+            tasks[r] = ForkJoinTask.adapt(() -> {
+                // Merge into the largest of the leaf sets for this range
+                HashSet<T> merged = null;
+                for (HashSet<T>[] sets : leaves) {
+                    HashSet<T> set = sets[r];
+                    if (set != null && (merged == null || set.size() > merged.size()))
+                        merged = set;
+                }
+                if (merged != null) {
+                    for (HashSet<T>[] sets : leaves) {
+                        HashSet<T> set = sets[r];
+                        if (set != null && set != merged)
+                            merged.addAll(set);
+                    }
+                }
+                nodes[r] = Nodes.node((merged != null) ? merged : Collections.<T>emptySet());
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return concat(nodes, 0, ranges);
+    }
+
+    /**
+     * Returns a balanced concatenation of the given range of nodes.
+     */
+    private static <T> Node<T> concat(Node<T>[] nodes, int from, int to) {
+        if (to - from == 1)
+            return nodes[from];
+        int mid = (from + to) >>> 1;
+        return Nodes.conc(StreamShape.REFERENCE, concat(nodes, from, mid), concat(nodes, mid, to));
+    }
 }
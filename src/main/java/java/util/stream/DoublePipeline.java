@@ -196,6 +196,22 @@ abstract class DoublePipeline<E_IN>
                     public void accept(double t) {
                         downstream.accept(mapper.applyAsDouble(t));
                     }
+
+                    @Override
+                    public void acceptBatch(double[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        double[] b = batchArray(length);
+                        for (int end = offset + length; offset < end; ) {
+                            int n = Math.min(b.length, end - offset);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsDouble(values[offset + i]);
+                            downstream.acceptBatch(b, 0, n);
+                            offset += n;
+                        }
+                    }
                 };
             }
         };
@@ -307,6 +323,28 @@ abstract class DoublePipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptBatch(double[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        double[] b = batchArray(length);
+                        int n = 0;
+                        for (int i = offset, end = offset + length; i < end; i++) {
+                            double t = values[i];
+                            if (predicate.test(t)) {
+                                b[n++] = t;
+                                if (n == b.length) {
+                                    downstream.acceptBatch(b, 0, n);
+                                    n = 0;
+                                }
+                            }
+                        }
+                        if (n > 0)
+                            downstream.acceptBatch(b, 0, n);
+                    }
                 };
             }
         };
@@ -401,12 +439,12 @@ abstract class DoublePipeline<E_IN>
 
     @Override
     public final OptionalDouble min() {
-        return reduce(Math::min);
+        return evaluate(ReduceOps.makeDoubleMinMax(false));
     }
 
     @Override
     public final OptionalDouble max() {
-        return reduce(Math::max);
+        return evaluate(ReduceOps.makeDoubleMinMax(true));
     }
 
     /**
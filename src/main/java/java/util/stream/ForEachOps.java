@@ -285,12 +285,17 @@ final class ForEachOps {
             boolean forkRight = false;
             Sink<S> taskSink = sink;
             ForEachTask<S, T> task = this;
+            StreamProfile profile = StreamProfile.ENABLED ? StreamProfile.of(helper) : null;
             while (!isShortCircuit || !taskSink.cancellationRequested()) {
                 if (sizeEstimate <= sizeThreshold ||
                     (leftSplit = rightSplit.trySplit()) == null) {
+                    if (profile != null)
+                        profile.leaf(sizeEstimate);
                     task.helper.copyInto(taskSink, rightSplit);
                     break;
                 }
+                if (profile != null)
+                    profile.split();
                 ForEachTask<S, T> leftTask = new ForEachTask<>(task, leftSplit);
                 task.addToPendingCount(1);
                 ForEachTask<S, T> taskToFork;
@@ -404,8 +409,11 @@ final class ForEachOps {
             Spliterator<S> rightSplit = task.spliterator, leftSplit;
             long sizeThreshold = task.targetSize;
             boolean forkRight = false;
+            StreamProfile profile = StreamProfile.ENABLED ? StreamProfile.of(task.helper) : null;
             while (rightSplit.estimateSize() > sizeThreshold &&
                    (leftSplit = rightSplit.trySplit()) != null) {
+                if (profile != null)
+                    profile.split();
                 ForEachOrderedTask<S, T> leftChild =
                     new ForEachOrderedTask<>(task, leftSplit, task.leftPredecessor);
                 ForEachOrderedTask<S, T> rightChild =
@@ -460,6 +468,8 @@ final class ForEachOps {
                 }
                 taskToFork.fork();
             }
+            if (profile != null)
+                profile.leaf(rightSplit.estimateSize());
 
             /*
              * Task's pending count is either 0 or 1.  If 1 then the completion
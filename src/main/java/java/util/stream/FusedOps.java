@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.internal.org.objectweb.asm.ClassWriter;
+import jdk.internal.org.objectweb.asm.Label;
+import jdk.internal.org.objectweb.asm.MethodVisitor;
+import sun.misc.Unsafe;
+
+import static jdk.internal.org.objectweb.asm.Opcodes.*;
+
+/**
+ * Factory for sinks that perform the work of several adjacent stateless
+ * pipeline stages at once.
+ *
+ * <p>Each intermediate stage normally contributes its own
+ * {@link Sink.ChainedReference} or {@link Sink.ChainedInt} to the sink
+ * chain, so an element flowing through {@code k} such stages incurs
+ * {@code k} interface calls to {@code Sink.accept} from call sites that
+ * are shared by every pipeline in the program, and which the compiler
+ * therefore can rarely inline.  Stages that transform each element into
+ * at most one element of the same shape ({@code map}, {@code filter} and
+ * {@code peek}) describe that transformation with a {@link Step}, and
+ * {@link AbstractPipeline#wrapSink} replaces each run of two or more such
+ * stages with a single sink that calls the stages' functions in
+ * straight-line code and then calls the downstream sink once.
+ *
+ * <p>The fused sink classes are spun on first use, one for each shape and
+ * sequence of step kinds, and are shared by all pipelines with that
+ * sequence.  Fused int sinks also implement {@code acceptBatch}, applying
+ * the steps to a whole batch in one loop when the downstream sink is
+ * side-effect free.  Fusion is enabled unless the system property
+ * {@code java.util.stream.disableFusion} is considered {@code true}
+ * according to {@link Boolean#getBoolean(String)}.
+ *
+ * @since 1.8
+ */
+final class FusedOps {
+
+    private FusedOps() { throw new Error("no instances"); }
+
+    private static final String DISABLE_PROPERTY = "java.util.stream.disableFusion";
+
+    /** Should adjacent stateless stages be fused? */
+    static final boolean ENABLED = !AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(DISABLE_PROPERTY));
+
+    /**
+     * The maximum number of stages fused into one sink, bounding the number
+     * of distinct sink classes; longer runs are split.
+     */
+    static final int MAX_RUN = 8;
+
+    /** Step kind: replace the element with the result of a function. */
+    static final int MAP = 0;
+
+    /** Step kind: drop the element unless a predicate accepts it. */
+    static final int FILTER = 1;
+
+    /** Step kind: pass the element to an action and keep it. */
+    static final int PEEK = 2;
+
+    /**
+     * The per-element work of a fusible stage: a kind and the function
+     * that the stage was created with, whose type depends on the kind
+     * and on the shape of the stage.
+     */
+    static final class Step {
+        final StreamShape shape;
+        final int kind;
+        final Object function;
+
+        Step(StreamShape shape, int kind, Object function) {
+            this.shape = shape;
+            this.kind = kind;
+            this.function = function;
+        }
+    }
+
+    /**
+     * Returns a sink that performs the given steps of a run of adjacent
+     * stages of one shape and passes the results to the given sink.
+     *
+     * @param run the steps of the run, starting with the last stage
+     * @param sink the sink receiving the results of the last stage
+     * @return a sink accepting the input elements of the first stage of
+     *         the run
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Sink<T> wrap(List<Step> run, Sink<?> sink) {
+        int n = run.size();
+        Object[] functions = new Object[n];
+        char[] kinds = new char[n];
+        boolean sized = true;
+        for (int i = 0; i < n; i++) {
+            Step s = run.get(n - 1 - i);
+            functions[i] = s.function;
+            kinds[i] = KIND_CODES.charAt(s.kind);
+            sized &= s.kind != FILTER;
+        }
+        StreamShape shape = run.get(0).shape;
+        String key = shape.name() + ':' + new String(kinds);
+        Constructor<?> ctor = SINKS.computeIfAbsent(key, k -> spinSink(shape, k));
+        try {
+            return (Sink<T>) ctor.newInstance(sink, functions, sized);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Base class of the spun sinks for runs of reference stages.  A spun
+     * subclass declares one field per step, holding its function, and
+     * implements {@code accept}.
+     */
+    abstract static class RefSink extends Sink.ChainedReference<Object, Object> {
+        private final boolean sized;
+
+        RefSink(Sink<Object> downstream, boolean sized) {
+            super(downstream);
+            this.sized = sized;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(sized ? size : -1);
+        }
+    }
+
+    /**
+     * Base class of the spun sinks for runs of int stages.  A spun
+     * subclass declares one field per step, holding its function, and
+     * implements {@code accept}.
+     */
+    abstract static class IntSink extends Sink.ChainedInt<Integer> {
+        private final boolean sized;
+
+        IntSink(Sink<Integer> downstream, boolean sized) {
+            super(downstream);
+            this.sized = sized;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(sized ? size : -1);
+        }
+    }
+
+    // Sink class spinning
+
+    /** Characters encoding the step kinds in sink class keys, by kind. */
+    private static final String KIND_CODES = "MFP";
+
+    /** Constructors of the spun sinks, by shape and step kinds. */
+    private static final ConcurrentHashMap<String, Constructor<?>> SINKS
+            = new ConcurrentHashMap<>();
+
+    private static final Unsafe UNSAFE = Unsafe.getUnsafe();
+
+    private static final String SINK = "java/util/stream/Sink";
+    private static final String CTOR_DESC = "(L" + SINK + ";[Ljava/lang/Object;Z)V";
+
+    /**
+     * Spins and defines a sink class for the given shape and step kinds,
+     * returning its constructor, which takes the downstream sink, the
+     * functions of the steps and whether the run preserves size.
+     */
+    private static Constructor<?> spinSink(StreamShape shape, String key) {
+        String kinds = key.substring(key.indexOf(':') + 1);
+        boolean ref = shape == StreamShape.REFERENCE;
+        String base = ref ? "java/util/stream/FusedOps$RefSink"
+                          : "java/util/stream/FusedOps$IntSink";
+        String element = ref ? "Ljava/lang/Object;" : "I";
+        String name = "java/util/stream/FusedOps$" + (ref ? "Ref" : "Int") + kinds;
+        String[] types = new String[kinds.length()];
+        for (int i = 0; i < types.length; i++)
+            types[i] = functionType(ref, KIND_CODES.indexOf(kinds.charAt(i)));
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS + ClassWriter.COMPUTE_FRAMES);
+        cw.visit(V1_8, ACC_FINAL + ACC_SUPER + ACC_SYNTHETIC, name, null, base, null);
+        for (int i = 0; i < types.length; i++)
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "f" + i, "L" + types[i] + ";", null, null)
+              .visitEnd();
+
+        // <init>(Sink downstream, Object[] functions, boolean sized)
+        MethodVisitor mv = cw.visitMethod(0, "<init>", CTOR_DESC, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitMethodInsn(INVOKESPECIAL, base, "<init>", "(L" + SINK + ";Z)V", false);
+        for (int i = 0; i < types.length; i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            mv.visitTypeInsn(CHECKCAST, types[i]);
+            mv.visitFieldInsn(PUTFIELD, name, "f" + i, "L" + types[i] + ";");
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        // void accept(element t): apply each step in turn, then downstream
+        String chained = ref ? "java/util/stream/Sink$ChainedReference"
+                             : "java/util/stream/Sink$ChainedInt";
+        int load = ref ? ALOAD : ILOAD;
+        mv = cw.visitMethod(ACC_PUBLIC, "accept", "(" + element + ")V", null, null);
+        mv.visitCode();
+        Label rejected = new Label();
+        emitSteps(mv, name, types, kinds, ref, 1, rejected);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, chained, "downstream", "L" + SINK + ";");
+        mv.visitVarInsn(load, 1);
+        mv.visitMethodInsn(INVOKEINTERFACE, SINK, "accept", "(" + element + ")V", true);
+        mv.visitLabel(rejected);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        if (!ref) {
+            // void acceptBatch(int[] values, int offset, int length):
+            // unless the downstream sink is side-effect free, pass each
+            // value to accept(int) in turn; otherwise apply the steps to
+            // each value, collecting the survivors into batchArray(length),
+            // and pass each full batch downstream
+            final int values = 1, offset = 2, length = 3;
+            final int b = 4, n = 5, i = 6, end = 7, t = 8;
+            mv = cw.visitMethod(ACC_PUBLIC, "acceptBatch", "([III)V", null, null);
+            mv.visitCode();
+            Label batched = new Label();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, chained, "downstream", "L" + SINK + ";");
+            mv.visitMethodInsn(INVOKEINTERFACE, SINK, "isSideEffectFree", "()Z", true);
+            mv.visitJumpInsn(IFNE, batched);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, values);
+            mv.visitVarInsn(ILOAD, offset);
+            mv.visitVarInsn(ILOAD, length);
+            mv.visitMethodInsn(INVOKEVIRTUAL, chained, "acceptEach", "([III)V", false);
+            mv.visitInsn(RETURN);
+            mv.visitLabel(batched);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ILOAD, length);
+            mv.visitMethodInsn(INVOKEVIRTUAL, chained, "batchArray", "(I)[I", false);
+            mv.visitVarInsn(ASTORE, b);
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ISTORE, n);
+            mv.visitVarInsn(ILOAD, offset);
+            mv.visitVarInsn(ISTORE, i);
+            mv.visitVarInsn(ILOAD, offset);
+            mv.visitVarInsn(ILOAD, length);
+            mv.visitInsn(IADD);
+            mv.visitVarInsn(ISTORE, end);
+            Label loop = new Label(), next = new Label(), done = new Label();
+            mv.visitLabel(loop);
+            mv.visitVarInsn(ILOAD, i);
+            mv.visitVarInsn(ILOAD, end);
+            mv.visitJumpInsn(IF_ICMPGE, done);
+            mv.visitVarInsn(ALOAD, values);
+            mv.visitVarInsn(ILOAD, i);
+            mv.visitInsn(IALOAD);
+            mv.visitVarInsn(ISTORE, t);
+            emitSteps(mv, name, types, kinds, false, t, next);
+            mv.visitVarInsn(ALOAD, b);
+            mv.visitVarInsn(ILOAD, n);
+            mv.visitVarInsn(ILOAD, t);
+            mv.visitInsn(IASTORE);
+            mv.visitIincInsn(n, 1);
+            mv.visitVarInsn(ILOAD, n);
+            mv.visitVarInsn(ALOAD, b);
+            mv.visitInsn(ARRAYLENGTH);
+            mv.visitJumpInsn(IF_ICMPNE, next);
+            emitBatch(mv, chained, b, n);
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ISTORE, n);
+            mv.visitLabel(next);
+            mv.visitIincInsn(i, 1);
+            mv.visitJumpInsn(GOTO, loop);
+            mv.visitLabel(done);
+            Label empty = new Label();
+            mv.visitVarInsn(ILOAD, n);
+            mv.visitJumpInsn(IFLE, empty);
+            emitBatch(mv, chained, b, n);
+            mv.visitLabel(empty);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(-1, -1);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        Class<?> sinkClass = UNSAFE.defineAnonymousClass(FusedOps.class, cw.toByteArray(), null);
+        UNSAFE.ensureClassInitialized(sinkClass);
+        return AccessController.doPrivileged(new PrivilegedAction<Constructor<?>>() {
+            @Override
+            public Constructor<?> run() {
+                Constructor<?> ctor = sinkClass.getDeclaredConstructors()[0];
+                ctor.setAccessible(true);
+                return ctor;
+            }
+        });
+    }
+
+    /**
+     * Emits code applying each step to the element in the given local
+     * variable, jumping to {@code rejected} if a filter rejects it.
+     */
+    private static void emitSteps(MethodVisitor mv, String owner, String[] types,
+                                  String kinds, boolean ref, int local, Label rejected) {
+        String element = ref ? "Ljava/lang/Object;" : "I";
+        for (int i = 0; i < types.length; i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, owner, "f" + i, "L" + types[i] + ";");
+            mv.visitVarInsn(ref ? ALOAD : ILOAD, local);
+            switch (KIND_CODES.indexOf(kinds.charAt(i))) {
+                case MAP:
+                    mv.visitMethodInsn(INVOKEINTERFACE, types[i],
+                                       ref ? "apply" : "applyAsInt",
+                                       "(" + element + ")" + element, true);
+                    mv.visitVarInsn(ref ? ASTORE : ISTORE, local);
+                    break;
+                case FILTER:
+                    mv.visitMethodInsn(INVOKEINTERFACE, types[i], "test",
+                                       "(" + element + ")Z", true);
+                    mv.visitJumpInsn(IFEQ, rejected);
+                    break;
+                default:
+                    mv.visitMethodInsn(INVOKEINTERFACE, types[i], "accept",
+                                       "(" + element + ")V", true);
+            }
+        }
+    }
+
+    /**
+     * Emits {@code downstream.acceptBatch(b, 0, n)} for the int array and
+     * count in the given local variables.
+     */
+    private static void emitBatch(MethodVisitor mv, String chained, int b, int n) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, chained, "downstream", "L" + SINK + ";");
+        mv.visitVarInsn(ALOAD, b);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ILOAD, n);
+        mv.visitMethodInsn(INVOKEINTERFACE, SINK, "acceptBatch", "([III)V", true);
+    }
+
+    /** Returns the internal name of the function type of a step kind. */
+    private static String functionType(boolean ref, int kind) {
+        switch (kind) {
+            case MAP:
+                return ref ? "java/util/function/Function" : "java/util/function/IntUnaryOperator";
+            case FILTER:
+                return ref ? "java/util/function/Predicate" : "java/util/function/IntPredicate";
+            default:
+                return ref ? "java/util/function/Consumer" : "java/util/function/IntConsumer";
+        }
+    }
+}
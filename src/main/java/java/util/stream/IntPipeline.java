@@ -232,8 +232,29 @@ abstract class IntPipeline<E_IN>
                     public void accept(int t) {
                         downstream.accept(mapper.applyAsInt(t));
                     }
+
+                    @Override
+                    public void acceptBatch(int[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        int[] b = batchArray(length);
+                        for (int end = offset + length; offset < end; ) {
+                            int n = Math.min(b.length, end - offset);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsInt(values[offset + i]);
+                            downstream.acceptBatch(b, 0, n);
+                            offset += n;
+                        }
+                    }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.INT_VALUE, FusedOps.MAP, mapper);
+            }
         };
     }
 
@@ -343,8 +364,35 @@ abstract class IntPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptBatch(int[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        int[] b = batchArray(length);
+                        int n = 0;
+                        for (int i = offset, end = offset + length; i < end; i++) {
+                            int t = values[i];
+                            if (predicate.test(t)) {
+                                b[n++] = t;
+                                if (n == b.length) {
+                                    downstream.acceptBatch(b, 0, n);
+                                    n = 0;
+                                }
+                            }
+                        }
+                        if (n > 0)
+                            downstream.acceptBatch(b, 0, n);
+                    }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.INT_VALUE, FusedOps.FILTER, predicate);
+            }
         };
     }
 
@@ -363,6 +411,11 @@ abstract class IntPipeline<E_IN>
                     }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.INT_VALUE, FusedOps.PEEK, action);
+            }
         };
     }
 
@@ -411,17 +464,17 @@ abstract class IntPipeline<E_IN>
 
     @Override
     public final int sum() {
-        return reduce(0, Integer::sum);
+        return evaluate(ReduceOps.makeIntSum());
     }
 
     @Override
     public final OptionalInt min() {
-        return reduce(Math::min);
+        return evaluate(ReduceOps.makeIntMinMax(false));
     }
 
     @Override
     public final OptionalInt max() {
-        return reduce(Math::max);
+        return evaluate(ReduceOps.makeIntMinMax(true));
     }
 
     @Override
@@ -213,6 +213,22 @@ abstract class LongPipeline<E_IN>
                     public void accept(long t) {
                         downstream.accept(mapper.applyAsLong(t));
                     }
+
+                    @Override
+                    public void acceptBatch(long[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        long[] b = batchArray(length);
+                        for (int end = offset + length; offset < end; ) {
+                            int n = Math.min(b.length, end - offset);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsLong(values[offset + i]);
+                            downstream.acceptBatch(b, 0, n);
+                            offset += n;
+                        }
+                    }
                 };
             }
         };
@@ -324,6 +340,28 @@ abstract class LongPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptBatch(long[] values, int offset, int length) {
+                        if (!downstream.isSideEffectFree()) {
+                            acceptEach(values, offset, length);
+                            return;
+                        }
+                        long[] b = batchArray(length);
+                        int n = 0;
+                        for (int i = offset, end = offset + length; i < end; i++) {
+                            long t = values[i];
+                            if (predicate.test(t)) {
+                                b[n++] = t;
+                                if (n == b.length) {
+                                    downstream.acceptBatch(b, 0, n);
+                                    n = 0;
+                                }
+                            }
+                        }
+                        if (n > 0)
+                            downstream.acceptBatch(b, 0, n);
+                    }
                 };
             }
         };
@@ -393,17 +431,17 @@ abstract class LongPipeline<E_IN>
     @Override
     public final long sum() {
         // use better algorithm to compensate for intermediate overflow?
-        return reduce(0, Long::sum);
+        return evaluate(ReduceOps.makeLongSum());
     }
 
     @Override
     public final OptionalLong min() {
-        return reduce(Math::min);
+        return evaluate(ReduceOps.makeLongMinMax(false));
     }
 
     @Override
     public final OptionalLong max() {
-        return reduce(Math::max);
+        return evaluate(ReduceOps.makeLongMinMax(true));
     }
 
     @Override
@@ -1863,8 +1863,11 @@ final class Nodes {
         public void compute() {
             SizedCollectorTask<P_IN, P_OUT, T_SINK, K> task = this;
             Spliterator<P_IN> rightSplit = spliterator, leftSplit;
+            StreamProfile profile = StreamProfile.ENABLED ? StreamProfile.of(helper) : null;
             while (rightSplit.estimateSize() > task.targetSize &&
                    (leftSplit = rightSplit.trySplit()) != null) {
+                if (profile != null)
+                    profile.split();
                 task.setPendingCount(1);
                 long leftSplitSize = leftSplit.estimateSize();
                 task.makeChild(leftSplit, task.offset, leftSplitSize).fork();
@@ -1873,6 +1876,8 @@ final class Nodes {
             }
 
             assert task.offset + task.length < MAX_ARRAY_SIZE;
+            if (profile != null)
+                profile.leaf(task.length);
             @SuppressWarnings("unchecked")
             T_SINK sink = (T_SINK) task;
             task.helper.wrapAndCopyInto(sink, rightSplit);
@@ -326,6 +326,136 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that sums {@code int} values.  Its
+     * sink adds each batch of values in a single loop, which the compiler
+     * may unroll and vectorize.
+     *
+     * @return a {@code TerminalOp} implementing the sum
+     */
+    public static TerminalOp<Integer, Integer>
+    makeIntSum() {
+        class ReducingSink
+                implements AccumulatingSink<Integer, Integer, ReducingSink>, Sink.OfInt {
+            private int state;
+
+            @Override
+            public void begin(long size) {
+                state = 0;
+            }
+
+            @Override
+            public void accept(int t) {
+                state += t;
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+                return true;
+            }
+
+            @Override
+            public void acceptBatch(int[] values, int offset, int length) {
+                int sum = state;
+                for (int i = offset, end = offset + length; i < end; i++)
+                    sum += values[i];
+                state = sum;
+            }
+
+            @Override
+            public Integer get() {
+                return state;
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state += other.state;
+            }
+        }
+        return new ReduceOp<Integer, Integer, ReducingSink>(StreamShape.INT_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+        };
+    }
+
+    /**
+     * Constructs a {@code TerminalOp} that computes the minimum or maximum
+     * of {@code int} values, as if by reducing them with {@link Math#min}
+     * or {@link Math#max}, producing an optional result.  Its sink reduces
+     * each batch of values in a single loop, which the compiler may unroll
+     * and vectorize.
+     *
+     * @param max {@code true} for the maximum, {@code false} for the minimum
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    public static TerminalOp<Integer, OptionalInt>
+    makeIntMinMax(boolean max) {
+        class ReducingSink
+                implements AccumulatingSink<Integer, OptionalInt, ReducingSink>, Sink.OfInt {
+            private boolean empty;
+            private int state;
+
+            @Override
+            public void begin(long size) {
+                empty = true;
+                state = 0;
+            }
+
+            @Override
+            public void accept(int t) {
+                if (empty) {
+                    empty = false;
+                    state = t;
+                }
+                else {
+                    state = max ? Math.max(state, t) : Math.min(state, t);
+                }
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+                return true;
+            }
+
+            @Override
+            public void acceptBatch(int[] values, int offset, int length) {
+                if (length <= 0)
+                    return;
+                int r = empty ? values[offset] : state;
+                int end = offset + length;
+                if (max) {
+                    for (int i = offset; i < end; i++)
+                        r = Math.max(r, values[i]);
+                }
+                else {
+                    for (int i = offset; i < end; i++)
+                        r = Math.min(r, values[i]);
+                }
+                empty = false;
+                state = r;
+            }
+
+            @Override
+            public OptionalInt get() {
+                return empty ? OptionalInt.empty() : OptionalInt.of(state);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                if (!other.empty)
+                    accept(other.state);
+            }
+        }
+        return new ReduceOp<Integer, OptionalInt, ReducingSink>(StreamShape.INT_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a mutable reduce on
      * {@code int} values.
@@ -462,6 +592,136 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that sums {@code long} values.  Its
+     * sink adds each batch of values in a single loop, which the compiler
+     * may unroll and vectorize.
+     *
+     * @return a {@code TerminalOp} implementing the sum
+     */
+    public static TerminalOp<Long, Long>
+    makeLongSum() {
+        class ReducingSink
+                implements AccumulatingSink<Long, Long, ReducingSink>, Sink.OfLong {
+            private long state;
+
+            @Override
+            public void begin(long size) {
+                state = 0;
+            }
+
+            @Override
+            public void accept(long t) {
+                state += t;
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+                return true;
+            }
+
+            @Override
+            public void acceptBatch(long[] values, int offset, int length) {
+                long sum = state;
+                for (int i = offset, end = offset + length; i < end; i++)
+                    sum += values[i];
+                state = sum;
+            }
+
+            @Override
+            public Long get() {
+                return state;
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state += other.state;
+            }
+        }
+        return new ReduceOp<Long, Long, ReducingSink>(StreamShape.LONG_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+        };
+    }
+
+    /**
+     * Constructs a {@code TerminalOp} that computes the minimum or maximum
+     * of {@code long} values, as if by reducing them with {@link Math#min}
+     * or {@link Math#max}, producing an optional result.  Its sink reduces
+     * each batch of values in a single loop, which the compiler may unroll
+     * and vectorize.
+     *
+     * @param max {@code true} for the maximum, {@code false} for the minimum
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    public static TerminalOp<Long, OptionalLong>
+    makeLongMinMax(boolean max) {
+        class ReducingSink
+                implements AccumulatingSink<Long, OptionalLong, ReducingSink>, Sink.OfLong {
+            private boolean empty;
+            private long state;
+
+            @Override
+            public void begin(long size) {
+                empty = true;
+                state = 0;
+            }
+
+            @Override
+            public void accept(long t) {
+                if (empty) {
+                    empty = false;
+                    state = t;
+                }
+                else {
+                    state = max ? Math.max(state, t) : Math.min(state, t);
+                }
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+                return true;
+            }
+
+            @Override
+            public void acceptBatch(long[] values, int offset, int length) {
+                if (length <= 0)
+                    return;
+                long r = empty ? values[offset] : state;
+                int end = offset + length;
+                if (max) {
+                    for (int i = offset; i < end; i++)
+                        r = Math.max(r, values[i]);
+                }
+                else {
+                    for (int i = offset; i < end; i++)
+                        r = Math.min(r, values[i]);
+                }
+                empty = false;
+                state = r;
+            }
+
+            @Override
+            public OptionalLong get() {
+                return empty ? OptionalLong.empty() : OptionalLong.of(state);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                if (!other.empty)
+                    accept(other.state);
+            }
+        }
+        return new ReduceOp<Long, OptionalLong, ReducingSink>(StreamShape.LONG_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a mutable reduce on
      * {@code long} values.
@@ -598,6 +858,82 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that computes the minimum or maximum
+     * of {@code double} values, as if by reducing them with {@link Math#min}
+     * or {@link Math#max}, producing an optional result.  Its sink reduces
+     * each batch of values in a single loop, which the compiler may unroll
+     * and vectorize.
+     *
+     * @param max {@code true} for the maximum, {@code false} for the minimum
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    public static TerminalOp<Double, OptionalDouble>
+    makeDoubleMinMax(boolean max) {
+        class ReducingSink
+                implements AccumulatingSink<Double, OptionalDouble, ReducingSink>, Sink.OfDouble {
+            private boolean empty;
+            private double state;
+
+            @Override
+            public void begin(long size) {
+                empty = true;
+                state = 0;
+            }
+
+            @Override
+            public void accept(double t) {
+                if (empty) {
+                    empty = false;
+                    state = t;
+                }
+                else {
+                    state = max ? Math.max(state, t) : Math.min(state, t);
+                }
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+                return true;
+            }
+
+            @Override
+            public void acceptBatch(double[] values, int offset, int length) {
+                if (length <= 0)
+                    return;
+                double r = empty ? values[offset] : state;
+                int end = offset + length;
+                if (max) {
+                    for (int i = offset; i < end; i++)
+                        r = Math.max(r, values[i]);
+                }
+                else {
+                    for (int i = offset; i < end; i++)
+                        r = Math.min(r, values[i]);
+                }
+                empty = false;
+                state = r;
+            }
+
+            @Override
+            public OptionalDouble get() {
+                return empty ? OptionalDouble.empty() : OptionalDouble.of(state);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                if (!other.empty)
+                    accept(other.state);
+            }
+        }
+        return new ReduceOp<Double, OptionalDouble, ReducingSink>(StreamShape.DOUBLE_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a mutable reduce on
      * {@code double} values.
@@ -176,6 +176,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
                     }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.REFERENCE, FusedOps.FILTER, predicate);
+            }
         };
     }
 
@@ -194,6 +199,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
                     }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.REFERENCE, FusedOps.MAP, mapper);
+            }
         };
     }
 
@@ -374,6 +384,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
                     }
                 };
             }
+
+            @Override
+            FusedOps.Step opFusionStep() {
+                return new FusedOps.Step(StreamShape.REFERENCE, FusedOps.PEEK, action);
+            }
         };
     }
 
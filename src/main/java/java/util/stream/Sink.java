@@ -181,6 +181,100 @@ interface Sink<T> extends Consumer<T> {
         throw new IllegalStateException("called wrong accept method");
     }
 
+    /**
+     * The largest number of values that a sink passes downstream in one
+     * call to an {@code acceptBatch} method from a scratch array of its own.
+     */
+    int BATCH_SIZE = 1 << 10;
+
+    /**
+     * Returns whether neither this sink nor any sink downstream of it runs
+     * behavioral parameters or otherwise has effects that could be seen
+     * before the pipeline completes normally.  The sum, min and max
+     * reductions are such sinks; a {@code forEach} or a stage applying a
+     * function is not.
+     *
+     * @implSpec The default implementation returns {@code false}.
+     *
+     * @return {@code true} if values may be passed to this sink in batches
+     *         by a stage or source that runs behavioral parameters
+     */
+    default boolean isSideEffectFree() {
+        return false;
+    }
+
+    /**
+     * Accepts a batch of int values, as if by calling {@code accept(int)}
+     * with each of {@code values[offset]} to
+     * {@code values[offset + length - 1]} in turn.  The sink must neither
+     * modify the array nor retain a reference to it.  Batches are only
+     * pushed by sources that do not check {@link #cancellationRequested()}
+     * between elements.
+     *
+     * <p>Batching changes the order in which the stages of a pipeline do
+     * their work: a stage may apply its behavioral parameters to a whole
+     * batch before the next stage sees any value of it, and if one of them
+     * throws, the values before the failing one are never passed on.  So
+     * that this cannot be observed, a stage that runs behavioral parameters
+     * passes batches only to a sink that is
+     * {@linkplain #isSideEffectFree() side-effect free}, and otherwise
+     * passes each value to {@code accept} in turn before computing the
+     * next; and a source collects values into batches only if producing
+     * them runs no behavioral parameters, or if the sink is side-effect
+     * free.  The same holds for the long and double variants.
+     *
+     * @implSpec The default implementation calls {@code accept(int)} for
+     * each value.
+     *
+     * @param values the array holding the values
+     * @param offset the index of the first value
+     * @param length the number of values
+     * @throws IllegalStateException if this sink does not accept int values
+     */
+    default void acceptBatch(int[] values, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts a batch of long values, as if by calling {@code accept(long)}
+     * with each of {@code values[offset]} to
+     * {@code values[offset + length - 1]} in turn.  The sink must neither
+     * modify the array nor retain a reference to it.
+     *
+     * @implSpec The default implementation calls {@code accept(long)} for
+     * each value.
+     *
+     * @param values the array holding the values
+     * @param offset the index of the first value
+     * @param length the number of values
+     * @throws IllegalStateException if this sink does not accept long values
+     */
+    default void acceptBatch(long[] values, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts a batch of double values, as if by calling
+     * {@code accept(double)} with each of {@code values[offset]} to
+     * {@code values[offset + length - 1]} in turn.  The sink must neither
+     * modify the array nor retain a reference to it.
+     *
+     * @implSpec The default implementation calls {@code accept(double)} for
+     * each value.
+     *
+     * @param values the array holding the values
+     * @param offset the index of the first value
+     * @param length the number of values
+     * @throws IllegalStateException if this sink does not accept double
+     *         values
+     */
+    default void acceptBatch(double[] values, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++)
+            accept(values[i]);
+    }
+
     /**
      * {@code Sink} that implements {@code Sink<Integer>}, re-abstracts
      * {@code accept(int)}, and wires {@code accept(Integer)} to bridge to
@@ -275,6 +369,7 @@ interface Sink<T> extends Consumer<T> {
      */
     static abstract class ChainedInt<E_OUT> implements Sink.OfInt {
         protected final Sink<? super E_OUT> downstream;
+        private int[] batch;
 
         public ChainedInt(Sink<? super E_OUT> downstream) {
             this.downstream = Objects.requireNonNull(downstream);
@@ -294,6 +389,28 @@ interface Sink<T> extends Consumer<T> {
         public boolean cancellationRequested() {
             return downstream.cancellationRequested();
         }
+
+        /**
+         * Returns a scratch array owned by this sink, for building a batch
+         * of values to pass downstream from an incoming batch of the given
+         * length.  Its length is at least {@code min(length, BATCH_SIZE)}
+         * and at most {@code BATCH_SIZE}.
+         */
+        final int[] batchArray(int length) {
+            int[] b = batch;
+            if (b == null || b.length < length && b.length < BATCH_SIZE)
+                batch = b = new int[Math.min(length, BATCH_SIZE)];
+            return b;
+        }
+
+        /**
+         * Passes each value of a batch to {@code accept(int)} in turn, for
+         * a stage whose downstream sink is not side-effect free.
+         */
+        final void acceptEach(int[] values, int offset, int length) {
+            for (int i = offset, end = offset + length; i < end; i++)
+                accept(values[i]);
+        }
     }
 
     /**
@@ -307,6 +424,7 @@ interface Sink<T> extends Consumer<T> {
      */
     static abstract class ChainedLong<E_OUT> implements Sink.OfLong {
         protected final Sink<? super E_OUT> downstream;
+        private long[] batch;
 
         public ChainedLong(Sink<? super E_OUT> downstream) {
             this.downstream = Objects.requireNonNull(downstream);
@@ -326,6 +444,28 @@ interface Sink<T> extends Consumer<T> {
         public boolean cancellationRequested() {
             return downstream.cancellationRequested();
         }
+
+        /**
+         * Returns a scratch array owned by this sink, for building a batch
+         * of values to pass downstream from an incoming batch of the given
+         * length.  Its length is at least {@code min(length, BATCH_SIZE)}
+         * and at most {@code BATCH_SIZE}.
+         */
+        final long[] batchArray(int length) {
+            long[] b = batch;
+            if (b == null || b.length < length && b.length < BATCH_SIZE)
+                batch = b = new long[Math.min(length, BATCH_SIZE)];
+            return b;
+        }
+
+        /**
+         * Passes each value of a batch to {@code accept(long)} in turn, for
+         * a stage whose downstream sink is not side-effect free.
+         */
+        final void acceptEach(long[] values, int offset, int length) {
+            for (int i = offset, end = offset + length; i < end; i++)
+                accept(values[i]);
+        }
     }
 
     /**
@@ -339,6 +479,7 @@ interface Sink<T> extends Consumer<T> {
      */
     static abstract class ChainedDouble<E_OUT> implements Sink.OfDouble {
         protected final Sink<? super E_OUT> downstream;
+        private double[] batch;
 
         public ChainedDouble(Sink<? super E_OUT> downstream) {
             this.downstream = Objects.requireNonNull(downstream);
@@ -358,5 +499,168 @@ interface Sink<T> extends Consumer<T> {
         public boolean cancellationRequested() {
             return downstream.cancellationRequested();
         }
+
+        /**
+         * Returns a scratch array owned by this sink, for building a batch
+         * of values to pass downstream from an incoming batch of the given
+         * length.  Its length is at least {@code min(length, BATCH_SIZE)}
+         * and at most {@code BATCH_SIZE}.
+         */
+        final double[] batchArray(int length) {
+            double[] b = batch;
+            if (b == null || b.length < length && b.length < BATCH_SIZE)
+                batch = b = new double[Math.min(length, BATCH_SIZE)];
+            return b;
+        }
+
+        /**
+         * Passes each value of a batch to {@code accept(double)} in turn, for
+         * a stage whose downstream sink is not side-effect free.
+         */
+        final void acceptEach(double[] values, int offset, int length) {
+            for (int i = offset, end = offset + length; i < end; i++)
+                accept(values[i]);
+        }
+    }
+
+    /**
+     * A {@code Sink.OfInt} that collects the values pushed into it into an
+     * array of its own and passes them to a downstream {@code Sink} in
+     * batches, allowing sources that push one value at a time to drive the
+     * {@code acceptBatch} methods.  Batches pushed into it are passed on
+     * directly.  The owner must call {@link #flush()} after the last value.
+     */
+    static final class BatchingInt implements Sink.OfInt {
+        private final Sink<?> downstream;
+        private final int[] batch;
+        private int count;
+
+        /**
+         * @param downstream the sink to receive the batches
+         * @param size the exact number of values to be pushed, if known,
+         *        or {@code -1}
+         */
+        BatchingInt(Sink<?> downstream, long size) {
+            this.downstream = downstream;
+            this.batch = new int[(size > 0 && size < BATCH_SIZE) ? (int) size : BATCH_SIZE];
+        }
+
+        @Override
+        public void accept(int t) {
+            int[] b = batch;
+            b[count++] = t;
+            if (count == b.length)
+                flush();
+        }
+
+        @Override
+        public void acceptBatch(int[] values, int offset, int length) {
+            flush();
+            downstream.acceptBatch(values, offset, length);
+        }
+
+        /**
+         * Passes any collected values downstream.
+         */
+        void flush() {
+            if (count > 0) {
+                downstream.acceptBatch(batch, 0, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A {@code Sink.OfLong} that collects the values pushed into it into an
+     * array of its own and passes them to a downstream {@code Sink} in
+     * batches, allowing sources that push one value at a time to drive the
+     * {@code acceptBatch} methods.  Batches pushed into it are passed on
+     * directly.  The owner must call {@link #flush()} after the last value.
+     */
+    static final class BatchingLong implements Sink.OfLong {
+        private final Sink<?> downstream;
+        private final long[] batch;
+        private int count;
+
+        /**
+         * @param downstream the sink to receive the batches
+         * @param size the exact number of values to be pushed, if known,
+         *        or {@code -1}
+         */
+        BatchingLong(Sink<?> downstream, long size) {
+            this.downstream = downstream;
+            this.batch = new long[(size > 0 && size < BATCH_SIZE) ? (int) size : BATCH_SIZE];
+        }
+
+        @Override
+        public void accept(long t) {
+            long[] b = batch;
+            b[count++] = t;
+            if (count == b.length)
+                flush();
+        }
+
+        @Override
+        public void acceptBatch(long[] values, int offset, int length) {
+            flush();
+            downstream.acceptBatch(values, offset, length);
+        }
+
+        /**
+         * Passes any collected values downstream.
+         */
+        void flush() {
+            if (count > 0) {
+                downstream.acceptBatch(batch, 0, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A {@code Sink.OfDouble} that collects the values pushed into it into an
+     * array of its own and passes them to a downstream {@code Sink} in
+     * batches, allowing sources that push one value at a time to drive the
+     * {@code acceptBatch} methods.  Batches pushed into it are passed on
+     * directly.  The owner must call {@link #flush()} after the last value.
+     */
+    static final class BatchingDouble implements Sink.OfDouble {
+        private final Sink<?> downstream;
+        private final double[] batch;
+        private int count;
+
+        /**
+         * @param downstream the sink to receive the batches
+         * @param size the exact number of values to be pushed, if known,
+         *        or {@code -1}
+         */
+        BatchingDouble(Sink<?> downstream, long size) {
+            this.downstream = downstream;
+            this.batch = new double[(size > 0 && size < BATCH_SIZE) ? (int) size : BATCH_SIZE];
+        }
+
+        @Override
+        public void accept(double t) {
+            double[] b = batch;
+            b[count++] = t;
+            if (count == b.length)
+                flush();
+        }
+
+        @Override
+        public void acceptBatch(double[] values, int offset, int length) {
+            flush();
+            downstream.acceptBatch(values, offset, length);
+        }
+
+        /**
+         * Passes any collected values downstream.
+         */
+        void flush() {
+            if (count > 0) {
+                downstream.acceptBatch(batch, 0, count);
+                count = 0;
+            }
+        }
     }
 }
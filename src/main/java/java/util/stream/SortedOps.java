@@ -27,8 +27,12 @@ package java.util.stream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 
 
@@ -153,10 +157,8 @@ final class SortedOps {
                 return helper.evaluate(spliterator, false, generator);
             }
             else {
-                // @@@ Weak two-pass parallel implementation; parallel collect, parallel sort
-                T[] flattenedData = helper.evaluate(spliterator, true, generator).asArray(generator);
-                Arrays.parallelSort(flattenedData, comparator);
-                return Nodes.node(flattenedData);
+                Node<T> node = helper.evaluate(spliterator, false, generator);
+                return Nodes.node(sampleSort(node, comparator, generator));
             }
         }
     }
@@ -190,12 +192,8 @@ final class SortedOps {
                 return helper.evaluate(spliterator, false, generator);
             }
             else {
-                Node.OfInt n = (Node.OfInt) helper.evaluate(spliterator, true, generator);
-
-                int[] content = n.asPrimitiveArray();
-                Arrays.parallelSort(content);
-
-                return Nodes.node(content);
+                Node.OfInt n = (Node.OfInt) helper.evaluate(spliterator, false, generator);
+                return Nodes.node(sampleSort(n));
             }
         }
     }
@@ -698,4 +696,294 @@ final class SortedOps {
             b.accept(t);
         }
     }
+
+    // Parallel sample sort
+
+    /*
+     * The parallel evaluation of sorted() sorts the leaves of the node
+     * collected by the upstream pipeline concurrently, in segments of about
+     * n / LEAF_TARGET elements, and then redistributes them by value:
+     * splitters chosen from a sample of every sorted segment divide the
+     * values into as many ranges as there are segments, the slices of all
+     * segments that fall into one range are copied next to each other into
+     * the result, and each range is sorted by a task of its own.  The
+     * slices of a range are sorted runs, which the final sorts merge
+     * cheaply, and there is no sequential merge of the whole data.
+     *
+     * Each range takes its slices in encounter order and ties with a
+     * splitter always fall into the same range, so the stable sort of
+     * reference elements remains stable.
+     */
+
+    /**
+     * The minimum size of a segment; inputs too small to fill one segment
+     * per leaf task, and sorts without parallelism, are instead flattened
+     * and sorted with {@code Arrays.parallelSort}.
+     */
+    private static final int MIN_SEGMENT = 1 << 13;
+
+    /** The number of elements sampled from each sorted segment. */
+    private static final int OVERSAMPLING = 16;
+
+    /**
+     * Returns whether a parallel sample sort should be used for the given
+     * number of elements.
+     */
+    private static boolean useSampleSort(long size) {
+        return ForkJoinPool.getCommonPoolParallelism() > 1
+               && size >= (long) AbstractTask.LEAF_TARGET * MIN_SEGMENT;
+    }
+
+    /**
+     * Runs the given actions in parallel and waits for them to complete.
+     */
+    private static void invokeAll(int count, IntConsumer action) {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks[i] = ForkJoinTask.adapt(() -> action.accept(index));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Sorts the elements of a node with a parallel sample sort.  The
+     * arrays of the node's leaves are sorted in place.
+     *
+     * @param node the node holding the elements to sort
+     * @param comparator the comparator determining the order
+     * @param generator the array factory for the result
+     * @return a new array holding the sorted elements
+     */
+    private static <T> T[] sampleSort(Node<T> node, Comparator<? super T> comparator,
+                                      IntFunction<T[]> generator) {
+        long size = node.count();
+        if (size >= Nodes.MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException(Nodes.BAD_SIZE);
+        if (!useSampleSort(size)) {
+            T[] array = Nodes.flatten(node, generator).asArray(generator);
+            Arrays.parallelSort(array, comparator);
+            return array;
+        }
+
+        // Divide the leaves into segments and sort them
+        List<T[]> leaves = new ArrayList<>();
+        collectLeaves(node, leaves, generator);
+        int n = (int) size;
+        int segmentSize = (n - 1) / AbstractTask.LEAF_TARGET + 1;
+        List<T[]> arrays = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        for (T[] a : leaves) {
+            for (int from = 0; from < a.length; from += segmentSize) {
+                arrays.add(a);
+                starts.add(from);
+            }
+        }
+        int segments = arrays.size();
+        int[] from = new int[segments], to = new int[segments];
+        for (int i = 0; i < segments; i++) {
+            from[i] = starts.get(i);
+            to[i] = Math.min(from[i] + segmentSize, arrays.get(i).length);
+        }
+        invokeAll(segments, i -> Arrays.sort(arrays.get(i), from[i], to[i], comparator));
+
+        // Choose one splitter per range boundary from a sorted sample
+        List<T> sample = new ArrayList<>();
+        for (int i = 0; i < segments; i++) {
+            T[] a = arrays.get(i);
+            int len = to[i] - from[i], k = Math.min(OVERSAMPLING, len);
+            for (int j = 0; j < k; j++)
+                sample.add(a[from[i] + (int) ((2L * j + 1) * len / (2 * k))]);
+        }
+        sample.sort(comparator);
+        int ranges = segments;
+        List<T> splitters = new ArrayList<>(ranges - 1);
+        for (int r = 1; r < ranges; r++)
+            splitters.add(sample.get((int) ((long) r * sample.size() / ranges)));
+
+        // Locate the ranges within each segment
+        int[][] bounds = new int[segments][];
+        invokeAll(segments, i -> {
+            T[] a = arrays.get(i);
+            int[] b = bounds[i] = new int[ranges + 1];
+            b[0] = from[i];
+            for (int r = 1; r < ranges; r++)
+                b[r] = upperBound(a, b[r - 1], to[i], splitters.get(r - 1), comparator);
+            b[ranges] = to[i];
+        });
+
+        // Gather and sort each range
+        int[] offsets = rangeOffsets(bounds, ranges);
+        T[] result = generator.apply(n);
+        invokeAll(ranges, r -> {
+            int pos = offsets[r];
+            for (int i = 0; i < segments; i++) {
+                int len = bounds[i][r + 1] - bounds[i][r];
+                System.arraycopy(arrays.get(i), bounds[i][r], result, pos, len);
+                pos += len;
+            }
+            Arrays.sort(result, offsets[r], pos, comparator);
+        });
+        return result;
+    }
+
+    /**
+     * Sorts the elements of an int node with a parallel sample sort.  The
+     * arrays of the node's leaves are sorted in place.
+     *
+     * @param node the node holding the elements to sort
+     * @return a new array holding the sorted elements
+     */
+    private static int[] sampleSort(Node.OfInt node) {
+        long size = node.count();
+        if (size >= Nodes.MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException(Nodes.BAD_SIZE);
+        if (!useSampleSort(size)) {
+            int[] array = Nodes.flattenInt(node).asPrimitiveArray();
+            Arrays.parallelSort(array);
+            return array;
+        }
+
+        // Divide the leaves into segments and sort them
+        List<int[]> leaves = new ArrayList<>();
+        collectLeaves(node, leaves);
+        int n = (int) size;
+        int segmentSize = (n - 1) / AbstractTask.LEAF_TARGET + 1;
+        List<int[]> arrays = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        for (int[] a : leaves) {
+            for (int from = 0; from < a.length; from += segmentSize) {
+                arrays.add(a);
+                starts.add(from);
+            }
+        }
+        int segments = arrays.size();
+        int[] from = new int[segments], to = new int[segments];
+        for (int i = 0; i < segments; i++) {
+            from[i] = starts.get(i);
+            to[i] = Math.min(from[i] + segmentSize, arrays.get(i).length);
+        }
+        invokeAll(segments, i -> Arrays.sort(arrays.get(i), from[i], to[i]));
+
+        // Choose one splitter per range boundary from a sorted sample
+        int[] sample = new int[segments * OVERSAMPLING];
+        int m = 0;
+        for (int i = 0; i < segments; i++) {
+            int[] a = arrays.get(i);
+            int len = to[i] - from[i], k = Math.min(OVERSAMPLING, len);
+            for (int j = 0; j < k; j++)
+                sample[m++] = a[from[i] + (int) ((2L * j + 1) * len / (2 * k))];
+        }
+        Arrays.sort(sample, 0, m);
+        int ranges = segments;
+        int[] splitters = new int[ranges - 1];
+        for (int r = 1; r < ranges; r++)
+            splitters[r - 1] = sample[(int) ((long) r * m / ranges)];
+
+        // Locate the ranges within each segment
+        int[][] bounds = new int[segments][];
+        invokeAll(segments, i -> {
+            int[] a = arrays.get(i);
+            int[] b = bounds[i] = new int[ranges + 1];
+            b[0] = from[i];
+            for (int r = 1; r < ranges; r++)
+                b[r] = upperBound(a, b[r - 1], to[i], splitters[r - 1]);
+            b[ranges] = to[i];
+        });
+
+        // Gather and sort each range
+        int[] offsets = rangeOffsets(bounds, ranges);
+        int[] result = new int[n];
+        invokeAll(ranges, r -> {
+            int pos = offsets[r];
+            for (int i = 0; i < segments; i++) {
+                int len = bounds[i][r + 1] - bounds[i][r];
+                System.arraycopy(arrays.get(i), bounds[i][r], result, pos, len);
+                pos += len;
+            }
+            Arrays.sort(result, offsets[r], pos);
+        });
+        return result;
+    }
+
+    /**
+     * Adds the arrays of the leaves of a node to a list, in encounter
+     * order.
+     */
+    private static <T> void collectLeaves(Node<T> node, List<T[]> leaves,
+                                          IntFunction<T[]> generator) {
+        int children = node.getChildCount();
+        if (children == 0) {
+            if (node.count() > 0)
+                leaves.add(node.asArray(generator));
+        }
+        else {
+            for (int i = 0; i < children; i++)
+                collectLeaves(node.getChild(i), leaves, generator);
+        }
+    }
+
+    /**
+     * Adds the arrays of the leaves of an int node to a list, in encounter
+     * order.
+     */
+    private static void collectLeaves(Node.OfInt node, List<int[]> leaves) {
+        int children = node.getChildCount();
+        if (children == 0) {
+            if (node.count() > 0)
+                leaves.add(node.asPrimitiveArray());
+        }
+        else {
+            for (int i = 0; i < children; i++)
+                collectLeaves(node.getChild(i), leaves);
+        }
+    }
+
+    /**
+     * Returns the offset in the result of each range, given the bounds of
+     * the ranges within each segment.
+     */
+    private static int[] rangeOffsets(int[][] bounds, int ranges) {
+        int[] offsets = new int[ranges];
+        int pos = 0;
+        for (int r = 0; r < ranges; r++) {
+            offsets[r] = pos;
+            for (int[] b : bounds)
+                pos += b[r + 1] - b[r];
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the index of the first element in the given sorted range that
+     * is greater than the key, or {@code to} if there is none.
+     */
+    private static <T> int upperBound(T[] a, int from, int to, T key,
+                                      Comparator<? super T> comparator) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(a[mid], key) > 0)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first element in the given sorted range that
+     * is greater than the key, or {@code to} if there is none.
+     */
+    private static int upperBound(int[] a, int from, int to, int key) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] > key)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
 }
@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A buffer of elements, used by the spilling collectors in
+ * {@link Collectors}, that keeps at most a given number of elements in
+ * memory and writes the rest to temporary files.  Whenever the in-memory
+ * part is full it is written out as a <em>run</em>: sorted by the
+ * buffer's comparator, if it has one, and then serialized to a file of its
+ * own through a {@link FileChannel}.  When all elements have been added,
+ * {@link #stream()} reads them back lazily, either in the order in which
+ * they were added or, for a sorting buffer, by merging the sorted runs.
+ * At most {@code MAX_MERGE_FAN_IN} sources are merged at once: if there
+ * are more runs, {@code stream()} first merges consecutive groups of them
+ * into longer runs, in as many passes as needed.
+ *
+ * <p>Elements are written with {@link ObjectOutputStream}, so they must be
+ * serializable.  The stream is reset after every {@code RESET_INTERVAL}
+ * elements, so that neither writing nor reading a run retains more than
+ * that many elements through the streams' handle tables.  The temporary
+ * files are opened with {@link StandardOpenOption#DELETE_ON_CLOSE} and are
+ * deleted as soon as they have been read, when the stream returned by
+ * {@code stream()} is closed, or, failing both, on a best-effort basis when
+ * the virtual machine exits.  If spilling or merging fails, the buffer
+ * deletes its files before rethrowing, and the spilling collectors do the
+ * same when an accumulation fails.
+ *
+ * <p>A buffer is not thread-safe; in parallel pipelines each leaf task
+ * fills a buffer of its own, and buffers are then combined in encounter
+ * order with {@link #addAll(SpillingBuffer)}.
+ *
+ * @param <T> the type of elements
+ * @since 1.8
+ */
+final class SpillingBuffer<T> implements Consumer<T> {
+
+    /** The number of elements written between resets of a run's stream. */
+    private static final int RESET_INTERVAL = 1 << 10;
+
+    /** The size of the I/O buffers used for reading and writing runs. */
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of sources merged at once, which bounds the
+     * number of runs read, and so of I/O buffers held, at the same time.
+     */
+    private static final int MAX_MERGE_FAN_IN = 64;
+
+    /** The order of the elements, or null to keep the encounter order. */
+    private final Comparator<? super T> comparator;
+
+    /** The maximum number of elements kept in memory. */
+    private final int maxInMemory;
+
+    /** The elements not yet spilled, in encounter order. */
+    private ArrayList<T> elements = new ArrayList<>();
+
+    /** The spilled runs, in encounter order. */
+    private final List<Run> runs = new ArrayList<>();
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param comparator the order of the elements, or {@code null} to keep
+     *        the order in which they are added
+     * @param maxInMemory the maximum number of elements kept in memory
+     * @throws IllegalArgumentException if {@code maxInMemory} is not
+     *         positive
+     */
+    SpillingBuffer(Comparator<? super T> comparator, int maxInMemory) {
+        if (maxInMemory <= 0)
+            throw new IllegalArgumentException("maxInMemory: " + maxInMemory);
+        this.comparator = comparator;
+        this.maxInMemory = maxInMemory;
+    }
+
+    /**
+     * Adds an element, spilling the elements in memory if they reach the
+     * maximum.
+     *
+     * @throws UncheckedIOException if an I/O error occurs while spilling
+     */
+    @Override
+    public void accept(T t) {
+        elements.add(t);
+        if (elements.size() >= maxInMemory)
+            spill();
+    }
+
+    /**
+     * Appends the elements of another buffer, which must not be used
+     * afterwards.
+     *
+     * @param other the buffer whose elements follow those of this one
+     * @return this buffer
+     * @throws UncheckedIOException if an I/O error occurs while spilling
+     */
+    SpillingBuffer<T> addAll(SpillingBuffer<T> other) {
+        try {
+            if (!other.runs.isEmpty()) {
+                spill();
+                runs.addAll(other.runs);
+                other.runs.clear();
+                elements = other.elements;
+            }
+            else {
+                for (T t : other.elements)
+                    accept(t);
+            }
+        }
+        catch (Throwable ex) {
+            other.abort(ex);
+            throw ex;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the comparator of this buffer, or {@code null} if it keeps
+     * the elements in the order in which they are added.
+     */
+    Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns {@code true} if no element has been added to this buffer.
+     */
+    boolean isEmpty() {
+        return elements.isEmpty() && runs.isEmpty();
+    }
+
+    /**
+     * Returns a sequential stream of all elements of this buffer, which
+     * must not be used afterwards.  The elements are in the order in which
+     * they were added, or, if this buffer has a comparator, sorted stably
+     * by it.  Closing the stream deletes the buffer's temporary files.
+     *
+     * @return a stream of the elements of this buffer
+     */
+    Stream<T> stream() {
+        if (comparator != null) {
+            elements.sort(comparator);
+            mergeRuns();
+        }
+        List<Iterator<T>> sources = new ArrayList<>(runs.size() + 1);
+        for (Run run : runs)
+            sources.add(run.iterator());
+        sources.add(elements.iterator());
+        elements = null;
+
+        Iterator<T> it = (comparator == null || sources.size() == 1)
+                         ? new ConcatIterator<>(sources)
+                         : new MergeIterator<>(sources, comparator);
+        List<Run> toClose = new ArrayList<>(runs);
+        runs.clear();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        it, (comparator != null) ? Spliterator.ORDERED | Spliterator.SORTED
+                                                 : Spliterator.ORDERED),
+                false)
+                .onClose(() -> closeAll(toClose));
+    }
+
+    /**
+     * Deletes the temporary files of this buffer, which must not be used
+     * afterwards, adding any exception thrown in doing so to the given
+     * failure.
+     *
+     * @param failure the exception that made the buffer unusable
+     */
+    void abort(Throwable failure) {
+        for (Run run : runs) {
+            try {
+                run.close();
+            }
+            catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        runs.clear();
+    }
+
+    /**
+     * Writes the elements in memory, if any, to a new run.
+     */
+    private void spill() {
+        if (elements.isEmpty())
+            return;
+        try {
+            if (comparator != null)
+                elements.sort(comparator);
+            Run run = new Run();
+            runs.add(run);
+            run.write(elements.iterator());
+            elements = new ArrayList<>();
+        }
+        catch (Throwable ex) {
+            abort(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Merges consecutive groups of at most {@code MAX_MERGE_FAN_IN} runs
+     * into single runs until, with the elements in memory, there are at
+     * most {@code MAX_MERGE_FAN_IN} sources left.  Merging consecutive runs
+     * keeps the merge stable.
+     */
+    private void mergeRuns() {
+        List<Run> merged = new ArrayList<>();
+        try {
+            while (runs.size() >= MAX_MERGE_FAN_IN) {
+                for (int i = 0; i < runs.size(); i += MAX_MERGE_FAN_IN) {
+                    List<Run> group = runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    List<Iterator<T>> sources = new ArrayList<>(group.size());
+                    for (Run run : group)
+                        sources.add(run.iterator());
+                    Run run = new Run();
+                    merged.add(run);
+                    run.write(new MergeIterator<>(sources, comparator));
+                    closeAll(group);
+                }
+                runs.clear();
+                runs.addAll(merged);
+                merged.clear();
+            }
+        }
+        catch (Throwable ex) {
+            // Runs already merged are closed; closing them again is harmless
+            runs.addAll(merged);
+            abort(ex);
+            throw ex;
+        }
+    }
+
+    private static void closeAll(List<? extends Closeable> resources) {
+        IOException failure = null;
+        for (Closeable c : resources) {
+            try {
+                c.close();
+            }
+            catch (IOException e) {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+        if (failure != null)
+            throw new UncheckedIOException(failure);
+    }
+
+    /**
+     * A run of elements spilled to a temporary file.
+     */
+    private final class Run implements Closeable {
+        private final FileChannel channel;
+
+        /** The number of elements written; merged runs may exceed an int. */
+        private long count;
+
+        Run() {
+            Path file = null;
+            try {
+                file = Files.createTempFile("stream", ".spill");
+                channel = FileChannel.open(file, StandardOpenOption.READ,
+                                           StandardOpenOption.WRITE,
+                                           StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            catch (IOException | RuntimeException e) {
+                if (file != null) {
+                    try {
+                        Files.deleteIfExists(file);
+                    }
+                    catch (IOException x) {
+                        e.addSuppressed(x);
+                    }
+                }
+                throw (e instanceof IOException)
+                      ? new UncheckedIOException((IOException) e)
+                      : (RuntimeException) e;
+            }
+        }
+
+        void write(Iterator<T> it) {
+            try {
+                // Not closed, which would close the channel
+                ObjectOutputStream out = new ObjectOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel),
+                                                 IO_BUFFER_SIZE));
+                while (it.hasNext()) {
+                    out.writeObject(it.next());
+                    if (++count % RESET_INTERVAL == 0)
+                        out.reset();
+                }
+                out.flush();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private ObjectInputStream in;
+                private long remaining = count;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (remaining <= 0)
+                        throw new NoSuchElementException();
+                    try {
+                        if (in == null) {
+                            channel.position(0L);
+                            in = new ObjectInputStream(
+                                    new BufferedInputStream(Channels.newInputStream(channel),
+                                                            IO_BUFFER_SIZE));
+                        }
+                        T t = (T) in.readObject();
+                        if (--remaining == 0)
+                            close();
+                        return t;
+                    }
+                    catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    catch (ClassNotFoundException e) {
+                        throw new UncheckedIOException(
+                                (IOException) new InvalidObjectException(e.toString()).initCause(e));
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * An iterator over the elements of several iterators in turn.
+     */
+    private static final class ConcatIterator<T> implements Iterator<T> {
+        private final Iterator<Iterator<T>> sources;
+        private Iterator<T> current;
+
+        ConcatIterator(List<Iterator<T>> sources) {
+            this.sources = sources.iterator();
+            this.current = this.sources.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (!sources.hasNext())
+                    return false;
+                current = sources.next();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+    }
+
+    /**
+     * An iterator merging several sorted iterators; of equal elements, those
+     * of earlier iterators come first.
+     */
+    private static final class MergeIterator<T> implements Iterator<T> {
+        /** The head of each non-exhausted source. */
+        private final class Head {
+            final int source;
+            T element;
+
+            Head(int source, T element) {
+                this.source = source;
+                this.element = element;
+            }
+        }
+
+        private final List<Iterator<T>> sources;
+        private final PriorityQueue<Head> heads;
+
+        MergeIterator(List<Iterator<T>> sources, Comparator<? super T> comparator) {
+            this.sources = sources;
+            this.heads = new PriorityQueue<>(sources.size(), (a, b) -> {
+                int c = comparator.compare(a.element, b.element);
+                return (c != 0) ? c : Integer.compare(a.source, b.source);
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                Iterator<T> it = sources.get(i);
+                if (it.hasNext())
+                    heads.add(new Head(i, it.next()));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head head = heads.poll();
+            if (head == null)
+                throw new NoSuchElementException();
+            T t = head.element;
+            Iterator<T> it = sources.get(head.source);
+            if (it.hasNext()) {
+                head.element = it.next();
+                heads.add(head);
+            }
+            return t;
+        }
+    }
+}
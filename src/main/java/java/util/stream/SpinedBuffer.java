@@ -759,8 +759,11 @@ class SpinedBuffer<E>
         protected void arrayForEach(int[] array,
                                     int from, int to,
                                     IntConsumer consumer) {
-            for (int i = from; i < to; i++)
-                consumer.accept(array[i]);
+            if (consumer instanceof Sink.OfInt && to > from)
+                ((Sink.OfInt) consumer).acceptBatch(array, from, to - from);
+            else
+                for (int i = from; i < to; i++)
+                    consumer.accept(array[i]);
         }
 
         @Override
@@ -872,8 +875,11 @@ class SpinedBuffer<E>
         protected void arrayForEach(long[] array,
                                     int from, int to,
                                     LongConsumer consumer) {
-            for (int i = from; i < to; i++)
-                consumer.accept(array[i]);
+            if (consumer instanceof Sink.OfLong && to > from)
+                ((Sink.OfLong) consumer).acceptBatch(array, from, to - from);
+            else
+                for (int i = from; i < to; i++)
+                    consumer.accept(array[i]);
         }
 
         @Override
@@ -987,8 +993,11 @@ class SpinedBuffer<E>
         protected void arrayForEach(double[] array,
                                     int from, int to,
                                     DoubleConsumer consumer) {
-            for (int i = from; i < to; i++)
-                consumer.accept(array[i]);
+            if (consumer instanceof Sink.OfDouble && to > from)
+                ((Sink.OfDouble) consumer).acceptBatch(array, from, to - from);
+            else
+                for (int i = from; i < to; i++)
+                    consumer.accept(array[i]);
         }
 
         @Override
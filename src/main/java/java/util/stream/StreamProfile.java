@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A profile of one evaluation of a stream pipeline: the number of elements
+ * that entered each stage, the time spent in each stage, and, for parallel
+ * evaluations, how the source was split among tasks.
+ *
+ * <p>Profiling is disabled unless the system property
+ * {@code java.util.stream.profile} is considered {@code true} according to
+ * {@link Boolean#getBoolean(String)} when this class is initialized; when
+ * it is disabled pipelines are evaluated exactly as if this class did not
+ * exist.  When it is enabled, each terminal operation produces a profile
+ * and passes it, once the operation completes normally or abruptly, to the
+ * listener set with {@link #setListener(Consumer)}, if any.  This includes
+ * the terminal operations of streams created internally, such as those
+ * returned by the function of {@link Stream#flatMap(java.util.function.Function) flatMap}.
+ *
+ * <p>Each stage is timed while it processes an element or batch of
+ * elements, including the time spent in the stages that follow it, and
+ * the time of a stage reported by {@link Stage#nanos()} is what remains
+ * after subtracting the time of the following stage.  Timing each element
+ * with {@link System#nanoTime()} is itself costly, so that profiles are
+ * best used to compare stages with each other, rather than to measure
+ * absolute throughput.  In parallel evaluations the times of all threads
+ * are added, and stateful operations that are evaluated as a barrier, such
+ * as {@link Stream#sorted() sorted}, account only for gathering their
+ * input.  Adjacent stateless stages are not fused while profiling, so
+ * that each is timed separately.
+ *
+ * <p>A profile is safe for use by multiple threads once it has been passed
+ * to the listener.
+ *
+ * @since 1.8
+ */
+public final class StreamProfile {
+
+    private static final String PROFILE_PROPERTY = "java.util.stream.profile";
+
+    private static final String PACKAGE_PREFIX = "java.util.stream.";
+
+    /** Is profiling enabled? */
+    static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(PROFILE_PROPERTY));
+
+    private static volatile Consumer<? super StreamProfile> listener;
+
+    /**
+     * Returns whether profiling is enabled.
+     *
+     * @return {@code true} if stream pipelines are profiled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Sets the listener to which the profile of each evaluation is passed,
+     * or removes it.  The listener is invoked by the thread that invoked
+     * the terminal operation, after the operation completes, and must
+     * therefore be fast and thread-safe.  Exceptions thrown by the listener
+     * are propagated to the caller of the terminal operation.
+     *
+     * @param listener the listener, or {@code null} to discard profiles
+     * @throws SecurityException if a security manager exists and it denies
+     *         {@link RuntimePermission}{@code ("setStreamProfileListener")}
+     */
+    public static void setListener(Consumer<? super StreamProfile> listener) {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null)
+            sm.checkPermission(new RuntimePermission("setStreamProfileListener"));
+        StreamProfile.listener = listener;
+    }
+
+    /**
+     * The profile of one stage of a pipeline.
+     *
+     * @since 1.8
+     */
+    public static final class Stage {
+        private final String name;
+        private final long elements;
+        private final long nanos;
+
+        Stage(String name, long elements, long nanos) {
+            this.name = name;
+            this.elements = elements;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the name of the operation of this stage, such as
+         * {@code "ReferencePipeline.map"}.
+         *
+         * @return the name of the operation
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of elements that entered this stage.
+         *
+         * @return the number of elements
+         */
+        public long elements() {
+            return elements;
+        }
+
+        /**
+         * Returns the time spent in this stage, excluding the following
+         * stages, in nanoseconds.
+         *
+         * @return the time spent in this stage
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[elements=%d, nanos=%d]", name, elements, nanos);
+        }
+    }
+
+    /** The profiled stages, in pipeline order, excluding the source. */
+    private final AbstractPipeline<?, ?, ?>[] pipelines;
+    private final String terminalName;
+    private final boolean parallel;
+    private final long startNanos;
+    private final LongAdder[] elements;
+    private final LongAdder[] nanos;
+    private final LongAdder splits = new LongAdder();
+    private final LongSummaryStatistics leafSizes = new LongSummaryStatistics();
+    private volatile long elapsedNanos;
+    private volatile List<Stage> stages;
+
+    private StreamProfile(AbstractPipeline<?, ?, ?>[] pipelines, String terminalName,
+                          boolean parallel) {
+        this.pipelines = pipelines;
+        this.terminalName = terminalName;
+        this.parallel = parallel;
+        // One slot per stage and one for the terminal operation
+        this.elements = new LongAdder[pipelines.length + 1];
+        this.nanos = new LongAdder[pipelines.length + 1];
+        for (int i = 0; i <= pipelines.length; i++) {
+            elements[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts the profile of an evaluation.
+     *
+     * @param pipelines the stages of the pipeline in order, excluding its
+     *        source
+     * @param terminal the terminal operation, or {@code null} for toArray
+     * @param parallel whether the evaluation is parallel
+     * @return a new profile
+     */
+    static StreamProfile start(AbstractPipeline<?, ?, ?>[] pipelines, TerminalOp<?, ?> terminal,
+                               boolean parallel) {
+        return new StreamProfile(pipelines,
+                                 (terminal != null) ? nameOf(terminal.getClass()) : "toArray",
+                                 parallel);
+    }
+
+    /**
+     * Completes a profile, if not {@code null}, and passes it to the
+     * listener.
+     */
+    static void complete(StreamProfile profile) {
+        if (profile == null)
+            return;
+        profile.elapsedNanos = System.nanoTime() - profile.startNanos;
+        Consumer<? super StreamProfile> l = listener;
+        if (l != null)
+            l.accept(profile);
+    }
+
+    /**
+     * Returns the profile of the evaluation for which a task computes, or
+     * {@code null} if it is not profiled.
+     */
+    static StreamProfile of(PipelineHelper<?> helper) {
+        return (helper instanceof AbstractPipeline)
+               ? ((AbstractPipeline<?, ?, ?>) helper).profile()
+               : null;
+    }
+
+    /** Records that a task split its spliterator. */
+    void split() {
+        splits.increment();
+    }
+
+    /** Records the estimated size of a leaf task, if known. */
+    void leaf(long sizeEstimate) {
+        if (sizeEstimate == Long.MAX_VALUE)
+            return;
+        synchronized (leafSizes) {
+            leafSizes.accept(sizeEstimate);
+        }
+    }
+
+    /**
+     * Wraps a sink to record the elements entering a stage and the time
+     * spent in it.
+     *
+     * @param stage the stage whose sink is wrapped, or {@code null} for the
+     *        terminal operation
+     * @param shape the shape of the elements entering the sink
+     * @param sink the sink to wrap
+     * @return the wrapping sink
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Sink<?> record(AbstractPipeline<?, ?, ?> stage, StreamShape shape, Sink<?> sink) {
+        int i = (stage == null) ? pipelines.length : indexOf(stage);
+        if (i < 0)
+            return sink;
+        switch (shape) {
+            case REFERENCE:    return new RefRecorder(this, i, sink);
+            case INT_VALUE:    return new IntRecorder(this, i, (Sink.OfInt) sink);
+            case LONG_VALUE:   return new LongRecorder(this, i, (Sink.OfLong) sink);
+            case DOUBLE_VALUE: return new DoubleRecorder(this, i, (Sink.OfDouble) sink);
+            default:           throw new IllegalStateException("Unknown shape " + shape);
+        }
+    }
+
+    private int indexOf(AbstractPipeline<?, ?, ?> stage) {
+        for (int i = 0; i < pipelines.length; i++)
+            if (pipelines[i] == stage)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns the stages of the pipeline in order, excluding its source and
+     * ending with the terminal operation.
+     *
+     * @return an unmodifiable list of the stages
+     */
+    public List<Stage> stages() {
+        List<Stage> s = stages;
+        if (s == null) {
+            int n = pipelines.length + 1;
+            long[] inclusive = new long[n];
+            for (int i = 0; i < n; i++)
+                inclusive[i] = nanos[i].sum();
+            Stage[] result = new Stage[n];
+            for (int i = 0; i < n; i++) {
+                long self = inclusive[i] - ((i + 1 < n) ? inclusive[i + 1] : 0L);
+                result[i] = new Stage((i < pipelines.length) ? nameOf(pipelines[i].getClass()) : terminalName,
+                                      elements[i].sum(), Math.max(self, 0L));
+            }
+            stages = s = Collections.unmodifiableList(Arrays.asList(result));
+        }
+        return s;
+    }
+
+    /**
+     * Returns whether the pipeline was evaluated in parallel.
+     *
+     * @return {@code true} if the evaluation was parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns the wall-clock time of the evaluation, in nanoseconds.
+     *
+     * @return the elapsed time of the evaluation
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of times a task of a parallel evaluation split its
+     * spliterator, or {@code 0} for a sequential evaluation.
+     *
+     * @return the number of splits
+     */
+    public long splits() {
+        return splits.sum();
+    }
+
+    /**
+     * Returns statistics of the estimated sizes of the source spliterators
+     * of the leaf tasks of a parallel evaluation, excluding those of unknown
+     * size.  The statistics are empty for a sequential evaluation.
+     *
+     * @return a new statistics object of the leaf task sizes
+     */
+    public LongSummaryStatistics leafSizes() {
+        LongSummaryStatistics copy = new LongSummaryStatistics();
+        synchronized (leafSizes) {
+            copy.combine(leafSizes);
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("StreamProfile[");
+        sb.append(parallel ? "parallel" : "sequential")
+          .append(", elapsedNanos=").append(elapsedNanos);
+        if (parallel)
+            sb.append(", splits=").append(splits()).append(", leafSizes=").append(leafSizes());
+        for (Stage stage : stages())
+            sb.append(", ").append(stage);
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns a name for the class of a stage or terminal operation: the
+     * class name without its package, or, for an anonymous class, the name
+     * of the method that declares it, such as
+     * {@code "ReferencePipeline.map"}.
+     */
+    private static String nameOf(Class<?> c) {
+        java.lang.reflect.Method m = c.isAnonymousClass()
+                                     ? AccessController.doPrivileged(
+                                             (PrivilegedAction<java.lang.reflect.Method>) c::getEnclosingMethod)
+                                     : null;
+        String name = (m != null)
+                      ? m.getDeclaringClass().getName() + '.' + m.getName()
+                      : c.getName();
+        if (name.startsWith(PACKAGE_PREFIX))
+            name = name.substring(PACKAGE_PREFIX.length());
+        return name.replace('$', '.');
+    }
+
+    /**
+     * A sink recording the elements entering a stage and the time spent in
+     * it.  The sink of a parallel for-each operation is shared by all its
+     * tasks, so that counts and times are added directly to the profile.
+     */
+    private abstract static class Recorder<T, S extends Sink<?>> implements Sink<T> {
+        final LongAdder elements;
+        final LongAdder nanos;
+        final S downstream;
+
+        Recorder(StreamProfile profile, int index, S downstream) {
+            this.elements = profile.elements[index];
+            this.nanos = profile.nanos[index];
+            this.downstream = Objects.requireNonNull(downstream);
+        }
+
+        @Override
+        public void begin(long size) {
+            long start = System.nanoTime();
+            downstream.begin(size);
+            nanos.add(System.nanoTime() - start);
+        }
+
+        @Override
+        public void end() {
+            long start = System.nanoTime();
+            try {
+                downstream.end();
+            }
+            finally {
+                nanos.add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean cancellationRequested() {
+            return downstream.cancellationRequested();
+        }
+
+        @Override
+        public boolean isSideEffectFree() {
+            return downstream.isSideEffectFree();
+        }
+    }
+
+    private static final class RefRecorder<T> extends Recorder<T, Sink<T>> {
+        RefRecorder(StreamProfile profile, int index, Sink<T> downstream) {
+            super(profile, index, downstream);
+        }
+
+        @Override
+        public void accept(T t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            nanos.add(System.nanoTime() - start);
+            elements.increment();
+        }
+    }
+
+    private static final class IntRecorder extends Recorder<Integer, Sink.OfInt>
+            implements Sink.OfInt {
+        IntRecorder(StreamProfile profile, int index, Sink.OfInt downstream) {
+            super(profile, index, downstream);
+        }
+
+        @Override
+        public void accept(int t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            nanos.add(System.nanoTime() - start);
+            elements.increment();
+        }
+
+        @Override
+        public void acceptBatch(int[] values, int offset, int length) {
+            long start = System.nanoTime();
+            downstream.acceptBatch(values, offset, length);
+            nanos.add(System.nanoTime() - start);
+            elements.add(length);
+        }
+    }
+
+    private static final class LongRecorder extends Recorder<Long, Sink.OfLong>
+            implements Sink.OfLong {
+        LongRecorder(StreamProfile profile, int index, Sink.OfLong downstream) {
+            super(profile, index, downstream);
+        }
+
+        @Override
+        public void accept(long t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            nanos.add(System.nanoTime() - start);
+            elements.increment();
+        }
+
+        @Override
+        public void acceptBatch(long[] values, int offset, int length) {
+            long start = System.nanoTime();
+            downstream.acceptBatch(values, offset, length);
+            nanos.add(System.nanoTime() - start);
+            elements.add(length);
+        }
+    }
+
+    private static final class DoubleRecorder extends Recorder<Double, Sink.OfDouble>
+            implements Sink.OfDouble {
+        DoubleRecorder(StreamProfile profile, int index, Sink.OfDouble downstream) {
+            super(profile, index, downstream);
+        }
+
+        @Override
+        public void accept(double t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            nanos.add(System.nanoTime() - start);
+            elements.increment();
+        }
+
+        @Override
+        public void acceptBatch(double[] values, int offset, int length) {
+            long start = System.nanoTime();
+            downstream.acceptBatch(values, offset, length);
+            nanos.add(System.nanoTime() - start);
+            elements.add(length);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The container of the striped grouping collectors in {@link Collectors}.
+ * Rather than sharing one concurrent map, whose hot keys and downstream
+ * containers are contended by every thread, elements are grouped into
+ * one of several plain {@link HashMap}s, selected by the current thread,
+ * in the manner of the cells of {@link java.util.concurrent.atomic.LongAdder}.
+ * A {@link ForkJoinWorkerThread} uses the cell at its pool index, so that
+ * in a pool whose parallelism does not exceed the number of cells each
+ * worker has a cell of its own; other threads are spread by identifier.
+ * Each cell is locked while it is updated, which is then uncontended in
+ * the common case, and cells are padded to avoid false sharing between
+ * the locks.  The partial groups of all cells are merged once, when the
+ * reduction completes.
+ *
+ * @param <T> the type of input elements
+ * @param <K> the type of keys
+ * @param <A> the type of downstream containers
+ * @since 1.8
+ */
+final class StripedGroups<T, K, A> implements Consumer<T> {
+
+    /** The maximum number of cells. */
+    private static final int MAX_CELLS = 1 << 8;
+
+    /**
+     * A cell of partial groups, padded so that the locks of distinct cells
+     * do not share a cache line.
+     */
+    @sun.misc.Contended static final class Cell<K, A> {
+        final HashMap<K, A> groups = new HashMap<>();
+    }
+
+    private final Function<? super T, ? extends K> classifier;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Cell<K, A>[] cells;
+
+    /**
+     * Creates an empty container with a cell per worker of the common
+     * pool, and one more for other threads.
+     *
+     * @param classifier the function mapping elements to keys
+     * @param supplier the supplier of new downstream containers
+     * @param accumulator the function folding an element into a
+     *        downstream container
+     */
+    StripedGroups(Function<? super T, ? extends K> classifier,
+                  Supplier<A> supplier,
+                  BiConsumer<A, ? super T> accumulator) {
+        this.classifier = classifier;
+        this.supplier = supplier;
+        this.accumulator = accumulator;
+        int n = 1, p = ForkJoinPool.getCommonPoolParallelism();
+        while (n <= p && n < MAX_CELLS)
+            n <<= 1;
+        @SuppressWarnings("unchecked")
+        Cell<K, A>[] cs = (Cell<K, A>[]) new Cell<?, ?>[n];
+        for (int i = 0; i < n; i++)
+            cs[i] = new Cell<>();
+        this.cells = cs;
+    }
+
+    /**
+     * Returns the cell of the current thread.
+     */
+    private Cell<K, A> cell() {
+        Thread t = Thread.currentThread();
+        int h = (t instanceof ForkJoinWorkerThread)
+                ? ((ForkJoinWorkerThread) t).getPoolIndex()
+                : (int) ((t.getId() * 0x9e3779b97f4a7c15L) >>> 32);
+        return cells[h & (cells.length - 1)];
+    }
+
+    @Override
+    public void accept(T t) {
+        K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+        Cell<K, A> c = cell();
+        synchronized (c) {
+            A container = c.groups.get(key);
+            if (container == null)
+                c.groups.put(key, container = supplier.get());
+            accumulator.accept(container, t);
+        }
+    }
+
+    /**
+     * Adds the partial groups of another container, which must not be
+     * used afterwards, to those of this container.
+     *
+     * @param other the container whose groups to add
+     * @param combiner the function combining two downstream containers
+     * @return this container
+     */
+    StripedGroups<T, K, A> addAll(StripedGroups<T, K, A> other,
+                                  BinaryOperator<A> combiner) {
+        Cell<K, A> c = cell();
+        synchronized (c) {
+            for (Cell<K, A> o : other.cells)
+                mergeInto(c.groups, o.groups, combiner);
+        }
+        return this;
+    }
+
+    /**
+     * Merges the partial groups of all cells.  This container must not be
+     * used afterwards.
+     *
+     * @param combiner the function combining two downstream containers
+     * @return a map from each key to its downstream container
+     */
+    Map<K, A> merge(BinaryOperator<A> combiner) {
+        HashMap<K, A> result = cells[0].groups;
+        for (int i = 1; i < cells.length; i++) {
+            HashMap<K, A> groups = cells[i].groups;
+            if (groups.size() > result.size()) {
+                HashMap<K, A> smaller = result;
+                result = groups;
+                groups = smaller;
+            }
+            mergeInto(result, groups, combiner);
+        }
+        return result;
+    }
+
+    private static <K, A> void mergeInto(Map<K, A> target, Map<K, A> source,
+                                         BinaryOperator<A> combiner) {
+        for (Map.Entry<K, A> e : source.entrySet())
+            target.merge(e.getKey(), e.getValue(), combiner);
+    }
+}